@@ -0,0 +1,110 @@
+package com.thiagoferreira.food_backend.exceptions;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.mappers.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of answering a lookup for an unknown user, from the throw below {@code depth}
+ * frames to the ProblemDetail, next to the success path that maps the found user. The
+ * {@code stackTraceBaseline} benchmark is the previous shape of the error path: an exception
+ * that fills in its stack trace, {@code String.format} for the detail and a type URI parsed
+ * per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"16", "128"})
+    private int depth;
+
+    private GlobalExceptionHandler handler;
+    private UserMapper mapper;
+    private User user;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.OFF);
+        ((Logger) LoggerFactory.getLogger(ClientErrorLogPolicy.class)).setLevel(Level.OFF);
+        handler = new GlobalExceptionHandler(new ClientErrorLogPolicy(Duration.ofSeconds(10), 5));
+        mapper = new UserMapper();
+        user = new User();
+        user.setId(1L);
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@example.com");
+        user.setLogin("benchmark");
+        user.setType(UserType.CUSTOMER);
+    }
+
+    @Benchmark
+    public UserResponse successPath() {
+        return descend(depth, () -> mapper.toResponse(user));
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> errorPath() {
+        try {
+            descend(depth, () -> {
+                throw new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID, ++id);
+            });
+            throw new IllegalStateException("unreachable");
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleResourceNotFoundException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> stackTraceBaseline() {
+        try {
+            descend(depth, () -> {
+                throw new StackTraceNotFoundException(String.format(ErrorMessages.USER_NOT_FOUND_BY_ID.getMessage(), ++id));
+            });
+            throw new IllegalStateException("unreachable");
+        } catch (StackTraceNotFoundException ex) {
+            ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+            problemDetail.setType(URI.create(ProblemType.BASE_URI + "resource-not-found"));
+            problemDetail.setTitle("Resource Not Found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problemDetail);
+        }
+    }
+
+    private static <T> T descend(int frames, Supplier<T> action) {
+        return frames == 0 ? action.get() : descend(frames - 1, action);
+    }
+
+    private static final class StackTraceNotFoundException extends RuntimeException {
+        private StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
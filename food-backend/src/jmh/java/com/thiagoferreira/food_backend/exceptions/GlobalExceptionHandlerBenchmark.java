@@ -0,0 +1,167 @@
+package com.thiagoferreira.food_backend.exceptions;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.thiagoferreira.food_backend.domain.dto.UserRequest;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingPathVariableException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * ProblemDetail construction for every handler in {@link GlobalExceptionHandler}.
+ * Handler logging is switched off so the numbers cover building the response only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    @Param({
+            "resource-not-found",
+            "unauthorized",
+            "domain-validation-error",
+            "validation-error",
+            "constraint-violation",
+            "malformed-request",
+            "missing-parameter",
+            "type-mismatch",
+            "method-not-allowed",
+            "unsupported-media-type",
+            "missing-path-variable",
+            "endpoint-not-found",
+            "internal-server-error"
+    })
+    private String problem;
+
+    private GlobalExceptionHandler handler;
+    private Function<GlobalExceptionHandler, ResponseEntity<ProblemDetail>> invocation;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.OFF);
+        ((Logger) LoggerFactory.getLogger(ClientErrorLogPolicy.class)).setLevel(Level.OFF);
+        handler = new GlobalExceptionHandler(new ClientErrorLogPolicy(Duration.ofSeconds(10), 5));
+        invocation = invocationFor(problem);
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> handle() {
+        return invocation.apply(handler);
+    }
+
+    private static Function<GlobalExceptionHandler, ResponseEntity<ProblemDetail>> invocationFor(String problem)
+            throws Exception {
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", UserRequest.class), 0);
+
+        switch (problem) {
+            case "resource-not-found" -> {
+                ResourceNotFoundException ex = new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID.params(1L));
+                return h -> h.handleResourceNotFoundException(ex);
+            }
+            case "unauthorized" -> {
+                UnauthorizedException ex = new UnauthorizedException(ErrorMessages.UNAUTHORIZED_ACCESS);
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users");
+                ServletWebRequest webRequest = new ServletWebRequest(request);
+                return h -> h.handleUnauthorizedException(ex, webRequest);
+            }
+            case "domain-validation-error" -> {
+                DomainValidationException ex = new DomainValidationException(ErrorMessages.EMAIL_ALREADY_EXISTS);
+                return h -> h.handleDomainValidationException(ex);
+            }
+            case "validation-error" -> {
+                BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new UserRequest(), "userRequest");
+                bindingResult.addError(new FieldError("userRequest", "email", "Email is required"));
+                bindingResult.addError(new FieldError("userRequest", "name", "Name is required"));
+                MethodArgumentNotValidException ex = new MethodArgumentNotValidException(parameter, bindingResult);
+                return h -> h.handleMethodArgumentNotValidException(ex);
+            }
+            case "constraint-violation" -> {
+                ConstraintViolationException ex = new ConstraintViolationException(
+                        Validation.buildDefaultValidatorFactory().getValidator().validate(new UserRequest()));
+                return h -> h.handleConstraintViolationException(ex);
+            }
+            case "malformed-request" -> {
+                HttpMessageNotReadableException ex = new HttpMessageNotReadableException(
+                        "Required request body is missing", new MockHttpInputMessage(new byte[0]));
+                return h -> h.handleHttpMessageNotReadableException(ex);
+            }
+            case "missing-parameter" -> {
+                MissingServletRequestParameterException ex = new MissingServletRequestParameterException("name", "String");
+                return h -> h.handleMissingServletRequestParameterException(ex);
+            }
+            case "type-mismatch" -> {
+                MethodArgumentTypeMismatchException ex = new MethodArgumentTypeMismatchException(
+                        "abc", Long.class, "id", parameter, new NumberFormatException("For input string: \"abc\""));
+                return h -> h.handleMethodArgumentTypeMismatchException(ex);
+            }
+            case "method-not-allowed" -> {
+                HttpRequestMethodNotSupportedException ex = new HttpRequestMethodNotSupportedException(
+                        "PATCH", List.of("GET", "POST"));
+                return h -> h.handleHttpRequestMethodNotSupportedException(ex);
+            }
+            case "unsupported-media-type" -> {
+                HttpMediaTypeNotSupportedException ex = new HttpMediaTypeNotSupportedException(
+                        MediaType.TEXT_PLAIN, List.of(MediaType.APPLICATION_JSON), HttpMethod.POST);
+                return h -> h.handleHttpMediaTypeNotSupportedException(ex);
+            }
+            case "missing-path-variable" -> {
+                MissingPathVariableException ex = new MissingPathVariableException("id", parameter);
+                return h -> h.handleMissingPathVariableException(ex);
+            }
+            case "endpoint-not-found" -> {
+                NoHandlerFoundException ex = new NoHandlerFoundException("GET", "/v1/unknown", new HttpHeaders());
+                return h -> h.handleNoHandlerFoundException(ex);
+            }
+            case "internal-server-error" -> {
+                IllegalStateException ex = new IllegalStateException("Unexpected error");
+                return h -> h.handleGenericException(ex);
+            }
+            default -> throw new IllegalArgumentException("Unknown problem type: " + problem);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static void target(UserRequest request) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.thiagoferreira.food_backend.infraestructure.audit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What recording an audit event costs a request: three request threads offer into the
+ * buffer while the writer drains it in batches, for the lock-free ring and for the
+ * lock-based {@link ArrayBlockingQueue} it replaces as the obvious choice.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AuditRingBufferBenchmark {
+
+    private static final int CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final Object EVENT = new Object();
+
+    private AuditRingBuffer<Object> ring;
+    private ArrayBlockingQueue<Object> queue;
+    private List<Object> batch;
+
+    @Setup
+    public void setUp() {
+        ring = new AuditRingBuffer<>(CAPACITY);
+        queue = new ArrayBlockingQueue<>(CAPACITY);
+        batch = new ArrayList<>(BATCH_SIZE);
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(3)
+    public boolean ringOffer() {
+        return ring.offer(EVENT);
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(1)
+    public void ringDrain(Blackhole blackhole) {
+        blackhole.consume(ring.drainTo(batch::add, BATCH_SIZE));
+        batch.clear();
+    }
+
+    @Benchmark
+    @Group("blockingQueue")
+    @GroupThreads(3)
+    public boolean blockingQueueOffer() {
+        return queue.offer(EVENT);
+    }
+
+    @Benchmark
+    @Group("blockingQueue")
+    @GroupThreads(1)
+    public void blockingQueueDrain(Blackhole blackhole) {
+        blackhole.consume(queue.drainTo(batch, BATCH_SIZE));
+        batch.clear();
+    }
+}
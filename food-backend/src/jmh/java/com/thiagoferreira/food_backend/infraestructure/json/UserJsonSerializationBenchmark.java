@@ -0,0 +1,119 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.entities.Address;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.mappers.LazyMappedList;
+import com.thiagoferreira.food_backend.mappers.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a page of users as the list endpoints do, to a discarding stream. The
+ * {@code *Responses} benchmarks serialize an already mapped list; the {@code endpoint*}
+ * ones start from the entities, before (eager list, reflective serializer) and after
+ * (lazy view, registered serializers).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserJsonSerializationBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    // writeValue closes its target, which OutputStream.nullOutputStream() does not survive
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private JsonMapper reflective;
+    private JsonMapper registered;
+    private UserMapper userMapper;
+    private List<User> users;
+    private List<UserResponse> responses;
+
+    @Setup
+    public void setUp() {
+        reflective = JsonMapper.builder().build();
+        registered = JsonMapper.builder().addModule(new UserJsonModule()).build();
+        userMapper = new UserMapper();
+        users = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            users.add(newUser(id));
+        }
+        users = List.copyOf(users);
+        responses = users.stream().map(userMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public OutputStream reflectiveResponses() {
+        reflective.writeValue(sink, responses);
+        return sink;
+    }
+
+    @Benchmark
+    public OutputStream registeredResponses() {
+        registered.writeValue(sink, responses);
+        return sink;
+    }
+
+    @Benchmark
+    public OutputStream endpointBefore() {
+        reflective.writeValue(sink, users.stream().map(userMapper::toResponse).toList());
+        return sink;
+    }
+
+    @Benchmark
+    public OutputStream endpointAfter() {
+        registered.writeValue(sink, LazyMappedList.of(users, userMapper::toResponse));
+        return sink;
+    }
+
+    private static User newUser(long id) {
+        Address address = new Address();
+        address.setStreet("Rua Teste");
+        address.setNumber(String.valueOf(id));
+        address.setCity("São Paulo");
+        address.setZipCode("01234-567");
+
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setLogin("user" + id);
+        user.setPassword("$2a$10$hashedPassword");
+        user.setType(UserType.CUSTOMER);
+        user.setAddress(address);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setLastUpdated(LocalDateTime.now());
+        user.setVersion(0L);
+        return user;
+    }
+}
@@ -0,0 +1,53 @@
+package com.thiagoferreira.food_backend.infraestructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one hash and one verification per BCrypt cost factor, used to pick
+ * {@code security.bcrypt.cost} against the login latency budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    @Param({"4", "8", "10", "12"})
+    private int cost;
+
+    private PasswordHasher passwordHasher;
+    private String hashedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordHasher = new PasswordHasher(cost, 1, 100, new SimpleMeterRegistry());
+        hashedPassword = passwordHasher.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordHasher.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordHasher.matches(PASSWORD, hashedPassword);
+    }
+}
@@ -0,0 +1,134 @@
+package com.thiagoferreira.food_backend.infraestructure.security;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rejected request through the 401 entry point, written to a discarding output stream,
+ * against building and serializing a ProblemDetail for every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityRejectionBenchmark {
+
+    private final InsufficientAuthenticationException exception =
+            new InsufficientAuthenticationException("Full authentication is required to access this resource");
+
+    private JsonMapper jsonMapper;
+    private ProblemDetailMetrics problemDetailMetrics;
+    private ClientErrorLogPolicy clientErrors;
+    private SecurityProblemDetailEntryPoint entryPoint;
+    private MockHttpServletRequest request;
+    private DiscardingResponse response;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(ClientErrorLogPolicy.class)).setLevel(Level.OFF);
+        jsonMapper = JsonMapper.builder().build();
+        problemDetailMetrics = new ProblemDetailMetrics(new SimpleMeterRegistry());
+        clientErrors = new ClientErrorLogPolicy(Duration.ofSeconds(10), 5);
+        entryPoint = new SecurityProblemDetailEntryPoint(jsonMapper, problemDetailMetrics, clientErrors);
+        request = new MockHttpServletRequest("GET", "/v2/users/42");
+        response = new DiscardingResponse();
+    }
+
+    @Benchmark
+    public DiscardingResponse preEncodedTemplate() throws Exception {
+        entryPoint.commence(request, response, exception);
+        return response;
+    }
+
+    // The previous path: a fresh ProblemDetail per request, serialized by the mapper
+    @Benchmark
+    public DiscardingResponse serializedProblemDetail() throws Exception {
+        clientErrors.record(ProblemType.UNAUTHORIZED.getSlug(), "Authentication failed: {}", exception.getMessage());
+        ProblemDetail problemDetail = ProblemType.UNAUTHORIZED.create(
+                "Authentication required. Please provide a valid JWT token in the Authorization header.");
+        problemDetail.setInstance(URI.create(request.getRequestURL().toString()));
+        problemDetail.setProperty("path", request.getRequestURI());
+        problemDetail.setProperty("method", request.getMethod());
+        problemDetailMetrics.record(problemDetail);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        jsonMapper.writeValue(response.getOutputStream(), problemDetail);
+        return response;
+    }
+
+    public static class DiscardingResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        DiscardingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return outputStream;
+        }
+
+        // The servlet container only stores these; the mock response would parse the content type
+        @Override
+        public void setContentType(String type) {
+        }
+
+        @Override
+        public void setStatus(int sc) {
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.thiagoferreira.food_backend.mappers;
+
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.entities.Address;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private UserMapper userMapper;
+    private User user;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper();
+        user = newUser(1L);
+        users = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            users.add(newUser(id));
+        }
+    }
+
+    @Benchmark
+    public UserResponse toResponse() {
+        return userMapper.toResponse(user);
+    }
+
+    // Eager mapping into a new list; the list endpoints now map lazily while writing the body
+    @Benchmark
+    public List<UserResponse> toResponseList() {
+        return users.stream().map(userMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public String toWeakETag() {
+        return userMapper.toWeakETag(users);
+    }
+
+    private static User newUser(long id) {
+        Address address = new Address();
+        address.setStreet("Rua Teste");
+        address.setNumber(String.valueOf(id));
+        address.setCity("São Paulo");
+        address.setZipCode("01234-567");
+
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setLogin("user" + id);
+        user.setPassword("$2a$10$hashedPassword");
+        user.setType(UserType.CUSTOMER);
+        user.setAddress(address);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setLastUpdated(LocalDateTime.now());
+        user.setVersion(0L);
+        return user;
+    }
+}
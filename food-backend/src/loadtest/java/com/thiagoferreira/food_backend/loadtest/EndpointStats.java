@@ -0,0 +1,111 @@
+package com.thiagoferreira.food_backend.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes of one endpoint. Every worker owns its own instances, so
+ * recording needs no synchronization; the runner merges them after the run.
+ *
+ * <p>Latencies are kept for all responses and for successful ones alone: a shed request
+ * answered with a fast 503 lowers the all-responses percentiles without serving anyone.
+ */
+class EndpointStats {
+
+    private final Latencies all = new Latencies();
+    private final Latencies successes = new Latencies();
+    private long errors;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    void record(long latencyNanos, String outcome, boolean error) {
+        all.add(latencyNanos);
+        if (error) {
+            errors++;
+        } else {
+            successes.add(latencyNanos);
+        }
+        outcomes.merge(outcome, 1L, Long::sum);
+    }
+
+    void merge(EndpointStats other) {
+        all.addAll(other.all);
+        successes.addAll(other.successes);
+        errors += other.errors;
+        other.outcomes.forEach((outcome, total) -> outcomes.merge(outcome, total, Long::sum));
+    }
+
+    Summary summarize(String endpoint, double seconds) {
+        return new Summary(
+                endpoint,
+                all.count,
+                errors,
+                all.count == 0 ? 0 : (double) errors / all.count,
+                all.count / seconds,
+                successes.count / seconds,
+                all.summarize(),
+                successes.summarize(),
+                Map.copyOf(outcomes)
+        );
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static final class Latencies {
+
+        private long[] nanos = new long[1024];
+        private int count;
+
+        void add(long latencyNanos) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latencyNanos;
+        }
+
+        void addAll(Latencies other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, count + other.count);
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+        }
+
+        Latency summarize() {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new Latency(
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99),
+                    count == 0 ? 0 : toMillis(sorted[count - 1])
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return toMillis(sorted[Math.max(index, 0)]);
+        }
+    }
+
+    record Summary(
+            String endpoint,
+            long requests,
+            long errors,
+            double errorRate,
+            double throughputPerSecond,
+            double successThroughputPerSecond,
+            Latency latencyMs,
+            Latency successLatencyMs,
+            Map<String, Long> outcomes
+    ) {
+    }
+
+    record Latency(double p50, double p95, double p99, double max) {
+    }
+}
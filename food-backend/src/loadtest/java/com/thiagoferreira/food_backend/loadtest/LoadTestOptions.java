@@ -0,0 +1,104 @@
+package com.thiagoferreira.food_backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as {@code --name=value}.
+ *
+ * <pre>
+ * --users=10000                    users seeded before the run
+ * --concurrency=32                 closed-loop client workers
+ * --warmup=15s                     unrecorded warm-up
+ * --duration=60s                   recorded measurement window
+ * --mix=v1:1,v2:3,registration:1   relative weight of each scenario (v1, v2, v3, registration, grpc)
+ * --searches-per-login=5           V2, V3 and gRPC lookup rounds per issued token
+ * --bcrypt-cost=10                 server BCrypt cost
+ * --virtual-threads                serve requests on virtual threads
+ * --concurrency-limit              keep the server's adaptive concurrency limiter on
+ * --request-deadline               keep the server's per-request deadline on
+ * --report=target/loadtest-report.json
+ * </pre>
+ *
+ * <p>The limiter and the deadline are off by default: they shed or cut short the requests
+ * beyond what the server can serve, which is what a capacity run has to measure. Turn them
+ * on to measure the protected service instead. Neither applies to the reactive /v3 server,
+ * so {@code --mix=v2:1} against {@code --mix=v3:1} compares the two stacks as they are.
+ */
+public record LoadTestOptions(
+        int users,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Scenario, Integer> mix,
+        int searchesPerLogin,
+        int bcryptCost,
+        boolean virtualThreads,
+        boolean concurrencyLimit,
+        boolean requestDeadline,
+        Path report
+) {
+
+    public enum Scenario {
+        V1, V2, V3, REGISTRATION, GRPC
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", "10000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                parseDuration(values.getOrDefault("warmup", "15s")),
+                parseDuration(values.getOrDefault("duration", "60s")),
+                parseMix(values.getOrDefault("mix", "v1:1,v2:3,registration:1")),
+                Integer.parseInt(values.getOrDefault("searches-per-login", "5")),
+                Integer.parseInt(values.getOrDefault("bcrypt-cost", "10")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Boolean.parseBoolean(values.getOrDefault("concurrency-limit", "false")),
+                Boolean.parseBoolean(values.getOrDefault("request-deadline", "false")),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json"))
+        );
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                mix.put(Scenario.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The scenario mix must contain at least one positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,207 @@
+package com.thiagoferreira.food_backend.loadtest;
+
+import com.thiagoferreira.food_backend.Application;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserRepository;
+import com.thiagoferreira.food_backend.infraestructure.security.PasswordHasher;
+import com.thiagoferreira.food_backend.loadtest.LoadTestOptions.Scenario;
+import com.thiagoferreira.food_backend.reactive.ReactiveServerV3;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.grpc.server.lifecycle.GrpcServerLifecycle;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application against an in-memory H2 database in PostgreSQL mode, seeds
+ * it, drives the scenario mix from closed-loop HTTP and gRPC workers and writes a JSON
+ * report with throughput, latency percentiles and error rates per endpoint. The reactive
+ * /v3 server reads the same database through R2DBC.
+ *
+ * <p>Run with {@code ./mvnw -Ploadtest test}; see {@link LoadTestOptions} for the
+ * arguments accepted through {@code -Dloadtest.args}.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final long STOP_TIMEOUT_SECONDS = 60;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(serverArguments(options))) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            int grpcPort = context.getBean(GrpcServerLifecycle.class).getPort();
+            int v3Port = context.getBean(ReactiveServerV3.class).getPort();
+            seed(context, options);
+
+            Map<String, EndpointStats> stats = drive("http://localhost:" + port, "http://localhost:" + v3Port, grpcPort, options);
+            LoadTestReport report = LoadTestReport.of(options, stats);
+
+            Files.createDirectories(options.report().toAbsolutePath().getParent());
+            JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(options.report().toFile(), report);
+
+            log.info("Load test finished: {} requests, {} req/s ({} successful, {} per core), error rate {}, p99 {} ms ({} ms successful)",
+                    report.total().requests(),
+                    String.format("%.1f", report.total().throughputPerSecond()),
+                    String.format("%.1f", report.total().successThroughputPerSecond()),
+                    String.format("%.1f", report.successThroughputPerCore()),
+                    String.format("%.4f", report.total().errorRate()),
+                    report.total().latencyMs().p99(),
+                    report.total().successLatencyMs().p99());
+            report.endpoints().forEach(endpoint -> log.info(
+                    "{} -> {} req/s ({} successful), p50 {} ms, p95 {} ms, p99 {} ms, successful p50 {} ms, p95 {} ms, p99 {} ms, errors {}",
+                    endpoint.endpoint(),
+                    String.format("%.1f", endpoint.throughputPerSecond()),
+                    String.format("%.1f", endpoint.successThroughputPerSecond()),
+                    endpoint.latencyMs().p50(),
+                    endpoint.latencyMs().p95(),
+                    endpoint.latencyMs().p99(),
+                    endpoint.successLatencyMs().p50(),
+                    endpoint.successLatencyMs().p95(),
+                    endpoint.successLatencyMs().p99(),
+                    endpoint.errors()));
+            log.info("Report written to {}", options.report().toAbsolutePath());
+        }
+    }
+
+    // Passed as command line arguments so they take precedence over application.properties
+    private static String[] serverArguments(LoadTestOptions options) {
+        return new String[]{
+                "--server.port=0",
+                "--spring.grpc.server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--v3.server.port=0",
+                "--v3.r2dbc.url=r2dbc:h2:mem:///loadtest?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--v3.r2dbc.username=sa",
+                "--v3.r2dbc.password=",
+                "--spring.threads.virtual.enabled=" + options.virtualThreads(),
+                "--security.bcrypt.cost=" + options.bcryptCost(),
+                "--concurrency-limit.enabled=" + options.concurrencyLimit(),
+                "--request.deadline.enabled=" + options.requestDeadline(),
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.thiagoferreira.food_backend.loadtest=INFO"
+        };
+    }
+
+    // Every seeded user shares one hash, so seeding cost does not grow with the BCrypt cost
+    private static void seed(ConfigurableApplicationContext context, LoadTestOptions options) {
+        UserRepository repository = context.getBean(UserRepository.class);
+        String hashedPassword = context.getBean(PasswordHasher.class).hash(LoadTestWorker.PASSWORD);
+
+        List<User> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int index = 0; index < options.users(); index++) {
+            User user = new User();
+            user.setName(LoadTestWorker.seededName(index));
+            user.setLogin(LoadTestWorker.seededLogin(index));
+            user.setEmail(LoadTestWorker.seededEmail(index));
+            user.setPassword(hashedPassword);
+            user.setType(index % 10 == 0 ? UserType.OWNER : UserType.CUSTOMER);
+            chunk.add(user);
+            if (chunk.size() == SEED_CHUNK_SIZE) {
+                repository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        repository.saveAll(chunk);
+        log.info("Seeded {} users", options.users());
+    }
+
+    private static Map<String, EndpointStats> drive(String baseUrl, String v3BaseUrl, int grpcPort, LoadTestOptions options) throws InterruptedException {
+        List<Scenario> weightedScenarios = new ArrayList<>();
+        options.mix().forEach((scenario, weight) -> weightedScenarios.addAll(Collections.nCopies(weight, scenario)));
+
+        long recordFrom = System.nanoTime() + options.warmup().toNanos();
+        long stopAt = recordFrom + options.duration().toNanos();
+        AtomicLong sequence = new AtomicLong();
+
+        List<LoadTestWorker> workers = new ArrayList<>(options.concurrency());
+        ExecutorService executor = Executors.newFixedThreadPool(options.concurrency());
+        for (int i = 0; i < options.concurrency(); i++) {
+            LoadTestWorker worker = new LoadTestWorker(baseUrl, v3BaseUrl, grpcPort, options, weightedScenarios, sequence, recordFrom, stopAt);
+            workers.add(worker);
+            executor.execute(worker);
+        }
+        log.info("Running {} workers: {} warm-up, {} measured, mix {}",
+                options.concurrency(), options.warmup(), options.duration(), options.mix());
+
+        executor.shutdown();
+        long grace = TimeUnit.NANOSECONDS.toSeconds(stopAt - System.nanoTime()) + 60;
+        if (!executor.awaitTermination(grace, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+            // Workers still writing to their stats cannot be merged; interrupted sends return within the request timeout
+            if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Load test workers did not stop within " + STOP_TIMEOUT_SECONDS + "s of being interrupted");
+            }
+        }
+
+        Map<String, EndpointStats> merged = new TreeMap<>();
+        for (LoadTestWorker worker : workers) {
+            worker.getStats().forEach((endpoint, stats) ->
+                    merged.computeIfAbsent(endpoint, key -> new EndpointStats()).merge(stats));
+        }
+        return merged;
+    }
+
+    record LoadTestReport(
+            Instant finishedAt,
+            Map<String, Object> configuration,
+            EndpointStats.Summary total,
+            double successThroughputPerCore,
+            List<EndpointStats.Summary> endpoints
+    ) {
+
+        static LoadTestReport of(LoadTestOptions options, Map<String, EndpointStats> stats) {
+            double seconds = options.duration().toMillis() / 1000.0;
+
+            EndpointStats total = new EndpointStats();
+            List<EndpointStats.Summary> endpoints = new ArrayList<>();
+            stats.forEach((endpoint, endpointStats) -> {
+                total.merge(endpointStats);
+                endpoints.add(endpointStats.summarize(endpoint, seconds));
+            });
+
+            Map<String, Object> configuration = new LinkedHashMap<>();
+            configuration.put("seededUsers", options.users());
+            configuration.put("concurrency", options.concurrency());
+            configuration.put("warmupSeconds", options.warmup().toSeconds());
+            configuration.put("durationSeconds", options.duration().toSeconds());
+            configuration.put("mix", options.mix());
+            configuration.put("searchesPerLogin", options.searchesPerLogin());
+            configuration.put("bcryptCost", options.bcryptCost());
+            configuration.put("virtualThreads", options.virtualThreads());
+            configuration.put("concurrencyLimit", options.concurrencyLimit());
+            configuration.put("requestDeadline", options.requestDeadline());
+            configuration.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            configuration.put("javaVersion", Runtime.version().toString());
+
+            // Servers, database and workers share the machine, so this is what one core sustains for the whole setup
+            EndpointStats.Summary summary = total.summarize("ALL", seconds);
+            double perCore = summary.successThroughputPerSecond() / Runtime.getRuntime().availableProcessors();
+            return new LoadTestReport(Instant.now(), configuration, summary, perCore, endpoints);
+        }
+    }
+}
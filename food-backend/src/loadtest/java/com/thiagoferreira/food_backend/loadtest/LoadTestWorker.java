@@ -0,0 +1,267 @@
+package com.thiagoferreira.food_backend.loadtest;
+
+import com.thiagoferreira.food_backend.grpc.JwtCallCredentials;
+import com.thiagoferreira.food_backend.grpc.proto.GetUserRequest;
+import com.thiagoferreira.food_backend.grpc.proto.UserLookupGrpc;
+import com.thiagoferreira.food_backend.loadtest.LoadTestOptions.Scenario;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.StatusRuntimeException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One closed-loop client: it repeatedly picks a scenario by weight and runs it to
+ * completion. It owns its HTTP client (and so its V1 session cookie), its gRPC channel
+ * and its stats. Paths under /v3 go to the reactive server, everything else to the
+ * servlet container.
+ */
+class LoadTestWorker implements Runnable {
+
+    static final String PASSWORD = "password123";
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String v3BaseUrl;
+    private final LoadTestOptions options;
+    private final List<Scenario> weightedScenarios;
+    private final AtomicLong sequence;
+    private final long recordFromNanos;
+    private final long stopAtNanos;
+    private final HttpClient client;
+    private final ManagedChannel channel;
+    private final Map<String, EndpointStats> stats = new HashMap<>();
+
+    LoadTestWorker(
+            String baseUrl,
+            String v3BaseUrl,
+            int grpcPort,
+            LoadTestOptions options,
+            List<Scenario> weightedScenarios,
+            AtomicLong sequence,
+            long recordFromNanos,
+            long stopAtNanos
+    ) {
+        this.baseUrl = baseUrl;
+        this.v3BaseUrl = v3BaseUrl;
+        this.options = options;
+        this.weightedScenarios = weightedScenarios;
+        this.sequence = sequence;
+        this.recordFromNanos = recordFromNanos;
+        this.stopAtNanos = stopAtNanos;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.channel = ManagedChannelBuilder.forAddress("localhost", grpcPort).usePlaintext().build();
+    }
+
+    Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    static String seededName(int index) {
+        return String.format("Load User %06d", index);
+    }
+
+    static String seededLogin(int index) {
+        return String.format("loaduser%06d", index);
+    }
+
+    static String seededEmail(int index) {
+        return seededLogin(index) + "@loadtest.local";
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            while (System.nanoTime() < stopAtNanos && !Thread.currentThread().isInterrupted()) {
+                switch (weightedScenarios.get(random.nextInt(weightedScenarios.size()))) {
+                    case V1 -> v1SessionCrud(random);
+                    case V2 -> v2JwtSearch(random);
+                    case V3 -> v3JwtSearch(random);
+                    case REGISTRATION -> registration();
+                    case GRPC -> grpcLookup(random);
+                }
+            }
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+
+    private void v1SessionCrud(ThreadLocalRandom random) {
+        int index = random.nextInt(options.users());
+        if (send("POST /auth/login", post("/auth/login", login(seededLogin(index)))) == null) {
+            return;
+        }
+
+        HttpResponse<String> created = send("POST /v1/users", post("/v1/users", newUser()));
+        if (created != null) {
+            long id = JSON.readTree(created.body()).get("id").asLong();
+            send("GET /v1/users/{id}", get("/v1/users/" + id, null));
+            send("PUT /v1/users/{id}", put("/v1/users/" + id, Map.of("name", "Updated " + id)));
+            send("DELETE /v1/users/{id}", HttpRequest.newBuilder(uri("/v1/users/" + id))
+                    .timeout(REQUEST_TIMEOUT)
+                    .DELETE()
+                    .build());
+        }
+
+        send("POST /auth/logout", post("/auth/logout", Map.of()));
+    }
+
+    private void v2JwtSearch(ThreadLocalRandom random) {
+        String token = v2Token(random);
+        if (token == null) {
+            return;
+        }
+        String bearer = "Bearer " + token;
+
+        for (int i = 0; i < options.searchesPerLogin() && System.nanoTime() < stopAtNanos; i++) {
+            int index = random.nextInt(options.users());
+            send("GET /v2/users/search/name", get("/v2/users/search/name?name=" + encode(seededName(index)), bearer));
+            send("GET /v2/users/search/login", get("/v2/users/search/login?login=" + encode(seededLogin(index)), bearer));
+            send("GET /v2/users/search/email", get("/v2/users/search/email?email=" + encode(seededEmail(index)), bearer));
+        }
+    }
+
+    // The V2 searches on the reactive stack, with a token from the same login
+    private void v3JwtSearch(ThreadLocalRandom random) {
+        String token = v2Token(random);
+        if (token == null) {
+            return;
+        }
+        String bearer = "Bearer " + token;
+
+        for (int i = 0; i < options.searchesPerLogin() && System.nanoTime() < stopAtNanos; i++) {
+            int index = random.nextInt(options.users());
+            send("GET /v3/users/search/name", get("/v3/users/search/name?name=" + encode(seededName(index)), bearer));
+            send("GET /v3/users/search/login", get("/v3/users/search/login?login=" + encode(seededLogin(index)), bearer));
+            send("GET /v3/users/search/email", get("/v3/users/search/email?email=" + encode(seededEmail(index)), bearer));
+        }
+    }
+
+    // The same lookups as the V2 login and email searches, so the two transports compare row for row
+    private void grpcLookup(ThreadLocalRandom random) {
+        String token = v2Token(random);
+        if (token == null) {
+            return;
+        }
+        UserLookupGrpc.UserLookupBlockingStub stub = UserLookupGrpc.newBlockingStub(channel)
+                .withCallCredentials(new JwtCallCredentials(token));
+
+        for (int i = 0; i < options.searchesPerLogin() && System.nanoTime() < stopAtNanos; i++) {
+            int index = random.nextInt(options.users());
+            call("gRPC GetUser(login)", stub, GetUserRequest.newBuilder().setLogin(seededLogin(index)).build());
+            call("gRPC GetUser(email)", stub, GetUserRequest.newBuilder().setEmail(seededEmail(index)).build());
+        }
+    }
+
+    private String v2Token(ThreadLocalRandom random) {
+        HttpResponse<String> response = send("POST /v2/auth/login",
+                post("/v2/auth/login", login(seededLogin(random.nextInt(options.users())))));
+        return response == null ? null : JSON.readTree(response.body()).get("token").asString();
+    }
+
+    private void registration() {
+        send("POST /v2/users", post("/v2/users", newUser()));
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean error = response.statusCode() >= 400;
+            record(endpoint, start, String.valueOf(response.statusCode()), error);
+            return error ? null : response;
+        } catch (IOException e) {
+            record(endpoint, start, e.getClass().getSimpleName(), true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void call(String endpoint, UserLookupGrpc.UserLookupBlockingStub stub, GetUserRequest request) {
+        long start = System.nanoTime();
+        try {
+            stub.withDeadlineAfter(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).getUser(request);
+            record(endpoint, start, "OK", false);
+        } catch (StatusRuntimeException e) {
+            record(endpoint, start, e.getStatus().getCode().name(), true);
+        }
+    }
+
+    private void record(String endpoint, long start, String outcome, boolean error) {
+        if (start >= recordFromNanos) {
+            stats.computeIfAbsent(endpoint, key -> new EndpointStats())
+                    .record(System.nanoTime() - start, outcome, error);
+        }
+    }
+
+    private Map<String, Object> newUser() {
+        long id = sequence.incrementAndGet();
+        return Map.of(
+                "name", "Registered User " + id,
+                "email", "registered" + id + "@loadtest.local",
+                "login", "registered" + id,
+                "password", PASSWORD,
+                "type", "CUSTOMER"
+        );
+    }
+
+    private static Map<String, Object> login(String login) {
+        return Map.of("login", login, "password", PASSWORD);
+    }
+
+    private HttpRequest get(String path, String bearer) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET();
+        if (bearer != null) {
+            builder.header("Authorization", bearer);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest post(String path, Map<String, Object> body) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest put(String path, Map<String, Object> body) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create((path.startsWith("/v3/") ? v3BaseUrl : baseUrl) + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+package com.thiagoferreira.food_backend.controllers;
+
+import com.thiagoferreira.food_backend.domain.dto.BatchRequest;
+import com.thiagoferreira.food_backend.domain.dto.BatchResponse;
+import com.thiagoferreira.food_backend.infraestructure.batch.BatchDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class BatchControllerV2 implements BatchControllerV2Api {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @Override
+    public ResponseEntity<BatchResponse> batch(
+            BatchRequest batchRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        return ResponseEntity.ok(new BatchResponse(batchDispatcher.dispatch(batchRequest.getRequests(), request, response)));
+    }
+}
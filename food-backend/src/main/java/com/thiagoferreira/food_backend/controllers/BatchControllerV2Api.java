@@ -0,0 +1,51 @@
+package com.thiagoferreira.food_backend.controllers;
+
+import com.thiagoferreira.food_backend.domain.dto.BatchRequest;
+import com.thiagoferreira.food_backend.domain.dto.BatchResponse;
+import com.thiagoferreira.food_backend.domain.dto.ProblemDetailDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@RequestMapping("/v2")
+@Tag(name = "Batch V2", description = "Runs several V2 user requests in one round trip. Requires JWT authentication.")
+@SecurityRequirement(name = "bearerAuth")
+public interface BatchControllerV2Api {
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Run a batch of user requests",
+            description = "Runs an ordered list of GET, POST, PUT, PATCH and DELETE requests on /v2/users routes with the " +
+                    "caller's JWT, which is verified once for the whole batch. Consecutive GETs run concurrently; a write waits " +
+                    "for the requests before it, so later requests see its effect. Every request gets its own status, headers " +
+                    "and body (a ProblemDetail on errors) in the response, in the order sent. Requires JWT authentication."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch run - see the status of each response",
+                    content = @Content(schema = @Schema(implementation = BatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error or too many requests in the batch",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "415", description = "Unsupported media type",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
+    })
+    ResponseEntity<BatchResponse> batch(
+            @RequestBody @Valid BatchRequest batchRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    );
+}
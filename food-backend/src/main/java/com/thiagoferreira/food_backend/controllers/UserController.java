@@ -7,6 +7,7 @@ import com.thiagoferreira.food_backend.domain.dto.UserUpdateRequest;
 import com.thiagoferreira.food_backend.domain.entities.User;
 import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
 import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.mappers.LazyMappedList;
 import com.thiagoferreira.food_backend.mappers.UserMapper;
 import com.thiagoferreira.food_backend.services.UserService;
 import lombok.RequiredArgsConstructor;
@@ -39,12 +40,12 @@ public class UserController implements UserControllerApi {
     @Override
     public ResponseEntity<List<UserResponse>> findUsers() {
         List<User> users = userService.findUsers();
-        List<UserResponse> response = Optional.ofNullable(users)
+        List<User> page = Optional.ofNullable(users)
                 .orElse(Collections.emptyList())
                 .stream()
                 .filter(Objects::nonNull)
-                .map(userMapper::toResponse)
                 .toList();
+        List<UserResponse> response = LazyMappedList.of(page, userMapper::toResponse);
 
         return ResponseEntity
                 .ok(response);
@@ -55,12 +56,12 @@ public class UserController implements UserControllerApi {
             String name
     ) {
         List<User> users = userService.searchByName(name);
-        List<UserResponse> response = Optional.ofNullable(users)
+        List<User> page = Optional.ofNullable(users)
                 .orElse(Collections.emptyList())
                 .stream()
                 .filter(Objects::nonNull)
-                .map(userMapper::toResponse)
                 .toList();
+        List<UserResponse> response = LazyMappedList.of(page, userMapper::toResponse);
         return ResponseEntity
                 .ok(response);
     }
@@ -98,7 +99,8 @@ public class UserController implements UserControllerApi {
             Long id,
             UserUpdateRequest userUpdateRequest
     ) {
-        User user = userService.findById(id);
+        // The service loads the managed entity itself, so the changes travel on a transient instance
+        User user = new User();
         userMapper.updateEntityFromDto(userUpdateRequest, user);
         User updated = userService.updateUser(id, user);
         return ResponseEntity
@@ -1,23 +1,33 @@
 package com.thiagoferreira.food_backend.controllers;
 
 import com.thiagoferreira.food_backend.domain.dto.PasswordChangeRequest;
+import com.thiagoferreira.food_backend.domain.dto.UserBatchItem;
 import com.thiagoferreira.food_backend.domain.dto.UserRequest;
 import com.thiagoferreira.food_backend.domain.dto.UserResponse;
 import com.thiagoferreira.food_backend.domain.dto.UserUpdateRequest;
 import com.thiagoferreira.food_backend.domain.entities.User;
 import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
 import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.infraestructure.json.WireFormat;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserVersionView;
+import com.thiagoferreira.food_backend.mappers.LazyMappedList;
+import com.thiagoferreira.food_backend.mappers.SparseUserList;
 import com.thiagoferreira.food_backend.mappers.UserMapper;
 import com.thiagoferreira.food_backend.services.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -37,30 +47,38 @@ public class UserControllerV2 implements UserControllerV2Api {
     }
 
     @Override
-    public ResponseEntity<List<UserResponse>> findUsers() {
-        List<User> users = userService.findUsers();
-        List<UserResponse> response = Optional.ofNullable(users)
-                .orElse(Collections.emptyList())
-                .stream()
-                .filter(Objects::nonNull)
-                .map(userMapper::toResponse)
-                .toList();
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<UserResponse>> findUsers(
+            String fields,
+            WebRequest webRequest
+    ) {
+        Set<UserField> selected = UserField.parse(fields);
+        return toListResponse(userService.findUsers(selected), selected, webRequest);
     }
 
     @Override
     public ResponseEntity<List<UserResponse>> searchByName(
-            String name
+            String name,
+            String fields,
+            WebRequest webRequest
     ) {
-        List<User> users = userService.searchByName(name);
-        List<UserResponse> response = Optional.ofNullable(users)
+        Set<UserField> selected = UserField.parse(fields);
+        return toListResponse(userService.searchByName(name, selected), selected, webRequest);
+    }
+
+    private ResponseEntity<List<UserResponse>> toListResponse(List<User> users, Set<UserField> fields, WebRequest webRequest) {
+        List<User> page = Optional.ofNullable(users)
                 .orElse(Collections.emptyList())
                 .stream()
                 .filter(Objects::nonNull)
-                .map(userMapper::toResponse)
                 .toList();
-        return ResponseEntity.ok(response);
+
+        String eTag = wireFormatOf(webRequest).tag(userMapper.toWeakETag(page));
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        // Mapped element by element while the body is written
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(SparseUserList.of(LazyMappedList.of(page, userMapper::toResponse), fields));
     }
 
     @Override
@@ -83,11 +101,71 @@ public class UserControllerV2 implements UserControllerV2Api {
 
     @Override
     public ResponseEntity<UserResponse> searchById(
-            Long id
+            Long id,
+            WebRequest webRequest
     ) {
+        WireFormat wireFormat = wireFormatOf(webRequest);
+        // Conditional requests are validated against the version columns only, so a 304 never loads the full entity
+        if (isConditional(webRequest)) {
+            UserVersionView version = userService.findVersionById(id);
+            String eTag = wireFormat.tag(userMapper.toETag(version));
+            long lastModified = userMapper.toLastModified(version.getLastUpdated());
+            if (webRequest.checkNotModified(eTag, lastModified)) {
+                return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag, lastModified).build();
+            }
+        }
+
         User user = userService.findById(id);
         UserResponse response = userMapper.toResponse(user);
-        return ResponseEntity.ok(response);
+        return withValidators(ResponseEntity.ok(), wireFormat.tag(userMapper.toETag(user)), userMapper.toLastModified(user.getLastUpdated()))
+                .body(response);
+    }
+
+    private boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // JSON and CBOR bodies get different entity tags, so a validator never matches the other encoding
+    private static WireFormat wireFormatOf(WebRequest webRequest) {
+        return WireFormat.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, String eTag, long lastModified) {
+        builder.eTag(eTag).varyBy(HttpHeaders.ACCEPT);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    @Override
+    public ResponseEntity<List<UserBatchItem>> batchById(
+            List<Long> ids
+    ) {
+        return ResponseEntity.ok(toBatchItems(ids, userService.findAllByIds(ids)));
+    }
+
+    @Override
+    public ResponseEntity<List<UserBatchItem>> batchByLogin(
+            List<String> logins
+    ) {
+        return ResponseEntity.ok(toBatchItems(logins, userService.findAllByLogins(logins)));
+    }
+
+    @Override
+    public ResponseEntity<List<UserBatchItem>> batchByEmail(
+            List<String> emails
+    ) {
+        return ResponseEntity.ok(toBatchItems(emails, userService.findAllByEmails(emails)));
+    }
+
+    private <K> List<UserBatchItem> toBatchItems(List<K> keys, Map<K, User> users) {
+        return Optional.ofNullable(keys)
+                .orElse(Collections.emptyList())
+                .stream()
+                .map(key -> userMapper.toBatchItem(key, users.get(key)))
+                .toList();
     }
 
     @Override
@@ -95,7 +173,8 @@ public class UserControllerV2 implements UserControllerV2Api {
             Long id,
             UserUpdateRequest userUpdateRequest
     ) {
-        User user = userService.findById(id);
+        // The service loads the managed entity itself, so the changes travel on a transient instance
+        User user = new User();
         userMapper.updateEntityFromDto(userUpdateRequest, user);
         User updated = userService.updateUser(id, user);
         return ResponseEntity.ok(userMapper.toResponse(updated));
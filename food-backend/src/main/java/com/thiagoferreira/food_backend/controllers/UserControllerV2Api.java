@@ -2,10 +2,13 @@ package com.thiagoferreira.food_backend.controllers;
 
 import com.thiagoferreira.food_backend.domain.dto.PasswordChangeRequest;
 import com.thiagoferreira.food_backend.domain.dto.ProblemDetailDTO;
+import com.thiagoferreira.food_backend.domain.dto.UserBatchItem;
 import com.thiagoferreira.food_backend.domain.dto.UserRequest;
 import com.thiagoferreira.food_backend.domain.dto.UserResponse;
 import com.thiagoferreira.food_backend.domain.dto.UserUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,6 +26,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -38,12 +42,17 @@ public interface UserControllerV2Api {
             summary = "Create a new user",
             description = "Creates a new user. This endpoint is PUBLIC and does not require authentication."
     )
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key", required = false, schema = @Schema(type = "string", maxLength = 255),
+            description = "Client-generated key (e.g. a UUID) that makes retries safe: a retry with the same key and body " +
+                    "gets the stored response back with Idempotent-Replayed: true instead of running again")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "User created successfully"),
             @ApiResponse(responseCode = "400", description = "Validation error or domain validation error",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "415", description = "Unsupported media type",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used with a different body",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
     })
@@ -54,31 +63,48 @@ public interface UserControllerV2Api {
     @GetMapping
     @Operation(
             summary = "Search users",
-            description = "Lists all users. Requires JWT authentication."
+            description = "Lists all users. The optional fields parameter (e.g. fields=id,name) limits both the properties " +
+                    "returned and the columns read. The response carries a weak ETag over the result page and honors If-None-Match. " +
+                    "Requires JWT authentication."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Users found successfully"),
+            @ApiResponse(responseCode = "304", description = "Result page not modified since the ETag sent in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Unknown field in the fields parameter",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
     })
-    ResponseEntity<List<UserResponse>> findUsers();
+    ResponseEntity<List<UserResponse>> findUsers(
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    );
 
     @GetMapping("/search/name")
     @Operation(
             summary = "Search users by name",
-            description = "Searches users by name (partial match, case-insensitive). If no name is provided, returns all users. Requires JWT authentication."
+            description = "Searches users by name (partial match, case-insensitive). If no name is provided, returns all users. " +
+                    "The optional fields parameter (e.g. fields=id,name) limits both the properties returned and the columns read. " +
+                    "The response carries a weak ETag over the result page and honors If-None-Match. Requires JWT authentication."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Users found successfully"),
+            @ApiResponse(responseCode = "304", description = "Result page not modified since the ETag sent in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Unknown field in the fields parameter",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
     })
     ResponseEntity<List<UserResponse>> searchByName(
-            @RequestParam(required = false) String name
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
     );
 
     @GetMapping("/search/login")
@@ -121,13 +147,73 @@ public interface UserControllerV2Api {
             @RequestParam String email
     );
 
+    @GetMapping(value = "/batch", params = "ids")
+    @Operation(
+            summary = "Batch search users by id",
+            description = "Resolves several users by id with a single database query. Results are returned in the same order as the requested keys, " +
+                    "with found=false for keys that do not match any user. Requires JWT authentication."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch resolved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many keys or invalid ID format",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
+    })
+    ResponseEntity<List<UserBatchItem>> batchById(
+            @RequestParam List<Long> ids
+    );
+
+    @GetMapping(value = "/batch", params = "logins")
+    @Operation(
+            summary = "Batch search users by login",
+            description = "Resolves several users by login with a single database query. Results are returned in the same order as the requested keys, " +
+                    "with found=false for keys that do not match any user. Requires JWT authentication."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch resolved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many keys",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
+    })
+    ResponseEntity<List<UserBatchItem>> batchByLogin(
+            @RequestParam List<String> logins
+    );
+
+    @GetMapping(value = "/batch", params = "emails")
+    @Operation(
+            summary = "Batch search users by email",
+            description = "Resolves several users by email with a single database query. Results are returned in the same order as the requested keys, " +
+                    "with found=false for keys that do not match any user. Requires JWT authentication."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch resolved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many keys",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
+    })
+    ResponseEntity<List<UserBatchItem>> batchByEmail(
+            @RequestParam List<String> emails
+    );
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Search users by id",
-            description = "Searches a user by ID. Requires JWT authentication."
+            description = "Searches a user by ID. The response carries a strong ETag and Last-Modified; " +
+                    "If-None-Match and If-Modified-Since are answered with 304 without loading the full user. Requires JWT authentication."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User found successfully"),
+            @ApiResponse(responseCode = "304", description = "User not modified since the validators sent by the client",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid ID format",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required",
@@ -138,7 +224,8 @@ public interface UserControllerV2Api {
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
     })
     ResponseEntity<UserResponse> searchById(
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     );
 
     @PutMapping("/{id}")
@@ -154,6 +241,8 @@ public interface UserControllerV2Api {
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "409", description = "The user was changed by a concurrent request",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "415", description = "Unsupported media type",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
@@ -169,6 +258,9 @@ public interface UserControllerV2Api {
             summary = "Change user password",
             description = "Changes the user's password. Requires JWT authentication."
     )
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key", required = false, schema = @Schema(type = "string", maxLength = 255),
+            description = "Client-generated key (e.g. a UUID) that makes retries safe: a retry with the same key and body " +
+                    "gets the stored response back with Idempotent-Replayed: true instead of running again")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Password changed successfully"),
             @ApiResponse(responseCode = "400", description = "Validation error, domain validation error or invalid ID format",
@@ -177,8 +269,12 @@ public interface UserControllerV2Api {
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "409", description = "The user was changed by a concurrent request",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "415", description = "Unsupported media type",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used with a different body",
+                    content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ProblemDetailDTO.class)))
     })
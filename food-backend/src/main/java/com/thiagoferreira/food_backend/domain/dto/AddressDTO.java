@@ -1,20 +1,19 @@
 package com.thiagoferreira.food_backend.domain.dto;
 
 import jakarta.validation.constraints.NotBlank;
-import lombok.Data;
 
-@Data
-public class AddressDTO {
+public record AddressDTO(
 
-    @NotBlank(message = "Street is required.")
-    private String street;
+        @NotBlank(message = "Street is required.")
+        String street,
 
-    @NotBlank(message = "Number is required.")
-    private String number;
+        @NotBlank(message = "Number is required.")
+        String number,
 
-    @NotBlank(message = "City is required.")
-    private String city;
+        @NotBlank(message = "City is required.")
+        String city,
 
-    @NotBlank(message = "ZipCode is required.")
-    private String zipCode;
+        @NotBlank(message = "ZipCode is required.")
+        String zipCode
+) {
 }
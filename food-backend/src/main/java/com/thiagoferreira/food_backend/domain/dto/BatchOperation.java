@@ -0,0 +1,34 @@
+package com.thiagoferreira.food_backend.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tools.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "One request of a batch, against a /v2/users route")
+public class BatchOperation {
+
+    @Schema(description = "Client reference echoed in the result; defaults to the position in the batch", example = "profile")
+    private String id;
+
+    @NotBlank(message = "Method is required")
+    @Schema(description = "HTTP method: GET, POST, PUT, PATCH or DELETE", example = "GET")
+    private String method;
+
+    @NotBlank(message = "Path is required")
+    @Schema(description = "Path and query string of a /v2/users route", example = "/v2/users/search/login?login=joao")
+    private String path;
+
+    @Schema(description = "Request headers, such as If-None-Match", example = "{\"If-None-Match\": \"\\\"3\\\"\"}")
+    private Map<String, String> headers;
+
+    @Schema(description = "JSON request body, for POST, PUT and PATCH", implementation = Object.class)
+    private JsonNode body;
+}
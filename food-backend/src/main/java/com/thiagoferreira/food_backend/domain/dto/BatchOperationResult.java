@@ -0,0 +1,20 @@
+package com.thiagoferreira.food_backend.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import tools.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+@Schema(description = "Result of one request of a batch: what the route would have answered on its own")
+public record BatchOperationResult(
+        @Schema(description = "The id of the request", example = "profile")
+        String id,
+        @Schema(description = "HTTP status of the request", example = "200")
+        int status,
+        @Schema(description = "Response headers, such as ETag and Content-Type")
+        Map<String, String> headers,
+        @Schema(description = "JSON response body: the resource, or a ProblemDetail on errors; null when empty",
+                implementation = Object.class)
+        JsonNode body
+) {
+}
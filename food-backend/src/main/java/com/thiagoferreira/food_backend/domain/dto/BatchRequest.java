@@ -0,0 +1,22 @@
+package com.thiagoferreira.food_backend.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ordered list of V2 user requests executed in one round trip")
+public class BatchRequest {
+
+    @NotEmpty(message = "At least one request is required")
+    @Valid
+    @Schema(description = "The requests, answered in the same order")
+    private List<BatchOperation> requests;
+}
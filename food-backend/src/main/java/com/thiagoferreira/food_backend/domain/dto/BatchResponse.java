@@ -0,0 +1,9 @@
+package com.thiagoferreira.food_backend.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Results of a batch, in the order of the requests")
+public record BatchResponse(List<BatchOperationResult> responses) {
+}
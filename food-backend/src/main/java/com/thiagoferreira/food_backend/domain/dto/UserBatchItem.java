@@ -0,0 +1,22 @@
+package com.thiagoferreira.food_backend.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Result of a single key in a batch lookup, returned in the same order as the requested keys")
+public class UserBatchItem {
+
+    @Schema(description = "The requested key (id, login or email)", example = "42")
+    private String key;
+
+    @Schema(description = "Whether a user was found for the key", example = "true")
+    private boolean found;
+
+    @Schema(description = "The user found for the key, or null when not found")
+    private UserResponse user;
+}
@@ -1,17 +1,16 @@
 package com.thiagoferreira.food_backend.domain.dto;
 
 import com.thiagoferreira.food_backend.domain.enums.UserType;
-import lombok.Data;
 
 import java.time.LocalDateTime;
 
-@Data
-public class UserResponse {
-    private Long id;
-    private String name;
-    private String email;
-    private String login;
-    private UserType type;
-    private AddressDTO address;
-    private LocalDateTime lastUpdate;
+public record UserResponse(
+        Long id,
+        String name,
+        String email,
+        String login,
+        UserType type,
+        AddressDTO address,
+        LocalDateTime lastUpdate
+) {
 }
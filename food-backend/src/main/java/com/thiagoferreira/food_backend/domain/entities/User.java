@@ -46,4 +46,8 @@ public class User {
     @Column(name = "last_updated")
     @LastModifiedDate
     private LocalDateTime lastUpdated;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
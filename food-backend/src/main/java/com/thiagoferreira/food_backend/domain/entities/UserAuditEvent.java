@@ -0,0 +1,47 @@
+package com.thiagoferreira.food_backend.domain.entities;
+
+import com.thiagoferreira.food_backend.domain.enums.UserAuditAction;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change made to a user, appended to {@code tb_user_audit} and never updated. Ids come
+ * from a pooled sequence so the audit writer can insert a batch in one JDBC round trip.
+ */
+@Entity
+@Table(name = "tb_user_audit", indexes = @Index(name = "idx_user_audit_user_id", columnList = "user_id"))
+@Data
+@NoArgsConstructor
+@Hidden
+public class UserAuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_audit_seq")
+    @SequenceGenerator(name = "user_audit_seq", sequenceName = "tb_user_audit_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private UserAuditAction action;
+
+    // Login of the authenticated caller; empty for V1 session requests and registrations
+    @Column(updatable = false)
+    private String actor;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    public UserAuditEvent(Long userId, UserAuditAction action, String actor, LocalDateTime occurredAt) {
+        this.userId = userId;
+        this.action = action;
+        this.actor = actor;
+        this.occurredAt = occurredAt;
+    }
+}
@@ -1,10 +1,11 @@
 package com.thiagoferreira.food_backend.domain.enums;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.MissingFormatArgumentException;
+
 @Getter
-@AllArgsConstructor
 public enum ErrorMessages {
 
     USER_NOT_FOUND("User not found with the provided details."),
@@ -14,13 +15,48 @@ public enum ErrorMessages {
     LOGIN_INVALID("Invalid credentials. Please check your login and password."),
     PASSWORD_MISMATCH("The current password provided is incorrect."),
     UNAUTHORIZED_ACCESS("Authentication required. Please log in to access this resource."),
+    BATCH_SIZE_EXCEEDED("A batch request accepts at most %s keys."),
+    UNKNOWN_FIELDS("Unknown fields: %s. Allowed fields: %s."),
+    BATCH_REQUESTS_EXCEEDED("A batch accepts at most %s requests."),
+    BATCH_ROUTE_NOT_ALLOWED("Batches only accept GET, POST, PUT, PATCH and DELETE requests on /v2/users routes: %s"),
+    BATCH_REQUEST_FORBIDDEN("The caller is not allowed to send %s."),
+    LOOKUP_KEY_REQUIRED("Exactly one kind of lookup key must be provided: id, login or email."),
+    IDEMPOTENCY_KEY_INVALID("The Idempotency-Key header must have between 1 and %s characters."),
+    IDEMPOTENCY_KEY_NOT_UUID("Requests without authentication must send a UUID as the Idempotency-Key."),
+    IDEMPOTENCY_KEY_REUSED("The Idempotency-Key was already used for a request with a different body."),
+    CONCURRENT_MODIFICATION("The user was changed by another request. Reload it and try again."),
+    REQUEST_TIMEOUT_INVALID("The Request-Timeout header must be a positive number of milliseconds."),
+    DEADLINE_EXCEEDED("The request did not complete within its deadline."),
+    SERVICE_OVERLOADED("The service is at its concurrency limit. Please retry shortly."),
+    PASSWORD_HASHING_SATURATED("Too many password operations are waiting. Please retry shortly."),
+    PASSWORD_HASHING_UNAVAILABLE("Password hashing is unavailable. Please retry shortly."),
+    IDEMPOTENCY_STORE_FULL("Too many requests with an Idempotency-Key are still running. Please retry shortly."),
 
     INVALID_REQUEST("The request contains invalid data."),
     INTERNAL_SERVER_ERROR("An unexpected internal error occurred.");
 
     private final String message;
 
+    // Messages only use %s placeholders, so they are split once and params() concatenates instead of parsing a format
+    @Getter(AccessLevel.NONE)
+    private final String[] segments;
+
+    ErrorMessages(String message) {
+        this.message = message;
+        this.segments = message.split("%s", -1);
+    }
+
     public String params(Object... args) {
-        return String.format(this.message, args);
+        if (segments.length == 1) {
+            return message;
+        }
+        StringBuilder builder = new StringBuilder(message.length() + 16).append(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            if (args == null || i > args.length) {
+                throw new MissingFormatArgumentException("%s");
+            }
+            builder.append(args[i - 1]).append(segments[i]);
+        }
+        return builder.toString();
     }
 }
@@ -0,0 +1,8 @@
+package com.thiagoferreira.food_backend.domain.enums;
+
+public enum UserAuditAction {
+    CREATED,
+    UPDATED,
+    PASSWORD_CHANGED,
+    DELETED
+}
@@ -0,0 +1,76 @@
+package com.thiagoferreira.food_backend.domain.enums;
+
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Properties of UserResponse that a caller can select with {@code fields=}, named as they
+ * appear on the wire and declared in the order they are written.
+ */
+@Getter
+public enum UserField {
+    ADDRESS("address"),
+    EMAIL("email"),
+    ID("id"),
+    LAST_UPDATE("lastUpdate"),
+    LOGIN("login"),
+    NAME("name"),
+    TYPE("type");
+
+    public static final Set<UserField> ALL = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+    private static final String ALLOWED = Arrays.stream(values())
+            .map(UserField::getName)
+            .collect(Collectors.joining(","));
+
+    private final String name;
+
+    UserField(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,name}. A missing or empty list selects
+     * every field; any unknown name rejects the whole list.
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<UserField> selected = EnumSet.noneOf(UserField.class);
+        List<String> unknown = new ArrayList<>();
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            UserField field = byName(name);
+            if (field == null) {
+                unknown.add(name);
+            } else {
+                selected.add(field);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new DomainValidationException(ErrorMessages.UNKNOWN_FIELDS, String.join(",", unknown), ALLOWED);
+        }
+        return selected.isEmpty() || selected.size() == ALL.size() ? ALL : selected;
+    }
+
+    private static UserField byName(String name) {
+        for (UserField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
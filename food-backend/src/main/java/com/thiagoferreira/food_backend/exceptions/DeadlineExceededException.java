@@ -0,0 +1,14 @@
+package com.thiagoferreira.food_backend.exceptions;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+
+/**
+ * The deadline of the current request passed before its work was done. Thrown in bulk
+ * when the database slows down, so like {@link DomainException} it skips the stack trace.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException() {
+        super(ErrorMessages.DEADLINE_EXCEEDED.getMessage(), null, false, false);
+    }
+}
@@ -0,0 +1,23 @@
+package com.thiagoferreira.food_backend.exceptions;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+
+/**
+ * Base for the expected, client-caused failures of the domain: unknown users, taken logins,
+ * wrong passwords, missing sessions. They are thrown as ordinary control flow, often by
+ * scanners and misbehaving clients, so they skip stack trace capture and suppression.
+ * The {@link ErrorMessages} constant, when there is one, identifies the failure.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorMessages error;
+
+    protected DomainException(ErrorMessages error, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.error = error;
+    }
+
+    public ErrorMessages getError() {
+        return error;
+    }
+}
@@ -2,8 +2,12 @@ package com.thiagoferreira.food_backend.exceptions;
 
 import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
 
-public class DomainValidationException extends RuntimeException {
-    public DomainValidationException(ErrorMessages errorMessages) { super(errorMessages.getMessage()); }
+public class DomainValidationException extends DomainException {
+    public DomainValidationException(ErrorMessages errorMessages) { super(errorMessages, errorMessages.getMessage(), null); }
 
-    public DomainValidationException(ErrorMessages errorMessages, Throwable cause) { super(errorMessages.getMessage(), cause); }
+    public DomainValidationException(ErrorMessages errorMessages, Object... params) { super(errorMessages, errorMessages.params(params), null); }
+
+    public DomainValidationException(String message) { super(null, message, null); }
+
+    public DomainValidationException(ErrorMessages errorMessages, Throwable cause) { super(errorMessages, errorMessages.getMessage(), cause); }
 }
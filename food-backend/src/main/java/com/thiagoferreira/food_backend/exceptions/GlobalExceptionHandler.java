@@ -1,8 +1,14 @@
 package com.thiagoferreira.food_backend.exceptions;
 
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -27,20 +33,18 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
-    private static final String PROBLEM_TYPE_BASE_URI = "https://api.food-backend.com/problems/";
-    
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ClientErrorLogPolicy clientErrors;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ProblemDetail> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        log.error("Resource not found: {}", ex.getMessage());
+        clientErrors.record(ProblemType.RESOURCE_NOT_FOUND.getSlug(), "Resource not found: {}", ex.getMessage());
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.NOT_FOUND,
-                ex.getMessage()
-        );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "resource-not-found"));
-        problemDetail.setTitle("Resource Not Found");
+        ProblemDetail problemDetail = ProblemType.RESOURCE_NOT_FOUND.create(ex.getMessage());
         
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
@@ -49,14 +53,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ProblemDetail> handleUnauthorizedException(UnauthorizedException ex, WebRequest request) {
-        log.error("Unauthorized access: {}", ex.getMessage());
+        clientErrors.record(ProblemType.UNAUTHORIZED.getSlug(), "Unauthorized access: {}", ex.getMessage());
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.UNAUTHORIZED,
-                ex.getMessage()
-        );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "unauthorized"));
-        problemDetail.setTitle("Unauthorized");
+        ProblemDetail problemDetail = ProblemType.UNAUTHORIZED.create(ex.getMessage());
         
         // Set instance URI
         if (request instanceof ServletWebRequest servletWebRequest) {
@@ -78,14 +77,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(DomainValidationException.class)
     public ResponseEntity<ProblemDetail> handleDomainValidationException(DomainValidationException ex) {
-        log.error("Domain validation error: {}", ex.getMessage());
+        clientErrors.record(ProblemType.DOMAIN_VALIDATION_ERROR.getSlug(), "Domain validation error: {}", ex.getMessage());
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                ex.getMessage()
-        );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "domain-validation-error"));
-        problemDetail.setTitle("Domain Validation Error");
+        ProblemDetail problemDetail = ProblemType.DOMAIN_VALIDATION_ERROR.create(ex.getMessage());
         
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
@@ -94,7 +88,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ProblemDetail> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
-        log.error("Validation error: {}", ex.getMessage());
+        clientErrors.record(ProblemType.VALIDATION_ERROR.getSlug(), "Validation error: {}", ex.getMessage());
         
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach(error -> {
@@ -103,12 +97,7 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                "Validation failed"
-        );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "validation-error"));
-        problemDetail.setTitle("Validation Error");
+        ProblemDetail problemDetail = ProblemType.VALIDATION_ERROR.create("Validation failed");
         problemDetail.setProperty("errors", errors);
         
         return ResponseEntity
@@ -118,7 +107,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ProblemDetail> handleConstraintViolationException(ConstraintViolationException ex) {
-        log.error("Constraint violation: {}", ex.getMessage());
+        clientErrors.record(ProblemType.CONSTRAINT_VIOLATION.getSlug(), "Constraint violation: {}", ex.getMessage());
         
         Map<String, String> errors = ex.getConstraintViolations().stream()
                 .collect(Collectors.toMap(
@@ -126,12 +115,7 @@ public class GlobalExceptionHandler {
                         ConstraintViolation::getMessage
                 ));
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                "Constraint violation"
-        );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "constraint-violation"));
-        problemDetail.setTitle("Constraint Violation");
+        ProblemDetail problemDetail = ProblemType.CONSTRAINT_VIOLATION.create("Constraint violation");
         problemDetail.setProperty("errors", errors);
         
         return ResponseEntity
@@ -141,19 +125,14 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ProblemDetail> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
-        log.error("Malformed JSON or missing request body: {}", ex.getMessage());
+        clientErrors.record(ProblemType.MALFORMED_REQUEST.getSlug(), "Malformed JSON or missing request body: {}", ex.getMessage());
         
         String detail = "Request body is malformed or missing. Please check your JSON format.";
         if (ex.getMessage() != null && ex.getMessage().contains("Required request body is missing")) {
             detail = "Request body is required but was not provided.";
         }
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                detail
-        );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "malformed-request"));
-        problemDetail.setTitle("Malformed Request");
+        ProblemDetail problemDetail = ProblemType.MALFORMED_REQUEST.create(detail);
         
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
@@ -162,14 +141,11 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ProblemDetail> handleMissingServletRequestParameterException(MissingServletRequestParameterException ex) {
-        log.error("Missing required parameter: {}", ex.getParameterName());
+        clientErrors.record(ProblemType.MISSING_PARAMETER.getSlug(), "Missing required parameter: {}", ex.getParameterName());
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
+        ProblemDetail problemDetail = ProblemType.MISSING_PARAMETER.create(
                 String.format("Required parameter '%s' is missing", ex.getParameterName())
         );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "missing-parameter"));
-        problemDetail.setTitle("Missing Required Parameter");
         problemDetail.setProperty("parameter", ex.getParameterName());
         
         return ResponseEntity
@@ -179,18 +155,15 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ProblemDetail> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
-        log.error("Type mismatch for parameter '{}': expected {}, but got '{}'", 
+        clientErrors.record(ProblemType.TYPE_MISMATCH.getSlug(), "Type mismatch for parameter '{}': expected {}, but got '{}'", 
                 ex.getName(), ex.getRequiredType(), ex.getValue());
         
         String expectedType = ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "unknown";
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                String.format("Invalid value '%s' for parameter '%s'. Expected type: %s", 
+        ProblemDetail problemDetail = ProblemType.TYPE_MISMATCH.create(
+                String.format("Invalid value '%s' for parameter '%s'. Expected type: %s",
                         ex.getValue(), ex.getName(), expectedType)
         );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "type-mismatch"));
-        problemDetail.setTitle("Type Mismatch");
         problemDetail.setProperty("parameter", ex.getName());
         problemDetail.setProperty("expectedType", expectedType);
         problemDetail.setProperty("providedValue", ex.getValue() != null ? ex.getValue().toString() : "null");
@@ -202,15 +175,12 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ProblemDetail> handleHttpRequestMethodNotSupportedException(HttpRequestMethodNotSupportedException ex) {
-        log.error("HTTP method '{}' is not supported for this endpoint. Supported methods: {}", 
+        clientErrors.record(ProblemType.METHOD_NOT_ALLOWED.getSlug(), "HTTP method '{}' is not supported for this endpoint. Supported methods: {}", 
                 ex.getMethod(), ex.getSupportedHttpMethods());
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.METHOD_NOT_ALLOWED,
+        ProblemDetail problemDetail = ProblemType.METHOD_NOT_ALLOWED.create(
                 String.format("HTTP method '%s' is not supported for this endpoint", ex.getMethod())
         );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "method-not-allowed"));
-        problemDetail.setTitle("Method Not Allowed");
         problemDetail.setProperty("method", ex.getMethod());
         problemDetail.setProperty("supportedMethods", ex.getSupportedHttpMethods());
         
@@ -221,15 +191,12 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     public ResponseEntity<ProblemDetail> handleHttpMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException ex) {
-        log.error("Media type '{}' is not supported. Supported types: {}", 
+        clientErrors.record(ProblemType.UNSUPPORTED_MEDIA_TYPE.getSlug(), "Media type '{}' is not supported. Supported types: {}", 
                 ex.getContentType(), ex.getSupportedMediaTypes());
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+        ProblemDetail problemDetail = ProblemType.UNSUPPORTED_MEDIA_TYPE.create(
                 String.format("Media type '%s' is not supported", ex.getContentType())
         );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "unsupported-media-type"));
-        problemDetail.setTitle("Unsupported Media Type");
         problemDetail.setProperty("contentType", ex.getContentType() != null ? ex.getContentType().toString() : "null");
         problemDetail.setProperty("supportedTypes", ex.getSupportedMediaTypes());
         
@@ -240,14 +207,11 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MissingPathVariableException.class)
     public ResponseEntity<ProblemDetail> handleMissingPathVariableException(MissingPathVariableException ex) {
-        log.error("Missing path variable: {}", ex.getVariableName());
+        clientErrors.record(ProblemType.MISSING_PATH_VARIABLE.getSlug(), "Missing path variable: {}", ex.getVariableName());
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
+        ProblemDetail problemDetail = ProblemType.MISSING_PATH_VARIABLE.create(
                 String.format("Required path variable '%s' is missing", ex.getVariableName())
         );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "missing-path-variable"));
-        problemDetail.setTitle("Missing Path Variable");
         problemDetail.setProperty("variable", ex.getVariableName());
         
         return ResponseEntity
@@ -257,14 +221,11 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ProblemDetail> handleNoHandlerFoundException(NoHandlerFoundException ex) {
-        log.error("No handler found for {} {}", ex.getHttpMethod(), ex.getRequestURL());
+        clientErrors.record(ProblemType.ENDPOINT_NOT_FOUND.getSlug(), "No handler found for {} {}", ex.getHttpMethod(), ex.getRequestURL());
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.NOT_FOUND,
+        ProblemDetail problemDetail = ProblemType.ENDPOINT_NOT_FOUND.create(
                 String.format("No handler found for %s %s", ex.getHttpMethod(), ex.getRequestURL())
         );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "endpoint-not-found"));
-        problemDetail.setTitle("Endpoint Not Found");
         problemDetail.setProperty("method", ex.getHttpMethod());
         problemDetail.setProperty("path", ex.getRequestURL());
         
@@ -273,16 +234,58 @@ public class GlobalExceptionHandler {
                 .body(problemDetail);
     }
 
+    // Two requests updated the same user from the same version; the one that committed second is refused
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        clientErrors.record(ProblemType.CONCURRENT_MODIFICATION.getSlug(), "Concurrent modification: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemType.CONCURRENT_MODIFICATION.create(ErrorMessages.CONCURRENT_MODIFICATION.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(problemDetail);
+    }
+
+    // A statement cancelled by its timeout is a request that ran out of time as well; both are server-side slowness, not sampled
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ProblemDetail> handleDeadlineExceededException(RuntimeException ex) {
+        log.warn("Deadline exceeded: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemType.DEADLINE_EXCEEDED.create(ErrorMessages.DEADLINE_EXCEEDED.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(problemDetail);
+    }
+
+    // Shed in bulk under overload, like the 503s of the concurrency limit: counted by the metrics, not logged
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ProblemDetail> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        ProblemDetail problemDetail = ProblemType.SERVICE_OVERLOADED.create(ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        log.warn("Service unavailable: {}", ex.getMessage(), ex.getCause());
+
+        ProblemDetail problemDetail = ProblemType.SERVICE_UNAVAILABLE.create(ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(problemDetail);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetail> handleGenericException(Exception ex) {
         log.error("Unexpected error: ", ex);
         
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.INTERNAL_SERVER_ERROR,
-                "An unexpected error occurred"
-        );
-        problemDetail.setType(URI.create(PROBLEM_TYPE_BASE_URI + "internal-server-error"));
-        problemDetail.setTitle("Internal Server Error");
+        ProblemDetail problemDetail = ProblemType.INTERNAL_SERVER_ERROR.create("An unexpected error occurred");
         
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
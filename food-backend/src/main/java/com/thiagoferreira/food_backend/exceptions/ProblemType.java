@@ -0,0 +1,57 @@
+package com.thiagoferreira.food_backend.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+/**
+ * The problem types this API answers with. Status, type URI and title of each one are
+ * built once at class load; a response only fills in its detail and own properties.
+ */
+@Getter
+public enum ProblemType {
+
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND, "resource-not-found", "Resource Not Found"),
+    UNAUTHORIZED(HttpStatus.UNAUTHORIZED, "unauthorized", "Unauthorized"),
+    FORBIDDEN(HttpStatus.FORBIDDEN, "forbidden", "Forbidden"),
+    DOMAIN_VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "domain-validation-error", "Domain Validation Error"),
+    VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "validation-error", "Validation Error"),
+    CONSTRAINT_VIOLATION(HttpStatus.BAD_REQUEST, "constraint-violation", "Constraint Violation"),
+    MALFORMED_REQUEST(HttpStatus.BAD_REQUEST, "malformed-request", "Malformed Request"),
+    MISSING_PARAMETER(HttpStatus.BAD_REQUEST, "missing-parameter", "Missing Required Parameter"),
+    TYPE_MISMATCH(HttpStatus.BAD_REQUEST, "type-mismatch", "Type Mismatch"),
+    METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED, "method-not-allowed", "Method Not Allowed"),
+    UNSUPPORTED_MEDIA_TYPE(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "unsupported-media-type", "Unsupported Media Type"),
+    MISSING_PATH_VARIABLE(HttpStatus.BAD_REQUEST, "missing-path-variable", "Missing Path Variable"),
+    ENDPOINT_NOT_FOUND(HttpStatus.NOT_FOUND, "endpoint-not-found", "Endpoint Not Found"),
+    CONCURRENT_MODIFICATION(HttpStatus.CONFLICT, "concurrent-modification", "Concurrent Modification"),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_CONTENT, "idempotency-key-reused", "Idempotency Key Reused"),
+    DEADLINE_EXCEEDED(HttpStatus.GATEWAY_TIMEOUT, "deadline-exceeded", "Deadline Exceeded"),
+    SERVICE_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "service-overloaded", "Service Overloaded"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "service-unavailable", "Service Unavailable"),
+    INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "internal-server-error", "Internal Server Error");
+
+    public static final String BASE_URI = "https://api.food-backend.com/problems/";
+
+    private final HttpStatus status;
+    private final String slug;
+    private final URI type;
+    private final String title;
+
+    ProblemType(HttpStatus status, String slug, String title) {
+        this.status = status;
+        this.slug = slug;
+        this.type = URI.create(BASE_URI + slug);
+        this.title = title;
+    }
+
+    public ProblemDetail create(String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(status);
+        problemDetail.setType(type);
+        problemDetail.setTitle(title);
+        problemDetail.setDetail(detail);
+        return problemDetail;
+    }
+}
@@ -2,12 +2,16 @@ package com.thiagoferreira.food_backend.exceptions;
 
 import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends DomainException {
     public ResourceNotFoundException(ErrorMessages errorMessages) {
-        super(errorMessages.getMessage());
+        super(errorMessages, errorMessages.getMessage(), null);
     }
-    
+
+    public ResourceNotFoundException(ErrorMessages errorMessages, Object... params) {
+        super(errorMessages, errorMessages.params(params), null);
+    }
+
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(null, message, null);
     }
 }
@@ -0,0 +1,21 @@
+package com.thiagoferreira.food_backend.exceptions;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+
+/**
+ * The request was refused because a bounded resource it needs is full. Thrown in bulk
+ * under overload, so like {@link DomainException} it skips the stack trace.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final ErrorMessages error;
+
+    public ServiceOverloadedException(ErrorMessages error) {
+        super(error.getMessage(), null, false, false);
+        this.error = error;
+    }
+
+    public ErrorMessages getError() {
+        return error;
+    }
+}
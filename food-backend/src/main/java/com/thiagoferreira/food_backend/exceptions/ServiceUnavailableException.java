@@ -0,0 +1,22 @@
+package com.thiagoferreira.food_backend.exceptions;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+
+/**
+ * The request could not be served because a resource it needs failed or is shutting down,
+ * not because of anything the client sent. Like {@link DomainException} it skips the stack
+ * trace; the cause, when there is one, is kept for the log.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final ErrorMessages error;
+
+    public ServiceUnavailableException(ErrorMessages error, Throwable cause) {
+        super(error.getMessage(), cause, false, false);
+        this.error = error;
+    }
+
+    public ErrorMessages getError() {
+        return error;
+    }
+}
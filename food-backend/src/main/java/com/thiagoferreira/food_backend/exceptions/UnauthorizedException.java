@@ -2,9 +2,8 @@ package com.thiagoferreira.food_backend.exceptions;
 
 import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
 
-public class UnauthorizedException extends RuntimeException {
+public class UnauthorizedException extends DomainException {
     public UnauthorizedException(ErrorMessages errorMessages) {
-        super(errorMessages.getMessage());
+        super(errorMessages, errorMessages.getMessage(), null);
     }
 }
-
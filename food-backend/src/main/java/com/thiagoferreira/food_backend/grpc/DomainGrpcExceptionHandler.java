@@ -0,0 +1,33 @@
+package com.thiagoferreira.food_backend.grpc;
+
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.exceptions.UnauthorizedException;
+import io.grpc.Status;
+import io.grpc.StatusException;
+import org.springframework.grpc.server.exception.GrpcExceptionHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * The gRPC counterpart of the domain handlers in GlobalExceptionHandler: the same
+ * exceptions become status codes, with the message as the description. Anything else is
+ * left to Spring gRPC, which answers INTERNAL without details.
+ */
+@Component
+public class DomainGrpcExceptionHandler implements GrpcExceptionHandler {
+
+    @Override
+    public StatusException handleException(Throwable exception) {
+        Status status;
+        if (exception instanceof ResourceNotFoundException) {
+            status = Status.NOT_FOUND;
+        } else if (exception instanceof DomainValidationException) {
+            status = Status.INVALID_ARGUMENT;
+        } else if (exception instanceof UnauthorizedException) {
+            status = Status.UNAUTHENTICATED;
+        } else {
+            return null;
+        }
+        return status.withDescription(exception.getMessage()).asException();
+    }
+}
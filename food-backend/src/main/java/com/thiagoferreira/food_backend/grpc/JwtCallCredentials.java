@@ -0,0 +1,26 @@
+package com.thiagoferreira.food_backend.grpc;
+
+import io.grpc.CallCredentials;
+import io.grpc.Metadata;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Client side of {@link JwtServerInterceptor}: attaches the token to every call of a stub,
+ * as in {@code UserLookupGrpc.newBlockingStub(channel).withCallCredentials(new JwtCallCredentials(token))}.
+ * The header travels in clear text on a plaintext channel; outside the cluster network use
+ * TLS ({@code spring.grpc.server.ssl.*}).
+ */
+public class JwtCallCredentials extends CallCredentials {
+
+    private final Metadata headers = new Metadata();
+
+    public JwtCallCredentials(String token) {
+        headers.put(JwtServerInterceptor.AUTHORIZATION, "Bearer " + token);
+    }
+
+    @Override
+    public void applyRequestMetadata(RequestInfo requestInfo, Executor appExecutor, MetadataApplier applier) {
+        applier.apply(headers);
+    }
+}
@@ -0,0 +1,120 @@
+package com.thiagoferreira.food_backend.grpc;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.JwtAuthenticationEvent;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.security.JwtService;
+import com.thiagoferreira.food_backend.infraestructure.security.JwtVerificationTimers;
+import com.thiagoferreira.food_backend.services.UserService;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Requires {@code authorization: Bearer <jwt>} on every call of the services it is attached
+ * to and closes the call with UNAUTHENTICATED otherwise. Like the REST filter, a token
+ * with a valid signature and expiry is only accepted while its user still exists, so a
+ * deleted user loses access at once. The lookup goes through
+ * {@link UserService#findByLogin}, where a burst of calls from the same caller shares one
+ * query. The caller's login is in {@link #USERNAME}.
+ */
+@Slf4j
+@Component
+public class JwtServerInterceptor implements ServerInterceptor {
+
+    public static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    public static final Context.Key<String> USERNAME = Context.key("username");
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final JwtVerificationTimers verificationTimers;
+    private final ClientErrorLogPolicy clientErrors;
+
+    public JwtServerInterceptor(JwtService jwtService, UserService userService, MeterRegistry meterRegistry,
+                                ClientErrorLogPolicy clientErrors) {
+        this.jwtService = jwtService;
+        this.userService = userService;
+        this.meterRegistry = meterRegistry;
+        this.verificationTimers = new JwtVerificationTimers(meterRegistry);
+        this.clientErrors = clientErrors;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next
+    ) {
+        String authorization = headers.get(AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return reject(call);
+        }
+
+        String username = authenticate(authorization.substring(BEARER_PREFIX.length()),
+                call.getMethodDescriptor().getFullMethodName());
+        if (username == null) {
+            return reject(call);
+        }
+        return Contexts.interceptCall(Context.current().withValue(USERNAME, username), call, headers, next);
+    }
+
+    private String authenticate(String token, String method) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        JwtAuthenticationEvent event = JwtAuthenticationEvent.start(method);
+        String outcome = "rejected";
+        try {
+            String username = jwtService.extractUsername(token);
+            if (username == null) {
+                return null;
+            }
+            if (userService.findByLogin(username).isEmpty()) {
+                outcome = "unknown_user";
+                clientErrors.record("jwt-unknown-user", "Rejected JWT token: {}", ErrorMessages.USER_NOT_FOUND.getMessage());
+                return null;
+            }
+            outcome = "valid";
+            return username;
+        } catch (Exception e) {
+            outcome = outcomeOf(e);
+            if ("error".equals(outcome)) {
+                log.error("Error validating JWT token", e);
+            } else {
+                clientErrors.record("jwt-" + outcome, "Rejected JWT token: {}", e.getMessage());
+            }
+            return null;
+        } finally {
+            sample.stop(verificationTimers.of(outcome));
+            event.complete(outcome);
+        }
+    }
+
+    private static <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call) {
+        call.close(Status.UNAUTHENTICATED.withDescription(ErrorMessages.UNAUTHORIZED_ACCESS.getMessage()), new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+
+    private static String outcomeOf(Exception e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (e instanceof JwtException || e instanceof IllegalArgumentException) {
+            return "invalid";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,136 @@
+package com.thiagoferreira.food_backend.grpc;
+
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.grpc.proto.BatchGetUsersRequest;
+import com.thiagoferreira.food_backend.grpc.proto.BatchGetUsersResponse;
+import com.thiagoferreira.food_backend.grpc.proto.GetUserRequest;
+import com.thiagoferreira.food_backend.grpc.proto.ListUsersRequest;
+import com.thiagoferreira.food_backend.grpc.proto.UserLookupGrpc;
+import com.thiagoferreira.food_backend.grpc.proto.UserRecord;
+import com.thiagoferreira.food_backend.services.UserService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.grpc.server.service.GrpcService;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only user lookups for other services, next to the REST API in the same application
+ * and on the same UserService. Domain exceptions become status codes in
+ * {@link DomainGrpcExceptionHandler}.
+ */
+@GrpcService(interceptors = JwtServerInterceptor.class)
+@RequiredArgsConstructor
+public class UserLookupGrpcService extends UserLookupGrpc.UserLookupImplBase {
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final UserService userService;
+    private final UserRecordMapper userRecordMapper;
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<UserRecord> responseObserver) {
+        User user = switch (request.getKeyCase()) {
+            case ID -> userService.findById(request.getId());
+            case LOGIN -> userService.findByLogin(request.getLogin())
+                    .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND));
+            case EMAIL -> userService.findByEmail(request.getEmail())
+                    .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND));
+            case KEY_NOT_SET -> throw new DomainValidationException(ErrorMessages.LOOKUP_KEY_REQUIRED);
+        };
+        responseObserver.onNext(userRecordMapper.toRecord(user));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void batchGetUsers(BatchGetUsersRequest request, StreamObserver<BatchGetUsersResponse> responseObserver) {
+        int kinds = (request.getIdsCount() > 0 ? 1 : 0)
+                + (request.getLoginsCount() > 0 ? 1 : 0)
+                + (request.getEmailsCount() > 0 ? 1 : 0);
+        if (kinds > 1) {
+            throw new DomainValidationException(ErrorMessages.LOOKUP_KEY_REQUIRED);
+        }
+
+        BatchGetUsersResponse.Builder response = BatchGetUsersResponse.newBuilder();
+        if (request.getIdsCount() > 0) {
+            addItems(response, request.getIdsList(), userService.findAllByIds(request.getIdsList()));
+        } else if (request.getLoginsCount() > 0) {
+            addItems(response, request.getLoginsList(), userService.findAllByLogins(request.getLoginsList()));
+        } else if (request.getEmailsCount() > 0) {
+            addItems(response, request.getEmailsList(), userService.findAllByEmails(request.getEmailsList()));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    private <K> void addItems(BatchGetUsersResponse.Builder response, List<K> keys, Map<K, User> users) {
+        for (K key : keys) {
+            response.addItems(userRecordMapper.toBatchItem(key, users.get(key)));
+        }
+    }
+
+    @Override
+    public void listUsers(ListUsersRequest request, StreamObserver<UserRecord> responseObserver) {
+        int pageSize = request.getPageSize() <= 0 ? DEFAULT_PAGE_SIZE : Math.min(request.getPageSize(), MAX_PAGE_SIZE);
+        ServerCallStreamObserver<UserRecord> call = (ServerCallStreamObserver<UserRecord>) responseObserver;
+        UserStream stream = new UserStream(call, request.getAfterId(), pageSize);
+
+        // Cancellation is polled by the stream; without a handler onNext would throw on a cancelled call
+        call.setOnCancelHandler(() -> {
+        });
+        call.setOnReadyHandler(stream::drain);
+        stream.drain();
+    }
+
+    /**
+     * Writes users only while the transport is ready and reads the next page only when the
+     * previous one is sent, so a slow client holds at most one page in memory. The callbacks
+     * of a call never run concurrently, so the state needs no synchronization.
+     */
+    private final class UserStream {
+
+        private final ServerCallStreamObserver<UserRecord> call;
+        private final int pageSize;
+        private long cursor;
+        private Iterator<User> page = Collections.emptyIterator();
+        private boolean lastPage;
+        private boolean done;
+
+        private UserStream(ServerCallStreamObserver<UserRecord> call, long afterId, int pageSize) {
+            this.call = call;
+            this.cursor = afterId;
+            this.pageSize = pageSize;
+        }
+
+        void drain() {
+            try {
+                while (!done && call.isReady() && !call.isCancelled()) {
+                    if (page.hasNext()) {
+                        User user = page.next();
+                        cursor = user.getId();
+                        call.onNext(userRecordMapper.toRecord(user));
+                    } else if (lastPage) {
+                        done = true;
+                        call.onCompleted();
+                    } else {
+                        List<User> users = userService.findUsersAfter(cursor, pageSize);
+                        lastPage = users.size() < pageSize;
+                        page = users.iterator();
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Closed by the exception handler; later onReady callbacks must not write again
+                done = true;
+                throw e;
+            }
+        }
+    }
+}
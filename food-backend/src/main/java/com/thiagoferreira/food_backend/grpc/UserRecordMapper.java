@@ -0,0 +1,64 @@
+package com.thiagoferreira.food_backend.grpc;
+
+import com.thiagoferreira.food_backend.domain.entities.Address;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.grpc.proto.BatchItem;
+import com.thiagoferreira.food_backend.grpc.proto.UserRecord;
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.UserMappingEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Maps users to the gRPC messages. Protobuf setters reject null, so absent values become
+ * the field defaults: an empty string, {@code TYPE_UNSPECIFIED} or no address.
+ */
+@Component
+public class UserRecordMapper {
+
+    public UserRecord toRecord(User entity) {
+        UserMappingEvent event = UserMappingEvent.start("to_record", 1);
+        UserRecord.Builder builder = UserRecord.newBuilder()
+                .setId(entity.getId())
+                .setName(orEmpty(entity.getName()))
+                .setEmail(orEmpty(entity.getEmail()))
+                .setLogin(orEmpty(entity.getLogin()));
+        if (entity.getType() != null) {
+            builder.setType(UserRecord.Type.valueOf(entity.getType().name()));
+        }
+        if (entity.getAddress() != null) {
+            builder.setAddress(toAddress(entity.getAddress()));
+        }
+        if (entity.getLastUpdated() != null) {
+            // Same text as the REST documents, which always carry the seconds
+            builder.setLastUpdate(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(entity.getLastUpdated()));
+        }
+        UserRecord record = builder.build();
+        event.complete("ok");
+
+        return record;
+    }
+
+    public BatchItem toBatchItem(Object key, User entity) {
+        BatchItem.Builder builder = BatchItem.newBuilder()
+                .setKey(String.valueOf(key))
+                .setFound(entity != null);
+        if (entity != null) {
+            builder.setUser(toRecord(entity));
+        }
+        return builder.build();
+    }
+
+    private UserRecord.Address toAddress(Address address) {
+        return UserRecord.Address.newBuilder()
+                .setStreet(orEmpty(address.getStreet()))
+                .setNumber(orEmpty(address.getNumber()))
+                .setCity(orEmpty(address.getCity()))
+                .setZipCode(orEmpty(address.getZipCode()))
+                .build();
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
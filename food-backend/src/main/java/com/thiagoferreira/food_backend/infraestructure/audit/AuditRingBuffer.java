@@ -0,0 +1,89 @@
+package com.thiagoferreira.food_backend.infraestructure.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer. Each slot carries a
+ * sequence number telling whose turn it is: a producer claims a position with one CAS on
+ * the tail, writes its element and publishes it by advancing the slot's sequence; the
+ * consumer takes published slots in order and hands them back a lap later. A full buffer
+ * rejects the element instead of waiting, so callers choose what overflow means.
+ */
+final class AuditRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Only the consumer writes it; volatile so size() can be read from any thread
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        // With a single slot an element waiting for the consumer would look like a free slot
+        int slots = Math.max(2, Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1);
+        this.mask = slots - 1;
+        this.elements = new AtomicReferenceArray<>(slots);
+        this.sequences = new AtomicLongArray(slots);
+        for (int slot = 0; slot < slots; slot++) {
+            sequences.set(slot, slot);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head, capacity()));
+    }
+
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long turn = sequences.get(slot) - position;
+            if (turn == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (turn < 0) {
+                // The slot still holds the element from one lap ago: the buffer is full
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code max} published elements to {@code sink}, oldest first. Must only
+     * be called by the single consumer.
+     */
+    int drainTo(Consumer<? super E> sink, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                // Empty, or the producer that claimed this slot has not published it yet
+                break;
+            }
+            E element = elements.get(slot);
+            elements.lazySet(slot, null);
+            sequences.lazySet(slot, position + mask + 1);
+            head = ++position;
+            drained++;
+            sink.accept(element);
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,252 @@
+package com.thiagoferreira.food_backend.infraestructure.audit;
+
+import com.thiagoferreira.food_backend.domain.entities.UserAuditEvent;
+import com.thiagoferreira.food_backend.domain.enums.UserAuditAction;
+import com.thiagoferreira.food_backend.infraestructure.deadline.RequestDeadline;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserAuditRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of the changes made through {@code UserService}. Recording an event only
+ * builds it and places it in a lock-free ring buffer, after the surrounding transaction
+ * commits; a single writer thread drains the buffer and appends the events to
+ * {@code tb_user_audit} in batches, so a request pays no insert of its own.
+ *
+ * <p>A full buffer is handled by the {@link OverflowPolicy}. On shutdown the writer stops
+ * after the web and gRPC servers and writes every event still buffered. Events recorded
+ * while the writer is not running (before start or after stop) are written on the caller.
+ */
+@Slf4j
+@Component
+public class UserAuditTrail implements SmartLifecycle {
+
+    public enum OverflowPolicy {
+        /** Discard the event. */
+        DROP,
+        /** Wait up to {@code audit.block-timeout} for room, then discard the event. */
+        BLOCK,
+        /** Write the event on the calling thread. */
+        CALLER_RUNS
+    }
+
+    public static final String METRIC_NAME = "user.audit.events";
+
+    private final UserAuditRepository repository;
+    private final AuditRingBuffer<UserAuditEvent> buffer;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final Duration shutdownTimeout;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter overflowed;
+    private final AtomicLong droppedSinceReport = new AtomicLong();
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public UserAuditTrail(
+            UserAuditRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${audit.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${audit.batch-size:256}") int batchSize,
+            @Value("${audit.flush-interval:200ms}") Duration flushInterval,
+            @Value("${audit.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy,
+            @Value("${audit.block-timeout:50ms}") Duration blockTimeout,
+            @Value("${audit.shutdown-timeout:10s}") Duration shutdownTimeout
+    ) {
+        this.repository = repository;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.written = meterRegistry.counter(METRIC_NAME, "outcome", "written");
+        this.dropped = meterRegistry.counter(METRIC_NAME, "outcome", "dropped");
+        this.failed = meterRegistry.counter(METRIC_NAME, "outcome", "failed");
+        this.overflowed = meterRegistry.counter(METRIC_NAME, "outcome", "overflow");
+        Gauge.builder("user.audit.pending", buffer, AuditRingBuffer::size).register(meterRegistry);
+    }
+
+    public void record(UserAuditAction action, Long userId) {
+        record(action, userId, currentActor());
+    }
+
+    /**
+     * For callers with no security context on their thread, such as the /v3 handlers on the
+     * Netty event loop; {@code actor} is null for an anonymous change.
+     */
+    public void record(UserAuditAction action, Long userId, String actor) {
+        UserAuditEvent event = new UserAuditEvent(userId, action, actor, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A rolled back change leaves no audit row
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    void publish(UserAuditEvent event) {
+        if (!running) {
+            write(List.of(event));
+            return;
+        }
+        if (buffer.offer(event)) {
+            return;
+        }
+
+        overflowed.increment();
+        switch (overflowPolicy) {
+            case DROP -> drop();
+            case BLOCK -> {
+                if (!offerWithin(event, blockTimeout)) {
+                    drop();
+                }
+            }
+            case CALLER_RUNS -> write(List.of(event));
+        }
+    }
+
+    private boolean offerWithin(UserAuditEvent event, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        do {
+            // Room is made by the writer: wake it instead of waiting for its next interval
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, 100_000);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        } while (deadline - System.nanoTime() > 0);
+        return false;
+    }
+
+    private void drop() {
+        dropped.increment();
+        droppedSinceReport.incrementAndGet();
+    }
+
+    private void drain() {
+        List<UserAuditEvent> batch = new ArrayList<>(batchSize);
+        int drained = 0;
+        while (running) {
+            if (drained < batchSize) {
+                // Less than a batch was waiting: let the next one build up
+                LockSupport.parkNanos(this, flushInterval.toNanos());
+            }
+            drained = buffer.drainTo(batch::add, batchSize);
+            if (drained > 0) {
+                write(batch);
+                batch.clear();
+            }
+            reportDrops();
+        }
+        flushPending();
+    }
+
+    // Only called by the consumer: the writer thread, or stop() once it has ended
+    private void flushPending() {
+        List<UserAuditEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch::add, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        reportDrops();
+    }
+
+    private void write(List<UserAuditEvent> events) {
+        try {
+            // On a request thread (overflow, before start): the change is committed, its audit must not time out with the request
+            RequestDeadline.runWithout(() -> repository.appendAll(events));
+            written.increment(events.size());
+        } catch (RuntimeException e) {
+            failed.increment(events.size());
+            log.error("Could not write {} user audit events", events.size(), e);
+        }
+    }
+
+    private void reportDrops() {
+        long count = droppedSinceReport.getAndSet(0);
+        if (count > 0) {
+            log.warn("Dropped {} user audit events: the audit buffer of {} events was full", count, buffer.capacity());
+        }
+    }
+
+    int pending() {
+        return buffer.size();
+    }
+
+    @Override
+    public void start() {
+        if (writer != null) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("user-audit-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(current);
+        try {
+            current.join(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (current.isAlive()) {
+            log.warn("User audit writer did not finish within {}; {} events were not written", shutdownTimeout, buffer.size());
+        } else {
+            // Events published while the writer was finishing its last batch
+            flushPending();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // Started before and stopped after the web and gRPC servers, so the events of requests finishing during shutdown are written
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,272 @@
+package com.thiagoferreira.food_backend.infraestructure.batch;
+
+import com.thiagoferreira.food_backend.domain.dto.BatchOperation;
+import com.thiagoferreira.food_backend.domain.dto.BatchOperationResult;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import com.thiagoferreira.food_backend.infraestructure.concurrency.ConcurrencyLimitFilter;
+import com.thiagoferreira.food_backend.infraestructure.deadline.RequestDeadline;
+import com.thiagoferreira.food_backend.infraestructure.idempotency.IdempotencyFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the requests of a batch through the DispatcherServlet, each with its own request
+ * and response, so they get the same handler mapping, validation, exception handlers and
+ * ProblemDetails as when sent on their own. The security filter chain ran once for the
+ * batch, so the JWT is verified once and its authentication is shared by every request.
+ *
+ * <p>Consecutive GETs are independent and run concurrently on the application task
+ * executor. A write waits for every request before it and runs alone, so a batch can
+ * read what an earlier request in it created or changed.
+ *
+ * <p>The servlet filters do not run again for each request, so the dispatcher applies what
+ * they would: each request is checked against the authorization rules of its own route
+ * (401 or 403 without dispatching it), takes a slot of its READ or WRITE group from the
+ * {@link ConcurrencyLimitFilter} while it runs (503 with {@code Retry-After} when the group
+ * is full), and goes through the {@link IdempotencyFilter}, so an Idempotency-Key sent on a
+ * request of the batch is honored as it would be alone.
+ */
+@Slf4j
+@Component
+public class BatchDispatcher {
+
+    // Segments of letters, digits and unreserved punctuation: no encoded characters and no "." or ".." segments
+    private static final Pattern ALLOWED_PATH =
+            Pattern.compile("/v2/users(/(?!\\.{1,2}(/|$))[A-Za-z0-9._~@-]+)*");
+    private static final Set<HttpMethod> ALLOWED_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    // Set by the dispatcher from the body it sends, or meaningless once the result is embedded
+    private static final Set<String> CONTROLLED_HEADERS =
+            Set.of(HttpHeaders.ACCEPT, HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING);
+    private static final byte[] EMPTY = new byte[0];
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final DispatcherServlet dispatcherServlet;
+    private final IdempotencyFilter idempotencyFilter;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    // Absent when concurrency-limit.enabled=false
+    private final ConcurrencyLimitFilter concurrencyLimit;
+    private final AsyncTaskExecutor executor;
+    private final JsonMapper jsonMapper;
+    private final int maxRequests;
+
+    public BatchDispatcher(
+            DispatcherServlet dispatcherServlet,
+            IdempotencyFilter idempotencyFilter,
+            WebInvocationPrivilegeEvaluator privilegeEvaluator,
+            Optional<ConcurrencyLimitFilter> concurrencyLimit,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+            JsonMapper jsonMapper,
+            @Value("${batch.max-requests:20}") int maxRequests
+    ) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.idempotencyFilter = idempotencyFilter;
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.concurrencyLimit = concurrencyLimit.orElse(null);
+        this.executor = executor;
+        this.jsonMapper = jsonMapper;
+        this.maxRequests = maxRequests;
+    }
+
+    public List<BatchOperationResult> dispatch(List<BatchOperation> operations, HttpServletRequest request, HttpServletResponse response) {
+        if (operations.size() > maxRequests) {
+            throw new DomainValidationException(ErrorMessages.BATCH_REQUESTS_EXCEEDED, maxRequests);
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        BatchOperationResult[] results = new BatchOperationResult[operations.size()];
+        List<Future<?>> reads = new ArrayList<>();
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperation operation = operations.get(index);
+            String id = operation.getId() != null ? operation.getId() : String.valueOf(index);
+            HttpMethod method = HttpMethod.valueOf(operation.getMethod().trim().toUpperCase(Locale.ROOT));
+            String path = operation.getPath().trim();
+
+            if (!isAllowed(method, path)) {
+                results[index] = rejected(id, method, path);
+                continue;
+            }
+            String route = routeOf(path);
+            if (!privilegeEvaluator.isAllowed(request.getContextPath(), route, method.name(), authentication)) {
+                results[index] = denied(id, method, path, authentication);
+                continue;
+            }
+
+            // Built on the request thread: the container request is only read here
+            BatchSubRequest subRequest = new BatchSubRequest(request, method.name(), path,
+                    headersOf(operation, request), bodyOf(operation));
+            BatchSubResponse subResponse = new BatchSubResponse(response);
+            int slot = index;
+            Runnable task = () -> results[slot] = execute(id, route, subRequest, subResponse);
+
+            if (method == HttpMethod.GET) {
+                reads.add(executor.submit(new DelegatingSecurityContextRunnable(RequestDeadline.propagate(task), SecurityContextHolder.getContext())));
+            } else {
+                await(reads);
+                task.run();
+            }
+        }
+        await(reads);
+
+        for (int index = 0; index < results.length; index++) {
+            if (results[index] == null) {
+                String id = operations.get(index).getId() != null ? operations.get(index).getId() : String.valueOf(index);
+                results[index] = failed(id);
+            }
+        }
+        return List.of(results);
+    }
+
+    static boolean isAllowed(HttpMethod method, String path) {
+        return ALLOWED_METHODS.contains(method) && ALLOWED_PATH.matcher(routeOf(path)).matches();
+    }
+
+    private static String routeOf(String path) {
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    private Map<String, List<String>> headersOf(BatchOperation operation, HttpServletRequest request) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (operation.getHeaders() != null) {
+            operation.getHeaders().forEach((name, value) -> {
+                if (CONTROLLED_HEADERS.stream().noneMatch(name::equalsIgnoreCase) && value != null) {
+                    headers.put(name, List.of(value));
+                }
+            });
+        }
+        copyHeader(request, HttpHeaders.AUTHORIZATION, headers);
+        copyHeader(request, HttpHeaders.ACCEPT_LANGUAGE, headers);
+        headers.put(HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_JSON_VALUE));
+        if (operation.getBody() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE));
+        }
+        return headers;
+    }
+
+    private static void copyHeader(HttpServletRequest request, String name, Map<String, List<String>> headers) {
+        String value = request.getHeader(name);
+        if (value != null) {
+            headers.put(name, List.of(value));
+        }
+    }
+
+    private byte[] bodyOf(BatchOperation operation) {
+        return operation.getBody() == null ? EMPTY : jsonMapper.writeValueAsBytes(operation.getBody());
+    }
+
+    private BatchOperationResult execute(String id, String route, BatchSubRequest subRequest, BatchSubResponse subResponse) {
+        ConcurrencyLimitFilter.Slot slot = concurrencyLimit != null
+                ? concurrencyLimit.tryAcquire(subRequest.getMethod(), route)
+                : ConcurrencyLimitFilter.Slot.UNLIMITED;
+        if (slot == null) {
+            return overloaded(id);
+        }
+        try {
+            idempotencyFilter.doFilter(subRequest, subResponse, dispatcherServlet::service);
+        } catch (Exception e) {
+            // GlobalExceptionHandler answers everything a handler throws; this is the dispatch itself failing
+            log.error("Batch request {} {} failed", subRequest.getMethod(), subRequest.getRequestURI(), e);
+            return failed(id);
+        } finally {
+            slot.release();
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        // One value per name, as a client would fold them; a value set twice (304 validators) is kept once
+        subResponse.getHeaderMap().forEach((name, values) ->
+                headers.put(name, String.join(", ", values.stream().distinct().toList())));
+        return new BatchOperationResult(id, subResponse.getStatus(), headers, bodyOf(subResponse));
+    }
+
+    private JsonNode bodyOf(BatchSubResponse subResponse) {
+        byte[] body = subResponse.getBody();
+        if (body.length == 0) {
+            return null;
+        }
+        return jsonMapper.readTree(body);
+    }
+
+    private BatchOperationResult rejected(String id, HttpMethod method, String path) {
+        ProblemDetail problemDetail = ProblemType.DOMAIN_VALIDATION_ERROR.create(
+                ErrorMessages.BATCH_ROUTE_NOT_ALLOWED.params(method.name() + " " + path));
+        return problem(id, problemDetail);
+    }
+
+    private BatchOperationResult denied(String id, HttpMethod method, String path, Authentication authentication) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return problem(id, ProblemType.UNAUTHORIZED.create(ErrorMessages.UNAUTHORIZED_ACCESS.getMessage()));
+        }
+        return problem(id, ProblemType.FORBIDDEN.create(ErrorMessages.BATCH_REQUEST_FORBIDDEN.params(method.name() + " " + path)));
+    }
+
+    private BatchOperationResult overloaded(String id) {
+        ProblemDetail problemDetail = ProblemType.SERVICE_OVERLOADED.create(ErrorMessages.SERVICE_OVERLOADED.getMessage());
+        return new BatchOperationResult(id, problemDetail.getStatus(),
+                Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE, HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS),
+                jsonMapper.valueToTree(problemDetail));
+    }
+
+    private BatchOperationResult failed(String id) {
+        return problem(id, ProblemType.INTERNAL_SERVER_ERROR.create(ErrorMessages.INTERNAL_SERVER_ERROR.getMessage()));
+    }
+
+    private BatchOperationResult problem(String id, ProblemDetail problemDetail) {
+        return new BatchOperationResult(id, problemDetail.getStatus(),
+                Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE),
+                jsonMapper.valueToTree(problemDetail));
+    }
+
+    // Every read is awaited, even after a failure or an interrupt, so none is still writing its slot once the batch answers
+    private static void await(List<Future<?>> reads) {
+        boolean interrupted = false;
+        for (Future<?> read : reads) {
+            while (true) {
+                try {
+                    read.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // execute() already turns failures into results; an unanswered slot is reported as failed
+                    log.error("Batch request failed", e.getCause());
+                    break;
+                }
+            }
+        }
+        reads.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
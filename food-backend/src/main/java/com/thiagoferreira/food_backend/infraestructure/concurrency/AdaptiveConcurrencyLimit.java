@@ -0,0 +1,138 @@
+package com.thiagoferreira.food_backend.infraestructure.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A limit on requests in flight that follows the latency they are served with, after the
+ * Vegas algorithm of Netflix's concurrency-limits. Latencies are averaged over windows of
+ * {@value #WINDOW_SAMPLES} requests and compared with the fastest window seen lately, the
+ * latency without queueing: {@code limit * (1 - fastest / latest)} estimates how many of
+ * the requests in flight were only waiting, for a Tomcat thread or a database connection.
+ * While that queue is short the limit grows, and once it passes {@code 6 * log10(limit)}
+ * the limit shrinks by {@code log10(limit)} per window until the waiting stops.
+ *
+ * <p>The fastest window is remembered for between one and two {@code rttHorizon}s, so a
+ * database that got slower for good becomes the new baseline instead of keeping the limit
+ * at its floor. The limit is only adjusted by windows in which at least half of it was in
+ * use; a lightly loaded service says nothing about how much more it could take. It always
+ * stays between {@code minLimit} and {@code maxLimit}.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    static final int WINDOW_SAMPLES = 20;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long rttHorizonNanos;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    // Not synchronized: every request releases its slot here, and a virtual thread blocked on a monitor pins its carrier
+    private final ReentrantLock windowLock = new ReentrantLock();
+
+    // Guarded by windowLock
+    private long windowRtt;
+    private int windowCount;
+    private int windowMaxInFlight;
+    private double currentMinRtt = Double.MAX_VALUE;
+    private double previousMinRtt = Double.MAX_VALUE;
+    private long horizonStart;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration rttHorizon) {
+        this(initialLimit, minLimit, maxLimit, rttHorizon, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration rttHorizon, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limit bounds must satisfy 1 <= min <= max, got " + minLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttHorizonNanos = rttHorizon.toNanos();
+        this.clock = clock;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.horizonStart = clock.getAsLong();
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #getLimit()} requests are in flight. Every slot
+     * taken must be handed back with {@link #release(long)}.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        sample(rttNanos, current);
+    }
+
+    private void sample(long rttNanos, int inFlightAtRelease) {
+        windowLock.lock();
+        try {
+            sampleLocked(rttNanos, inFlightAtRelease);
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void sampleLocked(long rttNanos, int inFlightAtRelease) {
+        windowRtt += rttNanos;
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        if (windowCount < WINDOW_SAMPLES) {
+            return;
+        }
+
+        double rtt = Math.max(1, (double) windowRtt / windowCount);
+        int maxInFlight = windowMaxInFlight;
+        windowRtt = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        long now = clock.getAsLong();
+        if (now - horizonStart >= rttHorizonNanos) {
+            previousMinRtt = currentMinRtt;
+            currentMinRtt = Double.MAX_VALUE;
+            horizonStart = now;
+        }
+        currentMinRtt = Math.min(currentMinRtt, rtt);
+        double noLoadRtt = Math.min(currentMinRtt, previousMinRtt);
+
+        int current = limit;
+        if (maxInFlight * 2 < current) {
+            return;
+        }
+        int step = Math.max(1, (int) Math.log10(current));
+        double queue = current * (1 - noLoadRtt / rtt);
+        int next;
+        if (queue <= step) {
+            next = current + 6 * step;
+        } else if (queue < 3 * step) {
+            next = current + step;
+        } else if (queue > 6 * step) {
+            next = current - step;
+        } else {
+            return;
+        }
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
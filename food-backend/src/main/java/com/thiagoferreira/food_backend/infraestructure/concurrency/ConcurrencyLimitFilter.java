@@ -0,0 +1,187 @@
+package com.thiagoferreira.food_backend.infraestructure.concurrency;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import com.thiagoferreira.food_backend.infraestructure.security.ProblemResponseTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sheds the requests that would only queue. Each group of routes has an
+ * {@link AdaptiveConcurrencyLimit}; a request arriving while its group is at the limit is
+ * answered at once with a 503 ProblemDetail and {@code Retry-After}, instead of waiting
+ * for a Tomcat thread and then a database connection until it times out.
+ *
+ * <p>Logins ({@code /auth/**}, {@code /v2/auth/**}) are bound by BCrypt and get a group of
+ * their own, so a login storm does not shed reads and a slow database does not shed
+ * logins; {@code GET} and {@code HEAD} requests are reads and the rest writes. Actuator,
+ * API docs and CORS preflights are never limited. Runs after the observation filter and
+ * ahead of Spring Security, so a shed request costs neither a JWT check nor a thread for
+ * long, and still shows up in {@code http.server.requests}.
+ *
+ * <p>Requests dispatched without passing through the servlet filters, such as the requests
+ * of a batch, take their slot through {@link #tryAcquire(String, String)}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "http.server.concurrency";
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    enum RouteGroup {
+        AUTH, READ, WRITE;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final Map<RouteGroup, AdaptiveConcurrencyLimit> limits;
+    private final Map<RouteGroup, Counter> accepted = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> rejected = new EnumMap<>(RouteGroup.class);
+    private final ProblemResponseTemplate template;
+    private final ProblemDetailMetrics problemDetailMetrics;
+
+    @Autowired
+    public ConcurrencyLimitFilter(
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry,
+            ProblemDetailMetrics problemDetailMetrics,
+            @Value("${concurrency-limit.min:2}") int minLimit,
+            @Value("${concurrency-limit.rtt-horizon:1m}") Duration rttHorizon,
+            @Value("${concurrency-limit.auth.initial:8}") int authInitial,
+            @Value("${concurrency-limit.auth.max:64}") int authMax,
+            @Value("${concurrency-limit.read.initial:40}") int readInitial,
+            @Value("${concurrency-limit.read.max:400}") int readMax,
+            @Value("${concurrency-limit.write.initial:20}") int writeInitial,
+            @Value("${concurrency-limit.write.max:200}") int writeMax
+    ) {
+        this(Map.of(
+                RouteGroup.AUTH, new AdaptiveConcurrencyLimit(authInitial, minLimit, authMax, rttHorizon),
+                RouteGroup.READ, new AdaptiveConcurrencyLimit(readInitial, minLimit, readMax, rttHorizon),
+                RouteGroup.WRITE, new AdaptiveConcurrencyLimit(writeInitial, minLimit, writeMax, rttHorizon)
+        ), jsonMapper, meterRegistry, problemDetailMetrics);
+    }
+
+    ConcurrencyLimitFilter(Map<RouteGroup, AdaptiveConcurrencyLimit> limits, JsonMapper jsonMapper,
+                           MeterRegistry meterRegistry, ProblemDetailMetrics problemDetailMetrics) {
+        this.limits = new EnumMap<>(limits);
+        this.template = new ProblemResponseTemplate(jsonMapper, ProblemType.SERVICE_OVERLOADED,
+                ErrorMessages.SERVICE_OVERLOADED.getMessage());
+        this.problemDetailMetrics = problemDetailMetrics;
+        this.limits.forEach((group, limit) -> {
+            accepted.put(group, meterRegistry.counter(METRIC_NAME, "group", group.tag, "outcome", "accepted"));
+            rejected.put(group, meterRegistry.counter(METRIC_NAME, "group", group.tag, "outcome", "rejected"));
+            Gauge.builder(METRIC_NAME + ".limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("group", group.tag)
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_NAME + ".in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("group", group.tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    static RouteGroup groupOf(String method, String path) {
+        if ("OPTIONS".equals(method)) {
+            return null;
+        }
+        if (path.startsWith("/auth/") || path.startsWith("/v2/auth/")) {
+            return RouteGroup.AUTH;
+        }
+        if (!path.startsWith("/v1/") && !path.startsWith("/v2/")) {
+            return null;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? RouteGroup.READ : RouteGroup.WRITE;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return groupOf(request.getMethod(), pathOf(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Slot slot = tryAcquire(request.getMethod(), pathOf(request));
+        if (slot == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            template.write(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            slot.release();
+        }
+    }
+
+    /**
+     * Takes a slot in the group of a request, counted like the requests this filter sees.
+     * Returns null when the group is at its limit (the 503 is up to the caller), and a slot
+     * that limits nothing for routes outside every group.
+     */
+    public Slot tryAcquire(String method, String path) {
+        RouteGroup group = groupOf(method, path);
+        if (group == null) {
+            return Slot.UNLIMITED;
+        }
+        AdaptiveConcurrencyLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            rejected.get(group).increment();
+            problemDetailMetrics.record(ProblemType.SERVICE_OVERLOADED);
+            return null;
+        }
+        accepted.get(group).increment();
+        return new Slot(limit, System.nanoTime());
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /** A request in flight in its group; releasing it feeds its latency to the limit. */
+    public static final class Slot {
+
+        public static final Slot UNLIMITED = new Slot(null, 0);
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start;
+
+        Slot(AdaptiveConcurrencyLimit limit, long start) {
+            this.limit = limit;
+            this.start = start;
+        }
+
+        public void release() {
+            if (limit != null) {
+                limit.release(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.thiagoferreira.food_backend.infraestructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load on its own
+ * thread and every caller that asks for the key while it runs gets the same result (or
+ * exception) instead of running it again. Nothing is kept once the load completes; the
+ * next caller loads again.
+ *
+ * <p>A load in flight is shared for at most {@code timeout}. Callers waiting on it stop
+ * waiting when it runs past that and load the key themselves, and later callers start a
+ * new load instead of joining it, so one stuck query does not hold every request for the
+ * key. A zero timeout turns coalescing off. Each caller waits for at most its own
+ * {@code timeout}, however long the load it joined may still run.
+ *
+ * <p>Failures that belong to the leader's request rather than to the key, such as its own
+ * deadline running out, are {@code callerSpecific}: they are not handed to the callers
+ * waiting on the load, which load the key themselves instead.
+ *
+ * <p>Results are handed to several callers at once and must not be changed by them.
+ */
+public class SingleFlight<K, V> {
+
+    public static final String METRIC_NAME = "single.flight.loads";
+
+    private final ConcurrentMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final Counter loaded;
+    private final Counter shared;
+    private final Counter timedOut;
+    private final Counter retried;
+    private final Predicate<Throwable> callerSpecific;
+
+    public SingleFlight(MeterRegistry meterRegistry, String name) {
+        this(meterRegistry, name, failure -> false);
+    }
+
+    public SingleFlight(MeterRegistry meterRegistry, String name, Predicate<Throwable> callerSpecific) {
+        this.loaded = meterRegistry.counter(METRIC_NAME, "name", name, "outcome", "loaded");
+        this.shared = meterRegistry.counter(METRIC_NAME, "name", name, "outcome", "shared");
+        this.timedOut = meterRegistry.counter(METRIC_NAME, "name", name, "outcome", "timeout");
+        this.retried = meterRegistry.counter(METRIC_NAME, "name", name, "outcome", "retried");
+        this.callerSpecific = callerSpecific;
+    }
+
+    public V load(K key, Duration timeout, Supplier<V> loader) {
+        if (key == null) {
+            loaded.increment();
+            return loader.get();
+        }
+
+        long now = System.nanoTime();
+        Flight<V> mine = new Flight<>(now + timeout.toNanos());
+        Flight<V> flight = flights.compute(key, (k, current) -> current == null || current.isOverdue(now) ? mine : current);
+        if (flight == mine) {
+            return lead(key, mine, loader);
+        }
+
+        try {
+            V value = flight.result.get(Math.min(flight.deadline - now, timeout.toNanos()), TimeUnit.NANOSECONDS);
+            shared.increment();
+            return value;
+        } catch (TimeoutException e) {
+            // The shared load is slow: this caller stops waiting for it
+            timedOut.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (callerSpecific.test(e.getCause())) {
+                // The leader's request failed, not the load: this caller loads under its own terms
+                retried.increment();
+                return loader.get();
+            }
+            shared.increment();
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared load", e);
+        }
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> loader) {
+        loaded.increment();
+        try {
+            V value = loader.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private record Flight<V>(long deadline, CompletableFuture<V> result) {
+
+        Flight(long deadline) {
+            this(deadline, new CompletableFuture<>());
+        }
+
+        boolean isOverdue(long now) {
+            return deadline - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.thiagoferreira.food_backend.infraestructure.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.boot.jackson.autoconfigure.CborMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.ProblemDetailJacksonMixin;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.List;
+
+/**
+ * CBOR ({@code application/cbor}) for service clients, negotiated by Accept/Content-Type
+ * next to JSON. The converter uses the application's CBORMapper, which carries the same
+ * modules as the JsonMapper, so UserResponse and TokenResponse have the same properties in
+ * both encodings; ProblemDetail gets the mixin Boot applies to the JsonMapper. JSON stays
+ * first in the converter list: requests accepting {@code *}{@code /*}, as browsers do, keep
+ * receiving JSON.
+ */
+@Configuration
+public class CborMessageConverterConfig {
+
+    @Bean
+    public CborMapperBuilderCustomizer problemDetailCborMapperCustomizer() {
+        return builder -> builder.addMixIn(ProblemDetail.class, ProblemDetailJacksonMixin.class);
+    }
+
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborMessageConverterCustomizer(CBORMapper cborMapper) {
+        return builder -> builder.withCborConverter(new CborHttpMessageConverter(cborMapper));
+    }
+
+    /**
+     * The stock converter declares no media type for ProblemDetail, so errors requested as
+     * CBOR would fall back to {@code application/problem+json}.
+     */
+    static class CborHttpMessageConverter extends JacksonCborHttpMessageConverter {
+
+        CborHttpMessageConverter(CBORMapper cborMapper) {
+            super(cborMapper);
+        }
+
+        @Override
+        protected List<MediaType> getMediaTypesForProblemDetail() {
+            return List.of(MediaType.APPLICATION_CBOR);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.thiagoferreira.food_backend.infraestructure.config;
+
+import com.thiagoferreira.food_backend.domain.dto.AddressDTO;
+import com.thiagoferreira.food_backend.domain.dto.BatchOperation;
+import com.thiagoferreira.food_backend.domain.dto.BatchOperationResult;
+import com.thiagoferreira.food_backend.domain.dto.BatchRequest;
+import com.thiagoferreira.food_backend.domain.dto.BatchResponse;
+import com.thiagoferreira.food_backend.domain.dto.LoginRequest;
+import com.thiagoferreira.food_backend.domain.dto.PasswordChangeRequest;
+import com.thiagoferreira.food_backend.domain.dto.ProblemDetailDTO;
+import com.thiagoferreira.food_backend.domain.dto.TokenResponse;
+import com.thiagoferreira.food_backend.domain.dto.UserBatchItem;
+import com.thiagoferreira.food_backend.domain.dto.UserRequest;
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.dto.UserUpdateRequest;
+import com.thiagoferreira.food_backend.domain.entities.Address;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image build ({@code -Pnative}).
+ * On the JVM these hints are ignored.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ApplicationRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static final List<Class<?>> BINDING_TYPES = List.of(
+            AddressDTO.class,
+            BatchOperation.class,
+            BatchOperationResult.class,
+            BatchRequest.class,
+            BatchResponse.class,
+            LoginRequest.class,
+            PasswordChangeRequest.class,
+            ProblemDetailDTO.class,
+            TokenResponse.class,
+            UserBatchItem.class,
+            UserRequest.class,
+            UserResponse.class,
+            UserUpdateRequest.class,
+            User.class,
+            Address.class,
+            UserType.class
+    );
+
+    // jjwt-impl is a runtime dependency that jjwt-api instantiates by class name
+    static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BINDING_TYPES.forEach(type -> hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.ACCESS_DECLARED_FIELDS));
+
+            JJWT_TYPES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS));
+
+            // Request deadlines wrap each pooled connection to set statement timeouts
+            hints.proxies().registerJdkProxy(Connection.class);
+
+            hints.resources()
+                    .registerPattern("META-INF/services/io.jsonwebtoken.io.*")
+                    .registerPattern("META-INF/resources/webjars/swagger-ui/**")
+                    .registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        }
+    }
+}
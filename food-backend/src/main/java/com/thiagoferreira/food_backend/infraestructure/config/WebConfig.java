@@ -26,6 +26,7 @@ public class WebConfig implements WebMvcConfigurer {
                         "/swagger-resources/**",
                         "/webjars/**",
                         "/auth/login",
+                        "/actuator/**",
                         "/v2/**" // Endpoints v2 são gerenciados pelo Spring Security
                 );
     }
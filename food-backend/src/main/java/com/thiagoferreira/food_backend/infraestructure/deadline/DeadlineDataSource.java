@@ -0,0 +1,71 @@
+package com.thiagoferreira.food_backend.infraestructure.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the time left on the {@link RequestDeadline} as the query timeout of every JDBC
+ * statement created on a request thread, so the database cancels a query the client no
+ * longer waits for. JDBC timeouts are whole seconds: the budget is rounded up. A statement
+ * created after the deadline passed fails with a {@link SQLTimeoutException} carrying the
+ * SQL state of a cancelled query, which Hibernate and Spring turn into a
+ * {@code QueryTimeoutException}.
+ */
+class DeadlineDataSource extends DelegatingDataSource {
+
+    static final String QUERY_CANCELED = "57014";
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    DeadlineDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withDeadline(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withDeadline(super.getConnection(username, password));
+    }
+
+    private static Connection withDeadline(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            boolean createsStatement = STATEMENT_FACTORIES.contains(method.getName());
+            long remaining = createsStatement ? RequestDeadline.remainingNanos() : Long.MAX_VALUE;
+            if (remaining <= 0) {
+                throw new SQLTimeoutException("The request deadline passed before the statement ran", QUERY_CANCELED);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (createsStatement && remaining != Long.MAX_VALUE) {
+                ((Statement) result).setQueryTimeout(timeoutSeconds(remaining));
+            }
+            return result;
+        };
+        return (Connection) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    static int timeoutSeconds(long remainingNanos) {
+        return (int) Math.clamp(Math.ceilDiv(remainingNanos, TimeUnit.SECONDS.toNanos(1)), 1, Integer.MAX_VALUE);
+    }
+}
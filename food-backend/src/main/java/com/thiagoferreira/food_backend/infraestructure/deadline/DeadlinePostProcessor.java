@@ -0,0 +1,40 @@
+package com.thiagoferreira.food_backend.infraestructure.deadline;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Enforces the {@link RequestDeadline} at the persistence layer: every Spring Data
+ * repository call checks it before a transaction or connection is taken, and the
+ * DataSource is wrapped in a {@link DeadlineDataSource} so the queries already running
+ * time out with it.
+ */
+@Component
+public class DeadlinePostProcessor implements BeanPostProcessor {
+
+    static final MethodInterceptor DEADLINE_CHECK = invocation -> {
+        RequestDeadline.check();
+        return invocation.proceed();
+    };
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, DEADLINE_CHECK)));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)) {
+            return new DeadlineDataSource(dataSource);
+        }
+        return bean;
+    }
+}
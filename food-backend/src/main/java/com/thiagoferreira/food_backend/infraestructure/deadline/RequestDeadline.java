@@ -0,0 +1,107 @@
+package com.thiagoferreira.food_backend.infraestructure.deadline;
+
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+
+/**
+ * The deadline of the request the current thread is serving, set by
+ * {@link RequestDeadlineFilter}. Repository calls made after it passed fail at once and
+ * the JDBC statements of the others time out with it, so a request its client gave up on
+ * stops holding a connection. Threads without a deadline (the audit writer, warm-up,
+ * gRPC calls) are not limited.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(Duration budget) {
+        DEADLINE.set(System.nanoTime() + budget.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE.get() != null;
+    }
+
+    /**
+     * Nanoseconds left before the deadline, zero or less once it passed, or
+     * {@link Long#MAX_VALUE} when the thread has none.
+     */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * @throws DeadlineExceededException if the deadline of the current request passed
+     */
+    public static void check() {
+        if (remainingNanos() <= 0) {
+            throw new DeadlineExceededException();
+        }
+    }
+
+    /**
+     * Whether a failure is the deadline of the request that ran the work passing, either
+     * checked by {@link #check()} or as a cancelled statement, rather than a failure of
+     * the work itself.
+     */
+    public static boolean isDeadlineFailure(Throwable failure) {
+        return failure instanceof DeadlineExceededException || failure instanceof QueryTimeoutException;
+    }
+
+    // The shorter of the timeout and the time left, to bound waits on other threads
+    public static Duration cap(Duration timeout) {
+        long remaining = remainingNanos();
+        return remaining < timeout.toNanos() ? Duration.ofNanos(Math.max(remaining, 0)) : timeout;
+    }
+
+    /**
+     * Binds the current deadline to a task handed to another thread.
+     */
+    public static Runnable propagate(Runnable task) {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            Long previous = DEADLINE.get();
+            DEADLINE.set(deadline);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Runs work that must complete even when the request ran out of time, such as the
+     * audit record of a change already committed.
+     */
+    public static void runWithout(Runnable action) {
+        Long deadline = DEADLINE.get();
+        DEADLINE.remove();
+        try {
+            action.run();
+        } finally {
+            restore(deadline);
+        }
+    }
+
+    private static void restore(Long deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadline);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.thiagoferreira.food_backend.infraestructure.deadline;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import com.thiagoferreira.food_backend.infraestructure.security.ProblemResponseTemplate;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Gives every API request a {@link RequestDeadline}: the budget a client sends in the
+ * Request-Timeout header, in milliseconds, or {@code request.deadline.default}. Clients
+ * cannot ask for more than {@code request.deadline.max}. The clock starts as the request
+ * arrives, ahead of the concurrency limit and Spring Security. A deadline that passes in
+ * one of those filters is answered here with the same 504 GlobalExceptionHandler gives.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "request.deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Request-Timeout";
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+    private final ProblemResponseTemplate invalidHeader;
+    private final ProblemResponseTemplate deadlineExceeded;
+    private final ProblemDetailMetrics problemDetailMetrics;
+    private final ClientErrorLogPolicy clientErrors;
+
+    @Autowired
+    public RequestDeadlineFilter(
+            JsonMapper jsonMapper,
+            ProblemDetailMetrics problemDetailMetrics,
+            ClientErrorLogPolicy clientErrors,
+            @Value("${request.deadline.default:10s}") Duration defaultBudget,
+            @Value("${request.deadline.max:30s}") Duration maxBudget
+    ) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+        this.invalidHeader = new ProblemResponseTemplate(jsonMapper, ProblemType.DOMAIN_VALIDATION_ERROR,
+                ErrorMessages.REQUEST_TIMEOUT_INVALID.getMessage());
+        this.deadlineExceeded = new ProblemResponseTemplate(jsonMapper, ProblemType.DEADLINE_EXCEEDED,
+                ErrorMessages.DEADLINE_EXCEEDED.getMessage());
+        this.problemDetailMetrics = problemDetailMetrics;
+        this.clientErrors = clientErrors;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/v1/") && !path.startsWith("/v2/") && !path.startsWith("/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Duration budget = budgetOf(request.getHeader(HEADER));
+        if (budget == null) {
+            clientErrors.record(ProblemType.DOMAIN_VALIDATION_ERROR.getSlug(), "Invalid {} header: {}", HEADER, request.getHeader(HEADER));
+            problemDetailMetrics.record(ProblemType.DOMAIN_VALIDATION_ERROR);
+            invalidHeader.write(request, response);
+            return;
+        }
+
+        RequestDeadline.start(budget);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (DeadlineExceededException | QueryTimeoutException e) {
+            // Passed in a filter, outside the reach of GlobalExceptionHandler (the JWT user lookup)
+            if (response.isCommitted()) {
+                throw e;
+            }
+            logger.warn("Deadline exceeded on " + request.getMethod() + " " + request.getRequestURI() + ": " + e.getMessage());
+            problemDetailMetrics.record(ProblemType.DEADLINE_EXCEEDED);
+            deadlineExceeded.write(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    // The requested budget capped at the maximum, the default without a header, or null when the header is invalid
+    Duration budgetOf(String header) {
+        if (header == null) {
+            return defaultBudget;
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (millis <= 0) {
+            return null;
+        }
+        return millis < maxBudget.toMillis() ? Duration.ofMillis(millis) : maxBudget;
+    }
+}
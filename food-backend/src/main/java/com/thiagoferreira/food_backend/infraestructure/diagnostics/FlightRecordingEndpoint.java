@@ -0,0 +1,168 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Starts bounded flight recordings on a running instance: {@code POST /actuator/jfr}
+ * starts one, {@code GET /actuator/jfr} lists them, {@code DELETE /actuator/jfr/{id}}
+ * stops one early and {@code GET /actuator/jfr/{id}} downloads the finished file.
+ * Duration and size are capped, only one recording runs at a time and only the most
+ * recent files are kept on disk. The environment and system properties are left out of
+ * the recordings, and like every Actuator endpoint this one is only served on the
+ * management port.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    static final Set<String> SETTINGS = Set.of("default", "profile");
+    // Both settings record every environment variable and system property: JWT_SECRET, DB_PASSWORD, the datasource URL
+    static final Set<String> SECRET_BEARING_EVENTS = Set.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+    static final int KEPT_RECORDINGS = 3;
+    static final int STATUS_CONFLICT = 409;
+    private static final Duration DEFAULT_DURATION = Duration.ofSeconds(60);
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Path directory;
+    private final Map<Long, Recording> recordings = new ConcurrentSkipListMap<>();
+
+    public FlightRecordingEndpoint(
+            @Value("${diagnostics.jfr.max-duration:5m}") Duration maxDuration,
+            @Value("${diagnostics.jfr.max-size:100MB}") DataSize maxSize,
+            @Value("${diagnostics.jfr.directory:${java.io.tmpdir}}") Path directory
+    ) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.directory = directory;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingDescriptor> start(@Nullable Duration duration, @Nullable String settings) {
+        String settingsName = settings != null ? settings : "profile";
+        if (!SETTINGS.contains(settingsName)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Recording running = recordings.values().stream()
+                .filter(recording -> recording.getState() == RecordingState.RUNNING)
+                .findFirst()
+                .orElse(null);
+        if (running != null) {
+            return new WebEndpointResponse<>(describe(running), STATUS_CONFLICT);
+        }
+
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                ? DEFAULT_DURATION
+                : (duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration(settingsName));
+            SECRET_BEARING_EVENTS.forEach(recording::disable);
+            recording.setName("food-backend-" + settingsName + "-" + Instant.now().toEpochMilli());
+            recording.setDuration(bounded);
+            recording.setMaxSize(maxSize.toBytes());
+            recording.setToDisk(true);
+            recording.setDestination(directory.resolve(recording.getName() + ".jfr"));
+            recording.start();
+            recordings.put(recording.getId(), recording);
+            evictOldRecordings();
+            log.info("Started flight recording '{}' for {} (settings: {})", recording.getName(), bounded, settingsName);
+            return new WebEndpointResponse<>(describe(recording), WebEndpointResponse.STATUS_OK);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not start flight recording", e);
+        }
+    }
+
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        return recordings.values().stream().map(this::describe).toList();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Resource> download(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() != RecordingState.STOPPED && recording.getState() != RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        Path file = recording.getDestination();
+        if (file == null || !Files.exists(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<RecordingDescriptor> stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording '{}' early", recording.getName());
+        }
+        return new WebEndpointResponse<>(describe(recording), WebEndpointResponse.STATUS_OK);
+    }
+
+    private void evictOldRecordings() {
+        List<Recording> finished = recordings.values().stream()
+                .filter(recording -> recording.getState() != RecordingState.RUNNING)
+                .sorted(Comparator.comparingLong(Recording::getId).reversed())
+                .toList();
+        for (Recording recording : finished.subList(Math.min(finished.size(), KEPT_RECORDINGS - 1), finished.size())) {
+            recordings.remove(recording.getId());
+            recording.close();
+            try {
+                if (recording.getDestination() != null) {
+                    Files.deleteIfExists(recording.getDestination());
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete old flight recording {}", recording.getDestination(), e);
+            }
+        }
+    }
+
+    private RecordingDescriptor describe(Recording recording) {
+        return new RecordingDescriptor(
+                recording.getId(),
+                recording.getName(),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getDuration(),
+                recording.getSize()
+        );
+    }
+
+    public record RecordingDescriptor(long id, String name, String state, Instant startTime, Duration duration, long size) {
+    }
+}
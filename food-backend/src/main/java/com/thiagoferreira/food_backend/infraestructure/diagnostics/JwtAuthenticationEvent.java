@@ -0,0 +1,27 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(JwtAuthenticationEvent.NAME)
+@Label("JWT Authentication")
+@Category({"Food Backend", "Security"})
+@Description("Bearer token verification in the authentication filter, including the user lookup")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends OutcomeEvent {
+
+    public static final String NAME = "food.backend.JwtAuthentication";
+
+    @Label("Path")
+    String path;
+
+    public static JwtAuthenticationEvent start(String path) {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.path = path;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,27 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(JwtEvent.NAME)
+@Label("JWT Operation")
+@Category({"Food Backend", "Security"})
+@Description("Signing or parsing of a JWT")
+@StackTrace(false)
+public class JwtEvent extends OutcomeEvent {
+
+    public static final String NAME = "food.backend.Jwt";
+
+    @Label("Operation")
+    String operation;
+
+    public static JwtEvent start(String operation) {
+        JwtEvent event = new JwtEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+}
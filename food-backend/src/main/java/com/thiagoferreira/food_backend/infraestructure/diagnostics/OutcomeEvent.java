@@ -0,0 +1,20 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base for the application's flight recorder events: every event is timed from
+ * {@link #begin()} and committed together with the outcome of the operation it covers.
+ * Committing is a no-op while no recording has the event enabled.
+ */
+public abstract class OutcomeEvent extends Event {
+
+    @Label("Outcome")
+    protected String outcome;
+
+    public void complete(String outcome) {
+        this.outcome = outcome;
+        commit();
+    }
+}
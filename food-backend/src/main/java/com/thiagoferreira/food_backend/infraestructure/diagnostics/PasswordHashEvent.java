@@ -0,0 +1,40 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name(PasswordHashEvent.NAME)
+@Label("BCrypt Operation")
+@Category({"Food Backend", "Security"})
+@Description("BCrypt hash or verification, including the wait for a hashing slot")
+@StackTrace(false)
+public class PasswordHashEvent extends OutcomeEvent {
+
+    public static final String NAME = "food.backend.PasswordHash";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Cost")
+    int cost;
+
+    @Label("Slot Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long slotWait;
+
+    public static PasswordHashEvent start(String operation, int cost) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.operation = operation;
+        event.cost = cost;
+        event.begin();
+        return event;
+    }
+
+    public void setSlotWait(long nanos) {
+        this.slotWait = nanos;
+    }
+}
@@ -0,0 +1,27 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(PasswordOperationEvent.NAME)
+@Label("Password Operation")
+@Category({"Food Backend", "Users"})
+@Description("Registration, login or password change, from the first query to the last hash")
+@StackTrace(false)
+public class PasswordOperationEvent extends OutcomeEvent {
+
+    public static final String NAME = "food.backend.PasswordOperation";
+
+    @Label("Operation")
+    String operation;
+
+    public static PasswordOperationEvent start(String operation) {
+        PasswordOperationEvent event = new PasswordOperationEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+}
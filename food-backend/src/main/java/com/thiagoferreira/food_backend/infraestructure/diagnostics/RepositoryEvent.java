@@ -0,0 +1,31 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(RepositoryEvent.NAME)
+@Label("Repository Call")
+@Category({"Food Backend", "Persistence"})
+@Description("Spring Data repository method, including its transaction and connection acquisition")
+@StackTrace(false)
+public class RepositoryEvent extends OutcomeEvent {
+
+    public static final String NAME = "food.backend.Repository";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    public static RepositoryEvent start(String repository, String method) {
+        RepositoryEvent event = new RepositoryEvent();
+        event.repository = repository;
+        event.method = method;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,39 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every Spring Data repository proxy so each call emits a {@link RepositoryEvent}.
+ * The advice goes first in the chain, so the event also covers the transaction and the
+ * connection acquisition around the query.
+ */
+@Component
+public class RepositoryEventPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0,
+                            interceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    static MethodInterceptor interceptor(String repository) {
+        return invocation -> {
+            RepositoryEvent event = RepositoryEvent.start(repository, invocation.getMethod().getName());
+            String outcome = "error";
+            try {
+                Object result = invocation.proceed();
+                outcome = "ok";
+                return result;
+            } finally {
+                event.complete(outcome);
+            }
+        };
+    }
+}
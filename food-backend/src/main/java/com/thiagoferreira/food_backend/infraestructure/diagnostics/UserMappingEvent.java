@@ -0,0 +1,31 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(UserMappingEvent.NAME)
+@Label("User Mapping")
+@Category({"Food Backend", "Users"})
+@Description("Conversion between user entities and DTOs")
+@StackTrace(false)
+public class UserMappingEvent extends OutcomeEvent {
+
+    public static final String NAME = "food.backend.UserMapping";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entities")
+    int entities;
+
+    public static UserMappingEvent start(String operation, int entities) {
+        UserMappingEvent event = new UserMappingEvent();
+        event.operation = operation;
+        event.entities = entities;
+        event.begin();
+        return event;
+    }
+}
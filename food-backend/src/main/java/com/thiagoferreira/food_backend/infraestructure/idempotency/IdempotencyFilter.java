@@ -0,0 +1,224 @@
+package com.thiagoferreira.food_backend.infraestructure.idempotency;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import com.thiagoferreira.food_backend.exceptions.ServiceOverloadedException;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import com.thiagoferreira.food_backend.infraestructure.security.ProblemResponseTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Honors the Idempotency-Key header on user registration and password changes, the two
+ * writes clients retry over flaky networks. The first request with a key runs and its
+ * status, headers and body are stored; a retry with the same key and body gets those
+ * bytes back, marked with Idempotent-Replayed, without hashing the password again or
+ * tripping over the user it already created. A retry that arrives while the first
+ * attempt is still running waits for it.
+ *
+ * <p>Keys are scoped to the caller and route. Anonymous callers (registrations) all share
+ * one scope, so they must send a UUID: a guessable key would let one client replay the
+ * response meant for another. Reusing a key with a different body is a client bug and is
+ * answered with 422. A claim refused because the store is full of requests still running
+ * is answered with 503 and {@code Retry-After}. Runs after the security filter chain, so
+ * the caller is known.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String METRIC_NAME = "http.server.idempotency";
+    static final int MAX_KEY_LENGTH = 255;
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final Pattern PASSWORD_PATH = Pattern.compile("/v2/users/[^/]+/password");
+    private static final Pattern UUID_KEY = Pattern.compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
+    private static final String ANONYMOUS = "anonymous";
+
+    private final IdempotencyStore store;
+    private final ProblemDetailMetrics problemDetailMetrics;
+    private final ClientErrorLogPolicy clientErrors;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+    private final Counter overloaded;
+    private final ProblemResponseTemplate invalidKey;
+    private final ProblemResponseTemplate keyNotUuid;
+    private final ProblemResponseTemplate keyReused;
+    private final ProblemResponseTemplate storeFull;
+
+    public IdempotencyFilter(IdempotencyStore store, JsonMapper jsonMapper, MeterRegistry meterRegistry,
+                             ProblemDetailMetrics problemDetailMetrics, ClientErrorLogPolicy clientErrors) {
+        this.store = store;
+        this.problemDetailMetrics = problemDetailMetrics;
+        this.clientErrors = clientErrors;
+        this.executed = meterRegistry.counter(METRIC_NAME, "outcome", "executed");
+        this.replayed = meterRegistry.counter(METRIC_NAME, "outcome", "replayed");
+        this.rejected = meterRegistry.counter(METRIC_NAME, "outcome", "rejected");
+        this.overloaded = meterRegistry.counter(METRIC_NAME, "outcome", "overloaded");
+        this.invalidKey = new ProblemResponseTemplate(jsonMapper, ProblemType.DOMAIN_VALIDATION_ERROR,
+                ErrorMessages.IDEMPOTENCY_KEY_INVALID.params(MAX_KEY_LENGTH));
+        this.keyNotUuid = new ProblemResponseTemplate(jsonMapper, ProblemType.DOMAIN_VALIDATION_ERROR,
+                ErrorMessages.IDEMPOTENCY_KEY_NOT_UUID.getMessage());
+        this.keyReused = new ProblemResponseTemplate(jsonMapper, ProblemType.IDEMPOTENCY_KEY_REUSED,
+                ErrorMessages.IDEMPOTENCY_KEY_REUSED.getMessage());
+        this.storeFull = new ProblemResponseTemplate(jsonMapper, ProblemType.SERVICE_OVERLOADED,
+                ErrorMessages.IDEMPOTENCY_STORE_FULL.getMessage());
+    }
+
+    static boolean isIdempotentRoute(String method, String path) {
+        return ("POST".equals(method) && "/v2/users".equals(path))
+                || ("PATCH".equals(method) && PASSWORD_PATH.matcher(path).matches());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(HEADER) == null || !isIdempotentRoute(request.getMethod(), pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(request, response, ProblemType.DOMAIN_VALIDATION_ERROR, invalidKey, ErrorMessages.IDEMPOTENCY_KEY_INVALID.params(MAX_KEY_LENGTH));
+            return;
+        }
+
+        String caller = callerOf();
+        if (ANONYMOUS.equals(caller) && !UUID_KEY.matcher(key).matches()) {
+            reject(request, response, ProblemType.DOMAIN_VALIDATION_ERROR, keyNotUuid, ErrorMessages.IDEMPOTENCY_KEY_NOT_UUID.getMessage());
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String scope = caller + ' ' + request.getMethod() + ' ' + pathOf(request) + ' ' + key;
+        String fingerprint = fingerprint(body);
+
+        while (true) {
+            IdempotencyStore.Claim claim;
+            try {
+                claim = store.claim(scope, fingerprint);
+            } catch (ServiceOverloadedException e) {
+                overloaded.increment();
+                problemDetailMetrics.record(ProblemType.SERVICE_OVERLOADED);
+                response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+                storeFull.write(request, response);
+                return;
+            }
+            if (!claim.fingerprint().equals(fingerprint)) {
+                reject(request, response, ProblemType.IDEMPOTENCY_KEY_REUSED, keyReused, ErrorMessages.IDEMPOTENCY_KEY_REUSED.getMessage());
+                return;
+            }
+            if (claim.owner()) {
+                execute(claim, new CachedBodyRequest(request, body), response, filterChain);
+                return;
+            }
+            IdempotencyStore.StoredResponse stored = store.await(claim);
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // The attempt it waited on failed without a response and released the key: run it here
+        }
+    }
+
+    private void execute(IdempotencyStore.Claim claim, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, capture);
+            stored = new IdempotencyStore.StoredResponse(capture.getStatus(), headersOf(capture), capture.getContentAsByteArray());
+        } finally {
+            store.complete(claim, stored);
+            executed.increment();
+        }
+        capture.copyBodyToResponse();
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        // Headers set before this filter (CORS, security) are set again with the same values
+        stored.headers().forEach((name, values) -> {
+            response.setHeader(name, values.getFirst());
+            for (int i = 1; i < values.size(); i++) {
+                response.addHeader(name, values.get(i));
+            }
+        });
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, ProblemType problemType,
+                        ProblemResponseTemplate template, String detail) throws IOException {
+        rejected.increment();
+        clientErrors.record(problemType.getSlug(), "Idempotency key rejected: {}", detail);
+        problemDetailMetrics.record(problemType);
+        template.write(request, response);
+    }
+
+    private static Map<String, List<String>> headersOf(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        // Containers keep the content type apart from the other headers until the response is committed
+        if (response.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+        }
+        for (String name : response.getHeaderNames()) {
+            // Set again from the stored body on replay
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private static String callerOf() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        return "user:" + authentication.getName();
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every JVM", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.thiagoferreira.food_backend.infraestructure.idempotency;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import com.thiagoferreira.food_backend.exceptions.ServiceOverloadedException;
+import com.thiagoferreira.food_backend.infraestructure.deadline.RequestDeadline;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Responses of requests sent with an Idempotency-Key, kept for {@code idempotency.ttl}
+ * after the first attempt and capped at {@code idempotency.max-entries} keys. An entry is
+ * created when a request claims its key, before it runs, so a duplicate arriving while the
+ * first attempt is still running waits for its response instead of running again, for at
+ * most {@code idempotency.wait-timeout} or the time left on its own deadline.
+ *
+ * <p>When the store is full the oldest completed response goes first. A claim whose request
+ * is still running is never evicted, since a retry would then run the write a second time;
+ * if every entry is still running, the new claim is refused with 503 instead.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Duration waitTimeout;
+    private final LongSupplier ticker;
+    // Not synchronized: a virtual thread blocked on a monitor pins its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    // Insertion order is expiry order: every entry lives for the same TTL from its claim
+    private final LinkedHashMap<String, Claim> entries;
+
+    @Autowired
+    public IdempotencyStore(
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.wait-timeout:30s}") Duration waitTimeout
+    ) {
+        this(ttl, maxEntries, waitTimeout, System::nanoTime);
+    }
+
+    IdempotencyStore(Duration ttl, int maxEntries, Duration waitTimeout, LongSupplier ticker) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.waitTimeout = waitTimeout;
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * Claims the key for a request with the given body fingerprint. The first claim owns
+     * the key and must {@link #complete} it; later claims share its response and carry the
+     * fingerprint of the request that owns it.
+     *
+     * @throws ServiceOverloadedException if the store is full of claims still running
+     */
+    public Claim claim(String key, String fingerprint) {
+        lock.lock();
+        try {
+            long now = ticker.getAsLong();
+            evictExpired(now);
+            Claim existing = entries.get(key);
+            if (existing != null) {
+                return new Claim(key, existing.fingerprint(), existing.response(), false, existing.expiresAt());
+            }
+            if (entries.size() >= maxEntries && !evictOldestCompleted()) {
+                throw new ServiceOverloadedException(ErrorMessages.IDEMPOTENCY_STORE_FULL);
+            }
+            Claim claim = new Claim(key, fingerprint, new CompletableFuture<>(), true, now + ttlNanos);
+            entries.put(key, claim);
+            return claim;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the response of the request that owns a claim, up to the wait timeout or
+     * the deadline of the current request, whichever comes first.
+     */
+    public StoredResponse await(Claim claim) {
+        return claim.await(RequestDeadline.cap(waitTimeout));
+    }
+
+    /**
+     * Publishes the response of an owned claim to the requests waiting on it. Server errors
+     * are handed to those waiters but not kept, and a null response (the request failed
+     * without one) releases the key, so a later retry runs the request again.
+     */
+    public void complete(Claim claim, StoredResponse response) {
+        if (response == null || !response.isRetained()) {
+            lock.lock();
+            try {
+                entries.remove(claim.key(), claim);
+            } finally {
+                lock.unlock();
+            }
+        }
+        claim.response().complete(response);
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Claim> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt() - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    private boolean evictOldestCompleted() {
+        Iterator<Claim> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().response().isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Claim(String key, String fingerprint, CompletableFuture<StoredResponse> response,
+                        boolean owner, long expiresAt) {
+
+        /** Waits for the owner's response; null when it failed without one. */
+        public StoredResponse await(Duration timeout) {
+            try {
+                return response.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw new DeadlineExceededException();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the request that owns the key", e);
+            } catch (ExecutionException e) {
+                // Completed with a response or null, never exceptionally
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    public record StoredResponse(int status, Map<String, List<String>> headers, byte[] body) {
+
+        boolean isRetained() {
+            return status < 500;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import com.thiagoferreira.food_backend.domain.enums.UserField;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.FilterProvider;
+import tools.jackson.databind.ser.PropertyFilter;
+
+import java.util.Set;
+
+/**
+ * Carries a {@code fields=} selection to {@link UserJsonModule}'s serializers. It filters
+ * no bean properties itself; the registered serializers read the selection from it.
+ */
+public class UserFieldsFilter extends FilterProvider {
+
+    private final Set<UserField> fields;
+
+    public UserFieldsFilter(Set<UserField> fields) {
+        this.fields = fields;
+    }
+
+    public Set<UserField> fields() {
+        return fields;
+    }
+
+    @Override
+    public FilterProvider snapshot() {
+        return this;
+    }
+
+    @Override
+    public PropertyFilter findPropertyFilter(SerializationContext ctxt, Object filterId, Object valueToFilter) {
+        return null;
+    }
+
+    static Set<UserField> fieldsOf(SerializationContext ctxt) {
+        return ctxt.getFilterProvider() instanceof UserFieldsFilter filter ? filter.fields : UserField.ALL;
+    }
+}
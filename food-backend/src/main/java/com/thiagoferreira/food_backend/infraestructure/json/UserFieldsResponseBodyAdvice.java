@@ -0,0 +1,48 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import com.thiagoferreira.food_backend.mappers.SparseUserList;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractJacksonHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import tools.jackson.databind.ser.FilterProvider;
+
+import java.util.Map;
+
+/**
+ * Hands the field selection of a {@link SparseUserList} body to the Jackson converters
+ * (JSON and CBOR) as a filter provider hint. The converters write a declared
+ * {@code List<UserResponse>} with the list serializer for that type, so the selection
+ * cannot travel on the list class itself.
+ */
+@ControllerAdvice
+public class UserFieldsResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    // The key AbstractJacksonHttpMessageConverter reads the filter provider from (the constant is private)
+    static final String FILTER_PROVIDER_HINT = FilterProvider.class.getName();
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJacksonHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        return body;
+    }
+
+    @Override
+    public Map<String, Object> determineWriteHints(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                                   Class<? extends HttpMessageConverter<?>> selectedConverterType) {
+        if (body instanceof SparseUserList users) {
+            return Map.of(FILTER_PROVIDER_HINT, new UserFieldsFilter(users.fields()));
+        }
+        return null;
+    }
+}
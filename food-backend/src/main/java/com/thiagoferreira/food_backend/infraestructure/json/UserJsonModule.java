@@ -0,0 +1,191 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import com.thiagoferreira.food_backend.domain.dto.AddressDTO;
+import com.thiagoferreira.food_backend.domain.dto.TokenResponse;
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Hand-written serializers for the user payloads, registered with the application's
+ * JsonMapper. They write the same document the reflective bean serializer produced
+ * (properties in alphabetical order, nulls included, {@code lastUpdate} as an ISO local
+ * date-time) without introspection, with pre-encoded property names and a date-time
+ * writer that skips {@link DateTimeFormatter}. A {@link UserFieldsFilter} on the writer
+ * limits UserResponse to the selected fields.
+ */
+@Component
+public class UserJsonModule extends SimpleModule {
+
+    private static final SerializableString ADDRESS = new SerializedString("address");
+    private static final SerializableString CITY = new SerializedString("city");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString LAST_UPDATE = new SerializedString("lastUpdate");
+    private static final SerializableString LOGIN = new SerializedString("login");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString STREET = new SerializedString("street");
+    private static final SerializableString TOKEN = new SerializedString("token");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString ZIP_CODE = new SerializedString("zipCode");
+
+    public UserJsonModule() {
+        super("food-backend-user-json");
+        addSerializer(UserResponse.class, new UserResponseSerializer());
+        addSerializer(AddressDTO.class, new AddressSerializer());
+        addSerializer(TokenResponse.class, new TokenResponseSerializer());
+    }
+
+    static final class UserResponseSerializer extends StdSerializer<UserResponse> {
+
+        UserResponseSerializer() {
+            super(UserResponse.class);
+        }
+
+        @Override
+        public void serialize(UserResponse value, JsonGenerator gen, SerializationContext ctxt) {
+            writeUser(value, gen, UserFieldsFilter.fieldsOf(ctxt));
+        }
+
+        static void writeUser(UserResponse value, JsonGenerator gen, Set<UserField> fields) {
+            gen.writeStartObject(value);
+            if (fields.contains(UserField.ADDRESS)) {
+                gen.writeName(ADDRESS);
+                if (value.address() == null) {
+                    gen.writeNull();
+                } else {
+                    AddressSerializer.writeAddress(value.address(), gen);
+                }
+            }
+            if (fields.contains(UserField.EMAIL)) {
+                writeString(gen, EMAIL, value.email());
+            }
+            if (fields.contains(UserField.ID)) {
+                gen.writeName(ID);
+                if (value.id() == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value.id().longValue());
+                }
+            }
+            if (fields.contains(UserField.LAST_UPDATE)) {
+                gen.writeName(LAST_UPDATE);
+                writeDateTime(gen, value.lastUpdate());
+            }
+            if (fields.contains(UserField.LOGIN)) {
+                writeString(gen, LOGIN, value.login());
+            }
+            if (fields.contains(UserField.NAME)) {
+                writeString(gen, NAME, value.name());
+            }
+            if (fields.contains(UserField.TYPE)) {
+                writeString(gen, TYPE, value.type() != null ? value.type().name() : null);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class AddressSerializer extends StdSerializer<AddressDTO> {
+
+        AddressSerializer() {
+            super(AddressDTO.class);
+        }
+
+        @Override
+        public void serialize(AddressDTO value, JsonGenerator gen, SerializationContext ctxt) {
+            writeAddress(value, gen);
+        }
+
+        static void writeAddress(AddressDTO value, JsonGenerator gen) {
+            gen.writeStartObject(value);
+            writeString(gen, CITY, value.city());
+            writeString(gen, NUMBER, value.number());
+            writeString(gen, STREET, value.street());
+            writeString(gen, ZIP_CODE, value.zipCode());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class TokenResponseSerializer extends StdSerializer<TokenResponse> {
+
+        TokenResponseSerializer() {
+            super(TokenResponse.class);
+        }
+
+        @Override
+        public void serialize(TokenResponse value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value);
+            writeString(gen, TOKEN, value.token());
+            writeString(gen, TYPE, value.type());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    /**
+     * Writes {@code value} exactly as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} would:
+     * seconds always present, the fraction only when non-zero and without trailing zeros.
+     */
+    static void writeDateTime(JsonGenerator gen, LocalDateTime value) {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        char[] buffer = new char[29];
+        int length = 0;
+        length = writeDigits(buffer, length, value.getYear(), 4);
+        buffer[length++] = '-';
+        length = writeDigits(buffer, length, value.getMonthValue(), 2);
+        buffer[length++] = '-';
+        length = writeDigits(buffer, length, value.getDayOfMonth(), 2);
+        buffer[length++] = 'T';
+        length = writeDigits(buffer, length, value.getHour(), 2);
+        buffer[length++] = ':';
+        length = writeDigits(buffer, length, value.getMinute(), 2);
+        buffer[length++] = ':';
+        length = writeDigits(buffer, length, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[length++] = '.';
+            length = writeDigits(buffer, length, nano, digits);
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    private static int writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+}
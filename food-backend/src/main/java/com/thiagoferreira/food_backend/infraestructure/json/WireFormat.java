@@ -0,0 +1,63 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The encodings a response body is negotiated between. JSON and CBOR bodies of the same
+ * resource differ byte for byte, so an entity tag names the encoding as well: a cache
+ * holding the JSON body must not answer a CBOR client with a 304, nor the other way round.
+ */
+public enum WireFormat {
+
+    JSON(""),
+    CBOR("-cbor");
+
+    private final String suffix;
+
+    WireFormat(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * The encoding Spring MVC picks for an Accept header: the most preferred type that
+     * matches one of the two, JSON for wildcards (its converter comes first) and for
+     * missing or unparsable headers.
+     */
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return JSON;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return CBOR;
+            }
+        }
+        return JSON;
+    }
+
+    /** The entity tag of this encoding of the resource tagged {@code eTag} (strong or weak). */
+    public String tag(String eTag) {
+        if (suffix.isEmpty()) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + suffix + '"';
+    }
+}
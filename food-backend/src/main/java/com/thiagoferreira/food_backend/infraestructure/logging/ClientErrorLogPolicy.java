@@ -0,0 +1,91 @@
+package com.thiagoferreira.food_backend.infraestructure.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logging policy for expected client errors: unknown ids, invalid tokens, malformed bodies.
+ * They are logged at INFO without stack traces, and only the first {@code samplesPerWindow}
+ * of each type per window are written individually. At the end of every window the types
+ * that went over the sample get one summary line with their total, so a bot hammering an
+ * endpoint costs a counter increment per request instead of a formatted log line.
+ */
+@Slf4j
+@Component
+public class ClientErrorLogPolicy implements SmartLifecycle {
+
+    private final Duration window;
+    private final int samplesPerWindow;
+    private final ConcurrentMap<String, AtomicLong> counts = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService flusher;
+
+    public ClientErrorLogPolicy(
+            @Value("${logging.client-errors.window:10s}") Duration window,
+            @Value("${logging.client-errors.samples-per-window:5}") int samplesPerWindow
+    ) {
+        this.window = window;
+        this.samplesPerWindow = samplesPerWindow;
+    }
+
+    /**
+     * Records one client error of the given type and logs it if it is within the sample.
+     * The type must come from a bounded set, such as a problem type slug.
+     */
+    public void record(String type, String format, Object... args) {
+        long count = counts.computeIfAbsent(type, key -> new AtomicLong()).incrementAndGet();
+        if (count <= samplesPerWindow && log.isInfoEnabled()) {
+            log.info("[" + type + "] " + format, args);
+        }
+    }
+
+    void flush() {
+        counts.forEach((type, counter) -> {
+            long total = counter.getAndSet(0);
+            if (total > samplesPerWindow) {
+                log.info("{} '{}' client errors in the last {} ({} logged individually)",
+                        total, type, describe(window), samplesPerWindow);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "client-error-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleAtFixedRate(this::flush, window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flusher = null;
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    private static String describe(Duration duration) {
+        return duration.toMillis() % 1000 == 0 ? duration.toSeconds() + "s" : duration.toMillis() + "ms";
+    }
+}
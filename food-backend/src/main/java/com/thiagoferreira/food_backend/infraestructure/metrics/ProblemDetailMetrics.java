@@ -0,0 +1,83 @@
+package com.thiagoferreira.food_backend.infraestructure.metrics;
+
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts ProblemDetail responses by problem type and status. Bodies written through
+ * Spring MVC are picked up as a response body advice; the security handlers, the
+ * idempotency filter and the concurrency limit filter write their own responses and call
+ * {@link #record(ProblemType)} directly.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ProblemDetailMetrics implements ResponseBodyAdvice<Object> {
+
+    public static final String METRIC_NAME = "http.server.problems";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ProblemType, Counter> counters = new ConcurrentHashMap<>();
+
+    public void record(ProblemDetail problemDetail) {
+        meterRegistry.counter(METRIC_NAME,
+                "type", typeOf(problemDetail.getType()),
+                "status", String.valueOf(problemDetail.getStatus())
+        ).increment();
+    }
+
+    // Same series as record(ProblemDetail), with the counter resolved once per type
+    public void record(ProblemType problemType) {
+        Counter counter = counters.get(problemType);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(problemType, type -> meterRegistry.counter(METRIC_NAME,
+                    "type", type.getSlug(),
+                    "status", String.valueOf(type.getStatus().value())));
+        }
+        counter.increment();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        if (body instanceof ProblemDetail problemDetail) {
+            record(problemDetail);
+        }
+        return body;
+    }
+
+    // The last path segment of the type URI, e.g. "resource-not-found", keeps the tag bounded
+    private static String typeOf(URI type) {
+        if (type == null) {
+            return "about:blank";
+        }
+        String path = type.getPath();
+        if (path == null || path.isEmpty()) {
+            return type.toString();
+        }
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,13 @@
+package com.thiagoferreira.food_backend.infraestructure.repositories;
+
+import com.thiagoferreira.food_backend.domain.entities.UserAuditEvent;
+
+import java.util.List;
+
+/**
+ * Appends audit events to {@code tb_user_audit} in one transaction, sent to the database as
+ * a single JDBC batch of inserts.
+ */
+public interface UserAuditAppendRepository {
+    void appendAll(List<UserAuditEvent> events);
+}
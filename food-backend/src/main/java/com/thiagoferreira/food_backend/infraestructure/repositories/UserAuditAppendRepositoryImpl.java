@@ -0,0 +1,34 @@
+package com.thiagoferreira.food_backend.infraestructure.repositories;
+
+import com.thiagoferreira.food_backend.domain.entities.UserAuditEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+
+import java.util.List;
+
+/**
+ * The JDBC batch size is set on this session only; the rest of the application keeps
+ * sending one statement per write. Always a transaction of its own, as events may be
+ * appended from the commit callback of the change they describe.
+ */
+class UserAuditAppendRepositoryImpl implements UserAuditAppendRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void appendAll(List<UserAuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).setJdbcBatchSize(events.size());
+        for (UserAuditEvent event : events) {
+            entityManager.persist(event);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
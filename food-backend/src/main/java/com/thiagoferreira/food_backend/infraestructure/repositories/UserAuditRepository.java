@@ -0,0 +1,10 @@
+package com.thiagoferreira.food_backend.infraestructure.repositories;
+
+import com.thiagoferreira.food_backend.domain.entities.UserAuditEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface UserAuditRepository extends JpaRepository<UserAuditEvent, Long>, UserAuditAppendRepository {
+    List<UserAuditEvent> findByUserIdOrderByIdAsc(Long userId);
+}
@@ -0,0 +1,18 @@
+package com.thiagoferreira.food_backend.infraestructure.repositories;
+
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads of {@code tb_users} that select only the columns behind the requested fields.
+ * The returned users are detached and partially populated: besides the selected fields,
+ * only {@code id}, {@code version} and {@code lastUpdated} (the page validator) are set.
+ * The name search matches and orders like {@code findByNameContainingIgnoreCaseOrderByNameAsc}.
+ */
+public interface UserFieldsRepository {
+    List<User> findAllWithFields(Set<UserField> fields);
+    List<User> findByNameWithFields(String name, Set<UserField> fields);
+}
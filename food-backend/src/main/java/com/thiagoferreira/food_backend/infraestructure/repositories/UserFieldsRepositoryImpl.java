@@ -0,0 +1,127 @@
+package com.thiagoferreira.food_backend.infraestructure.repositories;
+
+import com.thiagoferreira.food_backend.domain.entities.Address;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds a tuple query per field selection; {@code address} expands to its four columns.
+ */
+class UserFieldsRepositoryImpl implements UserFieldsRepository {
+
+    private static final char ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<User> findAllWithFields(Set<UserField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        query.select(cb.tuple(selections(root, fields)));
+        return toUsers(entityManager.createQuery(query).getResultList(), fields);
+    }
+
+    @Override
+    public List<User> findByNameWithFields(String name, Set<UserField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        Path<String> userName = root.get("name");
+        query.select(cb.tuple(selections(root, fields)))
+                .where(cb.like(cb.upper(userName), "%" + escape(name).toUpperCase(Locale.ROOT) + "%", ESCAPE))
+                .orderBy(cb.asc(userName));
+        return toUsers(entityManager.createQuery(query).getResultList(), fields);
+    }
+
+    private List<Selection<?>> selections(Root<User> root, Set<UserField> fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias("id"));
+        selections.add(root.get("version").alias("version"));
+        selections.add(root.get("lastUpdated").alias("lastUpdated"));
+        if (fields.contains(UserField.NAME)) {
+            selections.add(root.get("name").alias("name"));
+        }
+        if (fields.contains(UserField.EMAIL)) {
+            selections.add(root.get("email").alias("email"));
+        }
+        if (fields.contains(UserField.LOGIN)) {
+            selections.add(root.get("login").alias("login"));
+        }
+        if (fields.contains(UserField.TYPE)) {
+            selections.add(root.get("type").alias("type"));
+        }
+        if (fields.contains(UserField.ADDRESS)) {
+            Path<Address> address = root.get("address");
+            selections.add(address.get("street").alias("street"));
+            selections.add(address.get("number").alias("number"));
+            selections.add(address.get("city").alias("city"));
+            selections.add(address.get("zipCode").alias("zipCode"));
+        }
+        return selections;
+    }
+
+    private List<User> toUsers(List<Tuple> rows, Set<UserField> fields) {
+        List<User> users = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            User user = new User();
+            user.setId(row.get("id", Long.class));
+            user.setVersion(row.get("version", Long.class));
+            user.setLastUpdated(row.get("lastUpdated", LocalDateTime.class));
+            if (fields.contains(UserField.NAME)) {
+                user.setName(row.get("name", String.class));
+            }
+            if (fields.contains(UserField.EMAIL)) {
+                user.setEmail(row.get("email", String.class));
+            }
+            if (fields.contains(UserField.LOGIN)) {
+                user.setLogin(row.get("login", String.class));
+            }
+            if (fields.contains(UserField.TYPE)) {
+                user.setType(row.get("type", UserType.class));
+            }
+            if (fields.contains(UserField.ADDRESS)) {
+                user.setAddress(toAddress(row));
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    // Hibernate reads an embeddable whose columns are all null as a null reference
+    private Address toAddress(Tuple row) {
+        String street = row.get("street", String.class);
+        String number = row.get("number", String.class);
+        String city = row.get("city", String.class);
+        String zipCode = row.get("zipCode", String.class);
+        if (street == null && number == null && city == null && zipCode == null) {
+            return null;
+        }
+        Address address = new Address();
+        address.setStreet(street);
+        address.setNumber(number);
+        address.setCity(city);
+        address.setZipCode(zipCode);
+        return address;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,16 +1,23 @@
 package com.thiagoferreira.food_backend.infraestructure.repositories;
 
 import com.thiagoferreira.food_backend.domain.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserFieldsRepository {
     Optional<User> findByEmail(String email);
     Optional<User> findByLogin(String login);
     Optional<User> findById(Long id);
+    Optional<UserVersionView> findVersionById(Long id);
     List<User> findByNameContainingIgnoreCaseOrderByNameAsc(String name);
     boolean existsByEmail(String email);
     boolean existsByLogin(String login);
+    List<User> findByIdIn(Collection<Long> ids);
+    List<User> findByLoginIn(Collection<String> logins);
+    List<User> findByEmailIn(Collection<String> emails);
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
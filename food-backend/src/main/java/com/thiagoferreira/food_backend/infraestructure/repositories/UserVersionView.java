@@ -0,0 +1,13 @@
+package com.thiagoferreira.food_backend.infraestructure.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection with only the columns needed to validate a conditional request,
+ * so a 304 can be answered without loading the full {@code User}.
+ */
+public interface UserVersionView {
+    Long getId();
+    Long getVersion();
+    LocalDateTime getLastUpdated();
+}
@@ -1,15 +1,24 @@
 package com.thiagoferreira.food_backend.infraestructure.security;
 
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.JwtAuthenticationEvent;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.validation.constraints.NotNull;
-import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,17 +26,34 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String VERIFICATION_METRIC = "security.jwt.verification";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+    private final JwtVerificationTimers verificationTimers;
+    private final ClientErrorLogPolicy clientErrors;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            ClientErrorLogPolicy clientErrors
+    ) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.meterRegistry = meterRegistry;
+        this.verificationTimers = new JwtVerificationTimers(meterRegistry);
+        this.clientErrors = clientErrors;
+    }
 
     @Override
     protected void doFilterInternal(
-            @NotNull HttpServletRequest request,
-            @NotNull HttpServletResponse response,
-            @NotNull FilterChain filterChain
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         
@@ -36,12 +62,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        JwtAuthenticationEvent event = JwtAuthenticationEvent.start(request.getRequestURI());
+        String outcome = "skipped";
         try {
             final String jwt = authHeader.substring(7);
             final String username = jwtService.extractUsername(jwt);
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                outcome = "rejected";
                 
                 if (jwtService.validateToken(jwt, userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -51,14 +81,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    outcome = "valid";
                 }
             }
+        } catch (DeadlineExceededException | QueryTimeoutException e) {
+            // O prazo da requisição acabou durante a busca do usuário: não é um token inválido
+            outcome = "deadline_exceeded";
+            throw e;
         } catch (Exception e) {
             // Token inválido, continua sem autenticação
-            logger.error("Error validating JWT token", e);
+            outcome = outcomeOf(e);
+            if ("error".equals(outcome)) {
+                logger.error("Error validating JWT token", e);
+            } else {
+                // Expirados, malformados e de usuários removidos são esperados: amostrados e sem stack trace
+                clientErrors.record("jwt-" + outcome.replace('_', '-'), "Rejected JWT token: {}", e.getMessage());
+            }
+        } finally {
+            sample.stop(verificationTimers.of(outcome));
+            event.complete(outcome);
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private static String outcomeOf(Exception e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (e instanceof JwtException || e instanceof IllegalArgumentException) {
+            return "invalid";
+        }
+        if (e instanceof UsernameNotFoundException || e instanceof ResourceNotFoundException) {
+            return "unknown_user";
+        }
+        return "error";
+    }
 }
 
@@ -1,6 +1,9 @@
 package com.thiagoferreira.food_backend.infraestructure.security;
 
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.JwtEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,9 +31,12 @@ public class JwtService {
     }
 
     public String generateToken(String username, Long userId) {
+        JwtEvent event = JwtEvent.start("generate");
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
-        return createToken(claims, username);
+        String token = createToken(claims, username);
+        event.complete("ok");
+        return token;
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -71,11 +77,25 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        JwtEvent event = JwtEvent.start("parse");
+        String outcome = "error";
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            outcome = "ok";
+            return claims;
+        } catch (ExpiredJwtException e) {
+            outcome = "expired";
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            outcome = "invalid";
+            throw e;
+        } finally {
+            event.complete(outcome);
+        }
     }
 
     public Boolean isTokenExpired(String token) {
@@ -0,0 +1,35 @@
+package com.thiagoferreira.food_backend.infraestructure.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link JwtAuthenticationFilter#VERIFICATION_METRIC} timers of the REST filter and
+ * the gRPC interceptor, registered once per outcome so a verification does not build tags
+ * and look the timer up in the registry.
+ */
+public class JwtVerificationTimers {
+
+    static final List<String> OUTCOMES =
+            List.of("valid", "rejected", "expired", "invalid", "unknown_user", "deadline_exceeded", "error", "skipped");
+
+    private final Map<String, Timer> timers;
+
+    public JwtVerificationTimers(MeterRegistry meterRegistry) {
+        this.timers = OUTCOMES.stream().collect(Collectors.toUnmodifiableMap(Function.identity(),
+                outcome -> meterRegistry.timer(JwtAuthenticationFilter.VERIFICATION_METRIC, "outcome", outcome)));
+    }
+
+    public Timer of(String outcome) {
+        Timer timer = timers.get(outcome);
+        if (timer == null) {
+            throw new IllegalArgumentException("Unknown JWT verification outcome: " + outcome);
+        }
+        return timer;
+    }
+}
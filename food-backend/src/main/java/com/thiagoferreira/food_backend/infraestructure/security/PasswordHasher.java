@@ -0,0 +1,189 @@
+package com.thiagoferreira.food_backend.infraestructure.security;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import com.thiagoferreira.food_backend.exceptions.ServiceOverloadedException;
+import com.thiagoferreira.food_backend.exceptions.ServiceUnavailableException;
+import com.thiagoferreira.food_backend.infraestructure.deadline.RequestDeadline;
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.PasswordHashEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt hashing on a bounded scheduler of its own. Hashing is the most CPU-expensive
+ * step of the registration, login and password change flows, so it runs on
+ * {@code maxConcurrency} dedicated platform threads and never on a request thread: a
+ * login storm queues there instead of starving the requests that only read, and in the
+ * virtual-thread mode it does not hold the carrier threads those requests run on.
+ *
+ * <p>At most {@code queueCapacity} operations wait for a thread; one more is refused at
+ * once with {@link ServiceOverloadedException} (503). A blocking caller waits for the
+ * result up to the time left on its {@link RequestDeadline}; the {@code *Async} variants
+ * hand back a future instead, for callers that must not block (the reactive /v3 API).
+ * Time spent queued and time spent hashing are recorded separately.
+ */
+@Component
+public class PasswordHasher implements AutoCloseable {
+
+    public static final String METRIC_NAME = "security.bcrypt";
+    public static final String WAIT_METRIC_NAME = "security.bcrypt.wait";
+
+    private final int cost;
+    private final int maxConcurrency;
+    private final ThreadPoolExecutor scheduler;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Timer waitTimer;
+
+    public PasswordHasher(
+            @Value("${security.bcrypt.cost:10}") int cost,
+            @Value("${security.bcrypt.max-concurrency:0}") int maxConcurrency,
+            @Value("${security.bcrypt.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        this.cost = cost;
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threads = new AtomicInteger();
+        this.scheduler = new ThreadPoolExecutor(this.maxConcurrency, this.maxConcurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "bcrypt-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hashTimer = Timer.builder(METRIC_NAME)
+                .tag("operation", "hash")
+                .tag("cost", String.valueOf(cost))
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder(METRIC_NAME)
+                .tag("operation", "verify")
+                .tag("cost", String.valueOf(cost))
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder(WAIT_METRIC_NAME).register(meterRegistry);
+    }
+
+    public String hash(String rawPassword) {
+        PasswordHashEvent event = PasswordHashEvent.start("hash", cost);
+        String hashed = run(event, hashing(rawPassword));
+        event.complete("ok");
+        return hashed;
+    }
+
+    public boolean matches(String rawPassword, String hashedPassword) {
+        PasswordHashEvent event = PasswordHashEvent.start("verify", cost);
+        boolean matched = Boolean.TRUE.equals(run(event, verifying(rawPassword, hashedPassword)));
+        event.complete(matched ? "matched" : "mismatched");
+        return matched;
+    }
+
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        PasswordHashEvent event = PasswordHashEvent.start("hash", cost);
+        return completing(event, submit(event, hashing(rawPassword)), hashed -> "ok");
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String hashedPassword) {
+        PasswordHashEvent event = PasswordHashEvent.start("verify", cost);
+        return completing(event, submit(event, verifying(rawPassword, hashedPassword)),
+                matched -> Boolean.TRUE.equals(matched) ? "matched" : "mismatched");
+    }
+
+    private Supplier<String> hashing(String rawPassword) {
+        return () -> hashTimer.record(() -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost)));
+    }
+
+    private Supplier<Boolean> verifying(String rawPassword, String hashedPassword) {
+        return () -> verifyTimer.record(() -> BCrypt.checkpw(rawPassword, hashedPassword));
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private <T> CompletableFuture<Slotted<T>> submit(PasswordHashEvent event, Supplier<T> work) {
+        long submitted = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long waited = System.nanoTime() - submitted;
+                waitTimer.record(waited, TimeUnit.NANOSECONDS);
+                return new Slotted<>(work.get(), waited);
+            }, scheduler);
+        } catch (RejectedExecutionException e) {
+            event.complete("rejected");
+            throw new ServiceOverloadedException(ErrorMessages.PASSWORD_HASHING_SATURATED);
+        }
+    }
+
+    private <T> T run(PasswordHashEvent event, Supplier<T> work) {
+        // Future.get does not look at the interrupt flag once the work is done, which a fast hash can be
+        if (Thread.currentThread().isInterrupted()) {
+            event.complete("interrupted");
+            throw new ServiceUnavailableException(ErrorMessages.PASSWORD_HASHING_UNAVAILABLE, null);
+        }
+        CompletableFuture<Slotted<T>> result = submit(event, work);
+
+        long remaining = RequestDeadline.remainingNanos();
+        try {
+            Slotted<T> slotted = remaining == Long.MAX_VALUE ? result.get() : result.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            // Set here, on the thread that completes the event, not on the hashing thread
+            event.setSlotWait(slotted.waitNanos());
+            return slotted.value();
+        } catch (TimeoutException e) {
+            // Dropped if still queued; a hash already running is not interruptible and just finishes
+            result.cancel(false);
+            event.complete("deadline_exceeded");
+            throw new DeadlineExceededException();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            event.complete("interrupted");
+            throw new ServiceUnavailableException(ErrorMessages.PASSWORD_HASHING_UNAVAILABLE, e);
+        } catch (ExecutionException e) {
+            event.complete("error");
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceUnavailableException(ErrorMessages.PASSWORD_HASHING_UNAVAILABLE, e.getCause());
+        }
+    }
+
+    // The event is completed by the stage that runs after the work, one thread for both calls
+    private <T> CompletableFuture<T> completing(PasswordHashEvent event, CompletableFuture<Slotted<T>> result, Function<T, String> outcome) {
+        return result
+                .whenComplete((slotted, failure) -> {
+                    if (failure != null) {
+                        event.complete("error");
+                    }
+                })
+                .thenApply(slotted -> {
+                    event.setSlotWait(slotted.waitNanos());
+                    event.complete(outcome.apply(slotted.value()));
+                    return slotted.value();
+                });
+    }
+
+    // The result of an operation and how long it waited for a hashing thread
+    private record Slotted<T>(T value, long waitNanos) {
+    }
+}
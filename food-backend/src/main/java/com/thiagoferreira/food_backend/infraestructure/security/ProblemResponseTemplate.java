@@ -0,0 +1,100 @@
+package com.thiagoferreira.food_backend.infraestructure.security;
+
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import tools.jackson.core.io.JsonStringEncoder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A ProblemDetail response written outside Spring MVC, by the security handlers and the
+ * concurrency limit filter. Type, title, status and detail are encoded once with the
+ * application's {@link JsonMapper}; each rejected request only splices its instance, path
+ * and method into the pre-encoded bytes, so answering a flood of bad tokens or shed
+ * requests allocates next to nothing.
+ */
+public final class ProblemResponseTemplate {
+
+    private static final byte[] PATH = ascii("\",\"properties\":{\"path\":\"");
+    private static final byte[] METHOD = ascii("\",\"method\":\"");
+    private static final byte[] END = ascii("\"}}");
+
+    private final ProblemType problemType;
+    private final byte[] head;
+
+    public ProblemResponseTemplate(JsonMapper jsonMapper, ProblemType problemType, String detail) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("type", problemType.getType().toString());
+        fields.put("title", problemType.getTitle());
+        fields.put("status", problemType.getStatus().value());
+        fields.put("detail", detail);
+        byte[] encoded = jsonMapper.writeValueAsBytes(fields);
+
+        // Reabre o objeto (sem o '}' final) para os campos de cada requisição
+        byte[] instance = ascii(",\"instance\":\"");
+        this.head = Arrays.copyOf(encoded, encoded.length - 1 + instance.length);
+        System.arraycopy(instance, 0, head, encoded.length - 1, instance.length);
+        this.problemType = problemType;
+    }
+
+    public void write(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String instance = request.getRequestURL().toString();
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(problemType.getStatus().value());
+
+        OutputStream out = response.getOutputStream();
+        if (isPlainAscii(instance) && isPlainAscii(path) && isPlainAscii(method)) {
+            response.setContentLength(head.length + instance.length() + PATH.length + path.length()
+                    + METHOD.length + method.length() + END.length);
+            out.write(head);
+            writeAscii(out, instance);
+            out.write(PATH);
+            writeAscii(out, path);
+            out.write(METHOD);
+            writeAscii(out, method);
+            out.write(END);
+            return;
+        }
+
+        // Caminhos com aspas, barras invertidas ou fora do ASCII passam pelo encoder do Jackson
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        out.write(head);
+        out.write(encoder.quoteAsUTF8(instance));
+        out.write(PATH);
+        out.write(encoder.quoteAsUTF8(path));
+        out.write(METHOD);
+        out.write(encoder.quoteAsUTF8(method));
+        out.write(END);
+    }
+
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c >= 0x7f || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeAscii(OutputStream out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            out.write(value.charAt(i));
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
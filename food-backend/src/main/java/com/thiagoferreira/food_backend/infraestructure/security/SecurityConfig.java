@@ -52,6 +52,10 @@ public class SecurityConfig {
                                 "/swagger-resources/**", 
                                 "/webjars/**")
                                 .permitAll()
+                // Permitir health check e métricas (scrape do Prometheus); o Actuator só é servido na porta de gerenciamento
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                // Gravações do Flight Recorder exigem JWT, além da porta de gerenciamento (endpoint só existe quando exposto)
+                .requestMatchers("/actuator/jfr/**").authenticated()
                 // Permitir endpoints v1 (gerenciados pelo interceptor)
                 .requestMatchers("/v1/**").permitAll()
                 // Permitir endpoints auth v1 (gerenciados pelo interceptor)
@@ -80,7 +84,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag", "Last-Modified", "Idempotent-Replayed"));
         configuration.setAllowCredentials(false);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
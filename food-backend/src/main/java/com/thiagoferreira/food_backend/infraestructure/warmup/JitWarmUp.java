@@ -0,0 +1,270 @@
+package com.thiagoferreira.food_backend.infraestructure.warmup;
+
+import com.thiagoferreira.food_backend.domain.dto.UserRequest;
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.entities.Address;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.infraestructure.security.JwtService;
+import com.thiagoferreira.food_backend.infraestructure.security.PasswordHasher;
+import com.thiagoferreira.food_backend.mappers.UserMapper;
+import com.thiagoferreira.food_backend.services.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Runs the hot paths of a request (JWT signing and verification, BCrypt, entity/DTO
+ * mapping, JSON and bean validation, repository queries) against synthetic data before
+ * the application reports itself ready, so the first real requests after a rollout find
+ * them compiled instead of paying for the interpreter. Nothing is written: the queries
+ * look up keys that do not exist.
+ *
+ * <p>Runners complete before Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC},
+ * so the readiness probe answers {@code 503} until the warm-up ends or its time budget
+ * expires, whichever comes first. The steps run in rounds, one iteration of each per
+ * round, so a budget that runs out still leaves every path partly warmed.
+ *
+ * <p>The outcome is exported as {@value #DURATION_METRIC} and, per step, the latency of
+ * its first iteration and the mean of its last tenth as {@value #LATENCY_METRIC} with
+ * {@code phase} {@code cold} and {@code warm}. The iterations also count in the metrics of
+ * the code they exercise (BCrypt, JWT verification, single-flight loads).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class JitWarmUp implements ApplicationRunner {
+
+    public static final String DURATION_METRIC = "app.warmup.duration";
+    public static final String LATENCY_METRIC = "app.warmup.latency";
+
+    private static final String LOGIN = "jit-warmup";
+    private static final int PAGE_SIZE = 100;
+    // Each BCrypt iteration costs tens of milliseconds and runs its inner loop thousands of times
+    private static final int BCRYPT_ITERATIONS = 2;
+    // Each query runs through thousands of Hibernate and JDBC calls; a few suffice and keep the database unloaded
+    private static final int REPOSITORY_ITERATIONS = 50;
+
+    record Step(String name, int iterations, Runnable action) {
+    }
+
+    private final List<Step> steps;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    @Autowired
+    public JitWarmUp(
+            JwtService jwtService,
+            PasswordHasher passwordHasher,
+            UserMapper userMapper,
+            UserService userService,
+            JsonMapper jsonMapper,
+            Validator validator,
+            MeterRegistry meterRegistry,
+            @Value("${warmup.iterations:2000}") int iterations,
+            @Value("${warmup.timeout:30s}") Duration timeout
+    ) {
+        this(steps(jwtService, passwordHasher, userMapper, userService, jsonMapper, validator, iterations),
+                meterRegistry, timeout);
+    }
+
+    JitWarmUp(List<Step> steps, MeterRegistry meterRegistry, Duration timeout) {
+        this.steps = steps;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    private static List<Step> steps(JwtService jwtService, PasswordHasher passwordHasher, UserMapper userMapper,
+                                    UserService userService, JsonMapper jsonMapper, Validator validator, int iterations) {
+        List<User> page = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(JitWarmUp::syntheticUser).toList();
+        byte[] request = jsonMapper.writeValueAsBytes(syntheticRequest());
+
+        return List.of(
+                new Step("jwt", iterations, () -> {
+                    String token = jwtService.generateToken(LOGIN, 0L);
+                    jwtService.validateToken(token, LOGIN);
+                    jwtService.extractUserId(token);
+                }),
+                new Step("bcrypt", Math.min(iterations, BCRYPT_ITERATIONS),
+                        () -> passwordHasher.matches(LOGIN, passwordHasher.hash(LOGIN))),
+                new Step("mapping", iterations, () -> {
+                    page.forEach(userMapper::toResponse);
+                    userMapper.toWeakETag(page);
+                    userMapper.toETag(page.getFirst());
+                }),
+                new Step("json", iterations, () -> {
+                    List<UserResponse> responses = page.stream().map(userMapper::toResponse).toList();
+                    jsonMapper.writeValueAsBytes(responses);
+                    validator.validate(jsonMapper.readValue(request, UserRequest.class));
+                }),
+                // Index lookups only: a name search is a full scan that would load the database at every start
+                new Step("repository", Math.min(iterations, REPOSITORY_ITERATIONS), () -> {
+                    userService.findByLogin(LOGIN);
+                    userService.findByEmail(LOGIN + "@warmup.invalid");
+                    userService.findAllByIds(List.of(-1L, -2L));
+                    userService.findUsersAfter(Long.MAX_VALUE, PAGE_SIZE);
+                })
+        );
+    }
+
+    private static User syntheticUser(long id) {
+        Address address = new Address();
+        address.setStreet("Rua " + id);
+        address.setNumber(String.valueOf(id));
+        address.setCity("Cidade");
+        address.setZipCode("00000-000");
+
+        User user = new User();
+        user.setId(id);
+        user.setName("Warm-up User " + id);
+        user.setEmail("user" + id + "@warmup.invalid");
+        user.setLogin("warmup" + id);
+        user.setType(UserType.CUSTOMER);
+        user.setAddress(address);
+        user.setVersion(0L);
+        user.setLastUpdated(LocalDateTime.now());
+        return user;
+    }
+
+    private static UserRequest syntheticRequest() {
+        UserRequest request = new UserRequest();
+        request.setName("Warm-up User");
+        request.setEmail(LOGIN + "@warmup.invalid");
+        request.setLogin(LOGIN);
+        request.setPassword("warm-up-password");
+        request.setType(UserType.CUSTOMER);
+        return request;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<StepResult> results = steps.stream().map(StepResult::new).toList();
+        long start = System.nanoTime();
+
+        // On a thread of its own, so a step stuck on the database cannot hold readiness past the budget
+        Thread worker = Thread.ofPlatform().name("jit-warmup").daemon().start(() -> runRounds(results));
+        boolean completed;
+        try {
+            worker.join(timeout);
+            completed = !worker.isAlive();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completed = false;
+        }
+        if (!completed) {
+            worker.interrupt();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        String outcome = completed ? "completed" : "timed_out";
+        TimeGauge.builder(DURATION_METRIC, () -> elapsed, TimeUnit.NANOSECONDS)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        results.forEach(result -> result.register(meterRegistry));
+        log.info("JIT warm-up {} in {} ms: {}", outcome.replace('_', ' '), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                results.stream().map(StepResult::summary).collect(Collectors.joining(", ")));
+    }
+
+    private static void runRounds(List<StepResult> results) {
+        boolean pending = true;
+        while (pending && !Thread.currentThread().isInterrupted()) {
+            pending = false;
+            for (StepResult result : results) {
+                if (result.runOnce()) {
+                    pending = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Latencies of one step. Written by the warm-up thread and read by the runner once it
+     * has joined it, or after the budget expired, when the figures are a best effort.
+     */
+    private static final class StepResult {
+
+        private final Step step;
+        private final long[] latencies;
+        private volatile int completed;
+        private volatile String failure;
+
+        StepResult(Step step) {
+            this.step = step;
+            this.latencies = new long[Math.max(step.iterations(), 0)];
+        }
+
+        // Runs the next iteration; false once there is none left or the step failed
+        boolean runOnce() {
+            if (failure != null || completed >= latencies.length) {
+                return false;
+            }
+            long start = System.nanoTime();
+            try {
+                step.action().run();
+            } catch (RuntimeException e) {
+                failure = e.getClass().getSimpleName();
+                if (Thread.currentThread().isInterrupted()) {
+                    // Cut short by the time budget, not broken
+                    return false;
+                }
+                log.warn("JIT warm-up step '{}' failed and was skipped: {}", step.name(), e.getMessage());
+                return false;
+            }
+            latencies[completed] = System.nanoTime() - start;
+            completed = completed + 1;
+            return completed < latencies.length;
+        }
+
+        double cold() {
+            return completed == 0 ? Double.NaN : latencies[0];
+        }
+
+        double warm() {
+            int count = completed;
+            if (count == 0) {
+                return Double.NaN;
+            }
+            int tail = Math.max(1, count / 10);
+            long sum = 0;
+            for (int i = count - tail; i < count; i++) {
+                sum += latencies[i];
+            }
+            return (double) sum / tail;
+        }
+
+        void register(MeterRegistry meterRegistry) {
+            double cold = cold();
+            double warm = warm();
+            TimeGauge.builder(LATENCY_METRIC, () -> cold, TimeUnit.NANOSECONDS)
+                    .tags("step", step.name(), "phase", "cold")
+                    .register(meterRegistry);
+            TimeGauge.builder(LATENCY_METRIC, () -> warm, TimeUnit.NANOSECONDS)
+                    .tags("step", step.name(), "phase", "warm")
+                    .register(meterRegistry);
+        }
+
+        String summary() {
+            if (failure != null && completed == 0) {
+                return step.name() + " failed (" + failure + ")";
+            }
+            return String.format(Locale.ROOT, "%s %.3f -> %.3f ms (%d/%d)", step.name(),
+                    cold() / 1_000_000, warm() / 1_000_000, completed, latencies.length);
+        }
+    }
+}
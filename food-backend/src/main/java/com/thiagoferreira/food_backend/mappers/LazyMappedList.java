@@ -0,0 +1,41 @@
+package com.thiagoferreira.food_backend.mappers;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Read-only view that maps each element when it is read. Returned as a response body,
+ * the serializer maps and writes one element at a time, so a large page never holds a
+ * second, fully mapped list alongside the entities.
+ */
+public final class LazyMappedList<S, T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<S> source;
+    private final Function<? super S, ? extends T> mapper;
+
+    private LazyMappedList(List<S> source, Function<? super S, ? extends T> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    /**
+     * The source must support fast random access, such as the lists returned by
+     * {@code Stream.toList()} or Spring Data repositories.
+     */
+    public static <S, T> List<T> of(List<S> source, Function<? super S, ? extends T> mapper) {
+        return new LazyMappedList<>(Objects.requireNonNull(source), Objects.requireNonNull(mapper));
+    }
+
+    @Override
+    public T get(int index) {
+        return mapper.apply(source.get(index));
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
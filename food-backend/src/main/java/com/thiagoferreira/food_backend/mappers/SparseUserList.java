@@ -0,0 +1,51 @@
+package com.thiagoferreira.food_backend.mappers;
+
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * A page of responses to be written with only the selected fields. The elements are the
+ * regular responses; the selection reaches the serializer as a write hint
+ * ({@code UserFieldsResponseBodyAdvice}).
+ */
+public final class SparseUserList extends AbstractList<UserResponse> implements RandomAccess {
+
+    private final List<UserResponse> users;
+    private final Set<UserField> fields;
+
+    private SparseUserList(List<UserResponse> users, Set<UserField> fields) {
+        this.users = users;
+        this.fields = fields;
+    }
+
+    /**
+     * With every field selected the page is returned as is.
+     */
+    public static List<UserResponse> of(List<UserResponse> users, Set<UserField> fields) {
+        Objects.requireNonNull(users);
+        if (UserField.ALL.equals(fields)) {
+            return users;
+        }
+        return new SparseUserList(users, Set.copyOf(fields));
+    }
+
+    public Set<UserField> fields() {
+        return fields;
+    }
+
+    @Override
+    public UserResponse get(int index) {
+        return users.get(index);
+    }
+
+    @Override
+    public int size() {
+        return users.size();
+    }
+}
@@ -1,13 +1,20 @@
 package com.thiagoferreira.food_backend.mappers;
 
 import com.thiagoferreira.food_backend.domain.dto.AddressDTO;
+import com.thiagoferreira.food_backend.domain.dto.UserBatchItem;
 import com.thiagoferreira.food_backend.domain.dto.UserRequest;
 import com.thiagoferreira.food_backend.domain.dto.UserResponse;
 import com.thiagoferreira.food_backend.domain.dto.UserUpdateRequest;
 import com.thiagoferreira.food_backend.domain.entities.Address;
 import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.UserMappingEvent;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserVersionView;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
 @Component
 public class UserMapper {
 
@@ -16,6 +23,7 @@ public class UserMapper {
             return null;
         }
 
+        UserMappingEvent event = UserMappingEvent.start("to_entity", 1);
         User user = new User();
         user.setName(dto.getName());
         user.setEmail(dto.getEmail());
@@ -23,6 +31,7 @@ public class UserMapper {
         user.setPassword(dto.getPassword());
         user.setType(dto.getType());
         user.setAddress(toAddressEntity(dto.getAddress()));
+        event.complete("ok");
 
         return user;
     }
@@ -32,25 +41,73 @@ public class UserMapper {
             return null;
         }
 
-        UserResponse response = new UserResponse();
-        response.setId(entity.getId());
-        response.setName(entity.getName());
-        response.setEmail(entity.getEmail());
-        response.setLogin(entity.getLogin());
-        response.setType(entity.getType());
-        response.setAddress(toAddressDTO(entity.getAddress()));
-        response.setLastUpdate(entity.getLastUpdated());
+        UserMappingEvent event = UserMappingEvent.start("to_response", 1);
+        UserResponse response = new UserResponse(
+                entity.getId(),
+                entity.getName(),
+                entity.getEmail(),
+                entity.getLogin(),
+                entity.getType(),
+                toAddressDTO(entity.getAddress()),
+                entity.getLastUpdated()
+        );
+        event.complete("ok");
 
         return response;
     }
 
+    public UserBatchItem toBatchItem(Object key, User entity) {
+        return new UserBatchItem(String.valueOf(key), entity != null, toResponse(entity));
+    }
+
+    public String toETag(User entity) {
+        return toETag(entity.getId(), entity.getVersion(), entity.getLastUpdated());
+    }
+
+    public String toETag(UserVersionView view) {
+        return toETag(view.getId(), view.getVersion(), view.getLastUpdated());
+    }
+
+    /**
+     * Weak validator over a result page: it changes whenever any user in the page
+     * is added, removed, reordered or modified.
+     */
+    public String toWeakETag(List<User> entities) {
+        UserMappingEvent event = UserMappingEvent.start("to_weak_etag", entities.size());
+        long hash = entities.size();
+        for (User entity : entities) {
+            hash = 31 * hash + nullToZero(entity.getId());
+            hash = 31 * hash + nullToZero(entity.getVersion());
+            hash = 31 * hash + toLastModified(entity.getLastUpdated());
+        }
+        event.complete("ok");
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    public long toLastModified(LocalDateTime lastUpdated) {
+        if (lastUpdated == null) {
+            return -1;
+        }
+        return lastUpdated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private String toETag(Long id, Long version, LocalDateTime lastUpdated) {
+        return "\"" + id + "-" + nullToZero(version) + "-" + Math.max(toLastModified(lastUpdated), 0) + "\"";
+    }
+
+    private long nullToZero(Long value) {
+        return value != null ? value : 0;
+    }
+
     public void updateEntityFromDto(UserUpdateRequest dto, User entity) {
         if (dto == null || entity == null) {
             return;
         }
 
+        UserMappingEvent event = UserMappingEvent.start("update_entity", 1);
         entity.setName(dto.getName());
         entity.setAddress(toAddressEntity(dto.getAddress()));
+        event.complete("ok");
     }
 
     private Address toAddressEntity(AddressDTO dto) {
@@ -59,10 +116,10 @@ public class UserMapper {
         }
 
         Address address = new Address();
-        address.setStreet(dto.getStreet());
-        address.setNumber(dto.getNumber());
-        address.setCity(dto.getCity());
-        address.setZipCode(dto.getZipCode());
+        address.setStreet(dto.street());
+        address.setNumber(dto.number());
+        address.setCity(dto.city());
+        address.setZipCode(dto.zipCode());
 
         return address;
     }
@@ -72,12 +129,11 @@ public class UserMapper {
             return null;
         }
 
-        AddressDTO dto = new AddressDTO();
-        dto.setStreet(entity.getStreet());
-        dto.setNumber(entity.getNumber());
-        dto.setCity(entity.getCity());
-        dto.setZipCode(entity.getZipCode());
-
-        return dto;
+        return new AddressDTO(
+                entity.getStreet(),
+                entity.getNumber(),
+                entity.getCity(),
+                entity.getZipCode()
+        );
     }
 }
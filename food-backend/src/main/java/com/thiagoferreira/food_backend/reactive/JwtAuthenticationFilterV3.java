@@ -0,0 +1,70 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import com.thiagoferreira.food_backend.infraestructure.security.JwtService;
+import io.jsonwebtoken.JwtException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * The JWT check of the V2 security chain for the /v3 routes: a Bearer token issued by
+ * {@code /v2/auth/login}, valid, unexpired and naming a user that still exists. Anything
+ * else is answered with the same 401 problem. The token is verified on the event loop (an
+ * HMAC, no I/O); the user is looked up through R2DBC.
+ */
+@Component
+@ConditionalOnProperty(name = "v3.enabled", havingValue = "true", matchIfMissing = true)
+public class JwtAuthenticationFilterV3 implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    static final String ACTOR_ATTRIBUTE = JwtAuthenticationFilterV3.class.getName() + ".actor";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final ReactiveUserRepository repository;
+    private final ReactiveProblemResponses problems;
+
+    public JwtAuthenticationFilterV3(JwtService jwtService, ReactiveUserRepository repository, ReactiveProblemResponses problems) {
+        this.jwtService = jwtService;
+        this.repository = repository;
+        this.problems = problems;
+    }
+
+    /**
+     * The login of the authenticated caller, or null on a public route, for the audit trail.
+     */
+    static String actorOf(ServerRequest request) {
+        return (String) request.attributes().get(ACTOR_ATTRIBUTE);
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String authHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return problems.unauthorized("no Bearer token");
+        }
+
+        String username;
+        try {
+            // Parsing verifies the signature and the expiration: expired, malformed and forged tokens all throw
+            username = jwtService.extractUsername(authHeader.substring(BEARER_PREFIX.length()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return problems.unauthorized(e.getMessage());
+        }
+        if (username == null) {
+            return problems.unauthorized("token without subject");
+        }
+
+        return repository.findByLogin(username)
+                .flatMap(user -> {
+                    request.attributes().put(ACTOR_ATTRIBUTE, user.getLogin());
+                    return next.handle(request);
+                })
+                .switchIfEmpty(Mono.defer(() -> problems.unauthorized("unknown user " + username)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * R2DBC access for the /v3 API, next to the JDBC pool the JPA repositories use. Only a
+ * {@link DatabaseClient} is exposed: no reactive transaction manager is registered, so
+ * {@code @Transactional} keeps resolving to the JPA one, and every /v3 write is a single
+ * statement that needs none. Connections are opened on first use.
+ * <p>
+ * The pool stays out of the context on purpose: a {@code ConnectionFactory} bean makes
+ * Spring Boot back off from configuring the JDBC {@code DataSource}, and JPA with it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "v3.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveDataConfig {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(
+            @Value("${v3.r2dbc.url}") String url,
+            @Value("${v3.r2dbc.username:}") String username,
+            @Value("${v3.r2dbc.password:}") String password,
+            @Value("${v3.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${v3.r2dbc.pool.acquire-timeout:30s}") Duration acquireTimeout
+    ) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("v3-r2dbc")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(acquireTimeout)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    // Runs after the repository and the server that use the client are gone
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
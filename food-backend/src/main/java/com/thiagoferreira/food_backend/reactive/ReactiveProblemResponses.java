@@ -0,0 +1,144 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import com.thiagoferreira.food_backend.exceptions.GlobalExceptionHandler;
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.exceptions.ServiceOverloadedException;
+import com.thiagoferreira.food_backend.exceptions.ServiceUnavailableException;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import com.thiagoferreira.food_backend.infraestructure.security.SecurityProblemDetailEntryPoint;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns the failures of a /v3 request into the same ProblemDetail bodies the servlet API
+ * answers with. Domain and service exceptions go through the {@link GlobalExceptionHandler}
+ * methods themselves, so status, detail, headers and logging stay identical; the input
+ * errors the reactive stack raises differently are mapped here. Every problem is counted
+ * by {@link ProblemDetailMetrics}, which sees no MVC response body on this stack.
+ */
+@Component
+@ConditionalOnProperty(name = "v3.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveProblemResponses {
+
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ProblemDetailMetrics problemDetailMetrics;
+    private final ClientErrorLogPolicy clientErrors;
+
+    public ReactiveProblemResponses(GlobalExceptionHandler exceptionHandler,
+                                    ProblemDetailMetrics problemDetailMetrics,
+                                    ClientErrorLogPolicy clientErrors) {
+        this.exceptionHandler = exceptionHandler;
+        this.problemDetailMetrics = problemDetailMetrics;
+        this.clientErrors = clientErrors;
+    }
+
+    public Mono<ServerResponse> handle(Throwable error, ServerRequest request) {
+        return write(switch (error) {
+            case ResourceNotFoundException ex -> exceptionHandler.handleResourceNotFoundException(ex);
+            case DomainValidationException ex -> exceptionHandler.handleDomainValidationException(ex);
+            case OptimisticLockingFailureException ex -> exceptionHandler.handleOptimisticLockingFailureException(ex);
+            case ServiceOverloadedException ex -> exceptionHandler.handleServiceOverloadedException(ex);
+            case ServiceUnavailableException ex -> exceptionHandler.handleServiceUnavailableException(ex);
+            case ConstraintViolationException ex -> validationError(ex);
+            case UnsupportedMediaTypeStatusException ex -> unsupportedMediaType(ex);
+            case DecodingException ex -> malformed(ex);
+            case ServerWebInputException ex -> malformed(ex);
+            case Exception ex -> exceptionHandler.handleGenericException(ex);
+            default -> exceptionHandler.handleGenericException(new IllegalStateException(error));
+        });
+    }
+
+    public Mono<ServerResponse> unauthorized(String reason) {
+        clientErrors.record(ProblemType.UNAUTHORIZED.getSlug(), "Authentication failed: {}", reason);
+        return write(problem(ProblemType.UNAUTHORIZED, SecurityProblemDetailEntryPoint.DETAIL));
+    }
+
+    public Mono<ServerResponse> missingParameter(String name) {
+        clientErrors.record(ProblemType.MISSING_PARAMETER.getSlug(), "Missing required parameter: {}", name);
+        ResponseEntity<ProblemDetail> response = problem(ProblemType.MISSING_PARAMETER,
+                String.format("Required parameter '%s' is missing", name));
+        response.getBody().setProperty("parameter", name);
+        return write(response);
+    }
+
+    public Mono<ServerResponse> typeMismatch(String name, String value, Class<?> requiredType) {
+        clientErrors.record(ProblemType.TYPE_MISMATCH.getSlug(), "Type mismatch for parameter '{}': expected {}, but got '{}'",
+                name, requiredType, value);
+        String expectedType = requiredType.getSimpleName();
+        ResponseEntity<ProblemDetail> response = problem(ProblemType.TYPE_MISMATCH,
+                String.format("Invalid value '%s' for parameter '%s'. Expected type: %s", value, name, expectedType));
+        response.getBody().setProperty("parameter", name);
+        response.getBody().setProperty("expectedType", expectedType);
+        response.getBody().setProperty("providedValue", value);
+        return write(response);
+    }
+
+    public Mono<ServerResponse> endpointNotFound(ServerRequest request) {
+        String method = request.method().name();
+        String url = request.uri().toString();
+        clientErrors.record(ProblemType.ENDPOINT_NOT_FOUND.getSlug(), "No handler found for {} {}", method, url);
+        ResponseEntity<ProblemDetail> response = problem(ProblemType.ENDPOINT_NOT_FOUND,
+                String.format("No handler found for %s %s", method, url));
+        response.getBody().setProperty("method", method);
+        response.getBody().setProperty("path", url);
+        return write(response);
+    }
+
+    // Bodies are validated by the handlers, so a violation here is what MethodArgumentNotValidException is to V2
+    private ResponseEntity<ProblemDetail> validationError(ConstraintViolationException ex) {
+        clientErrors.record(ProblemType.VALIDATION_ERROR.getSlug(), "Validation error: {}", ex.getMessage());
+        Map<String, String> errors = new TreeMap<>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        ResponseEntity<ProblemDetail> response = problem(ProblemType.VALIDATION_ERROR, "Validation failed");
+        response.getBody().setProperty("errors", errors);
+        return response;
+    }
+
+    private ResponseEntity<ProblemDetail> unsupportedMediaType(UnsupportedMediaTypeStatusException ex) {
+        clientErrors.record(ProblemType.UNSUPPORTED_MEDIA_TYPE.getSlug(), "Media type '{}' is not supported. Supported types: {}",
+                ex.getContentType(), ex.getSupportedMediaTypes());
+        ResponseEntity<ProblemDetail> response = problem(ProblemType.UNSUPPORTED_MEDIA_TYPE,
+                String.format("Media type '%s' is not supported", ex.getContentType()));
+        response.getBody().setProperty("contentType", ex.getContentType() != null ? ex.getContentType().toString() : "null");
+        response.getBody().setProperty("supportedTypes", ex.getSupportedMediaTypes());
+        return response;
+    }
+
+    private ResponseEntity<ProblemDetail> malformed(Exception ex) {
+        clientErrors.record(ProblemType.MALFORMED_REQUEST.getSlug(), "Malformed JSON or missing request body: {}", ex.getMessage());
+        return problem(ProblemType.MALFORMED_REQUEST, "Request body is malformed or missing. Please check your JSON format.");
+    }
+
+    private static ResponseEntity<ProblemDetail> problem(ProblemType problemType, String detail) {
+        return ResponseEntity.status(problemType.getStatus()).body(problemType.create(detail));
+    }
+
+    private Mono<ServerResponse> write(ResponseEntity<ProblemDetail> response) {
+        ProblemDetail problemDetail = response.getBody();
+        problemDetailMetrics.record(problemDetail);
+        return ServerResponse.status(response.getStatusCode())
+                .headers(headers -> headers.addAll(response.getHeaders()))
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(problemDetail);
+    }
+}
@@ -0,0 +1,122 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.JacksonJsonDecoder;
+import org.springframework.http.codec.json.JacksonJsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+/**
+ * Serves /v3/users on Reactor Netty, on a port of its own next to the servlet container
+ * and the gRPC server, the way the gRPC server runs beside Tomcat. A handful of event-loop
+ * threads serve every connection; no request holds a thread while it waits on the
+ * database or on BCrypt. JSON is written with the application's {@link JsonMapper}, so
+ * the bodies match the servlet API's.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "v3.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveServerV3 implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final String host;
+    private final int port;
+    private final Duration shutdownTimeout;
+    private volatile DisposableServer server;
+
+    public ReactiveServerV3(
+            UserHandlerV3 handler,
+            JwtAuthenticationFilterV3 authentication,
+            ReactiveProblemResponses problems,
+            JsonMapper jsonMapper,
+            @Value("${v3.server.address:0.0.0.0}") String host,
+            @Value("${v3.server.port:8082}") int port,
+            @Value("${v3.server.shutdown-timeout:10s}") Duration shutdownTimeout
+    ) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jacksonJsonEncoder(new JacksonJsonEncoder(jsonMapper));
+                    codecs.defaultCodecs().jacksonJsonDecoder(new JacksonJsonDecoder(jsonMapper));
+                })
+                .build();
+        this.httpHandler = RouterFunctions.toHttpHandler(routes(handler, authentication, problems), strategies);
+        this.host = host;
+        this.port = port;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    // The paths and methods of UserControllerV2Api; only the creation of a user is public
+    static RouterFunction<ServerResponse> routes(UserHandlerV3 handler, JwtAuthenticationFilterV3 authentication, ReactiveProblemResponses problems) {
+        RouterFunction<ServerResponse> authenticated = RouterFunctions.route()
+                .GET("/v3/users", handler::findUsers)
+                .GET("/v3/users/search/name", handler::searchByName)
+                .GET("/v3/users/search/login", handler::searchByLogin)
+                .GET("/v3/users/search/email", handler::searchByEmail)
+                .GET("/v3/users/batch", RequestPredicates.queryParam("ids", value -> true), handler::batchById)
+                .GET("/v3/users/batch", RequestPredicates.queryParam("logins", value -> true), handler::batchByLogin)
+                .GET("/v3/users/batch", RequestPredicates.queryParam("emails", value -> true), handler::batchByEmail)
+                .GET("/v3/users/{id}", handler::searchById)
+                .PUT("/v3/users/{id}", handler::updateInfo)
+                .PATCH("/v3/users/{id}/password", handler::changePassword)
+                .DELETE("/v3/users/{id}", handler::delete)
+                .filter(authentication)
+                .build();
+
+        return RouterFunctions.route()
+                .POST("/v3/users", handler::create)
+                .add(authenticated)
+                .route(RequestPredicates.all(), problems::endpointNotFound)
+                .onError(Throwable.class, problems::handle)
+                .build();
+    }
+
+    public int getPort() {
+        DisposableServer current = server;
+        return current != null ? current.port() : port;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .host(host)
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive /v3 API started on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            // Stops accepting and waits for the requests in flight, up to the timeout
+            current.disposeNow(shutdownTimeout);
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // Started and stopped with the servlet container, and so stopped before the audit trail drains
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1024;
+    }
+}
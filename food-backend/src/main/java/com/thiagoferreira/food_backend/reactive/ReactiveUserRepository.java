@@ -0,0 +1,234 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import com.thiagoferreira.food_backend.domain.entities.Address;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * The queries of {@code UserRepository} that the /v3 API needs, written against
+ * {@code tb_users} through R2DBC. Rows come back as detached {@link User} instances, so
+ * the same mapper turns them into responses. Updates carry the version they were read at
+ * and fail with {@link OptimisticLockingFailureException} when another write got there
+ * first, as a JPA save of a stale entity does.
+ */
+@Repository
+@ConditionalOnProperty(name = "v3.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveUserRepository {
+
+    private static final String COLUMNS =
+            "id, name, email, login, password, type, street, number, city, zip_code, created_at, last_updated, version";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM tb_users";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient reactiveDatabaseClient) {
+        this.databaseClient = reactiveDatabaseClient;
+    }
+
+    public Flux<User> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Mono<User> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    public Mono<User> findByLogin(String login) {
+        return databaseClient.sql(SELECT + " WHERE login = :login")
+                .bind("login", login)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    public Mono<User> findByEmail(String email) {
+        return databaseClient.sql(SELECT + " WHERE email = :email")
+                .bind("email", email)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    // Same match as findByNameContainingIgnoreCaseOrderByNameAsc: wildcards in the name are literal
+    public Flux<User> findByNameContaining(String name) {
+        return databaseClient.sql(SELECT + " WHERE UPPER(name) LIKE :pattern ESCAPE '\\' ORDER BY name")
+                .bind("pattern", "%" + escape(name).toUpperCase(Locale.ROOT) + "%")
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Flux<User> findByIdIn(Collection<Long> ids) {
+        return databaseClient.sql(SELECT + " WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Flux<User> findByLoginIn(Collection<String> logins) {
+        return databaseClient.sql(SELECT + " WHERE login IN (:logins)")
+                .bind("logins", logins)
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Flux<User> findByEmailIn(Collection<String> emails) {
+        return databaseClient.sql(SELECT + " WHERE email IN (:emails)")
+                .bind("emails", emails)
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql("SELECT 1 FROM tb_users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Boolean> existsByLogin(String login) {
+        return databaseClient.sql("SELECT 1 FROM tb_users WHERE login = :login")
+                .bind("login", login)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .hasElement();
+    }
+
+    /**
+     * Inserts the user with its creation and update times set to now and version 0, as the
+     * JPA auditing listener does, and returns it with the generated id.
+     */
+    public Mono<User> insert(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        Address address = user.getAddress() != null ? user.getAddress() : new Address();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        INSERT INTO tb_users (name, email, login, password, type, street, number, city, zip_code, created_at, last_updated, version)
+                        VALUES (:name, :email, :login, :password, :type, :street, :number, :city, :zipCode, :now, :now, 0)""")
+                .bind("name", user.getName())
+                .bind("email", user.getEmail())
+                .bind("login", user.getLogin())
+                .bind("password", user.getPassword())
+                .bind("now", now)
+                .filter(statement -> statement.returnGeneratedValues("id"));
+        spec = bindNullable(spec, "type", user.getType() != null ? user.getType().name() : null);
+        spec = bindAddress(spec, address);
+        return spec.map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    user.setId(id);
+                    user.setCreatedAt(now);
+                    user.setLastUpdated(now);
+                    user.setVersion(0L);
+                    return user;
+                });
+    }
+
+    public Mono<User> updateInfo(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        Address address = user.getAddress() != null ? user.getAddress() : new Address();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        UPDATE tb_users
+                        SET name = :name, street = :street, number = :number, city = :city, zip_code = :zipCode,
+                            last_updated = :now, version = version + 1
+                        WHERE id = :id AND version = :version""")
+                .bind("name", user.getName())
+                .bind("now", now)
+                .bind("id", user.getId())
+                .bind("version", user.getVersion());
+        return versioned(bindAddress(spec, address), user, now);
+    }
+
+    public Mono<User> updatePassword(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        UPDATE tb_users
+                        SET password = :password, last_updated = :now, version = version + 1
+                        WHERE id = :id AND version = :version""")
+                .bind("password", user.getPassword())
+                .bind("now", now)
+                .bind("id", user.getId())
+                .bind("version", user.getVersion());
+        return versioned(spec, user, now);
+    }
+
+    public Mono<Boolean> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM tb_users WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    private Mono<User> versioned(DatabaseClient.GenericExecuteSpec spec, User user, LocalDateTime now) {
+        return spec.fetch()
+                .rowsUpdated()
+                .flatMap(rows -> {
+                    if (rows == 0) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "User " + user.getId() + " was changed or removed after version " + user.getVersion() + " was read"));
+                    }
+                    user.setLastUpdated(now);
+                    user.setVersion(user.getVersion() + 1);
+                    return Mono.just(user);
+                });
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindAddress(DatabaseClient.GenericExecuteSpec spec, Address address) {
+        spec = bindNullable(spec, "street", address.getStreet());
+        spec = bindNullable(spec, "number", address.getNumber());
+        spec = bindNullable(spec, "city", address.getCity());
+        return bindNullable(spec, "zipCode", address.getZipCode());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    private static User toUser(Readable row) {
+        User user = new User();
+        user.setId(row.get("id", Long.class));
+        user.setName(row.get("name", String.class));
+        user.setEmail(row.get("email", String.class));
+        user.setLogin(row.get("login", String.class));
+        user.setPassword(row.get("password", String.class));
+        String type = row.get("type", String.class);
+        user.setType(type != null ? UserType.valueOf(type) : null);
+
+        // An embedded address with every column null is read back as no address, as Hibernate does
+        String street = row.get("street", String.class);
+        String number = row.get("number", String.class);
+        String city = row.get("city", String.class);
+        String zipCode = row.get("zip_code", String.class);
+        if (street != null || number != null || city != null || zipCode != null) {
+            Address address = new Address();
+            address.setStreet(street);
+            address.setNumber(number);
+            address.setCity(city);
+            address.setZipCode(zipCode);
+            user.setAddress(address);
+        }
+
+        user.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        user.setLastUpdated(row.get("last_updated", LocalDateTime.class));
+        user.setVersion(row.get("version", Long.class));
+        return user;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
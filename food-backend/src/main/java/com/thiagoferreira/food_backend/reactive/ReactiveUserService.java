@@ -0,0 +1,148 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.domain.enums.UserAuditAction;
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.infraestructure.audit.UserAuditTrail;
+import com.thiagoferreira.food_backend.infraestructure.security.PasswordHasher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The rules of {@code UserService} for the /v3 API, on {@link ReactiveUserRepository}. No
+ * method blocks: BCrypt runs on the {@link PasswordHasher} pool and its result is picked
+ * up when the future completes, so the event loop is never held by a hash.
+ */
+@Service
+@ConditionalOnProperty(name = "v3.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository repository;
+    private final PasswordHasher passwordHasher;
+    private final UserAuditTrail auditTrail;
+
+    @Value("${users.batch.max-size:100}")
+    private int batchMaxSize = 100;
+
+    public ReactiveUserService(ReactiveUserRepository repository, PasswordHasher passwordHasher, UserAuditTrail auditTrail) {
+        this.repository = repository;
+        this.passwordHasher = passwordHasher;
+        this.auditTrail = auditTrail;
+    }
+
+    public Mono<User> createUser(User user, String actor) {
+        return repository.existsByEmail(user.getEmail())
+                .flatMap(emailTaken -> emailTaken
+                        ? Mono.error(new DomainValidationException(ErrorMessages.EMAIL_ALREADY_EXISTS))
+                        : repository.existsByLogin(user.getLogin()))
+                .flatMap(loginTaken -> loginTaken
+                        ? Mono.error(new DomainValidationException(ErrorMessages.LOGIN_ALREADY_EXISTS))
+                        : Mono.defer(() -> Mono.fromFuture(passwordHasher.hashAsync(user.getPassword()))))
+                .flatMap(hashedPassword -> {
+                    user.setPassword(hashedPassword);
+                    return repository.insert(user);
+                })
+                .doOnNext(saved -> auditTrail.record(UserAuditAction.CREATED, saved.getId(), actor));
+    }
+
+    public Flux<User> findUsers() {
+        return repository.findAll();
+    }
+
+    public Mono<User> findById(Long id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID, id)));
+    }
+
+    public Mono<User> findByLogin(String login) {
+        return repository.findByLogin(login);
+    }
+
+    public Mono<User> findByEmail(String email) {
+        return repository.findByEmail(email);
+    }
+
+    public Flux<User> searchByName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return repository.findAll();
+        }
+        return repository.findByNameContaining(name);
+    }
+
+    public Mono<Map<Long, User>> findAllByIds(List<Long> ids) {
+        return findBatch(ids, repository::findByIdIn, User::getId);
+    }
+
+    public Mono<Map<String, User>> findAllByLogins(List<String> logins) {
+        return findBatch(logins, repository::findByLoginIn, User::getLogin);
+    }
+
+    public Mono<Map<String, User>> findAllByEmails(List<String> emails) {
+        return findBatch(emails, repository::findByEmailIn, User::getEmail);
+    }
+
+    private <K> Mono<Map<K, User>> findBatch(List<K> keys, Function<Collection<K>, Flux<User>> query, Function<User, K> keyExtractor) {
+        if (keys == null || keys.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        if (keys.size() > batchMaxSize) {
+            return Mono.error(new DomainValidationException(ErrorMessages.BATCH_SIZE_EXCEEDED, batchMaxSize));
+        }
+
+        // Duplicated keys are resolved once; the caller maps the result back to the requested order
+        Set<K> distinctKeys = keys.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctKeys.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return query.apply(distinctKeys).collectMap(keyExtractor, Function.identity());
+    }
+
+    public Mono<User> updateUser(Long id, User dto, String actor) {
+        return findById(id)
+                .flatMap(user -> {
+                    user.setName(dto.getName());
+                    user.setAddress(dto.getAddress());
+                    return repository.updateInfo(user);
+                })
+                .doOnNext(saved -> auditTrail.record(UserAuditAction.UPDATED, id, actor));
+    }
+
+    public Mono<Void> changePassword(Long id, String currentPassword, String newPassword, String actor) {
+        return findById(id)
+                .flatMap(user -> Mono.defer(() -> Mono.fromFuture(passwordHasher.matchesAsync(currentPassword, user.getPassword())))
+                        .flatMap(matched -> matched
+                                ? Mono.defer(() -> Mono.fromFuture(passwordHasher.hashAsync(newPassword)))
+                                : Mono.error(new DomainValidationException(ErrorMessages.PASSWORD_MISMATCH)))
+                        .flatMap(hashedPassword -> {
+                            user.setPassword(hashedPassword);
+                            return repository.updatePassword(user);
+                        }))
+                .doOnNext(saved -> auditTrail.record(UserAuditAction.PASSWORD_CHANGED, id, actor))
+                .then();
+    }
+
+    public Mono<Void> deleteUser(Long id, String actor) {
+        return repository.deleteById(id)
+                .flatMap(deleted -> deleted
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND)))
+                .doOnSuccess(ignored -> auditTrail.record(UserAuditAction.DELETED, id, actor));
+    }
+}
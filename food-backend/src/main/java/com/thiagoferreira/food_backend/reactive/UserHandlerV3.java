@@ -0,0 +1,193 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import com.thiagoferreira.food_backend.domain.dto.PasswordChangeRequest;
+import com.thiagoferreira.food_backend.domain.dto.UserBatchItem;
+import com.thiagoferreira.food_backend.domain.dto.UserRequest;
+import com.thiagoferreira.food_backend.domain.dto.UserUpdateRequest;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.mappers.UserMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The operations of {@code UserControllerV2Api} as handler functions, with the same DTOs,
+ * mapper and problem bodies.
+ */
+@Component
+@ConditionalOnProperty(name = "v3.enabled", havingValue = "true", matchIfMissing = true)
+public class UserHandlerV3 {
+
+    private final ReactiveUserService userService;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final ReactiveProblemResponses problems;
+
+    public UserHandlerV3(ReactiveUserService userService, UserMapper userMapper, Validator validator, ReactiveProblemResponses problems) {
+        this.userService = userService;
+        this.userMapper = userMapper;
+        this.validator = validator;
+        this.problems = problems;
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return body(request, UserRequest.class)
+                .flatMap(userRequest -> userService.createUser(userMapper.toEntity(userRequest), JwtAuthenticationFilterV3.actorOf(request)))
+                .flatMap(user -> ServerResponse.status(HttpStatus.CREATED).bodyValue(userMapper.toResponse(user)));
+    }
+
+    public Mono<ServerResponse> findUsers(ServerRequest request) {
+        return toListResponse(userService.findUsers());
+    }
+
+    public Mono<ServerResponse> searchByName(ServerRequest request) {
+        return toListResponse(userService.searchByName(request.queryParam("name").orElse(null)));
+    }
+
+    // Collected before writing, as V2 answers: under load a streamed array held the next request
+    // on the same keep-alive connection for seconds
+    private Mono<ServerResponse> toListResponse(Flux<User> users) {
+        return users.map(userMapper::toResponse)
+                .collectList()
+                .flatMap(responses -> ServerResponse.ok().bodyValue(responses));
+    }
+
+    public Mono<ServerResponse> searchByLogin(ServerRequest request) {
+        return requiredParam(request, "login", login -> toUserResponse(userService.findByLogin(login)));
+    }
+
+    public Mono<ServerResponse> searchByEmail(ServerRequest request) {
+        return requiredParam(request, "email", email -> toUserResponse(userService.findByEmail(email)));
+    }
+
+    private Mono<ServerResponse> toUserResponse(Mono<User> user) {
+        return user
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND)))
+                .flatMap(found -> ServerResponse.ok().bodyValue(userMapper.toResponse(found)));
+    }
+
+    public Mono<ServerResponse> searchById(ServerRequest request) {
+        return withId(request, id -> userService.findById(id)
+                .flatMap(user -> ServerResponse.ok().bodyValue(userMapper.toResponse(user))));
+    }
+
+    public Mono<ServerResponse> batchById(ServerRequest request) {
+        List<String> values = listParam(request, "ids");
+        List<Long> ids = new ArrayList<>(values.size());
+        for (String value : values) {
+            try {
+                ids.add(Long.valueOf(value));
+            } catch (NumberFormatException e) {
+                return problems.typeMismatch("ids", String.join(",", values), List.class);
+            }
+        }
+        return toBatchResponse(ids, userService.findAllByIds(ids));
+    }
+
+    public Mono<ServerResponse> batchByLogin(ServerRequest request) {
+        List<String> logins = listParam(request, "logins");
+        return toBatchResponse(logins, userService.findAllByLogins(logins));
+    }
+
+    public Mono<ServerResponse> batchByEmail(ServerRequest request) {
+        List<String> emails = listParam(request, "emails");
+        return toBatchResponse(emails, userService.findAllByEmails(emails));
+    }
+
+    private <K> Mono<ServerResponse> toBatchResponse(List<K> keys, Mono<Map<K, User>> users) {
+        return users.flatMap(found -> {
+            List<UserBatchItem> items = keys.stream()
+                    .map(key -> userMapper.toBatchItem(key, found.get(key)))
+                    .toList();
+            return ServerResponse.ok().bodyValue(items);
+        });
+    }
+
+    public Mono<ServerResponse> updateInfo(ServerRequest request) {
+        return withId(request, id -> body(request, UserUpdateRequest.class)
+                .flatMap(userUpdateRequest -> {
+                    // The service loads the stored user itself, so the changes travel on a transient instance
+                    User user = new User();
+                    userMapper.updateEntityFromDto(userUpdateRequest, user);
+                    return userService.updateUser(id, user, JwtAuthenticationFilterV3.actorOf(request));
+                })
+                .flatMap(updated -> ServerResponse.ok().bodyValue(userMapper.toResponse(updated))));
+    }
+
+    public Mono<ServerResponse> changePassword(ServerRequest request) {
+        return withId(request, id -> body(request, PasswordChangeRequest.class)
+                .flatMap(passwordChangeRequest -> userService.changePassword(id,
+                        passwordChangeRequest.getCurrentPassword(),
+                        passwordChangeRequest.getNewPassword(),
+                        JwtAuthenticationFilterV3.actorOf(request)))
+                .then(ServerResponse.noContent().build()));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        return withId(request, id -> userService.deleteUser(id, JwtAuthenticationFilterV3.actorOf(request))
+                .then(ServerResponse.noContent().build()));
+    }
+
+    // The counterpart of @RequestBody @Valid: a missing body and a constraint violation are both 400s
+    private <T> Mono<T> body(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Required request body is missing")))
+                .handle((body, sink) -> {
+                    Set<ConstraintViolation<T>> violations = validator.validate(body);
+                    if (violations.isEmpty()) {
+                        sink.next(body);
+                    } else {
+                        sink.error(new ConstraintViolationException(violations));
+                    }
+                });
+    }
+
+    private Mono<ServerResponse> withId(ServerRequest request, Function<Long, Mono<ServerResponse>> handler) {
+        String value = request.pathVariable("id");
+        long id;
+        try {
+            id = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return problems.typeMismatch("id", value, Long.class);
+        }
+        return handler.apply(id);
+    }
+
+    private Mono<ServerResponse> requiredParam(ServerRequest request, String name, Function<String, Mono<ServerResponse>> handler) {
+        Optional<String> value = request.queryParam(name);
+        if (value.isEmpty()) {
+            return problems.missingParameter(name);
+        }
+        return handler.apply(value.get());
+    }
+
+    // Repeated parameters and comma-separated values both add up to the list, as @RequestParam List does
+    private static List<String> listParam(ServerRequest request, String name) {
+        List<String> values = new ArrayList<>();
+        for (String value : request.queryParams().getOrDefault(name, List.of())) {
+            for (String part : value.split(",")) {
+                if (!part.isBlank()) {
+                    values.add(part.trim());
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -2,63 +2,191 @@ package com.thiagoferreira.food_backend.services;
 
 import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
 import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserAuditAction;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
 import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
 import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.infraestructure.audit.UserAuditTrail;
+import com.thiagoferreira.food_backend.infraestructure.concurrency.SingleFlight;
+import com.thiagoferreira.food_backend.infraestructure.deadline.RequestDeadline;
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.PasswordOperationEvent;
 import com.thiagoferreira.food_backend.infraestructure.repositories.UserRepository;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserVersionView;
+import com.thiagoferreira.food_backend.infraestructure.security.PasswordHasher;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
-import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository repository;
+    private final PasswordHasher passwordHasher;
+    private final UserAuditTrail auditTrail;
+
+    // Concurrent reads of the same user (a popular profile) share one query; the users they return are read-only
+    private final SingleFlight<Long, Optional<User>> usersById;
+    private final SingleFlight<Long, Optional<UserVersionView>> versionsById;
+    private final SingleFlight<String, Optional<User>> usersByLogin;
+
+    @Value("${users.batch.max-size:100}")
+    private int batchMaxSize = 100;
+
+    @Value("${users.single-flight.timeout:2s}")
+    private Duration singleFlightTimeout = Duration.ofSeconds(2);
+
+    public UserService(UserRepository repository, PasswordHasher passwordHasher, UserAuditTrail auditTrail, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.passwordHasher = passwordHasher;
+        this.auditTrail = auditTrail;
+        // A leader whose own deadline ran out has not failed the waiters, which have their own
+        this.usersById = new SingleFlight<>(meterRegistry, "users.by-id", RequestDeadline::isDeadlineFailure);
+        this.versionsById = new SingleFlight<>(meterRegistry, "users.version-by-id", RequestDeadline::isDeadlineFailure);
+        this.usersByLogin = new SingleFlight<>(meterRegistry, "users.by-login", RequestDeadline::isDeadlineFailure);
+    }
 
     @Transactional
     public User createUser(User user) {
-        if (repository.existsByEmail(user.getEmail())) {
-            throw new DomainValidationException(ErrorMessages.EMAIL_ALREADY_EXISTS);
-        }
-        if (repository.existsByLogin(user.getLogin())) {
-            throw new DomainValidationException(ErrorMessages.LOGIN_ALREADY_EXISTS);
+        PasswordOperationEvent event = PasswordOperationEvent.start("register");
+        String outcome = "error";
+        try {
+            if (repository.existsByEmail(user.getEmail())) {
+                outcome = "email_taken";
+                throw new DomainValidationException(ErrorMessages.EMAIL_ALREADY_EXISTS);
+            }
+            if (repository.existsByLogin(user.getLogin())) {
+                outcome = "login_taken";
+                throw new DomainValidationException(ErrorMessages.LOGIN_ALREADY_EXISTS);
+            }
+            // BCrypt is the costliest step: not worth starting for a client that stopped waiting
+            RequestDeadline.check();
+            String hashedPassword = passwordHasher.hash(user.getPassword());
+            user.setPassword(hashedPassword);
+            User saved = repository.save(user);
+            auditTrail.record(UserAuditAction.CREATED, saved.getId());
+            outcome = "ok";
+            return saved;
+        } finally {
+            event.complete(outcome);
         }
-        String hashedPassword = BCrypt.hashpw(user.getPassword(), BCrypt.gensalt());
-        user.setPassword(hashedPassword);
-        return repository.save(user);
     }
 
     public List<User> findUsers() {
         return repository.findAll();
     }
 
+    /**
+     * Only the columns behind {@code fields} are read; with every field selected this is
+     * {@link #findUsers()}.
+     */
+    public List<User> findUsers(Set<UserField> fields) {
+        if (UserField.ALL.equals(fields)) {
+            return findUsers();
+        }
+        return repository.findAllWithFields(fields);
+    }
+
     public User findById(Long id) {
-        return repository.findById(id)
-                .orElseThrow( () -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID.params(id)));
+        return usersById.load(id, sharedLoadTimeout(), () -> repository.findById(id))
+                .orElseThrow( () -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID, id));
+    }
+
+    public UserVersionView findVersionById(Long id) {
+        return versionsById.load(id, sharedLoadTimeout(), () -> repository.findVersionById(id))
+                .orElseThrow( () -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID, id));
     }
 
     public Optional<User> findByLogin(String login) {
-        return repository.findByLogin(login);
+        return usersByLogin.load(login, sharedLoadTimeout(), () -> repository.findByLogin(login));
+    }
+
+    // A caller stops waiting on a shared load when its own deadline passes
+    private Duration sharedLoadTimeout() {
+        RequestDeadline.check();
+        return RequestDeadline.cap(singleFlightTimeout);
     }
 
     public Optional<User> findByEmail(String email) {
         return repository.findByEmail(email);
     }
 
+    public Map<Long, User> findAllByIds(List<Long> ids) {
+        return findBatch(ids, repository::findByIdIn, User::getId);
+    }
+
+    public Map<String, User> findAllByLogins(List<String> logins) {
+        return findBatch(logins, repository::findByLoginIn, User::getLogin);
+    }
+
+    public Map<String, User> findAllByEmails(List<String> emails) {
+        return findBatch(emails, repository::findByEmailIn, User::getEmail);
+    }
+
+    /**
+     * At most {@code limit} users with an id greater than {@code afterId}, in id order. The
+     * cursor keeps every page an index range scan, however far into the table it is.
+     */
+    public List<User> findUsersAfter(long afterId, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    private <K> Map<K, User> findBatch(List<K> keys, Function<Collection<K>, List<User>> query, Function<User, K> keyExtractor) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (keys.size() > batchMaxSize) {
+            throw new DomainValidationException(ErrorMessages.BATCH_SIZE_EXCEEDED, batchMaxSize);
+        }
+
+        // Duplicated keys are resolved once; the caller maps the result back to the requested order
+        Set<K> distinctKeys = keys.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return query.apply(distinctKeys).stream()
+                .collect(Collectors.toMap(keyExtractor, Function.identity(), (first, second) -> first));
+    }
+
     public User authenticate(String login, String password) {
-        User user = repository.findByLogin(login)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND));
-        
-        if (!BCrypt.checkpw(password, user.getPassword())) {
-            throw new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND);
+        PasswordOperationEvent event = PasswordOperationEvent.start("login");
+        String outcome = "error";
+        try {
+            Optional<User> found = repository.findByLogin(login);
+            if (found.isEmpty()) {
+                outcome = "unknown_user";
+                throw new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND);
+            }
+            User user = found.get();
+
+            RequestDeadline.check();
+            if (!passwordHasher.matches(password, user.getPassword())) {
+                outcome = "password_mismatch";
+                throw new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND);
+            }
+
+            outcome = "ok";
+            return user;
+        } finally {
+            event.complete(outcome);
         }
-        
-        return user;
     }
 
     public List<User> searchByName(String name) {
@@ -68,34 +196,64 @@ public class UserService {
         return repository.findByNameContainingIgnoreCaseOrderByNameAsc(name);
     }
 
+    public List<User> searchByName(String name, Set<UserField> fields) {
+        if (UserField.ALL.equals(fields)) {
+            return searchByName(name);
+        }
+        if (name == null || name.trim().isEmpty()) {
+            return repository.findAllWithFields(fields);
+        }
+        return repository.findByNameWithFields(name, fields);
+    }
+
     @Transactional
     public User updateUser(Long id, User dto) {
-        User user = findById(id);
+        // Loaded in this transaction, not through the shared read: this copy is changed
+        User user = repository.findById(id)
+                .orElseThrow( () -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID, id));
         user.setName(dto.getName());
         user.setAddress(dto.getAddress());
         user.setLastUpdated(LocalDateTime.now());
-        return repository.save(user);
+        User saved = repository.save(user);
+        auditTrail.record(UserAuditAction.UPDATED, id);
+        return saved;
     }
 
     @Transactional
     public void changePassword(Long id, String currentPassword, String newPassword) {
-        User user = findById(id);
+        PasswordOperationEvent event = PasswordOperationEvent.start("change_password");
+        String outcome = "error";
+        try {
+            Optional<User> found = repository.findById(id);
+            if (found.isEmpty()) {
+                outcome = "unknown_user";
+                throw new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID, id);
+            }
+            User user = found.get();
 
-        if (!BCrypt.checkpw(currentPassword, user.getPassword())) {
-            throw new DomainValidationException(ErrorMessages.PASSWORD_MISMATCH);
-        }
+            RequestDeadline.check();
+            if (!passwordHasher.matches(currentPassword, user.getPassword())) {
+                outcome = "password_mismatch";
+                throw new DomainValidationException(ErrorMessages.PASSWORD_MISMATCH);
+            }
 
-        String hashedPassword = BCrypt.hashpw(newPassword, BCrypt.gensalt());
-        user.setPassword(hashedPassword);
-        user.setLastUpdated(LocalDateTime.now());
-        repository.save(user);
+            String hashedPassword = passwordHasher.hash(newPassword);
+            user.setPassword(hashedPassword);
+            user.setLastUpdated(LocalDateTime.now());
+            repository.save(user);
+            auditTrail.record(UserAuditAction.PASSWORD_CHANGED, id);
+            outcome = "ok";
+        } finally {
+            event.complete(outcome);
+        }
     }
 
     @Transactional
     public void deleteUser(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND);
-        }
-        repository.deleteById(id);
+        // Loading the entity once replaces existsById + deleteById, which issued two selects before the delete
+        User user = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND));
+        repository.delete(user);
+        auditTrail.record(UserAuditAction.DELETED, id);
     }
 }
@@ -16,7 +16,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
+// A random gRPC port, as the cached contexts of other tests may hold one open; no database
+// is running here, so the warm-up would only wait on connections until its budget expires
+@SpringBootTest(properties = {"spring.grpc.server.port=0", "v3.server.port=0", "warmup.enabled=false"})
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Application Tests")
 class ApplicationTest {
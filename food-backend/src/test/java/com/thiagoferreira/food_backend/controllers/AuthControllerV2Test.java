@@ -68,8 +68,8 @@ class AuthControllerV2Test {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(token, response.getBody().getToken());
-        assertEquals("Bearer", response.getBody().getType());
+        assertEquals(token, response.getBody().token());
+        assertEquals("Bearer", response.getBody().type());
         verify(userService, times(1)).authenticate("testuser", "password123");
         verify(jwtService, times(1)).generateToken("testuser", 1L);
     }
@@ -55,11 +55,7 @@ class UserControllerTest {
 
     @BeforeEach
     void setUp() {
-        addressDTO = new AddressDTO();
-        addressDTO.setStreet("Rua Teste");
-        addressDTO.setNumber("123");
-        addressDTO.setCity("São Paulo");
-        addressDTO.setZipCode("01234-567");
+        addressDTO = new AddressDTO("Rua Teste", "123", "São Paulo", "01234-567");
 
         address = new Address();
         address.setStreet("Rua Teste");
@@ -85,14 +81,15 @@ class UserControllerTest {
         userRequest.setType(UserType.CUSTOMER);
         userRequest.setAddress(addressDTO);
 
-        userResponse = new UserResponse();
-        userResponse.setId(1L);
-        userResponse.setName("Test User");
-        userResponse.setEmail("test@example.com");
-        userResponse.setLogin("testuser");
-        userResponse.setType(UserType.CUSTOMER);
-        userResponse.setAddress(addressDTO);
-        userResponse.setLastUpdate(LocalDateTime.now());
+        userResponse = new UserResponse(
+                1L,
+                "Test User",
+                "test@example.com",
+                "testuser",
+                UserType.CUSTOMER,
+                addressDTO,
+                LocalDateTime.now()
+        );
 
         userUpdateRequest = new UserUpdateRequest();
         userUpdateRequest.setName("Updated Name");
@@ -113,7 +110,7 @@ class UserControllerTest {
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(userResponse.getId(), response.getBody().getId());
+        assertEquals(userResponse.id(), response.getBody().id());
         verify(userMapper, times(1)).toEntity(userRequest);
         verify(userService, times(1)).createUser(user);
         verify(userMapper, times(1)).toResponse(user);
@@ -127,9 +124,7 @@ class UserControllerTest {
         user2.setId(2L);
         user2.setName("User 2");
         List<User> users = Arrays.asList(user, user2);
-        UserResponse userResponse2 = new UserResponse();
-        userResponse2.setId(2L);
-        userResponse2.setName("User 2");
+        UserResponse userResponse2 = new UserResponse(2L, "User 2", null, null, null, null, null);
 
         when(userService.findUsers()).thenReturn(users);
         when(userMapper.toResponse(user)).thenReturn(userResponse);
@@ -142,6 +137,7 @@ class UserControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().size());
+        assertEquals(List.of(userResponse, userResponse2), response.getBody());
         verify(userService, times(1)).findUsers();
     }
 
@@ -192,6 +188,7 @@ class UserControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().size());
+        assertEquals(List.of(userResponse), response.getBody());
         verify(userService, times(1)).searchByName("Test");
     }
 
@@ -203,9 +200,7 @@ class UserControllerTest {
         user2.setId(2L);
         user2.setName("User 2");
         List<User> users = Arrays.asList(user, user2);
-        UserResponse userResponse2 = new UserResponse();
-        userResponse2.setId(2L);
-        userResponse2.setName("User 2");
+        UserResponse userResponse2 = new UserResponse(2L, "User 2", null, null, null, null, null);
 
         when(userService.searchByName(null)).thenReturn(users);
         when(userMapper.toResponse(user)).thenReturn(userResponse);
@@ -218,6 +213,7 @@ class UserControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().size());
+        assertEquals(List.of(userResponse, userResponse2), response.getBody());
         verify(userService, times(1)).searchByName(null);
     }
 
@@ -229,9 +225,7 @@ class UserControllerTest {
         user2.setId(2L);
         user2.setName("User 2");
         List<User> users = Arrays.asList(user, user2);
-        UserResponse userResponse2 = new UserResponse();
-        userResponse2.setId(2L);
-        userResponse2.setName("User 2");
+        UserResponse userResponse2 = new UserResponse(2L, "User 2", null, null, null, null, null);
 
         when(userService.searchByName("")).thenReturn(users);
         when(userMapper.toResponse(user)).thenReturn(userResponse);
@@ -244,6 +238,7 @@ class UserControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().size());
+        assertEquals(List.of(userResponse, userResponse2), response.getBody());
         verify(userService, times(1)).searchByName("");
     }
 
@@ -260,7 +255,7 @@ class UserControllerTest {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(userResponse.getLogin(), response.getBody().getLogin());
+        assertEquals(userResponse.login(), response.getBody().login());
         verify(userService, times(1)).findByLogin("testuser");
         verify(userMapper, times(1)).toResponse(user);
     }
@@ -294,7 +289,7 @@ class UserControllerTest {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(userResponse.getEmail(), response.getBody().getEmail());
+        assertEquals(userResponse.email(), response.getBody().email());
         verify(userService, times(1)).findByEmail("test@example.com");
         verify(userMapper, times(1)).toResponse(user);
     }
@@ -328,7 +323,7 @@ class UserControllerTest {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(userResponse.getId(), response.getBody().getId());
+        assertEquals(userResponse.id(), response.getBody().id());
         verify(userService, times(1)).findById(1L);
         verify(userMapper, times(1)).toResponse(user);
     }
@@ -341,11 +336,8 @@ class UserControllerTest {
         updatedUser.setId(1L);
         updatedUser.setName("Updated Name");
         updatedUser.setAddress(address);
-        UserResponse updatedResponse = new UserResponse();
-        updatedResponse.setId(1L);
-        updatedResponse.setName("Updated Name");
+        UserResponse updatedResponse = new UserResponse(1L, "Updated Name", null, null, null, null, null);
 
-        when(userService.findById(1L)).thenReturn(user);
         doNothing().when(userMapper).updateEntityFromDto(any(UserUpdateRequest.class), any(User.class));
         when(userService.updateUser(eq(1L), any(User.class))).thenReturn(updatedUser);
         when(userMapper.toResponse(updatedUser)).thenReturn(updatedResponse);
@@ -356,9 +348,9 @@ class UserControllerTest {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals("Updated Name", response.getBody().getName());
-        verify(userService, times(1)).findById(1L);
-        verify(userMapper, times(1)).updateEntityFromDto(userUpdateRequest, user);
+        assertEquals("Updated Name", response.getBody().name());
+        verify(userService, never()).findById(anyLong());
+        verify(userMapper, times(1)).updateEntityFromDto(eq(userUpdateRequest), any(User.class));
         verify(userService, times(1)).updateUser(eq(1L), any(User.class));
         verify(userMapper, times(1)).toResponse(updatedUser);
     }
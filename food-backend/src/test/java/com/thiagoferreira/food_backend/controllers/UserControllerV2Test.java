@@ -2,14 +2,19 @@ package com.thiagoferreira.food_backend.controllers;
 
 import com.thiagoferreira.food_backend.domain.dto.AddressDTO;
 import com.thiagoferreira.food_backend.domain.dto.PasswordChangeRequest;
+import com.thiagoferreira.food_backend.domain.dto.UserBatchItem;
 import com.thiagoferreira.food_backend.domain.dto.UserRequest;
 import com.thiagoferreira.food_backend.domain.dto.UserResponse;
 import com.thiagoferreira.food_backend.domain.dto.UserUpdateRequest;
 import com.thiagoferreira.food_backend.domain.entities.Address;
 import com.thiagoferreira.food_backend.domain.entities.User;
 import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
 import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
 import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserVersionView;
+import com.thiagoferreira.food_backend.mappers.SparseUserList;
 import com.thiagoferreira.food_backend.mappers.UserMapper;
 import com.thiagoferreira.food_backend.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,13 +24,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -51,14 +64,15 @@ class UserControllerV2Test {
     private UserUpdateRequest userUpdateRequest;
     private AddressDTO addressDTO;
     private Address address;
+    private MockHttpServletRequest servletRequest;
+    private WebRequest webRequest;
 
     @BeforeEach
     void setUp() {
-        addressDTO = new AddressDTO();
-        addressDTO.setStreet("Rua Teste");
-        addressDTO.setNumber("123");
-        addressDTO.setCity("São Paulo");
-        addressDTO.setZipCode("01234-567");
+        servletRequest = new MockHttpServletRequest("GET", "/v2/users");
+        webRequest = new ServletWebRequest(servletRequest, new MockHttpServletResponse());
+
+        addressDTO = new AddressDTO("Rua Teste", "123", "São Paulo", "01234-567");
 
         address = new Address();
         address.setStreet("Rua Teste");
@@ -84,14 +98,15 @@ class UserControllerV2Test {
         userRequest.setType(UserType.CUSTOMER);
         userRequest.setAddress(addressDTO);
 
-        userResponse = new UserResponse();
-        userResponse.setId(1L);
-        userResponse.setName("Test User");
-        userResponse.setEmail("test@example.com");
-        userResponse.setLogin("testuser");
-        userResponse.setType(UserType.CUSTOMER);
-        userResponse.setAddress(addressDTO);
-        userResponse.setLastUpdate(LocalDateTime.now());
+        userResponse = new UserResponse(
+                1L,
+                "Test User",
+                "test@example.com",
+                "testuser",
+                UserType.CUSTOMER,
+                addressDTO,
+                LocalDateTime.now()
+        );
 
         userUpdateRequest = new UserUpdateRequest();
         userUpdateRequest.setName("Updated Name");
@@ -112,7 +127,7 @@ class UserControllerV2Test {
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(userResponse.getId(), response.getBody().getId());
+        assertEquals(userResponse.id(), response.getBody().id());
         verify(userMapper, times(1)).toEntity(userRequest);
         verify(userService, times(1)).createUser(user);
         verify(userMapper, times(1)).toResponse(user);
@@ -126,22 +141,22 @@ class UserControllerV2Test {
         user2.setId(2L);
         user2.setName("User 2");
         List<User> users = Arrays.asList(user, user2);
-        UserResponse userResponse2 = new UserResponse();
-        userResponse2.setId(2L);
-        userResponse2.setName("User 2");
+        UserResponse userResponse2 = new UserResponse(2L, "User 2", null, null, null, null, null);
 
-        when(userService.findUsers()).thenReturn(users);
+        when(userService.findUsers(UserField.ALL)).thenReturn(users);
+        when(userMapper.toWeakETag(users)).thenReturn("W/\"list\"");
         when(userMapper.toResponse(user)).thenReturn(userResponse);
         when(userMapper.toResponse(user2)).thenReturn(userResponse2);
 
         // Act
-        ResponseEntity<List<UserResponse>> response = userControllerV2.findUsers();
+        ResponseEntity<List<UserResponse>> response = userControllerV2.findUsers(null, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().size());
-        verify(userService, times(1)).findUsers();
+        assertEquals(List.of(userResponse, userResponse2), response.getBody());
+        verify(userService, times(1)).findUsers(UserField.ALL);
     }
 
     @Test
@@ -149,17 +164,19 @@ class UserControllerV2Test {
     void shouldSearchUsersByNameSuccessfully() {
         // Arrange
         List<User> users = Arrays.asList(user);
-        when(userService.searchByName("Test")).thenReturn(users);
+        when(userService.searchByName("Test", UserField.ALL)).thenReturn(users);
+        when(userMapper.toWeakETag(users)).thenReturn("W/\"list\"");
         when(userMapper.toResponse(user)).thenReturn(userResponse);
 
         // Act
-        ResponseEntity<List<UserResponse>> response = userControllerV2.searchByName("Test");
+        ResponseEntity<List<UserResponse>> response = userControllerV2.searchByName("Test", null, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().size());
-        verify(userService, times(1)).searchByName("Test");
+        assertEquals(List.of(userResponse), response.getBody());
+        verify(userService, times(1)).searchByName("Test", UserField.ALL);
     }
 
     @Test
@@ -170,22 +187,22 @@ class UserControllerV2Test {
         user2.setId(2L);
         user2.setName("User 2");
         List<User> users = Arrays.asList(user, user2);
-        UserResponse userResponse2 = new UserResponse();
-        userResponse2.setId(2L);
-        userResponse2.setName("User 2");
+        UserResponse userResponse2 = new UserResponse(2L, "User 2", null, null, null, null, null);
 
-        when(userService.searchByName(null)).thenReturn(users);
+        when(userService.searchByName(null, UserField.ALL)).thenReturn(users);
+        when(userMapper.toWeakETag(users)).thenReturn("W/\"list\"");
         when(userMapper.toResponse(user)).thenReturn(userResponse);
         when(userMapper.toResponse(user2)).thenReturn(userResponse2);
 
         // Act
-        ResponseEntity<List<UserResponse>> response = userControllerV2.searchByName(null);
+        ResponseEntity<List<UserResponse>> response = userControllerV2.searchByName(null, null, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().size());
-        verify(userService, times(1)).searchByName(null);
+        assertEquals(List.of(userResponse, userResponse2), response.getBody());
+        verify(userService, times(1)).searchByName(null, UserField.ALL);
     }
 
     @Test
@@ -196,22 +213,52 @@ class UserControllerV2Test {
         user2.setId(2L);
         user2.setName("User 2");
         List<User> users = Arrays.asList(user, user2);
-        UserResponse userResponse2 = new UserResponse();
-        userResponse2.setId(2L);
-        userResponse2.setName("User 2");
+        UserResponse userResponse2 = new UserResponse(2L, "User 2", null, null, null, null, null);
 
-        when(userService.searchByName("")).thenReturn(users);
+        when(userService.searchByName("", UserField.ALL)).thenReturn(users);
+        when(userMapper.toWeakETag(users)).thenReturn("W/\"list\"");
         when(userMapper.toResponse(user)).thenReturn(userResponse);
         when(userMapper.toResponse(user2)).thenReturn(userResponse2);
 
         // Act
-        ResponseEntity<List<UserResponse>> response = userControllerV2.searchByName("");
+        ResponseEntity<List<UserResponse>> response = userControllerV2.searchByName("", null, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().size());
-        verify(userService, times(1)).searchByName("");
+        assertEquals(List.of(userResponse, userResponse2), response.getBody());
+        verify(userService, times(1)).searchByName("", UserField.ALL);
+    }
+
+    @Test
+    @DisplayName("Should read and write only the selected fields")
+    void shouldReadAndWriteOnlySelectedFields() {
+        // Arrange
+        List<User> users = List.of(user);
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.NAME);
+        when(userService.searchByName("Test", fields)).thenReturn(users);
+        when(userMapper.toWeakETag(users)).thenReturn("W/\"list\"");
+        when(userMapper.toResponse(user)).thenReturn(userResponse);
+
+        // Act
+        ResponseEntity<List<UserResponse>> response = userControllerV2.searchByName("Test", "id, name", webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        SparseUserList body = assertInstanceOf(SparseUserList.class, response.getBody());
+        assertEquals(fields, body.fields());
+        assertEquals(List.of(userResponse), body);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields before querying")
+    void shouldRejectUnknownFields() {
+        // Act & Assert
+        DomainValidationException exception = assertThrows(DomainValidationException.class,
+                () -> userControllerV2.findUsers("id,password", webRequest));
+        assertEquals(ErrorMessages.UNKNOWN_FIELDS, exception.getError());
+        verifyNoInteractions(userService);
     }
 
     @Test
@@ -227,7 +274,7 @@ class UserControllerV2Test {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(userResponse.getLogin(), response.getBody().getLogin());
+        assertEquals(userResponse.login(), response.getBody().login());
         verify(userService, times(1)).findByLogin("testuser");
         verify(userMapper, times(1)).toResponse(user);
     }
@@ -261,7 +308,7 @@ class UserControllerV2Test {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(userResponse.getEmail(), response.getBody().getEmail());
+        assertEquals(userResponse.email(), response.getBody().email());
         verify(userService, times(1)).findByEmail("test@example.com");
         verify(userMapper, times(1)).toResponse(user);
     }
@@ -288,18 +335,119 @@ class UserControllerV2Test {
         // Arrange
         when(userService.findById(1L)).thenReturn(user);
         when(userMapper.toResponse(user)).thenReturn(userResponse);
+        when(userMapper.toETag(user)).thenReturn("\"1-0-0\"");
+        when(userMapper.toLastModified(user.getLastUpdated())).thenReturn(1_000L);
 
         // Act
-        ResponseEntity<UserResponse> response = userControllerV2.searchById(1L);
+        ResponseEntity<UserResponse> response = userControllerV2.searchById(1L, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(userResponse.getId(), response.getBody().getId());
+        assertEquals(userResponse.id(), response.getBody().id());
+        assertEquals("\"1-0-0\"", response.getHeaders().getETag());
+        assertEquals(1_000L, response.getHeaders().getLastModified());
         verify(userService, times(1)).findById(1L);
+        verify(userService, never()).findVersionById(anyLong());
         verify(userMapper, times(1)).toResponse(user);
     }
 
+    @Test
+    @DisplayName("Should return 304 without loading the user when If-None-Match matches")
+    void shouldReturnNotModifiedWhenETagMatches() {
+        // Arrange
+        UserVersionView version = mock(UserVersionView.class);
+        when(version.getLastUpdated()).thenReturn(user.getLastUpdated());
+        when(userService.findVersionById(1L)).thenReturn(version);
+        when(userMapper.toETag(version)).thenReturn("\"1-3-1000\"");
+        when(userMapper.toLastModified(user.getLastUpdated())).thenReturn(1_000L);
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-3-1000\"");
+
+        // Act
+        ResponseEntity<UserResponse> response = userControllerV2.searchById(1L, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"1-3-1000\"", response.getHeaders().getETag());
+        verify(userService, never()).findById(anyLong());
+        verify(userMapper, never()).toResponse(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should return full user when If-None-Match does not match")
+    void shouldReturnUserWhenETagDoesNotMatch() {
+        // Arrange
+        UserVersionView version = mock(UserVersionView.class);
+        when(version.getLastUpdated()).thenReturn(user.getLastUpdated());
+        when(userService.findVersionById(1L)).thenReturn(version);
+        when(userMapper.toETag(version)).thenReturn("\"1-4-2000\"");
+        when(userMapper.toETag(user)).thenReturn("\"1-4-2000\"");
+        when(userMapper.toLastModified(user.getLastUpdated())).thenReturn(2_000L);
+        when(userService.findById(1L)).thenReturn(user);
+        when(userMapper.toResponse(user)).thenReturn(userResponse);
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-3-1000\"");
+
+        // Act
+        ResponseEntity<UserResponse> response = userControllerV2.searchById(1L, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("\"1-4-2000\"", response.getHeaders().getETag());
+        verify(userService, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should tag CBOR bodies apart from JSON and vary them by Accept")
+    void shouldTagCborBodiesApartFromJson() {
+        // Arrange
+        UserVersionView version = mock(UserVersionView.class);
+        when(version.getLastUpdated()).thenReturn(user.getLastUpdated());
+        when(userService.findVersionById(1L)).thenReturn(version);
+        when(userMapper.toETag(version)).thenReturn("\"1-3-1000\"");
+        when(userMapper.toETag(user)).thenReturn("\"1-3-1000\"");
+        when(userMapper.toLastModified(user.getLastUpdated())).thenReturn(1_000L);
+        when(userService.findById(1L)).thenReturn(user);
+        when(userMapper.toResponse(user)).thenReturn(userResponse);
+        servletRequest.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-3-1000\"");
+
+        // Act
+        ResponseEntity<UserResponse> cbor = userControllerV2.searchById(1L, webRequest);
+        MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/v2/users/1");
+        revalidation.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, cbor.getHeaders().getETag());
+        ResponseEntity<UserResponse> notModified = userControllerV2.searchById(1L,
+                new ServletWebRequest(revalidation, new MockHttpServletResponse()));
+
+        // Assert
+        assertEquals(HttpStatus.OK, cbor.getStatusCode());
+        assertEquals("\"1-3-1000-cbor\"", cbor.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT), cbor.getHeaders().getVary());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(List.of(HttpHeaders.ACCEPT), notModified.getHeaders().getVary());
+        verify(userService, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should return 304 for a list page when the weak ETag matches")
+    void shouldReturnNotModifiedForListWhenWeakETagMatches() {
+        // Arrange
+        List<User> users = List.of(user);
+        when(userService.findUsers(UserField.ALL)).thenReturn(users);
+        when(userMapper.toWeakETag(users)).thenReturn("W/\"abc\"");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"abc\"");
+
+        // Act
+        ResponseEntity<List<UserResponse>> response = userControllerV2.findUsers(null, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(userMapper, never()).toResponse(any(User.class));
+    }
+
     @Test
     @DisplayName("Should update user info successfully")
     void shouldUpdateUserInfoSuccessfully() {
@@ -308,11 +456,8 @@ class UserControllerV2Test {
         updatedUser.setId(1L);
         updatedUser.setName("Updated Name");
         updatedUser.setAddress(address);
-        UserResponse updatedResponse = new UserResponse();
-        updatedResponse.setId(1L);
-        updatedResponse.setName("Updated Name");
+        UserResponse updatedResponse = new UserResponse(1L, "Updated Name", null, null, null, null, null);
 
-        when(userService.findById(1L)).thenReturn(user);
         doNothing().when(userMapper).updateEntityFromDto(any(UserUpdateRequest.class), any(User.class));
         when(userService.updateUser(eq(1L), any(User.class))).thenReturn(updatedUser);
         when(userMapper.toResponse(updatedUser)).thenReturn(updatedResponse);
@@ -323,9 +468,9 @@ class UserControllerV2Test {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals("Updated Name", response.getBody().getName());
-        verify(userService, times(1)).findById(1L);
-        verify(userMapper, times(1)).updateEntityFromDto(userUpdateRequest, user);
+        assertEquals("Updated Name", response.getBody().name());
+        verify(userService, never()).findById(anyLong());
+        verify(userMapper, times(1)).updateEntityFromDto(eq(userUpdateRequest), any(User.class));
         verify(userService, times(1)).updateUser(eq(1L), any(User.class));
         verify(userMapper, times(1)).toResponse(updatedUser);
     }
@@ -366,4 +511,49 @@ class UserControllerV2Test {
         assertNull(response.getBody());
         verify(userService, times(1)).deleteUser(1L);
     }
+
+    @Test
+    @DisplayName("Should return batch results in request order with not-found markers")
+    void shouldReturnBatchResultsInRequestOrder() {
+        // Arrange
+        List<Long> ids = Arrays.asList(999L, 1L);
+        when(userService.findAllByIds(ids)).thenReturn(Map.of(1L, user));
+        when(userMapper.toBatchItem(999L, null)).thenReturn(new UserBatchItem("999", false, null));
+        when(userMapper.toBatchItem(1L, user)).thenReturn(new UserBatchItem("1", true, userResponse));
+
+        // Act
+        ResponseEntity<List<UserBatchItem>> response = userControllerV2.batchById(ids);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().size());
+        assertEquals("999", response.getBody().get(0).getKey());
+        assertFalse(response.getBody().get(0).isFound());
+        assertEquals("1", response.getBody().get(1).getKey());
+        assertTrue(response.getBody().get(1).isFound());
+        verify(userService, times(1)).findAllByIds(ids);
+    }
+
+    @Test
+    @DisplayName("Should batch search users by login and email")
+    void shouldBatchSearchUsersByLoginAndEmail() {
+        // Arrange
+        when(userService.findAllByLogins(List.of("testuser"))).thenReturn(Map.of("testuser", user));
+        when(userService.findAllByEmails(List.of("test@example.com"))).thenReturn(Map.of("test@example.com", user));
+        when(userMapper.toBatchItem(anyString(), eq(user))).thenAnswer(invocation ->
+                new UserBatchItem(invocation.getArgument(0), true, userResponse));
+
+        // Act
+        ResponseEntity<List<UserBatchItem>> byLogin = userControllerV2.batchByLogin(List.of("testuser"));
+        ResponseEntity<List<UserBatchItem>> byEmail = userControllerV2.batchByEmail(List.of("test@example.com"));
+
+        // Assert
+        assertEquals(HttpStatus.OK, byLogin.getStatusCode());
+        assertEquals("testuser", byLogin.getBody().get(0).getKey());
+        assertEquals(HttpStatus.OK, byEmail.getStatusCode());
+        assertEquals("test@example.com", byEmail.getBody().get(0).getKey());
+        verify(userService, times(1)).findAllByLogins(List.of("testuser"));
+        verify(userService, times(1)).findAllByEmails(List.of("test@example.com"));
+    }
 }
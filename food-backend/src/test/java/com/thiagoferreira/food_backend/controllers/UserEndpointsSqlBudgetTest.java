@@ -0,0 +1,274 @@
+package com.thiagoferreira.food_backend.controllers;
+
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserRepository;
+import com.thiagoferreira.food_backend.infraestructure.security.JwtService;
+import com.thiagoferreira.food_backend.infraestructure.security.PasswordHasher;
+import com.thiagoferreira.food_backend.support.SqlBudget;
+import com.thiagoferreira.food_backend.support.SqlStatementCountingConfiguration;
+import com.thiagoferreira.food_backend.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exact JDBC statement budgets per endpoint, measured against H2 through a proxied
+ * DataSource. Every authenticated V2 request spends one select in the JWT filter to
+ * load the user behind the token.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:sql-budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+                "security.bcrypt.cost=4",
+                "spring.grpc.server.port=0",
+                "v3.server.port=0",
+                // Audit rows are written off the request path; a parked writer keeps them out of the budgets
+                "audit.flush-interval=1h",
+                "warmup.iterations=50"
+        }
+)
+@Import(SqlStatementCountingConfiguration.class)
+@DisplayName("User Endpoints SQL Budget Tests")
+class UserEndpointsSqlBudgetTest {
+
+    private static final String PASSWORD = "password123";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    private final HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+
+        user = new User();
+        user.setName("Budget User");
+        user.setEmail("budget@example.com");
+        user.setLogin("budget");
+        user.setPassword(passwordHasher.hash(PASSWORD));
+        user.setType(UserType.CUSTOMER);
+        user = repository.save(user);
+        bearer = "Bearer " + jwtService.generateToken(user.getLogin(), user.getId());
+
+        recorder.reset();
+    }
+
+    @Test
+    @DisplayName("GET /v2/users/{id} should load the user with a single select")
+    void getByIdShouldLoadUserWithSingleSelect() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/users/" + user.getId()).GET());
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        recorder.assertBudget("GET /v2/users/{id}", SqlBudget.selects(2));
+    }
+
+    @Test
+    @DisplayName("Conditional GET /v2/users/{id} should only read the version stamp")
+    void conditionalGetByIdShouldOnlyReadVersionStamp() throws Exception {
+        // Arrange
+        String eTag = send(authorized("/v2/users/" + user.getId()).GET()).headers().firstValue("ETag").orElseThrow();
+        recorder.reset();
+
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/users/" + user.getId())
+                .header("If-None-Match", eTag)
+                .GET());
+
+        // Assert
+        assertEquals(304, response.statusCode());
+        recorder.assertBudget("GET /v2/users/{id} (If-None-Match)", SqlBudget.selects(2));
+        assertTrue(recorder.getStatements().get(1).contains("version"));
+    }
+
+    @Test
+    @DisplayName("GET /v2/users/search/login should use a single select")
+    void searchByLoginShouldUseSingleSelect() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/users/search/login?login=budget").GET());
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        recorder.assertBudget("GET /v2/users/search/login", SqlBudget.selects(2));
+    }
+
+    @Test
+    @DisplayName("GET /v2/users/search/name with fields should select only those columns")
+    void searchByNameWithFieldsShouldSelectOnlyThoseColumns() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/users/search/name?name=budget&fields=id,name").GET());
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals("[{\"id\":" + user.getId() + ",\"name\":\"Budget User\"}]", response.body());
+        recorder.assertBudget("GET /v2/users/search/name?fields", SqlBudget.selects(2));
+        String select = recorder.getStatements().get(1);
+        assertTrue(select.contains("name"));
+        assertFalse(select.contains("email"), select);
+        assertFalse(select.contains("password"), select);
+        assertFalse(select.contains("street"), select);
+    }
+
+    @Test
+    @DisplayName("GET /v2/users with an unknown field should be rejected before querying the users")
+    void unknownFieldShouldBeRejectedBeforeQuerying() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/users?fields=id,password").GET());
+
+        // Assert
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Unknown fields: password."), response.body());
+        recorder.assertBudget("GET /v2/users?fields (unknown)", SqlBudget.selects(1));
+    }
+
+    @Test
+    @DisplayName("GET /v2/users/batch should resolve all ids with a single select")
+    void batchByIdsShouldUseSingleSelect() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/users/batch?ids=" + user.getId() + ",999,998").GET());
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        recorder.assertBudget("GET /v2/users/batch?ids", SqlBudget.selects(2));
+    }
+
+    @Test
+    @DisplayName("POST /v2/batch should load the caller once for all of its requests")
+    void batchShouldLoadCallerOnce() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/batch")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"requests":[
+                          {"method":"GET","path":"/v2/users/%1$d"},
+                          {"method":"GET","path":"/v2/users/search/login?login=budget"},
+                          {"method":"GET","path":"/v2/users/batch?ids=%1$d"}
+                        ]}
+                        """.formatted(user.getId()))));
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals(3, response.body().split("\"status\":200").length - 1, response.body());
+        recorder.assertBudget("POST /v2/batch (3 GETs)", SqlBudget.selects(4));
+    }
+
+    @Test
+    @DisplayName("POST /v2/auth/login should use a single select")
+    void loginShouldUseSingleSelect() throws Exception {
+        // Act
+        HttpResponse<String> response = send(request("/v2/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"login\":\"budget\",\"password\":\"" + PASSWORD + "\"}")));
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        recorder.assertBudget("POST /v2/auth/login", SqlBudget.selects(1));
+    }
+
+    @Test
+    @DisplayName("POST /v2/users should check email and login before a single insert")
+    void createShouldCheckUniquenessBeforeSingleInsert() throws Exception {
+        // Act
+        HttpResponse<String> response = send(request("/v2/users")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"name":"New User","email":"new@example.com","login":"newuser","password":"password123","type":"CUSTOMER"}
+                        """)));
+
+        // Assert
+        assertEquals(201, response.statusCode());
+        recorder.assertBudget("POST /v2/users", SqlBudget.selects(2).withInserts(1));
+    }
+
+    @Test
+    @DisplayName("PUT /v2/users/{id} should load the user once before a single update")
+    void updateShouldLoadUserOnceBeforeSingleUpdate() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/users/" + user.getId())
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"Updated User\"}")));
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        recorder.assertBudget("PUT /v2/users/{id}", SqlBudget.selects(2).withUpdates(1));
+    }
+
+    @Test
+    @DisplayName("DELETE /v2/users/{id} should load the user once before a single delete")
+    void deleteShouldLoadUserOnceBeforeSingleDelete() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v2/users/" + user.getId()).DELETE());
+
+        // Assert
+        assertEquals(204, response.statusCode());
+        recorder.assertBudget("DELETE /v2/users/{id}", SqlBudget.selects(2).withDeletes(1));
+    }
+
+    @Test
+    @DisplayName("GET /v1/users/{id} should load the user with a single select")
+    void v1GetByIdShouldLoadUserWithSingleSelect() throws Exception {
+        // Arrange
+        HttpResponse<String> login = send(request("/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"login\":\"budget\",\"password\":\"" + PASSWORD + "\"}")));
+        assertEquals(200, login.statusCode());
+        recorder.reset();
+
+        // Act
+        HttpResponse<String> response = send(request("/v1/users/" + user.getId()).GET());
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        recorder.assertBudget("GET /v1/users/{id}", SqlBudget.selects(1));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", bearer);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
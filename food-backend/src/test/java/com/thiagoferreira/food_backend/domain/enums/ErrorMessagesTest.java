@@ -0,0 +1,35 @@
+package com.thiagoferreira.food_backend.domain.enums;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.MissingFormatArgumentException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ErrorMessages Tests")
+class ErrorMessagesTest {
+
+    @Test
+    @DisplayName("Should fill placeholders exactly like String.format")
+    void shouldFillPlaceholdersLikeStringFormat() {
+        for (ErrorMessages error : ErrorMessages.values()) {
+            // Act & Assert
+            assertEquals(String.format(error.getMessage(), 7L, 8L), error.params(7L, 8L), error.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the message itself when it has no placeholders")
+    void shouldReturnMessageWithoutPlaceholders() {
+        // Act & Assert
+        assertSame(ErrorMessages.USER_NOT_FOUND.getMessage(), ErrorMessages.USER_NOT_FOUND.params());
+    }
+
+    @Test
+    @DisplayName("Should reject missing arguments")
+    void shouldRejectMissingArguments() {
+        // Act & Assert
+        assertThrows(MissingFormatArgumentException.class, () -> ErrorMessages.USER_NOT_FOUND_BY_ID.params());
+    }
+}
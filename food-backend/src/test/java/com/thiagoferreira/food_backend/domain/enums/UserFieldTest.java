@@ -0,0 +1,44 @@
+package com.thiagoferreira.food_backend.domain.enums;
+
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserField Tests")
+class UserFieldTest {
+
+    @Test
+    @DisplayName("Should parse a comma-separated list of wire names")
+    void shouldParseWireNames() {
+        // Act & Assert
+        assertEquals(EnumSet.of(UserField.ID, UserField.NAME, UserField.LAST_UPDATE),
+                UserField.parse(" id,name , lastUpdate,,id"));
+    }
+
+    @Test
+    @DisplayName("Should select every field when the list is missing or empty")
+    void shouldSelectEveryFieldWhenListIsMissing() {
+        // Act & Assert
+        assertSame(UserField.ALL, UserField.parse(null));
+        assertSame(UserField.ALL, UserField.parse(" "));
+        assertSame(UserField.ALL, UserField.parse(","));
+        assertSame(UserField.ALL, UserField.parse("type,name,login,lastUpdate,id,email,address"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown names, listing them and the allowed ones")
+    void shouldRejectUnknownNames() {
+        // Act
+        DomainValidationException exception = assertThrows(DomainValidationException.class,
+                () -> UserField.parse("id,password,Name"));
+
+        // Assert
+        assertEquals(ErrorMessages.UNKNOWN_FIELDS, exception.getError());
+        assertEquals("Unknown fields: password,Name. Allowed fields: address,email,id,lastUpdate,login,name,type.",
+                exception.getMessage());
+    }
+}
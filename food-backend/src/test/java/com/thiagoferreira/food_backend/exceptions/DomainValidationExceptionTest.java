@@ -35,5 +35,16 @@ class DomainValidationExceptionTest {
         assertEquals(ErrorMessages.EMAIL_ALREADY_EXISTS.getMessage(), exception.getMessage());
         assertEquals(cause, exception.getCause());
     }
-}
 
+    @Test
+    @DisplayName("Should format parameterized ErrorMessages without capturing a stack trace")
+    void shouldFormatParameterizedErrorMessagesWithoutStackTrace() {
+        // Act
+        DomainValidationException exception = new DomainValidationException(ErrorMessages.BATCH_SIZE_EXCEEDED, 100);
+
+        // Assert
+        assertEquals("A batch request accepts at most 100 keys.", exception.getMessage());
+        assertEquals(ErrorMessages.BATCH_SIZE_EXCEEDED, exception.getError());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+}
@@ -1,12 +1,18 @@
 package com.thiagoferreira.food_backend.exceptions;
 
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +39,9 @@ import static org.mockito.Mockito.*;
 @DisplayName("GlobalExceptionHandler Tests")
 class GlobalExceptionHandlerTest {
 
+    @Mock
+    private ClientErrorLogPolicy clientErrors;
+
     @InjectMocks
     private GlobalExceptionHandler exceptionHandler;
 
@@ -473,6 +482,79 @@ class GlobalExceptionHandlerTest {
         assertEquals("GET", response.getBody().getProperties().get("method"));
     }
 
+    @Test
+    @DisplayName("Should answer a passed deadline and a cancelled query with 504")
+    void shouldHandleDeadlineExceeded() {
+        // Act
+        ResponseEntity<ProblemDetail> passed = exceptionHandler.handleDeadlineExceededException(new DeadlineExceededException());
+        ResponseEntity<ProblemDetail> cancelled = exceptionHandler.handleDeadlineExceededException(
+                new QueryTimeoutException("Statement was canceled"));
+
+        // Assert
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, passed.getStatusCode());
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, cancelled.getStatusCode());
+        assertNotNull(cancelled.getBody());
+        assertEquals("Deadline Exceeded", cancelled.getBody().getTitle());
+        assertTrue(cancelled.getBody().getType().toString().contains("deadline-exceeded"));
+        assertEquals(ErrorMessages.DEADLINE_EXCEEDED.getMessage(), cancelled.getBody().getDetail());
+        verifyNoInteractions(clientErrors);
+    }
+
+    @Test
+    @DisplayName("Should answer a lost optimistic lock with 409")
+    void shouldHandleOptimisticLockingFailureException() {
+        // Arrange
+        ObjectOptimisticLockingFailureException ex = new ObjectOptimisticLockingFailureException("User", 1L);
+
+        // Act
+        ResponseEntity<ProblemDetail> response = exceptionHandler.handleOptimisticLockingFailureException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Concurrent Modification", response.getBody().getTitle());
+        assertTrue(response.getBody().getType().toString().contains("concurrent-modification"));
+        assertEquals(ErrorMessages.CONCURRENT_MODIFICATION.getMessage(), response.getBody().getDetail());
+        verify(clientErrors).record(eq("concurrent-modification"), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer an overloaded resource with 503 and Retry-After")
+    void shouldHandleServiceOverloadedException() {
+        // Arrange
+        ServiceOverloadedException ex = new ServiceOverloadedException(ErrorMessages.PASSWORD_HASHING_SATURATED);
+
+        // Act
+        ResponseEntity<ProblemDetail> response = exceptionHandler.handleServiceOverloadedException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().getType().toString().contains("service-overloaded"));
+        assertEquals(ErrorMessages.PASSWORD_HASHING_SATURATED.getMessage(), response.getBody().getDetail());
+        verifyNoInteractions(clientErrors);
+    }
+
+    @Test
+    @DisplayName("Should answer an unavailable resource with 503 and Retry-After")
+    void shouldHandleServiceUnavailableException() {
+        // Arrange
+        ServiceUnavailableException ex = new ServiceUnavailableException(
+                ErrorMessages.PASSWORD_HASHING_UNAVAILABLE, new InterruptedException());
+
+        // Act
+        ResponseEntity<ProblemDetail> response = exceptionHandler.handleServiceUnavailableException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertEquals("Service Unavailable", response.getBody().getTitle());
+        assertTrue(response.getBody().getType().toString().contains("service-unavailable"));
+        assertEquals(ErrorMessages.PASSWORD_HASHING_UNAVAILABLE.getMessage(), response.getBody().getDetail());
+    }
+
     @Test
     @DisplayName("Should handle generic Exception")
     void shouldHandleGenericException() {
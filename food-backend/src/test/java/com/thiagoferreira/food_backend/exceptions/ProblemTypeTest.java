@@ -0,0 +1,49 @@
+package com.thiagoferreira.food_backend.exceptions;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProblemType Tests")
+class ProblemTypeTest {
+
+    @Test
+    @DisplayName("Should create a ProblemDetail with the cached status, type and title")
+    void shouldCreateProblemDetailFromTemplate() {
+        // Act
+        ProblemDetail problemDetail = ProblemType.RESOURCE_NOT_FOUND.create("User not found with ID: 1");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND.value(), problemDetail.getStatus());
+        assertEquals(URI.create("https://api.food-backend.com/problems/resource-not-found"), problemDetail.getType());
+        assertEquals("Resource Not Found", problemDetail.getTitle());
+        assertEquals("User not found with ID: 1", problemDetail.getDetail());
+    }
+
+    @Test
+    @DisplayName("Should share the type URI but never the ProblemDetail instance")
+    void shouldShareTypeButNotInstance() {
+        // Act
+        ProblemDetail first = ProblemType.UNAUTHORIZED.create("first");
+        ProblemDetail second = ProblemType.UNAUTHORIZED.create("second");
+
+        // Assert
+        assertNotSame(first, second);
+        assertSame(first.getType(), second.getType());
+        assertEquals("first", first.getDetail());
+    }
+
+    @Test
+    @DisplayName("Should build every type URI under the problems base URI")
+    void shouldBuildEveryTypeUnderBaseUri() {
+        for (ProblemType problemType : ProblemType.values()) {
+            // Act & Assert
+            assertEquals(ProblemType.BASE_URI + problemType.getSlug(), problemType.getType().toString());
+        }
+    }
+}
@@ -33,5 +33,26 @@ class ResourceNotFoundExceptionTest {
         assertNotNull(exception);
         assertEquals(message, exception.getMessage());
     }
-}
 
+    @Test
+    @DisplayName("Should format parameterized ErrorMessages and keep the constant")
+    void shouldFormatParameterizedErrorMessages() {
+        // Act
+        ResourceNotFoundException exception = new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID, 42L);
+
+        // Assert
+        assertEquals("User not found with ID: 42", exception.getMessage());
+        assertEquals(ErrorMessages.USER_NOT_FOUND_BY_ID, exception.getError());
+    }
+
+    @Test
+    @DisplayName("Should not capture a stack trace")
+    void shouldNotCaptureStackTrace() {
+        // Act
+        ResourceNotFoundException exception = new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND);
+
+        // Assert
+        assertEquals(0, exception.getStackTrace().length);
+        assertInstanceOf(DomainException.class, exception);
+    }
+}
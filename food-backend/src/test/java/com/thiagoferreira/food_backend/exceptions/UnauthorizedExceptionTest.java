@@ -19,5 +19,15 @@ class UnauthorizedExceptionTest {
         assertNotNull(exception);
         assertEquals(ErrorMessages.UNAUTHORIZED_ACCESS.getMessage(), exception.getMessage());
     }
-}
 
+    @Test
+    @DisplayName("Should not capture a stack trace")
+    void shouldNotCaptureStackTrace() {
+        // Act
+        UnauthorizedException exception = new UnauthorizedException(ErrorMessages.UNAUTHORIZED_ACCESS);
+
+        // Assert
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(ErrorMessages.UNAUTHORIZED_ACCESS, exception.getError());
+    }
+}
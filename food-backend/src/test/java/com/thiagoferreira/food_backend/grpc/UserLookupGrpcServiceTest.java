@@ -0,0 +1,298 @@
+package com.thiagoferreira.food_backend.grpc;
+
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.grpc.proto.BatchGetUsersRequest;
+import com.thiagoferreira.food_backend.grpc.proto.BatchGetUsersResponse;
+import com.thiagoferreira.food_backend.grpc.proto.GetUserRequest;
+import com.thiagoferreira.food_backend.grpc.proto.ListUsersRequest;
+import com.thiagoferreira.food_backend.grpc.proto.UserLookupGrpc;
+import com.thiagoferreira.food_backend.grpc.proto.UserRecord;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.security.JwtAuthenticationFilter;
+import com.thiagoferreira.food_backend.infraestructure.security.JwtService;
+import com.thiagoferreira.food_backend.services.UserService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.grpc.server.exception.GrpcExceptionHandlerInterceptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * The service behind the same interceptors as in the application (JWT first, then the
+ * exception handler), on an in-process server: calls go through real stubs, metadata and
+ * status codes without opening a port.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserLookupGrpcService Tests")
+class UserLookupGrpcServiceTest {
+
+    private static final String TOKEN = "valid.jwt.token";
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private ClientErrorLogPolicy clientErrors;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Server server;
+    private ManagedChannel channel;
+    private UserLookupGrpc.UserLookupBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        UserLookupGrpcService service = new UserLookupGrpcService(userService, new UserRecordMapper());
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(service,
+                        new GrpcExceptionHandlerInterceptor(new DomainGrpcExceptionHandler()),
+                        new JwtServerInterceptor(jwtService, userService, meterRegistry, clientErrors)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = UserLookupGrpc.newBlockingStub(channel).withCallCredentials(new JwtCallCredentials(TOKEN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    private void authenticated() {
+        when(jwtService.extractUsername(TOKEN)).thenReturn("caller");
+        when(userService.findByLogin("caller")).thenReturn(Optional.of(user(99)));
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setLogin("user" + id);
+        user.setType(UserType.CUSTOMER);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should get user by id")
+    void shouldGetUserById() {
+        // Arrange
+        authenticated();
+        when(userService.findById(1L)).thenReturn(user(1));
+
+        // Act
+        UserRecord record = stub.getUser(GetUserRequest.newBuilder().setId(1L).build());
+
+        // Assert
+        assertEquals(1L, record.getId());
+        assertEquals("user1", record.getLogin());
+        assertEquals(UserRecord.Type.CUSTOMER, record.getType());
+    }
+
+    @Test
+    @DisplayName("Should answer NOT_FOUND when no user has the login")
+    void shouldAnswerNotFoundForUnknownLogin() {
+        // Arrange
+        authenticated();
+        when(userService.findByLogin("ghost")).thenReturn(Optional.empty());
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub.getUser(GetUserRequest.newBuilder().setLogin("ghost").build()));
+
+        // Assert
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        assertEquals(ErrorMessages.USER_NOT_FOUND.getMessage(), exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should map ResourceNotFoundException from the service to NOT_FOUND")
+    void shouldMapServiceNotFoundToStatus() {
+        // Arrange
+        authenticated();
+        when(userService.findById(999L)).thenThrow(new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND_BY_ID, 999L));
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub.getUser(GetUserRequest.newBuilder().setId(999L).build()));
+
+        // Assert
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        assertEquals(ErrorMessages.USER_NOT_FOUND_BY_ID.params(999L), exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should answer INVALID_ARGUMENT when no key is set")
+    void shouldRejectGetUserWithoutKey() {
+        // Arrange
+        authenticated();
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub.getUser(GetUserRequest.getDefaultInstance()));
+
+        // Assert
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verify(userService).findByLogin("caller");
+        verifyNoMoreInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Should batch get users in the requested order, marking missing keys")
+    void shouldBatchGetUsersInRequestedOrder() {
+        // Arrange
+        authenticated();
+        when(userService.findAllByEmails(List.of("user2@example.com", "ghost@example.com", "user1@example.com")))
+                .thenReturn(Map.of("user1@example.com", user(1), "user2@example.com", user(2)));
+
+        // Act
+        BatchGetUsersResponse response = stub.batchGetUsers(BatchGetUsersRequest.newBuilder()
+                .addEmails("user2@example.com")
+                .addEmails("ghost@example.com")
+                .addEmails("user1@example.com")
+                .build());
+
+        // Assert
+        assertEquals(3, response.getItemsCount());
+        assertEquals(2L, response.getItems(0).getUser().getId());
+        assertEquals("ghost@example.com", response.getItems(1).getKey());
+        assertFalse(response.getItems(1).getFound());
+        assertFalse(response.getItems(1).hasUser());
+        assertEquals(1L, response.getItems(2).getUser().getId());
+    }
+
+    @Test
+    @DisplayName("Should answer INVALID_ARGUMENT when a batch mixes kinds of keys")
+    void shouldRejectBatchWithMixedKeys() {
+        // Arrange
+        authenticated();
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub.batchGetUsers(BatchGetUsersRequest.newBuilder().addIds(1L).addLogins("user1").build()));
+
+        // Assert
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals(ErrorMessages.LOOKUP_KEY_REQUIRED.getMessage(), exception.getStatus().getDescription());
+        verify(userService).findByLogin("caller");
+        verifyNoMoreInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Should stream users page by page from the cursor")
+    void shouldStreamUsersFromCursor() {
+        // Arrange
+        authenticated();
+        when(userService.findUsersAfter(10L, 2)).thenReturn(List.of(user(11), user(12)));
+        when(userService.findUsersAfter(12L, 2)).thenReturn(List.of(user(13)));
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        stub.listUsers(ListUsersRequest.newBuilder().setAfterId(10L).setPageSize(2).build())
+                .forEachRemaining(record -> ids.add(record.getId()));
+
+        // Assert
+        assertEquals(List.of(11L, 12L, 13L), ids);
+        // The short page is the last one: no query for an empty page
+        verify(userService, times(2)).findUsersAfter(anyLong(), eq(2));
+    }
+
+    @Test
+    @DisplayName("Should use the default page size and cap larger ones")
+    void shouldBoundPageSize() {
+        // Arrange
+        authenticated();
+        when(userService.findUsersAfter(0L, UserLookupGrpcService.DEFAULT_PAGE_SIZE)).thenReturn(List.of());
+        when(userService.findUsersAfter(0L, UserLookupGrpcService.MAX_PAGE_SIZE)).thenReturn(List.of());
+
+        // Act
+        boolean defaultHasNext = stub.listUsers(ListUsersRequest.getDefaultInstance()).hasNext();
+        boolean cappedHasNext = stub.listUsers(ListUsersRequest.newBuilder().setPageSize(1_000_000).build()).hasNext();
+
+        // Assert
+        assertFalse(defaultHasNext);
+        assertFalse(cappedHasNext);
+    }
+
+    @Test
+    @DisplayName("Should answer UNAUTHENTICATED without a bearer token")
+    void shouldRejectCallWithoutToken() {
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> UserLookupGrpc.newBlockingStub(channel).getUser(GetUserRequest.newBuilder().setId(1L).build()));
+
+        // Assert
+        assertEquals(Status.Code.UNAUTHENTICATED, exception.getStatus().getCode());
+        verifyNoInteractions(userService, jwtService);
+    }
+
+    @Test
+    @DisplayName("Should answer UNAUTHENTICATED for an expired token and record the outcome")
+    void shouldRejectExpiredToken() {
+        // Arrange
+        when(jwtService.extractUsername("expired")).thenThrow(new ExpiredJwtException(null, null, "JWT expired"));
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> UserLookupGrpc.newBlockingStub(channel)
+                        .withCallCredentials(new JwtCallCredentials("expired"))
+                        .getUser(GetUserRequest.newBuilder().setId(1L).build()));
+
+        // Assert
+        assertEquals(Status.Code.UNAUTHENTICATED, exception.getStatus().getCode());
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.VERIFICATION_METRIC).tag("outcome", "expired").timer().count());
+        verify(clientErrors).record(eq("jwt-expired"), anyString(), any());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Should answer UNAUTHENTICATED for a valid token of a deleted user")
+    void shouldRejectTokenOfDeletedUser() {
+        // Arrange
+        when(jwtService.extractUsername(TOKEN)).thenReturn("deleted");
+        when(userService.findByLogin("deleted")).thenReturn(Optional.empty());
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub.listUsers(ListUsersRequest.newBuilder().setPageSize(10).build()).hasNext());
+
+        // Assert
+        assertEquals(Status.Code.UNAUTHENTICATED, exception.getStatus().getCode());
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.VERIFICATION_METRIC).tag("outcome", "unknown_user").timer().count());
+        verify(clientErrors).record(eq("jwt-unknown-user"), anyString(), any());
+        verify(userService, never()).findUsersAfter(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,82 @@
+package com.thiagoferreira.food_backend.grpc;
+
+import com.thiagoferreira.food_backend.domain.entities.Address;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.grpc.proto.BatchItem;
+import com.thiagoferreira.food_backend.grpc.proto.UserRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserRecordMapper Tests")
+class UserRecordMapperTest {
+
+    private final UserRecordMapper mapper = new UserRecordMapper();
+
+    @Test
+    @DisplayName("Should map every user field to the record")
+    void shouldMapUserToRecord() {
+        // Arrange
+        Address address = new Address();
+        address.setStreet("Rua Teste");
+        address.setNumber("123");
+        address.setCity("São Paulo");
+        address.setZipCode("01234-567");
+        User user = new User();
+        user.setId(1L);
+        user.setName("Test User");
+        user.setEmail("test@example.com");
+        user.setLogin("testuser");
+        user.setPassword("$2a$10$hashedPassword");
+        user.setType(UserType.OWNER);
+        user.setAddress(address);
+        user.setLastUpdated(LocalDateTime.of(2026, 10, 19, 15, 10));
+
+        // Act
+        UserRecord record = mapper.toRecord(user);
+
+        // Assert
+        assertEquals(1L, record.getId());
+        assertEquals("Test User", record.getName());
+        assertEquals("test@example.com", record.getEmail());
+        assertEquals("testuser", record.getLogin());
+        assertEquals(UserRecord.Type.OWNER, record.getType());
+        assertEquals("São Paulo", record.getAddress().getCity());
+        assertEquals("01234-567", record.getAddress().getZipCode());
+        assertEquals("2026-10-19T15:10:00", record.getLastUpdate());
+    }
+
+    @Test
+    @DisplayName("Should leave absent values as the field defaults")
+    void shouldMapAbsentValuesToDefaults() {
+        // Arrange
+        User user = new User();
+        user.setId(2L);
+        user.setLogin("partial");
+
+        // Act
+        UserRecord record = mapper.toRecord(user);
+
+        // Assert
+        assertEquals("", record.getName());
+        assertEquals(UserRecord.Type.TYPE_UNSPECIFIED, record.getType());
+        assertFalse(record.hasAddress());
+        assertEquals("", record.getLastUpdate());
+    }
+
+    @Test
+    @DisplayName("Should map a missing batch key without a user")
+    void shouldMapMissingBatchItem() {
+        // Act
+        BatchItem item = mapper.toBatchItem(42L, null);
+
+        // Assert
+        assertEquals("42", item.getKey());
+        assertFalse(item.getFound());
+        assertFalse(item.hasUser());
+    }
+}
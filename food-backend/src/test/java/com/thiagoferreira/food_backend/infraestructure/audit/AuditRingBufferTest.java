@@ -0,0 +1,114 @@
+package com.thiagoferreira.food_backend.infraestructure.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditRingBuffer Tests")
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two of at least two slots")
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        // Act & Assert
+        assertEquals(8, new AuditRingBuffer<String>(5).capacity());
+        assertEquals(8, new AuditRingBuffer<String>(8).capacity());
+        assertEquals(2, new AuditRingBuffer<String>(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer<String>(0));
+    }
+
+    @Test
+    @DisplayName("Should reject elements when full and drain them in order")
+    void shouldRejectWhenFullAndDrainInOrder() {
+        // Arrange
+        AuditRingBuffer<String> buffer = new AuditRingBuffer<>(2);
+        List<String> drained = new ArrayList<>();
+
+        // Act
+        boolean first = buffer.offer("a");
+        boolean second = buffer.offer("b");
+        boolean third = buffer.offer("c");
+        int count = buffer.drainTo(drained::add, 10);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, count);
+        assertEquals(List.of("a", "b"), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Should reuse slots once drained")
+    void shouldReuseSlotsAfterDrain() {
+        // Arrange
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buffer.offer(i));
+            assertTrue(buffer.offer(i + 100));
+            buffer.drainTo(drained::add, 2);
+        }
+
+        // Assert
+        assertEquals(20, drained.size());
+        assertEquals(List.of(0, 100, 1, 101), drained.subList(0, 4));
+    }
+
+    @Test
+    @DisplayName("Should hand every element of concurrent producers to the consumer exactly once")
+    void shouldDeliverConcurrentProducersExactlyOnce() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 10_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        Set<Integer> received = new HashSet<>();
+
+        try {
+            // Act
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+                buffer.drainTo(element -> assertTrue(received.add(element), "Delivered twice: " + element), 32);
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            // Assert
+            assertEquals(producers * perProducer, received.size());
+            assertEquals(0, buffer.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
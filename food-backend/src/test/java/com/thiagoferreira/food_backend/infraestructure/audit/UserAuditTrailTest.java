@@ -0,0 +1,201 @@
+package com.thiagoferreira.food_backend.infraestructure.audit;
+
+import com.thiagoferreira.food_backend.domain.entities.UserAuditEvent;
+import com.thiagoferreira.food_backend.domain.enums.UserAuditAction;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAuditTrail Tests")
+class UserAuditTrailTest {
+
+    @Mock
+    private UserAuditRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // The trail reuses its batch list, so each append is copied when it is made
+    private final List<List<UserAuditEvent>> appends = new CopyOnWriteArrayList<>();
+
+    private UserAuditTrail trail;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> appends.add(List.copyOf(invocation.getArgument(0))))
+                .when(repository).appendAll(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (trail != null) {
+            trail.stop();
+        }
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // A writer that never wakes on its own: only stop() makes it write
+    private UserAuditTrail trail(int capacity, UserAuditTrail.OverflowPolicy policy) {
+        return new UserAuditTrail(repository, meterRegistry, capacity, 100, Duration.ofHours(1), policy,
+                Duration.ofMillis(20), Duration.ofSeconds(5));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter(UserAuditTrail.METRIC_NAME, "outcome", outcome).count();
+    }
+
+    @Test
+    @DisplayName("Should buffer events and write them as one batch on shutdown")
+    void shouldWriteBufferedEventsAsOneBatchOnShutdown() {
+        // Arrange
+        trail = trail(16, UserAuditTrail.OverflowPolicy.DROP);
+        trail.start();
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("admin", null, List.of()));
+
+        // Act
+        trail.record(UserAuditAction.CREATED, 1L);
+        trail.record(UserAuditAction.UPDATED, 1L);
+        trail.record(UserAuditAction.DELETED, 2L);
+        int pending = trail.pending();
+        trail.stop();
+
+        // Assert
+        assertEquals(3, pending);
+        assertEquals(1, appends.size());
+        List<UserAuditEvent> batch = appends.getFirst();
+        assertEquals(List.of(UserAuditAction.CREATED, UserAuditAction.UPDATED, UserAuditAction.DELETED),
+                batch.stream().map(UserAuditEvent::getAction).toList());
+        assertEquals(2L, batch.get(2).getUserId());
+        assertEquals("admin", batch.getFirst().getActor());
+        assertNotNull(batch.getFirst().getOccurredAt());
+        assertEquals(3, count("written"));
+        assertEquals(0, trail.pending());
+    }
+
+    @Test
+    @DisplayName("Should write on the caller when the writer is not running")
+    void shouldWriteOnCallerWhenNotRunning() {
+        // Arrange
+        trail = trail(16, UserAuditTrail.OverflowPolicy.DROP);
+
+        // Act
+        trail.record(UserAuditAction.PASSWORD_CHANGED, 7L);
+
+        // Assert
+        assertEquals(1, appends.size());
+        assertEquals(UserAuditAction.PASSWORD_CHANGED, appends.getFirst().getFirst().getAction());
+        assertNull(appends.getFirst().getFirst().getActor());
+    }
+
+    @Test
+    @DisplayName("Should publish only after the surrounding transaction commits")
+    void shouldPublishAfterCommit() {
+        // Arrange
+        trail = trail(16, UserAuditTrail.OverflowPolicy.DROP);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        trail.record(UserAuditAction.CREATED, 1L);
+        int pendingBeforeCommit = trail.pending();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(0, pendingBeforeCommit);
+        assertEquals(1, appends.size());
+    }
+
+    @Test
+    @DisplayName("Should drop events that do not fit with the DROP policy")
+    void shouldDropOverflowWithDropPolicy() {
+        // Arrange
+        trail = trail(2, UserAuditTrail.OverflowPolicy.DROP);
+        trail.start();
+
+        // Act
+        trail.record(UserAuditAction.CREATED, 1L);
+        trail.record(UserAuditAction.CREATED, 2L);
+        trail.record(UserAuditAction.CREATED, 3L);
+        trail.stop();
+
+        // Assert
+        assertEquals(1, count("overflow"));
+        assertEquals(1, count("dropped"));
+        assertEquals(List.of(1L, 2L), appends.stream().flatMap(List::stream).map(UserAuditEvent::getUserId).toList());
+    }
+
+    @Test
+    @DisplayName("Should write events that do not fit on the caller with the CALLER_RUNS policy")
+    void shouldWriteOverflowOnCallerWithCallerRunsPolicy() {
+        // Arrange
+        trail = trail(2, UserAuditTrail.OverflowPolicy.CALLER_RUNS);
+        trail.start();
+        trail.record(UserAuditAction.CREATED, 1L);
+        trail.record(UserAuditAction.CREATED, 2L);
+
+        // Act
+        trail.record(UserAuditAction.CREATED, 3L);
+
+        // Assert
+        assertEquals(1, appends.size());
+        assertEquals(3L, appends.getFirst().getFirst().getUserId());
+        assertEquals(2, trail.pending());
+        assertEquals(1, count("overflow"));
+        assertEquals(0, count("dropped"));
+    }
+
+    @Test
+    @DisplayName("Should wake the writer and wait for room with the BLOCK policy")
+    void shouldWaitForRoomWithBlockPolicy() {
+        // Arrange
+        trail = trail(2, UserAuditTrail.OverflowPolicy.BLOCK);
+        trail.start();
+        trail.record(UserAuditAction.CREATED, 1L);
+        trail.record(UserAuditAction.CREATED, 2L);
+
+        // Act
+        trail.record(UserAuditAction.CREATED, 3L);
+        trail.stop();
+
+        // Assert
+        assertEquals(1, count("overflow"));
+        assertEquals(0, count("dropped"));
+        assertEquals(List.of(1L, 2L, 3L), appends.stream().flatMap(List::stream).map(UserAuditEvent::getUserId).toList());
+    }
+
+    @Test
+    @DisplayName("Should count a failed write without failing the caller")
+    void shouldCountFailedWrites() {
+        // Arrange
+        trail = trail(16, UserAuditTrail.OverflowPolicy.DROP);
+        doThrow(new IllegalStateException("database down")).when(repository).appendAll(anyList());
+
+        // Act
+        assertDoesNotThrow(() -> trail.record(UserAuditAction.DELETED, 1L));
+
+        // Assert
+        assertEquals(1, count("failed"));
+        assertEquals(0, count("written"));
+    }
+}
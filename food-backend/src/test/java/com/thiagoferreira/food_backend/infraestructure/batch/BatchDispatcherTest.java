@@ -0,0 +1,410 @@
+package com.thiagoferreira.food_backend.infraestructure.batch;
+
+import com.thiagoferreira.food_backend.domain.dto.BatchOperation;
+import com.thiagoferreira.food_backend.domain.dto.BatchOperationResult;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import com.thiagoferreira.food_backend.infraestructure.concurrency.ConcurrencyLimitFilter;
+import com.thiagoferreira.food_backend.infraestructure.idempotency.IdempotencyFilter;
+import com.thiagoferreira.food_backend.infraestructure.idempotency.IdempotencyStore;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.web.servlet.DispatcherServlet;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchDispatcher Tests")
+class BatchDispatcherTest {
+
+    private static final String BEARER = "Bearer valid.jwt.token";
+
+    @Mock
+    private DispatcherServlet dispatcherServlet;
+
+    @Mock
+    private ClientErrorLogPolicy clientErrors;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Set<String> deniedRoutes = ConcurrentHashMap.newKeySet();
+    // Stands in for the rules of the security filter chain: every route but the denied ones is allowed
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator = new WebInvocationPrivilegeEvaluator() {
+        @Override
+        public boolean isAllowed(String uri, Authentication authentication) {
+            return isAllowed(null, uri, "GET", authentication);
+        }
+
+        @Override
+        public boolean isAllowed(String contextPath, String uri, String method, Authentication authentication) {
+            return !deniedRoutes.contains(method + " " + uri);
+        }
+    };
+
+    private BatchDispatcher batchDispatcher;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IdempotencyFilter idempotencyFilter = new IdempotencyFilter(new IdempotencyStore(Duration.ofHours(1), 100, Duration.ofSeconds(5)),
+                jsonMapper, meterRegistry, new ProblemDetailMetrics(meterRegistry), clientErrors);
+        batchDispatcher = new BatchDispatcher(dispatcherServlet, idempotencyFilter, privilegeEvaluator, Optional.empty(),
+                new SimpleAsyncTaskExecutor(), jsonMapper, 5);
+        request = new MockHttpServletRequest("POST", "/v2/batch");
+        request.addHeader("Authorization", BEARER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static BatchOperation operation(String id, String method, String path) {
+        BatchOperation operation = new BatchOperation();
+        operation.setId(id);
+        operation.setMethod(method);
+        operation.setPath(path);
+        return operation;
+    }
+
+    private List<BatchOperationResult> dispatch(BatchOperation... operations) {
+        return batchDispatcher.dispatch(List.of(operations), request, new MockHttpServletResponse());
+    }
+
+    private static void write(ServletResponse response, int status, String json) throws IOException {
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setStatus(status);
+        httpResponse.setContentType("application/json");
+        httpResponse.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should dispatch each request with its own method, path, headers and body")
+    void shouldDispatchSubRequestsWithTheirOwnFields() throws Exception {
+        // Arrange
+        Map<String, String> seen = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            HttpServletRequest subRequest = invocation.getArgument(0);
+            seen.put("method", subRequest.getMethod());
+            seen.put("uri", subRequest.getRequestURI());
+            seen.put("login", subRequest.getParameter("login"));
+            seen.put("authorization", subRequest.getHeader("Authorization"));
+            seen.put("accept", subRequest.getHeader("accept"));
+            seen.put("contentType", subRequest.getContentType());
+            seen.put("ifNoneMatch", subRequest.getHeader("If-None-Match"));
+            seen.put("body", new String(subRequest.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            write(invocation.getArgument(1), 201, "{\"id\":7}");
+            ((HttpServletResponse) invocation.getArgument(1)).setHeader("ETag", "\"7-0\"");
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+        BatchOperation create = operation(null, "post", "/v2/users?login=new%20user");
+        create.setHeaders(Map.of("If-None-Match", "*", "Accept", "application/xml"));
+        create.setBody(jsonMapper.readTree("{\"name\":\"New\"}"));
+
+        // Act
+        List<BatchOperationResult> results = dispatch(create);
+
+        // Assert
+        assertEquals("POST", seen.get("method"));
+        assertEquals("/v2/users", seen.get("uri"));
+        assertEquals("new user", seen.get("login"));
+        assertEquals(BEARER, seen.get("authorization"));
+        assertEquals("application/json", seen.get("accept"));
+        assertEquals("application/json", seen.get("contentType"));
+        assertEquals("*", seen.get("ifNoneMatch"));
+        assertEquals("{\"name\":\"New\"}", seen.get("body"));
+
+        BatchOperationResult result = results.getFirst();
+        assertEquals("0", result.id());
+        assertEquals(201, result.status());
+        assertEquals("\"7-0\"", result.headers().get("ETag"));
+        assertEquals(7, result.body().get("id").asInt());
+    }
+
+    @Test
+    @DisplayName("Should run consecutive GETs concurrently with the caller's authentication")
+    void shouldRunConsecutiveReadsConcurrently() throws Exception {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("caller", null, Collections.emptyList()));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<String> principals = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            // Sequential dispatch would leave the first read waiting here for the second
+            boolean concurrent = bothStarted.await(5, TimeUnit.SECONDS);
+            principals.add(SecurityContextHolder.getContext().getAuthentication().getName());
+            write(invocation.getArgument(1), concurrent ? 200 : 500, "{}");
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        // Act
+        List<BatchOperationResult> results = dispatch(
+                operation("a", "GET", "/v2/users/1"),
+                operation("b", "GET", "/v2/users/2"));
+
+        // Assert
+        assertEquals(List.of(200, 200), results.stream().map(BatchOperationResult::status).toList());
+        assertEquals(List.of("a", "b"), results.stream().map(BatchOperationResult::id).toList());
+        assertEquals(List.of("caller", "caller"), principals);
+    }
+
+    @Test
+    @DisplayName("Should run a write after the reads before it and before the reads after it")
+    void shouldRunWritesInOrder() throws Exception {
+        // Arrange
+        List<String> order = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            HttpServletRequest subRequest = invocation.getArgument(0);
+            if ("GET".equals(subRequest.getMethod()) && order.isEmpty()) {
+                Thread.sleep(50);
+            }
+            order.add(subRequest.getMethod() + " " + subRequest.getRequestURI());
+            ((HttpServletResponse) invocation.getArgument(1)).setStatus(204);
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        // Act
+        List<BatchOperationResult> results = dispatch(
+                operation("read", "GET", "/v2/users/1"),
+                operation("delete", "DELETE", "/v2/users/1"),
+                operation("reread", "GET", "/v2/users/1"));
+
+        // Assert
+        assertEquals(List.of("GET /v2/users/1", "DELETE /v2/users/1", "GET /v2/users/1"), order);
+        assertNull(results.get(1).body());
+        assertEquals(204, results.get(1).status());
+    }
+
+    @Test
+    @DisplayName("Should wait for every read of a group even after one of them failed")
+    void shouldAwaitEveryReadAfterAFailure() throws Exception {
+        // Arrange
+        AtomicInteger submitted = new AtomicInteger();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor() {
+            @Override
+            public Future<?> submit(Runnable task) {
+                // The first read is lost before it could write its result
+                return submitted.getAndIncrement() == 0
+                        ? CompletableFuture.failedFuture(new IllegalStateException("Executor rejected the task"))
+                        : super.submit(task);
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        batchDispatcher = new BatchDispatcher(dispatcherServlet, new IdempotencyFilter(
+                new IdempotencyStore(Duration.ofHours(1), 100, Duration.ofSeconds(5)), jsonMapper, meterRegistry,
+                new ProblemDetailMetrics(meterRegistry), clientErrors), privilegeEvaluator, Optional.empty(), executor, jsonMapper, 5);
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            write(invocation.getArgument(1), 200, "{\"id\":2}");
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        // Act
+        List<BatchOperationResult> results = dispatch(operation("a", "GET", "/v2/users/1"), operation("b", "GET", "/v2/users/2"));
+
+        // Assert
+        assertEquals(500, results.get(0).status());
+        assertEquals(200, results.get(1).status());
+        assertEquals(2, results.get(1).body().get("id").asInt());
+    }
+
+    @Test
+    @DisplayName("Should honor an Idempotency-Key sent on a request of the batch")
+    void shouldHonorIdempotencyKeyOnRequests() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            write(invocation.getArgument(1), 201, "{\"id\":7}");
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+        BatchOperation create = operation(null, "POST", "/v2/users");
+        create.setHeaders(Map.of(IdempotencyFilter.HEADER, "7f6c1b9e-3d2a-4c55-9a0e-2b8f4e1d6a10"));
+        create.setBody(jsonMapper.readTree("{\"name\":\"New\"}"));
+
+        // Act
+        List<BatchOperationResult> results = dispatch(create, create);
+
+        // Assert
+        verify(dispatcherServlet, times(1)).service(any(ServletRequest.class), any(ServletResponse.class));
+        assertEquals(201, results.get(1).status());
+        assertEquals(7, results.get(1).body().get("id").asInt());
+        assertEquals("true", results.get(1).headers().get(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should answer requests the route's authorization rules deny without dispatching them")
+    void shouldCheckEachRequestAgainstItsRoute() throws Exception {
+        // Arrange
+        deniedRoutes.add("DELETE /v2/users/2");
+        doAnswer(invocation -> {
+            write(invocation.getArgument(1), 200, "{}");
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        // Act
+        List<BatchOperationResult> anonymous = dispatch(operation("delete", "DELETE", "/v2/users/2?force=true"));
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("caller", null, Collections.emptyList()));
+        List<BatchOperationResult> authenticated = dispatch(
+                operation("read", "GET", "/v2/users/2"),
+                operation("delete", "DELETE", "/v2/users/2?force=true"));
+
+        // Assert
+        assertEquals(401, anonymous.getFirst().status());
+        assertEquals(200, authenticated.get(0).status());
+        assertEquals(403, authenticated.get(1).status());
+        assertEquals("application/problem+json", authenticated.get(1).headers().get("Content-Type"));
+        assertEquals(ErrorMessages.BATCH_REQUEST_FORBIDDEN.params("DELETE /v2/users/2?force=true"),
+                authenticated.get(1).body().get("detail").asString());
+        verify(dispatcherServlet, times(1)).service(any(ServletRequest.class), any(ServletResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should take a concurrency slot per request and answer 503 when its group is full")
+    void shouldLimitRequestsByTheirGroup() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProblemDetailMetrics problemDetailMetrics = new ProblemDetailMetrics(meterRegistry);
+        // One read at a time; writes keep their own group
+        ConcurrencyLimitFilter concurrencyLimit = new ConcurrencyLimitFilter(jsonMapper, meterRegistry, problemDetailMetrics,
+                1, Duration.ofMinutes(1), 1, 1, 1, 1, 1, 1);
+        batchDispatcher = new BatchDispatcher(dispatcherServlet, new IdempotencyFilter(
+                new IdempotencyStore(Duration.ofHours(1), 100, Duration.ofSeconds(5)), jsonMapper, meterRegistry,
+                problemDetailMetrics, clientErrors), privilegeEvaluator, Optional.of(concurrencyLimit),
+                new SimpleAsyncTaskExecutor(), jsonMapper, 5);
+        doAnswer(invocation -> {
+            // Holds the read slot while the other read asks for one
+            Thread.sleep(300);
+            write(invocation.getArgument(1), 200, "{}");
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        // Act
+        List<BatchOperationResult> results = dispatch(
+                operation("a", "GET", "/v2/users/1"),
+                operation("b", "GET", "/v2/users/2"),
+                operation("write", "DELETE", "/v2/users/3"));
+
+        // Assert
+        List<Integer> reads = results.subList(0, 2).stream().map(BatchOperationResult::status).sorted().toList();
+        assertEquals(List.of(200, 503), reads);
+        BatchOperationResult shed = results.get(0).status() == 503 ? results.get(0) : results.get(1);
+        assertEquals("1", shed.headers().get("Retry-After"));
+        assertEquals(200, results.get(2).status());
+        assertEquals(0.0, meterRegistry.get(ConcurrencyLimitFilter.METRIC_NAME + ".in.flight").tag("group", "read").gauge().value());
+        assertEquals(1.0, meterRegistry.get(ConcurrencyLimitFilter.METRIC_NAME).tag("group", "read").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should answer routes outside /v2/users with a ProblemDetail without dispatching them")
+    void shouldRejectRoutesOutsideUsers() throws Exception {
+        // Act
+        List<BatchOperationResult> results = dispatch(
+                operation("traversal", "GET", "/v2/users/../auth/login"),
+                operation("batch", "POST", "/v2/batch"),
+                operation("method", "HEAD", "/v2/users/1"));
+
+        // Assert
+        for (BatchOperationResult result : results) {
+            assertEquals(400, result.status());
+            assertEquals("application/problem+json", result.headers().get("Content-Type"));
+        }
+        assertTrue(results.getFirst().body().get("detail").asString().contains("/v2/users/../auth/login"));
+        verify(dispatcherServlet, never()).service(any(ServletRequest.class), any(ServletResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should only allow the user routes and their query strings")
+    void shouldValidateRoutes() {
+        assertTrue(BatchDispatcher.isAllowed(HttpMethod.GET, "/v2/users"));
+        assertTrue(BatchDispatcher.isAllowed(HttpMethod.GET, "/v2/users/search/login?login=a.b@example.com"));
+        assertTrue(BatchDispatcher.isAllowed(HttpMethod.PATCH, "/v2/users/1/password"));
+        assertFalse(BatchDispatcher.isAllowed(HttpMethod.GET, "/v2/users/%2e%2e/auth"));
+        assertFalse(BatchDispatcher.isAllowed(HttpMethod.GET, "/v2/users/./1"));
+        assertFalse(BatchDispatcher.isAllowed(HttpMethod.GET, "/v2/users//1"));
+        assertFalse(BatchDispatcher.isAllowed(HttpMethod.GET, "/v2/users;jsessionid=1"));
+        assertFalse(BatchDispatcher.isAllowed(HttpMethod.GET, "/v1/users/1"));
+        assertFalse(BatchDispatcher.isAllowed(HttpMethod.OPTIONS, "/v2/users"));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch over the request limit")
+    void shouldRejectBatchOverLimit() throws Exception {
+        // Arrange
+        BatchOperation[] operations = new BatchOperation[6];
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = operation(null, "GET", "/v2/users/" + i);
+        }
+
+        // Act
+        DomainValidationException exception = assertThrows(DomainValidationException.class, () -> dispatch(operations));
+
+        // Assert
+        assertEquals(ErrorMessages.BATCH_REQUESTS_EXCEEDED.params(5), exception.getMessage());
+        verify(dispatcherServlet, never()).service(any(ServletRequest.class), any(ServletResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should answer a failed dispatch with a 500 result and keep the others")
+    void shouldAnswerFailedDispatchWithServerError() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            HttpServletRequest subRequest = invocation.getArgument(0);
+            if (subRequest.getRequestURI().endsWith("/2")) {
+                throw new ServletException("boom");
+            }
+            write(invocation.getArgument(1), 200, "{\"id\":1}");
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        // Act
+        List<BatchOperationResult> results = dispatch(
+                operation(null, "GET", "/v2/users/1"),
+                operation(null, "GET", "/v2/users/2"));
+
+        // Assert
+        assertEquals(200, results.get(0).status());
+        assertEquals(500, results.get(1).status());
+        assertEquals("1", results.get(1).id());
+    }
+}
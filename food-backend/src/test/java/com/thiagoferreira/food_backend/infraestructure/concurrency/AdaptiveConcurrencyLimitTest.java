@@ -0,0 +1,169 @@
+package com.thiagoferreira.food_backend.infraestructure.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long QUERY = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final Duration HORIZON = Duration.ofMinutes(1);
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimit limit(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimit(initial, min, max, HORIZON, clock::get);
+    }
+
+    // A database that serves `capacity` queries at once in queryNanos each; the rest wait for a connection
+    private static long latency(long queryNanos, int capacity, int inFlight) {
+        return queryNanos * Math.max(1, (inFlight + capacity - 1) / capacity);
+    }
+
+    // Keeps every slot of the limit taken for the given number of windows
+    private static void saturate(AdaptiveConcurrencyLimit limit, int windows, long queryNanos, int capacity) {
+        while (limit.tryAcquire()) {
+            // Take the slots left
+        }
+        for (int i = 0; i < windows * AdaptiveConcurrencyLimit.WINDOW_SAMPLES; i++) {
+            limit.release(latency(queryNanos, capacity, limit.getInFlight()));
+            while (limit.tryAcquire()) {
+                // Replace it, and take the slots a raised limit added
+            }
+        }
+    }
+
+    // Serves requests one at a time, so the limit learns the latency without queueing
+    private static void trickle(AdaptiveConcurrencyLimit limit, int windows, long queryNanos) {
+        for (int i = 0; i < windows * AdaptiveConcurrencyLimit.WINDOW_SAMPLES; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(queryNanos);
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse slots beyond the limit until one is released")
+    void shouldRefuseSlotsBeyondLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 10);
+
+        // Act
+        boolean first = limit.tryAcquire();
+        boolean second = limit.tryAcquire();
+        boolean third = limit.tryAcquire();
+        limit.release(QUERY);
+        boolean afterRelease = limit.tryAcquire();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while saturated requests keep their latency")
+    void shouldGrowWhileLatencyHolds() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(10, 2, 100);
+
+        // Act
+        saturate(limit, 10, QUERY, UNBOUNDED);
+
+        // Assert
+        assertTrue(limit.getLimit() > 40, "Limit " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should lower the limit to about the database capacity when queries slow down")
+    void shouldShrinkWhenRequestsQueue() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(80, 2, 400);
+        trickle(limit, 5, QUERY);
+
+        // Act
+        saturate(limit, 200, QUERY * 5, 10);
+
+        // Assert
+        assertTrue(limit.getLimit() <= 10, "Limit " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Should settle near the database capacity instead of letting requests pile up")
+    void shouldNotGrowPastCapacity() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(10, 2, 400);
+        trickle(limit, 5, QUERY);
+
+        // Act
+        saturate(limit, 500, QUERY, 10);
+
+        // Assert
+        assertTrue(limit.getLimit() <= 30, "Limit " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should take a slower database as the new baseline once the horizon has passed")
+    void shouldForgetOldBaselineAfterHorizon() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(20, 2, 400);
+        trickle(limit, 5, QUERY);
+        saturate(limit, 200, QUERY * 5, 10);
+        int shed = limit.getLimit();
+
+        // Act
+        clock.addAndGet(HORIZON.toNanos());
+        saturate(limit, 1, QUERY * 5, 10);
+        clock.addAndGet(HORIZON.toNanos());
+        saturate(limit, 20, QUERY * 5, 10);
+
+        // Assert
+        assertTrue(limit.getLimit() > shed, "Limit went from " + shed + " to " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not raise the limit while most of it is unused")
+    void shouldNotGrowWhenLightlyLoaded() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(20, 2, 100);
+
+        // Act
+        trickle(limit, 30, QUERY);
+
+        // Assert
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should keep the limit within its bounds")
+    void shouldStayWithinBounds() {
+        // Arrange
+        AdaptiveConcurrencyLimit growing = limit(10, 2, 12);
+        AdaptiveConcurrencyLimit shrinking = limit(12, 8, 16);
+        trickle(shrinking, 5, QUERY);
+
+        // Act
+        saturate(growing, 50, QUERY, UNBOUNDED);
+        saturate(shrinking, 50, QUERY * 100, 1);
+
+        // Assert
+        assertEquals(12, growing.getLimit());
+        assertEquals(8, shrinking.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should reject bounds that leave no room for a request")
+    void shouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> limit(1, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> limit(1, 5, 4));
+    }
+}
@@ -0,0 +1,159 @@
+package com.thiagoferreira.food_backend.infraestructure.concurrency;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.infraestructure.concurrency.ConcurrencyLimitFilter.RouteGroup;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimit authLimit;
+    private AdaptiveConcurrencyLimit readLimit;
+    private AdaptiveConcurrencyLimit writeLimit;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        authLimit = new AdaptiveConcurrencyLimit(1, 1, 10, Duration.ofMinutes(1));
+        readLimit = new AdaptiveConcurrencyLimit(1, 1, 10, Duration.ofMinutes(1));
+        writeLimit = new AdaptiveConcurrencyLimit(1, 1, 10, Duration.ofMinutes(1));
+        filter = new ConcurrencyLimitFilter(
+                Map.of(RouteGroup.AUTH, authLimit, RouteGroup.READ, readLimit, RouteGroup.WRITE, writeLimit),
+                jsonMapper, meterRegistry, new ProblemDetailMetrics(meterRegistry));
+    }
+
+    private double count(String group, String outcome) {
+        return meterRegistry.counter(ConcurrencyLimitFilter.METRIC_NAME, "group", group, "outcome", outcome).count();
+    }
+
+    @Test
+    @DisplayName("Should classify login, read and write routes and leave the others unlimited")
+    void shouldClassifyRoutes() {
+        assertEquals(RouteGroup.AUTH, ConcurrencyLimitFilter.groupOf("POST", "/v2/auth/login"));
+        assertEquals(RouteGroup.AUTH, ConcurrencyLimitFilter.groupOf("POST", "/auth/login"));
+        assertEquals(RouteGroup.READ, ConcurrencyLimitFilter.groupOf("GET", "/v2/users/1"));
+        assertEquals(RouteGroup.READ, ConcurrencyLimitFilter.groupOf("HEAD", "/v1/users"));
+        assertEquals(RouteGroup.WRITE, ConcurrencyLimitFilter.groupOf("POST", "/v2/users"));
+        assertEquals(RouteGroup.WRITE, ConcurrencyLimitFilter.groupOf("PATCH", "/v2/users/1/password"));
+        assertNull(ConcurrencyLimitFilter.groupOf("GET", "/actuator/health/readiness"));
+        assertNull(ConcurrencyLimitFilter.groupOf("GET", "/api-docs"));
+        assertNull(ConcurrencyLimitFilter.groupOf("OPTIONS", "/v2/users"));
+    }
+
+    @Test
+    @DisplayName("Should pass a request within the limit and release its slot afterwards")
+    void shouldPassRequestWithinLimit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v2/users/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Integer> inFlightDuringChain = new AtomicReference<>();
+        FilterChain chain = (req, res) -> inFlightDuringChain.set(readLimit.getInFlight());
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(1, inFlightDuringChain.get());
+        assertEquals(0, readLimit.getInFlight());
+        assertEquals(1, count("read", "accepted"));
+    }
+
+    @Test
+    @DisplayName("Should shed a request over the limit with a 503 ProblemDetail")
+    void shouldShedRequestOverLimit() throws Exception {
+        // Arrange
+        assertTrue(readLimit.tryAcquire());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v2/users/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> fail("A shed request must not reach the controllers");
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals(ConcurrencyLimitFilter.RETRY_AFTER_SECONDS, response.getHeader("Retry-After"));
+        JsonNode body = jsonMapper.readTree(response.getContentAsByteArray());
+        assertEquals("https://api.food-backend.com/problems/service-overloaded", body.get("type").asString());
+        assertEquals(503, body.get("status").asInt());
+        assertEquals(ErrorMessages.SERVICE_OVERLOADED.getMessage(), body.get("detail").asString());
+        assertEquals("/v2/users/1", body.get("properties").get("path").asString());
+        assertEquals(1, count("read", "rejected"));
+        assertEquals(1, meterRegistry.counter(ProblemDetailMetrics.METRIC_NAME,
+                "type", "service-overloaded", "status", "503").count());
+        assertEquals(1, readLimit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should keep serving logins and writes while reads are at their limit")
+    void shouldLimitGroupsSeparately() throws Exception {
+        // Arrange
+        assertTrue(readLimit.tryAcquire());
+        MockHttpServletResponse login = new MockHttpServletResponse();
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> { };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/v2/auth/login"), login, chain);
+        filter.doFilter(new MockHttpServletRequest("POST", "/v2/users"), write, chain);
+
+        // Assert
+        assertEquals(200, login.getStatus());
+        assertEquals(200, write.getStatus());
+        assertEquals(1, count("auth", "accepted"));
+        assertEquals(1, count("write", "accepted"));
+    }
+
+    @Test
+    @DisplayName("Should release the slot when the request fails")
+    void shouldReleaseSlotOnFailure() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v2/users");
+        FilterChain chain = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+
+        // Assert
+        assertEquals(0, writeLimit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should not limit actuator requests")
+    void shouldNotLimitActuator() throws Exception {
+        // Arrange
+        assertTrue(readLimit.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> reached = new AtomicReference<>(false);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health/readiness"), response,
+                (req, res) -> reached.set(true));
+
+        // Assert
+        assertTrue(reached.get());
+        assertEquals(200, response.getStatus());
+    }
+}
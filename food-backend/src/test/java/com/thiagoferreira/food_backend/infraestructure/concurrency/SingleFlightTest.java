@@ -0,0 +1,249 @@
+package com.thiagoferreira.food_backend.infraestructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(meterRegistry, "test");
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter(SingleFlight.METRIC_NAME, "name", "test", "outcome", outcome).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Returns once the caller is blocked on the load in flight
+    private Future<String> submitWaiter(Supplier<String> loader) throws InterruptedException {
+        BlockingQueue<Thread> caller = new ArrayBlockingQueue<>(1);
+        Future<String> waiter = executor.submit(() -> {
+            caller.add(Thread.currentThread());
+            return singleFlight.load("key", TIMEOUT, loader);
+        });
+        Thread thread = caller.poll(5, TimeUnit.SECONDS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread != null && thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return waiter;
+    }
+
+    @Test
+    @DisplayName("Should run one load for concurrent callers of the same key")
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.load("key", TIMEOUT, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "value";
+        }));
+        await(started);
+
+        // Act
+        List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(submitWaiter(() -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> waiter : waiters) {
+            assertEquals("value", waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, count("loaded"));
+        assertEquals(3, count("shared"));
+    }
+
+    @Test
+    @DisplayName("Should hand the load's exception to every caller")
+    void shouldShareLoadException() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.load("key", TIMEOUT, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalArgumentException("boom");
+        }));
+        await(started);
+
+        // Act
+        Future<String> waiter = submitWaiter(() -> "other");
+        release.countDown();
+
+        // Assert
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, leaderFailure.getCause());
+        assertSame(leaderFailure.getCause(), waiterFailure.getCause());
+    }
+
+    @Test
+    @DisplayName("Should let waiters load themselves when the leader failed for a reason of its own")
+    void shouldNotShareCallerSpecificFailure() throws Exception {
+        // Arrange
+        SingleFlight<String, String> deadlineAware = new SingleFlight<>(meterRegistry, "test", IllegalStateException.class::isInstance);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> deadlineAware.load("key", TIMEOUT, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("leader ran out of time");
+        }));
+        await(started);
+
+        // Act
+        BlockingQueue<Thread> caller = new ArrayBlockingQueue<>(1);
+        Future<String> waiter = executor.submit(() -> {
+            caller.add(Thread.currentThread());
+            return deadlineAware.load("key", TIMEOUT, () -> "own");
+        });
+        Thread thread = caller.poll(5, TimeUnit.SECONDS);
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Assert
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+        assertEquals("own", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, count("retried"));
+        assertEquals(0, count("shared"));
+    }
+
+    @Test
+    @DisplayName("Should stop waiting at the caller's own timeout when it is shorter than the leader's")
+    void shouldWaitNoLongerThanOwnTimeout() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.load("key", TIMEOUT, () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }));
+        await(started);
+
+        // Act
+        long start = System.nanoTime();
+        String result = singleFlight.load("key", Duration.ofMillis(100), () -> "own");
+        long waited = System.nanoTime() - start;
+        release.countDown();
+
+        // Assert
+        assertEquals("own", result);
+        assertTrue(waited < TIMEOUT.toNanos(), "Waited " + Duration.ofNanos(waited));
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, count("timeout"));
+    }
+
+    @Test
+    @DisplayName("Should load again once the previous load completed")
+    void shouldNotKeepResultsAfterLoad() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        String first = singleFlight.load("key", TIMEOUT, () -> "value-" + loads.incrementAndGet());
+        String second = singleFlight.load("key", TIMEOUT, () -> "value-" + loads.incrementAndGet());
+
+        // Assert
+        assertEquals("value-1", first);
+        assertEquals("value-2", second);
+        assertEquals(2, count("loaded"));
+        assertEquals(0, count("shared"));
+    }
+
+    @Test
+    @DisplayName("Should stop waiting on a load that runs past the timeout and load itself")
+    void shouldLoadItselfWhenSharedLoadIsSlow() throws Exception {
+        // Arrange
+        Duration timeout = Duration.ofMillis(200);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.load("key", timeout, () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }));
+        await(started);
+
+        // Act
+        String result = singleFlight.load("key", timeout, () -> "fast");
+        release.countDown();
+
+        // Assert
+        assertEquals("fast", result);
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, count("loaded"));
+        assertEquals(1, count("timeout"));
+    }
+
+    @Test
+    @DisplayName("Should not coalesce when the timeout is zero")
+    void shouldNotCoalesceWithZeroTimeout() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.load("key", Duration.ZERO, () -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        await(started);
+
+        // Act
+        String result = singleFlight.load("key", Duration.ZERO, () -> "second");
+        release.countDown();
+
+        // Assert
+        assertEquals("second", result);
+        assertEquals("first", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(2, count("loaded"));
+        assertEquals(0, count("shared"));
+    }
+}
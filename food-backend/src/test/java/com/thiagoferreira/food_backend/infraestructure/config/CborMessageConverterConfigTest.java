@@ -0,0 +1,98 @@
+package com.thiagoferreira.food_backend.infraestructure.config;
+
+import com.thiagoferreira.food_backend.domain.dto.AddressDTO;
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import com.thiagoferreira.food_backend.infraestructure.json.UserJsonModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.json.ProblemDetailJacksonMixin;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CborMessageConverterConfig Tests")
+class CborMessageConverterConfigTest {
+
+    @Mock
+    private HttpMessageConverters.ServerBuilder serverBuilder;
+
+    private final CborMessageConverterConfig config = new CborMessageConverterConfig();
+
+    private final JsonMapper jsonMapper = JsonMapper.builder()
+            .addModule(new UserJsonModule())
+            .addMixIn(ProblemDetail.class, ProblemDetailJacksonMixin.class)
+            .build();
+
+    private CBORMapper cborMapper() {
+        CBORMapper.Builder builder = CBORMapper.builder().addModule(new UserJsonModule());
+        config.problemDetailCborMapperCustomizer().customize(builder);
+        return builder.build();
+    }
+
+    @Test
+    @DisplayName("Should register the CBOR converter for application/cbor, including ProblemDetail")
+    void shouldRegisterCborConverter() {
+        // Arrange
+        ArgumentCaptor<HttpMessageConverter<?>> converter = ArgumentCaptor.forClass(HttpMessageConverter.class);
+
+        // Act
+        config.cborMessageConverterCustomizer(cborMapper()).customize(serverBuilder);
+
+        // Assert
+        verify(serverBuilder).withCborConverter(converter.capture());
+        assertEquals(List.of(MediaType.APPLICATION_CBOR), converter.getValue().getSupportedMediaTypes());
+        assertEquals(List.of(MediaType.APPLICATION_CBOR), converter.getValue().getSupportedMediaTypes(ProblemDetail.class));
+    }
+
+    @Test
+    @DisplayName("Should encode UserResponse in CBOR with the same document as JSON")
+    void shouldEncodeUserResponseLikeJson() {
+        // Arrange
+        UserResponse userResponse = new UserResponse(1L, "Test User", "test@example.com", "testuser",
+                UserType.CUSTOMER, new AddressDTO("Rua Teste", "123", "São Paulo", "01234-567"),
+                LocalDateTime.of(2026, 10, 19, 15, 10, 6));
+        CBORMapper cborMapper = cborMapper();
+
+        // Act
+        byte[] cbor = cborMapper.writeValueAsBytes(userResponse);
+        byte[] json = jsonMapper.writeValueAsBytes(userResponse);
+
+        // Assert
+        assertEquals(jsonMapper.readTree(json), cborMapper.readTree(cbor));
+        assertTrue(cbor.length < json.length);
+        assertEquals(userResponse.email(), cborMapper.readValue(cbor, UserResponse.class).email());
+    }
+
+    @Test
+    @DisplayName("Should encode ProblemDetail in CBOR with the same document as JSON")
+    void shouldEncodeProblemDetailLikeJson() {
+        // Arrange
+        ProblemDetail problemDetail = ProblemType.DOMAIN_VALIDATION_ERROR.create("The email provided is already registered.");
+        problemDetail.setProperty("path", "/v2/users");
+        CBORMapper cborMapper = cborMapper();
+
+        // Act
+        byte[] cbor = cborMapper.writeValueAsBytes(problemDetail);
+
+        // Assert
+        assertEquals(jsonMapper.readTree(jsonMapper.writeValueAsBytes(problemDetail)), cborMapper.readTree(cbor));
+        assertEquals("/v2/users", cborMapper.readTree(cbor).get("path").asString());
+        assertFalse(cborMapper.readTree(cbor).has("properties"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.thiagoferreira.food_backend.infraestructure.config;
+
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.entities.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NativeHintsConfig Tests")
+class NativeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should import the application runtime hints")
+    void shouldImportApplicationRuntimeHints() {
+        // Act
+        ImportRuntimeHints annotation = NativeHintsConfig.class.getAnnotation(ImportRuntimeHints.class);
+
+        // Assert
+        assertNotNull(annotation);
+        assertArrayEquals(new Class<?>[]{NativeHintsConfig.ApplicationRuntimeHints.class}, annotation.value());
+    }
+
+    @Test
+    @DisplayName("Should register reflection hints for DTOs and entities")
+    void shouldRegisterReflectionHintsForDtosAndEntities() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserResponse.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(User.class).test(hints));
+        NativeHintsConfig.BINDING_TYPES.forEach(type ->
+                assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName()));
+    }
+
+    @Test
+    @DisplayName("Should register reflection hints for jjwt implementation classes")
+    void shouldRegisterReflectionHintsForJjwt() {
+        // Assert
+        NativeHintsConfig.JJWT_TYPES.forEach(type ->
+                assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type)).test(hints), type));
+    }
+
+    @Test
+    @DisplayName("Should reference jjwt classes that exist on the runtime classpath")
+    void shouldReferenceExistingJjwtClasses() {
+        // Assert
+        NativeHintsConfig.JJWT_TYPES.forEach(type ->
+                assertDoesNotThrow(() -> Class.forName(type, false, getClass().getClassLoader()), type));
+    }
+
+    @Test
+    @DisplayName("Should register resource hints for jjwt services and swagger-ui")
+    void shouldRegisterResourceHints() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/resources/webjars/swagger-ui/5.18.2/index.html").test(hints));
+    }
+}
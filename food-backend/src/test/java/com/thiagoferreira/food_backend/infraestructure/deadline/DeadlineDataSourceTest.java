@@ -0,0 +1,86 @@
+package com.thiagoferreira.food_backend.infraestructure.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DeadlineDataSource Tests")
+class DeadlineDataSourceTest {
+
+    private static final String SQL = "select * from tb_users";
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    private Connection connect() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(SQL)).thenReturn(statement);
+        return new DeadlineDataSource(target).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should give statements the time left on the deadline, rounded up to seconds")
+    void shouldSetQueryTimeoutFromDeadline() throws Exception {
+        // Arrange
+        Connection wrapped = connect();
+        RequestDeadline.start(Duration.ofMillis(2500));
+
+        // Act
+        PreparedStatement prepared = wrapped.prepareStatement(SQL);
+
+        // Assert
+        assertSame(statement, prepared);
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    @DisplayName("Should leave statements without a deadline untouched")
+    void shouldNotTouchStatementsWithoutDeadline() throws Exception {
+        // Arrange
+        Connection wrapped = connect();
+
+        // Act
+        wrapped.prepareStatement(SQL);
+
+        // Assert
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should refuse a statement once the deadline passed")
+    void shouldRefuseStatementAfterDeadline() throws Exception {
+        // Arrange
+        Connection wrapped = connect();
+        RequestDeadline.start(Duration.ofNanos(-1));
+
+        // Act & Assert
+        SQLTimeoutException e = assertThrows(SQLTimeoutException.class, () -> wrapped.prepareStatement(SQL));
+        assertEquals(DeadlineDataSource.QUERY_CANCELED, e.getSQLState());
+        verify(connection, never()).prepareStatement(SQL);
+    }
+
+    @Test
+    @DisplayName("Should round partial seconds up and never go below one second")
+    void shouldRoundTimeoutUp() {
+        assertEquals(1, DeadlineDataSource.timeoutSeconds(1));
+        assertEquals(1, DeadlineDataSource.timeoutSeconds(TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(2, DeadlineDataSource.timeoutSeconds(TimeUnit.SECONDS.toNanos(1) + 1));
+        assertEquals(Integer.MAX_VALUE, DeadlineDataSource.timeoutSeconds(Long.MAX_VALUE - 1));
+    }
+}
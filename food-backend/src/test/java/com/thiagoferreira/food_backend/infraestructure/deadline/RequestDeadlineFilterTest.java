@@ -0,0 +1,113 @@
+package com.thiagoferreira.food_backend.infraestructure.deadline;
+
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestDeadlineFilter Tests")
+class RequestDeadlineFilterTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(jsonMapper,
+            new ProblemDetailMetrics(new SimpleMeterRegistry()), new ClientErrorLogPolicy(Duration.ofSeconds(10), 2),
+            Duration.ofSeconds(10), Duration.ofSeconds(30));
+
+    @Test
+    @DisplayName("Should take the budget from the header, up to the maximum, or the default without one")
+    void shouldResolveBudget() {
+        assertEquals(Duration.ofSeconds(10), filter.budgetOf(null));
+        assertEquals(Duration.ofMillis(250), filter.budgetOf("250"));
+        assertEquals(Duration.ofSeconds(30), filter.budgetOf("600000"));
+        assertNull(filter.budgetOf("0"));
+        assertNull(filter.budgetOf("-5"));
+        assertNull(filter.budgetOf("1.5s"));
+    }
+
+    @Test
+    @DisplayName("Should run the chain under the requested deadline and clear it afterwards")
+    void shouldRunChainUnderDeadline() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v2/users/1");
+        request.addHeader(RequestDeadlineFilter.HEADER, "500");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicLong remaining = new AtomicLong();
+        FilterChain chain = (req, res) -> remaining.set(RequestDeadline.remainingNanos());
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertTrue(remaining.get() > 0 && remaining.get() <= Duration.ofMillis(500).toNanos());
+        assertFalse(RequestDeadline.isSet());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid header with a 400 ProblemDetail")
+    void shouldRejectInvalidHeader() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v2/users/1");
+        request.addHeader(RequestDeadlineFilter.HEADER, "soon");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> fail("The chain should not run");
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(400, response.getStatus());
+        JsonNode body = jsonMapper.readTree(response.getContentAsString());
+        assertEquals("Domain Validation Error", body.get("title").asString());
+    }
+
+    @Test
+    @DisplayName("Should answer a deadline passed in a later filter with a 504 ProblemDetail")
+    void shouldAnswerDeadlineExceededWith504() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v2/users/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            throw new DeadlineExceededException();
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(504, response.getStatus());
+        JsonNode body = jsonMapper.readTree(response.getContentAsString());
+        assertEquals("Deadline Exceeded", body.get("title").asString());
+        assertFalse(RequestDeadline.isSet());
+    }
+
+    @Test
+    @DisplayName("Should leave actuator and API docs requests without a deadline")
+    void shouldSkipNonApiPaths() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        request.addHeader(RequestDeadlineFilter.HEADER, "soon");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicLong remaining = new AtomicLong();
+        FilterChain chain = (req, res) -> remaining.set(RequestDeadline.remainingNanos());
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(Long.MAX_VALUE, remaining.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.thiagoferreira.food_backend.infraestructure.deadline;
+
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestDeadline Tests")
+class RequestDeadlineTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Should not limit a thread without a deadline")
+    void shouldNotLimitThreadWithoutDeadline() {
+        assertFalse(RequestDeadline.isSet());
+        assertEquals(Long.MAX_VALUE, RequestDeadline.remainingNanos());
+        assertDoesNotThrow(RequestDeadline::check);
+        assertEquals(Duration.ofSeconds(5), RequestDeadline.cap(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    @DisplayName("Should cap waits at the time left and fail checks once it passed")
+    void shouldCapAndFailOnceDeadlinePassed() {
+        // Arrange
+        RequestDeadline.start(Duration.ofSeconds(1));
+
+        // Act
+        Duration capped = RequestDeadline.cap(Duration.ofMinutes(1));
+        Duration shorter = RequestDeadline.cap(Duration.ofMillis(10));
+        RequestDeadline.start(Duration.ofNanos(-1));
+
+        // Assert
+        assertTrue(capped.compareTo(Duration.ofSeconds(1)) <= 0 && capped.isPositive(), "Capped at " + capped);
+        assertEquals(Duration.ofMillis(10), shorter);
+        assertEquals(Duration.ZERO, RequestDeadline.cap(Duration.ofSeconds(5)));
+        assertThrows(DeadlineExceededException.class, RequestDeadline::check);
+    }
+
+    @Test
+    @DisplayName("Should carry the deadline to a task run on another thread")
+    void shouldPropagateDeadlineToAnotherThread() {
+        // Arrange
+        RequestDeadline.start(Duration.ofSeconds(30));
+        AtomicLong remaining = new AtomicLong();
+        Runnable task = RequestDeadline.propagate(() -> remaining.set(RequestDeadline.remainingNanos()));
+
+        // Act
+        CompletableFuture.runAsync(task).join();
+        boolean setAfterwards = CompletableFuture.supplyAsync(RequestDeadline::isSet).join();
+
+        // Assert
+        assertTrue(remaining.get() > 0 && remaining.get() <= Duration.ofSeconds(30).toNanos());
+        assertFalse(setAfterwards);
+    }
+
+    @Test
+    @DisplayName("Should run work without the deadline and restore it afterwards")
+    void shouldRunWithoutDeadline() {
+        // Arrange
+        RequestDeadline.start(Duration.ofNanos(-1));
+        AtomicLong remaining = new AtomicLong();
+
+        // Act
+        RequestDeadline.runWithout(() -> {
+            RequestDeadline.check();
+            remaining.set(RequestDeadline.remainingNanos());
+        });
+
+        // Assert
+        assertEquals(Long.MAX_VALUE, remaining.get());
+        assertThrows(DeadlineExceededException.class, RequestDeadline::check);
+    }
+
+    @Test
+    @DisplayName("Should recognize failures caused by a deadline running out")
+    void shouldRecognizeDeadlineFailures() {
+        // Act & Assert
+        assertTrue(RequestDeadline.isDeadlineFailure(new DeadlineExceededException()));
+        assertTrue(RequestDeadline.isDeadlineFailure(new QueryTimeoutException("Statement was canceled")));
+        assertFalse(RequestDeadline.isDeadlineFailure(new IllegalStateException("Connection refused")));
+    }
+}
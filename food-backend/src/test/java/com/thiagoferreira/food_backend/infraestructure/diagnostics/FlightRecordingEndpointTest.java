@@ -0,0 +1,131 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.FlightRecordingEndpoint.RecordingDescriptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FlightRecordingEndpoint Tests")
+class FlightRecordingEndpointTest {
+
+    @TempDir
+    private Path directory;
+
+    private FlightRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new FlightRecordingEndpoint(Duration.ofMinutes(1), DataSize.ofMegabytes(10), directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.recordings().forEach(recording -> endpoint.stop(recording.id()));
+    }
+
+    @Test
+    @DisplayName("Should start a recording capped at the maximum duration")
+    void shouldStartRecordingCappedAtMaxDuration() {
+        // Act
+        WebEndpointResponse<RecordingDescriptor> response = endpoint.start(Duration.ofHours(1), "default");
+
+        // Assert
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        assertEquals("RUNNING", response.getBody().state());
+        assertEquals(Duration.ofMinutes(1), response.getBody().duration());
+        assertEquals(1, endpoint.recordings().size());
+    }
+
+    @Test
+    @DisplayName("Should refuse a second recording while one is running")
+    void shouldRefuseConcurrentRecording() {
+        // Arrange
+        RecordingDescriptor running = endpoint.start(Duration.ofSeconds(30), null).getBody();
+
+        // Act
+        WebEndpointResponse<RecordingDescriptor> response = endpoint.start(Duration.ofSeconds(30), null);
+
+        // Assert
+        assertEquals(FlightRecordingEndpoint.STATUS_CONFLICT, response.getStatus());
+        assertEquals(running.id(), response.getBody().id());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown recording settings")
+    void shouldRejectUnknownSettings() {
+        // Act
+        WebEndpointResponse<RecordingDescriptor> response = endpoint.start(null, "everything");
+
+        // Assert
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, response.getStatus());
+        assertTrue(endpoint.recordings().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should only serve the recording file once it is stopped")
+    void shouldServeRecordingOnceStopped() throws Exception {
+        // Arrange
+        long id = endpoint.start(Duration.ofSeconds(30), "default").getBody().id();
+        assertEquals(FlightRecordingEndpoint.STATUS_CONFLICT, endpoint.download(id).getStatus());
+
+        // Act
+        WebEndpointResponse<RecordingDescriptor> stopped = endpoint.stop(id);
+        WebEndpointResponse<Resource> download = endpoint.download(id);
+
+        // Assert
+        assertNotEquals("RUNNING", stopped.getBody().state());
+        assertEquals(WebEndpointResponse.STATUS_OK, download.getStatus());
+        assertTrue(download.getBody().contentLength() > 0);
+    }
+
+    @Test
+    @DisplayName("Should leave environment variables and system properties out of the recording")
+    void shouldNotRecordEnvironmentOrSystemProperties() throws Exception {
+        // Arrange
+        long id = endpoint.start(Duration.ofSeconds(30), "profile").getBody().id();
+
+        // Act
+        endpoint.stop(id);
+        Path file = endpoint.download(id).getBody().getFile().toPath();
+
+        // Assert
+        List<String> recorded = RecordingFile.readAllEvents(file).stream()
+                .map(event -> event.getEventType().getName())
+                .toList();
+        assertFalse(recorded.isEmpty());
+        assertTrue(recorded.stream().noneMatch(FlightRecordingEndpoint.SECRET_BEARING_EVENTS::contains), "Recorded " + recorded.stream().distinct().toList());
+    }
+
+    @Test
+    @DisplayName("Should return not found for unknown recordings")
+    void shouldReturnNotFoundForUnknownRecording() {
+        // Act & Assert
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.download(-1).getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.stop(-1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent recordings")
+    void shouldKeepOnlyMostRecentRecordings() {
+        // Act
+        for (int i = 0; i < FlightRecordingEndpoint.KEPT_RECORDINGS + 2; i++) {
+            long id = endpoint.start(Duration.ofSeconds(30), "default").getBody().id();
+            endpoint.stop(id);
+        }
+
+        // Assert
+        assertEquals(FlightRecordingEndpoint.KEPT_RECORDINGS, endpoint.recordings().size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import com.thiagoferreira.food_backend.support.FlightRecorderCapture;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RepositoryEventPostProcessor Tests")
+class RepositoryEventPostProcessorTest {
+
+    interface SampleRepository {
+        String findByLogin(String login);
+    }
+
+    @Test
+    @DisplayName("Should emit a repository event with the method name and a successful outcome")
+    void shouldEmitEventForSuccessfulCall() {
+        // Arrange
+        SampleRepository repository = proxy(login -> "user-" + login);
+
+        // Act
+        List<RecordedEvent> events = FlightRecorderCapture.record(RepositoryEvent.NAME,
+                () -> assertEquals("user-test", repository.findByLogin("test")));
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals("SampleRepository", events.get(0).getString("repository"));
+        assertEquals("findByLogin", events.get(0).getString("method"));
+        assertEquals("ok", events.get(0).getString("outcome"));
+    }
+
+    @Test
+    @DisplayName("Should emit a repository event with an error outcome when the call fails")
+    void shouldEmitEventForFailedCall() {
+        // Arrange
+        SampleRepository repository = proxy(login -> {
+            throw new IllegalStateException("connection refused");
+        });
+
+        // Act
+        List<RecordedEvent> events = FlightRecorderCapture.record(RepositoryEvent.NAME,
+                () -> assertThrows(IllegalStateException.class, () -> repository.findByLogin("test")));
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals("error", events.get(0).getString("outcome"));
+    }
+
+    @Test
+    @DisplayName("Should leave beans that are not repository factories untouched")
+    void shouldLeaveOtherBeansUntouched() {
+        // Arrange
+        Object bean = new Object();
+
+        // Act & Assert
+        assertSame(bean, new RepositoryEventPostProcessor().postProcessBeforeInitialization(bean, "bean"));
+    }
+
+    private SampleRepository proxy(SampleRepository target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(SampleRepository.class);
+        proxyFactory.addAdvice(RepositoryEventPostProcessor.interceptor(SampleRepository.class.getSimpleName()));
+        return (SampleRepository) proxyFactory.getProxy();
+    }
+}
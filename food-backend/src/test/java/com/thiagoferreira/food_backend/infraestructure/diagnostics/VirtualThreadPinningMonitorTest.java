@@ -0,0 +1,58 @@
+package com.thiagoferreira.food_backend.infraestructure.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VirtualThreadPinningMonitor Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(1));
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should start and stop the recording stream")
+    void shouldStartAndStopRecordingStream() {
+        // Act
+        monitor.start();
+
+        // Assert
+        assertTrue(monitor.isRunning());
+        monitor.stop();
+        assertFalse(monitor.isRunning());
+    }
+
+    @Test
+    @DisplayName("Should report a virtual thread that blocks inside a synchronized block")
+    void shouldReportPinnedVirtualThread() throws Exception {
+        // Arrange
+        monitor.start();
+        Object lock = new Object();
+
+        // Act
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (monitor.getPinnedEvents() == 0 && System.nanoTime() < deadline) {
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+            Thread.sleep(200);
+        }
+
+        // Assert
+        assertTrue(monitor.getPinnedEvents() > 0);
+    }
+}
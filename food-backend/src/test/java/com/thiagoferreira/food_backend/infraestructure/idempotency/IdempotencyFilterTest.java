@@ -0,0 +1,260 @@
+package com.thiagoferreira.food_backend.infraestructure.idempotency;
+
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"name\":\"New User\",\"login\":\"newuser\"}";
+    private static final String KEY = "7f6c1b9e-3d2a-4c55-9a0e-2b8f4e1d6a10";
+
+    @Mock
+    private ClientErrorLogPolicy clientErrors;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new IdempotencyStore(Duration.ofHours(1), 100, Duration.ofSeconds(5)), JsonMapper.builder().build(),
+                meterRegistry, new ProblemDetailMetrics(meterRegistry), clientErrors);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // Creates a user: reads the whole body, answers 201 with an id that changes on every execution
+    private FilterChain createUser() {
+        return (request, response) -> {
+            int id = executions.incrementAndGet();
+            assertEquals(BODY, new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType("application/json");
+            httpResponse.setHeader("Location", "/v2/users/" + id);
+            httpResponse.getOutputStream().write(("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response of a retry without running it again")
+    void shouldReplayStoredResponse() throws Exception {
+        // Act
+        MockHttpServletResponse first = send(request("POST", "/v2/users", KEY, BODY), createUser());
+        MockHttpServletResponse retry = send(request("POST", "/v2/users", KEY, BODY), createUser());
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertArrayEquals(first.getContentAsByteArray(), retry.getContentAsByteArray());
+        assertEquals("application/json", retry.getContentType());
+        assertEquals("/v2/users/1", retry.getHeader("Location"));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, meterRegistry.get(IdempotencyFilter.METRIC_NAME).tag("outcome", "replayed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the request in flight")
+    void shouldMakeConcurrentDuplicateWait() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            started.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            createUser().doFilter(request, response);
+        };
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> sendQuietly(slowCreate));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> sendQuietly(createUser()));
+        Thread.sleep(50);
+        release.countDown();
+
+        // Assert
+        assertEquals("{\"id\":1}", duplicate.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals("{\"id\":1}", first.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, executions.get());
+    }
+
+    private MockHttpServletResponse sendQuietly(FilterChain chain) {
+        try {
+            return send(request("POST", "/v2/users", KEY, BODY), chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer 422 when a key is reused with a different body")
+    void shouldRejectKeyReusedWithDifferentBody() throws Exception {
+        // Arrange
+        send(request("POST", "/v2/users", KEY, BODY), createUser());
+
+        // Act
+        MockHttpServletResponse response = send(request("POST", "/v2/users", KEY, "{\"name\":\"Other\"}"), createUser());
+
+        // Assert
+        assertEquals(422, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        assertTrue(response.getContentAsString().contains("idempotency-key-reused"), response.getContentAsString());
+        assertEquals(1, executions.get());
+        verify(clientErrors).record(eq("idempotency-key-reused"), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should scope keys to the caller")
+    void shouldScopeKeysToCaller() throws Exception {
+        // Arrange
+        send(request("POST", "/v2/users", KEY, BODY), createUser());
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("caller", null, Collections.emptyList()));
+
+        // Act
+        MockHttpServletResponse response = send(request("POST", "/v2/users", KEY, BODY), createUser());
+
+        // Assert
+        assertEquals(2, executions.get());
+        assertEquals("{\"id\":2}", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should require a UUID key from anonymous callers only")
+    void shouldRequireUuidKeyFromAnonymousCallers() throws Exception {
+        // Act
+        MockHttpServletResponse anonymous = send(request("POST", "/v2/users", "key-1", BODY), createUser());
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("caller", null, Collections.emptyList()));
+        MockHttpServletResponse authenticated = send(request("POST", "/v2/users", "key-1", BODY), createUser());
+
+        // Assert
+        assertEquals(400, anonymous.getStatus());
+        assertEquals(201, authenticated.getStatus());
+        assertEquals(1, executions.get());
+        verify(clientErrors).record(eq("domain-validation-error"), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should run a retry again after a server error")
+    void shouldRunRetryAfterServerError() throws Exception {
+        // Arrange
+        send(request("POST", "/v2/users", KEY, BODY), (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+        });
+
+        // Act
+        MockHttpServletResponse retry = send(request("POST", "/v2/users", KEY, BODY), createUser());
+
+        // Assert
+        assertEquals(201, retry.getStatus());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for a key longer than the limit")
+    void shouldRejectOverlongKey() throws Exception {
+        // Act
+        MockHttpServletResponse response = send(
+                request("POST", "/v2/users", "k".repeat(IdempotencyFilter.MAX_KEY_LENGTH + 1), BODY), createUser());
+
+        // Assert
+        assertEquals(400, response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when the store is full of requests still running")
+    void shouldShedClaimsWhenStoreIsFull() throws Exception {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(Duration.ofHours(1), 1, Duration.ofSeconds(5));
+        store.claim("running", "fingerprint");
+        filter = new IdempotencyFilter(store, JsonMapper.builder().build(), meterRegistry,
+                new ProblemDetailMetrics(meterRegistry), clientErrors);
+
+        // Act
+        MockHttpServletResponse response = send(request("POST", "/v2/users", KEY, BODY), createUser());
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals(IdempotencyFilter.RETRY_AFTER_SECONDS, response.getHeader("Retry-After"));
+        assertEquals("application/json", response.getContentType());
+        assertTrue(response.getContentAsString().contains("service-overloaded"), response.getContentAsString());
+        assertEquals(0, executions.get());
+        assertEquals(1.0, meterRegistry.get(IdempotencyFilter.METRIC_NAME).tag("outcome", "overloaded").counter().count());
+        assertEquals(0.0, meterRegistry.get(IdempotencyFilter.METRIC_NAME).tag("outcome", "executed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should pass requests without a key or on other routes straight through")
+    void shouldPassThroughOtherRequests() throws Exception {
+        // Act
+        send(request("POST", "/v2/users", null, BODY), createUser());
+        send(request("POST", "/v2/users", null, BODY), createUser());
+        MockHttpServletResponse update = send(request("PUT", "/v2/users/1", KEY, BODY), createUser());
+
+        // Assert
+        assertEquals(3, executions.get());
+        assertNull(update.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertTrue(IdempotencyFilter.isIdempotentRoute("PATCH", "/v2/users/1/password"));
+        assertFalse(IdempotencyFilter.isIdempotentRoute("PATCH", "/v2/users/1"));
+        assertFalse(IdempotencyFilter.isIdempotentRoute("POST", "/v2/auth/login"));
+    }
+}
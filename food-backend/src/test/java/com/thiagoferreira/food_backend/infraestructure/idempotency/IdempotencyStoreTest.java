@@ -0,0 +1,143 @@
+package com.thiagoferreira.food_backend.infraestructure.idempotency;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import com.thiagoferreira.food_backend.exceptions.ServiceOverloadedException;
+import com.thiagoferreira.food_backend.infraestructure.deadline.RequestDeadline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotencyStore Tests")
+class IdempotencyStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(10), 2, Duration.ofSeconds(5), now::get);
+
+    private static IdempotencyStore.StoredResponse response(int status) {
+        return new IdempotencyStore.StoredResponse(status, Map.of("Content-Type", List.of("application/json")), "{}".getBytes());
+    }
+
+    @Test
+    @DisplayName("Should hand the owner's response to later claims of the key")
+    void shouldShareResponseWithLaterClaims() {
+        // Arrange
+        IdempotencyStore.Claim owner = store.claim("key", "fingerprint");
+        IdempotencyStore.StoredResponse response = response(201);
+
+        // Act
+        IdempotencyStore.Claim duplicate = store.claim("key", "other");
+        store.complete(owner, response);
+
+        // Assert
+        assertTrue(owner.owner());
+        assertFalse(duplicate.owner());
+        assertEquals("fingerprint", duplicate.fingerprint());
+        assertSame(response, store.await(duplicate));
+    }
+
+    @Test
+    @DisplayName("Should forget a key once its TTL has passed")
+    void shouldExpireKeysAfterTtl() {
+        // Arrange
+        store.complete(store.claim("key", "fingerprint"), response(201));
+
+        // Act
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        IdempotencyStore.Claim claim = store.claim("key", "fingerprint");
+
+        // Assert
+        assertTrue(claim.owner());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest key when full")
+    void shouldEvictOldestKeyWhenFull() {
+        // Arrange
+        store.complete(store.claim("first", "fingerprint"), response(201));
+        store.complete(store.claim("second", "fingerprint"), response(201));
+
+        // Act
+        store.complete(store.claim("third", "fingerprint"), response(201));
+
+        // Assert
+        assertEquals(2, store.size());
+        assertTrue(store.claim("first", "fingerprint").owner());
+        assertFalse(store.claim("third", "fingerprint").owner());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest completed key when full, keeping the ones still running")
+    void shouldKeepRunningClaimsWhenFull() {
+        // Arrange
+        IdempotencyStore.Claim running = store.claim("running", "fingerprint");
+        store.complete(store.claim("done", "fingerprint"), response(201));
+
+        // Act
+        IdempotencyStore.Claim third = store.claim("third", "fingerprint");
+
+        // Assert
+        assertTrue(third.owner());
+        assertEquals(2, store.size());
+        assertFalse(store.claim("running", "fingerprint").owner());
+        assertSame(running.response(), store.claim("running", "fingerprint").response());
+    }
+
+    @Test
+    @DisplayName("Should refuse a new key when every stored key is still running")
+    void shouldRefuseClaimsWhenFullOfRunningClaims() {
+        // Arrange
+        IdempotencyStore.Claim first = store.claim("first", "fingerprint");
+        store.claim("second", "fingerprint");
+
+        // Act
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> store.claim("third", "fingerprint"));
+        store.complete(first, response(201));
+
+        // Assert
+        assertEquals(ErrorMessages.IDEMPOTENCY_STORE_FULL, exception.getError());
+        assertFalse(store.claim("second", "fingerprint").owner());
+        assertTrue(store.claim("third", "fingerprint").owner());
+    }
+
+    @Test
+    @DisplayName("Should release the key after a server error or a failure without response")
+    void shouldReleaseKeyAfterFailures() {
+        // Arrange
+        IdempotencyStore.Claim serverError = store.claim("error", "fingerprint");
+        IdempotencyStore.Claim waiting = store.claim("error", "fingerprint");
+        IdempotencyStore.Claim failed = store.claim("failed", "fingerprint");
+
+        // Act
+        store.complete(serverError, response(503));
+        store.complete(failed, null);
+
+        // Assert
+        assertEquals(503, store.await(waiting).status());
+        assertTrue(store.claim("error", "fingerprint").owner());
+        assertTrue(store.claim("failed", "fingerprint").owner());
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for the owner at the deadline of the waiting request")
+    void shouldStopWaitingAtDeadline() {
+        // Arrange
+        store.claim("slow", "fingerprint");
+        IdempotencyStore.Claim waiting = store.claim("slow", "fingerprint");
+        RequestDeadline.start(Duration.ofMillis(10));
+
+        try {
+            // Act & Assert
+            assertThrows(DeadlineExceededException.class, () -> store.await(waiting));
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
+import com.thiagoferreira.food_backend.mappers.SparseUserList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.ser.FilterProvider;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserFieldsResponseBodyAdvice Tests")
+class UserFieldsResponseBodyAdviceTest {
+
+    private final UserFieldsResponseBodyAdvice advice = new UserFieldsResponseBodyAdvice();
+
+    @Test
+    @DisplayName("Should apply to the Jackson converters only")
+    void shouldApplyToJacksonConvertersOnly() {
+        // Act & Assert
+        assertTrue(advice.supports(null, JacksonJsonHttpMessageConverter.class));
+        assertTrue(advice.supports(null, JacksonCborHttpMessageConverter.class));
+        assertFalse(advice.supports(null, StringHttpMessageConverter.class));
+    }
+
+    @Test
+    @DisplayName("Should pass the field selection of a sparse page as the filter provider hint")
+    void shouldPassFieldSelectionAsHint() {
+        // Arrange
+        List<UserResponse> body = SparseUserList.of(
+                List.of(new UserResponse(1L, "User 1", null, null, null, null, null)), EnumSet.of(UserField.ID));
+
+        // Act
+        Map<String, Object> hints = advice.determineWriteHints(body, null, MediaType.APPLICATION_JSON,
+                JacksonJsonHttpMessageConverter.class);
+
+        // Assert
+        UserFieldsFilter filter = assertInstanceOf(UserFieldsFilter.class, hints.get(FilterProvider.class.getName()));
+        assertEquals(EnumSet.of(UserField.ID), filter.fields());
+    }
+
+    @Test
+    @DisplayName("Should add no hints to other bodies")
+    void shouldAddNoHintsToOtherBodies() {
+        // Act & Assert
+        assertNull(advice.determineWriteHints(List.of(), null, MediaType.APPLICATION_JSON,
+                JacksonJsonHttpMessageConverter.class));
+    }
+}
@@ -0,0 +1,127 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import com.thiagoferreira.food_backend.domain.dto.AddressDTO;
+import com.thiagoferreira.food_backend.domain.dto.TokenResponse;
+import com.thiagoferreira.food_backend.domain.dto.UserBatchItem;
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserJsonModule Tests")
+class UserJsonModuleTest {
+
+    private final JsonMapper reflective = JsonMapper.builder().build();
+    private final JsonMapper jsonMapper = JsonMapper.builder().addModule(new UserJsonModule()).build();
+
+    private final UserResponse userResponse = new UserResponse(
+            1L,
+            "Test \"User\"",
+            "test@example.com",
+            "testuser",
+            UserType.CUSTOMER,
+            new AddressDTO("Rua Teste", "123", "São Paulo", "01234-567"),
+            LocalDateTime.of(2026, 10, 19, 15, 10, 6, 830_322_000)
+    );
+
+    @Test
+    @DisplayName("Should write UserResponse with properties in alphabetical order")
+    void shouldWriteUserResponseInAlphabeticalOrder() {
+        // Act
+        String json = jsonMapper.writeValueAsString(userResponse);
+
+        // Assert
+        assertEquals("{\"address\":{\"city\":\"São Paulo\",\"number\":\"123\",\"street\":\"Rua Teste\",\"zipCode\":\"01234-567\"},"
+                + "\"email\":\"test@example.com\",\"id\":1,\"lastUpdate\":\"2026-10-19T15:10:06.830322\","
+                + "\"login\":\"testuser\",\"name\":\"Test \\\"User\\\"\",\"type\":\"CUSTOMER\"}", json);
+    }
+
+    @Test
+    @DisplayName("Should write the same document as the reflective serializer")
+    void shouldWriteSameDocumentAsReflectiveSerializer() {
+        // Arrange
+        UserResponse empty = new UserResponse(null, null, null, null, null, null, null);
+        List<UserBatchItem> batch = List.of(new UserBatchItem("1", true, userResponse), new UserBatchItem("2", false, null));
+
+        // Act & Assert
+        assertEquals(reflective.readTree(reflective.writeValueAsString(userResponse)),
+                jsonMapper.readTree(jsonMapper.writeValueAsString(userResponse)));
+        assertEquals(reflective.readTree(reflective.writeValueAsString(empty)),
+                jsonMapper.readTree(jsonMapper.writeValueAsString(empty)));
+        assertEquals(reflective.readTree(reflective.writeValueAsString(batch)),
+                jsonMapper.readTree(jsonMapper.writeValueAsString(batch)));
+    }
+
+    @Test
+    @DisplayName("Should write nulls for absent UserResponse properties")
+    void shouldWriteNullsForAbsentProperties() {
+        // Arrange
+        UserResponse empty = new UserResponse(null, null, null, null, null, null, null);
+
+        // Act
+        String json = jsonMapper.writeValueAsString(empty);
+
+        // Assert
+        assertEquals("{\"address\":null,\"email\":null,\"id\":null,\"lastUpdate\":null,"
+                + "\"login\":null,\"name\":null,\"type\":null}", json);
+    }
+
+    @Test
+    @DisplayName("Should write only the fields selected on the writer")
+    void shouldWriteOnlySelectedFields() {
+        // Arrange
+        UserFieldsFilter filter = new UserFieldsFilter(EnumSet.of(UserField.NAME, UserField.ID, UserField.ADDRESS));
+
+        // Act
+        String json = jsonMapper.writer(filter).writeValueAsString(List.of(userResponse));
+
+        // Assert
+        assertEquals("[{\"address\":{\"city\":\"São Paulo\",\"number\":\"123\",\"street\":\"Rua Teste\",\"zipCode\":\"01234-567\"},"
+                + "\"id\":1,\"name\":\"Test \\\"User\\\"\"}]", json);
+    }
+
+    @Test
+    @DisplayName("Should write TokenResponse with the Bearer type")
+    void shouldWriteTokenResponse() {
+        // Act
+        String json = jsonMapper.writeValueAsString(new TokenResponse("abc.def.ghi"));
+
+        // Assert
+        assertEquals("{\"token\":\"abc.def.ghi\",\"type\":\"Bearer\"}", json);
+    }
+
+    @Test
+    @DisplayName("Should format date-times exactly like ISO_LOCAL_DATE_TIME")
+    void shouldFormatDateTimesLikeIsoLocalDateTime() {
+        // Arrange
+        List<LocalDateTime> values = List.of(
+                LocalDateTime.of(2026, 1, 2, 3, 4),
+                LocalDateTime.of(2026, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2026, 12, 31, 23, 59, 59, 1),
+                LocalDateTime.of(2026, 6, 15, 12, 0, 0, 100_000_000),
+                LocalDateTime.of(2026, 6, 15, 12, 0, 0, 120_000),
+                LocalDateTime.of(2026, 6, 15, 12, 0, 0, 999_999_999),
+                LocalDateTime.of(999, 6, 15, 12, 0),
+                LocalDateTime.of(12026, 6, 15, 12, 0)
+        );
+
+        for (LocalDateTime value : values) {
+            // Act
+            String json = jsonMapper.writeValueAsString(
+                    new UserResponse(null, null, null, null, null, null, value));
+
+            // Assert
+            String expected = "\"lastUpdate\":\"" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) + "\"";
+            assertTrue(json.contains(expected), () -> json + " should contain " + expected);
+        }
+    }
+}
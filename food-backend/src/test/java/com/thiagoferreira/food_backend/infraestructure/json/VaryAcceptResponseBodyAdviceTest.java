@@ -0,0 +1,54 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VaryAcceptResponseBodyAdvice Tests")
+class VaryAcceptResponseBodyAdviceTest {
+
+    private final VaryAcceptResponseBodyAdvice advice = new VaryAcceptResponseBodyAdvice();
+
+    @Test
+    @DisplayName("Should apply to the Jackson converters only")
+    void shouldApplyToJacksonConvertersOnly() {
+        // Act & Assert
+        assertTrue(advice.supports(null, JacksonJsonHttpMessageConverter.class));
+        assertTrue(advice.supports(null, JacksonCborHttpMessageConverter.class));
+        assertFalse(advice.supports(null, StringHttpMessageConverter.class));
+    }
+
+    @Test
+    @DisplayName("Should add Accept to Vary once, keeping the other values")
+    void shouldVaryByAcceptOnce() throws Exception {
+        // Arrange
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        servletResponse.addHeader(HttpHeaders.VARY, "Origin");
+        ServletServerHttpResponse response = new ServletServerHttpResponse(servletResponse);
+        ServletServerHttpRequest request = new ServletServerHttpRequest(new MockHttpServletRequest("GET", "/v2/users/1"));
+        Object body = List.of();
+
+        // Act
+        Object written = advice.beforeBodyWrite(body, null, MediaType.APPLICATION_CBOR,
+                JacksonCborHttpMessageConverter.class, request, response);
+        advice.beforeBodyWrite(body, null, MediaType.APPLICATION_CBOR,
+                JacksonCborHttpMessageConverter.class, request, response);
+        response.flush();
+
+        // Assert
+        assertSame(body, written);
+        assertEquals(List.of("Origin", HttpHeaders.ACCEPT), servletResponse.getHeaders(HttpHeaders.VARY));
+    }
+}
@@ -0,0 +1,32 @@
+package com.thiagoferreira.food_backend.infraestructure.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WireFormat Tests")
+class WireFormatTest {
+
+    @Test
+    @DisplayName("Should pick the encoding Spring MVC negotiates for the Accept header")
+    void shouldNegotiateLikeSpringMvc() {
+        // Act & Assert
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/json, application/cbor"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0, */*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("not a media type"));
+    }
+
+    @Test
+    @DisplayName("Should name the encoding inside strong and weak entity tags, leaving JSON unchanged")
+    void shouldTagEncoding() {
+        // Act & Assert
+        assertEquals("\"1-3-1000-cbor\"", WireFormat.CBOR.tag("\"1-3-1000\""));
+        assertEquals("W/\"abc-cbor\"", WireFormat.CBOR.tag("W/\"abc\""));
+        assertEquals("\"1-3-1000\"", WireFormat.JSON.tag("\"1-3-1000\""));
+    }
+}
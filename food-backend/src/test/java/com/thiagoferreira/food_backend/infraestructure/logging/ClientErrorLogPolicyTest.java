@@ -0,0 +1,109 @@
+package com.thiagoferreira.food_backend.infraestructure.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientErrorLogPolicy Tests")
+class ClientErrorLogPolicyTest {
+
+    private final ClientErrorLogPolicy policy = new ClientErrorLogPolicy(Duration.ofSeconds(10), 2);
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ClientErrorLogPolicy.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        policy.stop();
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Should log only the sampled errors of each type individually")
+    void shouldLogOnlySampledErrorsIndividually() {
+        // Act
+        for (int i = 0; i < 7; i++) {
+            policy.record("resource-not-found", "Resource not found: {}", i);
+        }
+        policy.record("type-mismatch", "Type mismatch: {}", "abc");
+
+        // Assert
+        assertEquals(List.of(
+                "[resource-not-found] Resource not found: 0",
+                "[resource-not-found] Resource not found: 1",
+                "[type-mismatch] Type mismatch: abc"
+        ), messages());
+        assertNull(appender.list.getFirst().getThrowableProxy());
+    }
+
+    @Test
+    @DisplayName("Should summarize the types that went over the sample once per window")
+    void shouldSummarizeTypesOverSampleOncePerWindow() {
+        // Arrange
+        for (int i = 0; i < 7; i++) {
+            policy.record("resource-not-found", "Resource not found: {}", i);
+        }
+        policy.record("type-mismatch", "Type mismatch: {}", "abc");
+        appender.list.clear();
+
+        // Act
+        policy.flush();
+        policy.flush();
+
+        // Assert
+        assertEquals(List.of("7 'resource-not-found' client errors in the last 10s (2 logged individually)"), messages());
+    }
+
+    @Test
+    @DisplayName("Should start sampling again after a window is flushed")
+    void shouldStartSamplingAgainAfterFlush() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            policy.record("unauthorized", "Authentication failed: {}", i);
+        }
+        policy.flush();
+        appender.list.clear();
+
+        // Act
+        policy.record("unauthorized", "Authentication failed: {}", "again");
+
+        // Assert
+        assertEquals(List.of("[unauthorized] Authentication failed: again"), messages());
+    }
+
+    @Test
+    @DisplayName("Should flush pending summaries when stopped")
+    void shouldFlushPendingSummariesWhenStopped() {
+        // Arrange
+        policy.start();
+        for (int i = 0; i < 3; i++) {
+            policy.record("forbidden", "Access denied: {}", i);
+        }
+
+        // Act
+        policy.stop();
+
+        // Assert
+        assertFalse(policy.isRunning());
+        assertTrue(messages().contains("3 'forbidden' client errors in the last 10s (2 logged individually)"));
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package com.thiagoferreira.food_backend.infraestructure.metrics;
+
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProblemDetailMetrics Tests")
+class ProblemDetailMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProblemDetailMetrics problemDetailMetrics = new ProblemDetailMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("Should count ProblemDetail by the last segment of its type and its status")
+    void shouldCountProblemDetailByTypeAndStatus() {
+        // Arrange
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, "User not found");
+        problemDetail.setType(URI.create("https://api.food-backend.com/problems/resource-not-found"));
+
+        // Act
+        problemDetailMetrics.record(problemDetail);
+        problemDetailMetrics.record(problemDetail);
+
+        // Assert
+        assertEquals(2, meterRegistry.get(ProblemDetailMetrics.METRIC_NAME)
+                .tags("type", "resource-not-found", "status", "404")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should tag ProblemDetail without an explicit type as about:blank")
+    void shouldTagProblemDetailWithoutTypeAsAboutBlank() {
+        // Arrange
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+
+        // Act
+        problemDetailMetrics.record(problemDetail);
+
+        // Assert
+        assertEquals(1, meterRegistry.get(ProblemDetailMetrics.METRIC_NAME)
+                .tags("type", "about:blank", "status", "400")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count a problem type on the same series as its ProblemDetail")
+    void shouldCountProblemTypeOnSameSeriesAsProblemDetail() {
+        // Arrange
+        ProblemDetail problemDetail = ProblemType.UNAUTHORIZED.create("Authentication required");
+
+        // Act
+        problemDetailMetrics.record(problemDetail);
+        problemDetailMetrics.record(ProblemType.UNAUTHORIZED);
+        problemDetailMetrics.record(ProblemType.UNAUTHORIZED);
+
+        // Assert
+        assertEquals(3, meterRegistry.get(ProblemDetailMetrics.METRIC_NAME)
+                .tags("type", "unauthorized", "status", "401")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count ProblemDetail bodies written through MVC and return them unchanged")
+    void shouldCountProblemDetailBodiesWrittenThroughMvc() {
+        // Arrange
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Invalid");
+        problemDetail.setType(URI.create("https://api.food-backend.com/problems/validation-error"));
+
+        // Act
+        Object body = problemDetailMetrics.beforeBodyWrite(
+                problemDetail, null, MediaType.APPLICATION_JSON, null, null, null);
+
+        // Assert
+        assertSame(problemDetail, body);
+        assertEquals(1, meterRegistry.get(ProblemDetailMetrics.METRIC_NAME)
+                .tags("type", "validation-error", "status", "400")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should ignore bodies that are not ProblemDetail")
+    void shouldIgnoreBodiesThatAreNotProblemDetail() {
+        // Arrange
+        UserResponse userResponse = new UserResponse(null, null, null, null, null, null, null);
+
+        // Act
+        Object body = problemDetailMetrics.beforeBodyWrite(
+                userResponse, null, MediaType.APPLICATION_JSON, null, null, null);
+
+        // Assert
+        assertSame(userResponse, body);
+        assertTrue(problemDetailMetrics.supports(null, null));
+        assertNull(meterRegistry.find(ProblemDetailMetrics.METRIC_NAME).counter());
+    }
+}
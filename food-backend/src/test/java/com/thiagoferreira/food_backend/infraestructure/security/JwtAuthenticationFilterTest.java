@@ -1,5 +1,13 @@
 package com.thiagoferreira.food_backend.infraestructure.security;
 
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
@@ -17,6 +26,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.io.IOException;
+import java.util.Collection;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -41,6 +51,12 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ClientErrorLogPolicy clientErrors;
+
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -107,6 +123,7 @@ class JwtAuthenticationFilterTest {
         verify(jwtService, times(1)).validateToken(token, username);
         verify(filterChain, times(1)).doFilter(request, response);
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, verificationCount("valid"));
     }
 
     @Test
@@ -188,6 +205,7 @@ class JwtAuthenticationFilterTest {
         verify(jwtService, times(1)).validateToken(token, username);
         verify(filterChain, times(1)).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, verificationCount("rejected"));
     }
 
     @Test
@@ -207,5 +225,81 @@ class JwtAuthenticationFilterTest {
         verify(jwtService, times(1)).extractUsername(token);
         verify(filterChain, times(1)).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, verificationCount("error"));
+    }
+
+    @Test
+    @DisplayName("Should record expired outcome when token is expired")
+    void shouldRecordExpiredOutcomeWhenTokenIsExpired() throws ServletException, IOException {
+        // Arrange
+        String token = "expired.jwt.token";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.extractUsername(token)).thenThrow(new ExpiredJwtException(null, null, "JWT expired"));
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain, times(1)).doFilter(request, response);
+        assertEquals(1, verificationCount("expired"));
+        verify(clientErrors).record(eq("jwt-expired"), anyString(), eq("JWT expired"));
+    }
+
+    @Test
+    @DisplayName("Should classify a token of a removed user as unknown user")
+    void shouldClassifyTokenOfRemovedUserAsUnknownUser() throws ServletException, IOException {
+        // Arrange
+        String token = "orphan.jwt.token";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.extractUsername(token)).thenReturn("removed");
+        when(userDetailsService.loadUserByUsername("removed"))
+                .thenThrow(new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND));
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain, times(1)).doFilter(request, response);
+        assertEquals(1, verificationCount("unknown_user"));
+        verify(clientErrors).record(eq("jwt-unknown-user"), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should let a passed deadline through instead of treating the token as invalid")
+    void shouldPropagateDeadlineExceeded() throws ServletException, IOException {
+        // Arrange
+        String token = "late.jwt.token";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.extractUsername(token)).thenReturn("late");
+        when(userDetailsService.loadUserByUsername("late")).thenThrow(new DeadlineExceededException());
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class,
+                () -> jwtAuthenticationFilter.doFilterInternal(request, response, filterChain));
+        verify(filterChain, never()).doFilter(request, response);
+        verifyNoInteractions(clientErrors);
+        assertEquals(1, verificationCount("deadline_exceeded"));
+    }
+
+    @Test
+    @DisplayName("Should not record verification when Authorization header is absent")
+    void shouldNotRecordVerificationWhenAuthorizationHeaderIsAbsent() throws ServletException, IOException {
+        // Arrange
+        when(request.getHeader("Authorization")).thenReturn(null);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        Collection<Timer> timers = meterRegistry.get(JwtAuthenticationFilter.VERIFICATION_METRIC).timers();
+        assertEquals(JwtVerificationTimers.OUTCOMES.size(), timers.size());
+        assertEquals(0, timers.stream().mapToLong(Timer::count).sum());
+    }
+
+    private long verificationCount(String outcome) {
+        return meterRegistry.get(JwtAuthenticationFilter.VERIFICATION_METRIC).tag("outcome", outcome).timer().count();
     }
 }
@@ -1,5 +1,7 @@
 package com.thiagoferreira.food_backend.infraestructure.security;
 
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.JwtEvent;
+import com.thiagoferreira.food_backend.support.FlightRecorderCapture;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -9,12 +11,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import jdk.jfr.consumer.RecordedEvent;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -188,4 +192,23 @@ class JwtServiceTest {
         // Assert
         assertNull(extractedUserId);
     }
+
+    @Test
+    @DisplayName("Should emit a flight recorder event per signing and parsing with its outcome")
+    void shouldEmitFlightRecorderEvents() {
+        // Act
+        List<RecordedEvent> events = FlightRecorderCapture.record(JwtEvent.NAME, () -> {
+            String token = jwtService.generateToken("testuser", 1L);
+            jwtService.extractUsername(token);
+            assertThrows(Exception.class, () -> jwtService.extractUsername("not-a-token"));
+        });
+
+        // Assert
+        assertEquals(3, events.size());
+        assertEquals("generate", events.get(0).getString("operation"));
+        assertEquals("ok", events.get(0).getString("outcome"));
+        assertEquals("parse", events.get(1).getString("operation"));
+        assertEquals("ok", events.get(1).getString("outcome"));
+        assertEquals("invalid", events.get(2).getString("outcome"));
+    }
 }
@@ -0,0 +1,168 @@
+package com.thiagoferreira.food_backend.infraestructure.security;
+
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
+import com.thiagoferreira.food_backend.exceptions.ServiceOverloadedException;
+import com.thiagoferreira.food_backend.exceptions.ServiceUnavailableException;
+import com.thiagoferreira.food_backend.infraestructure.deadline.RequestDeadline;
+import com.thiagoferreira.food_backend.infraestructure.diagnostics.PasswordHashEvent;
+import com.thiagoferreira.food_backend.support.FlightRecorderCapture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHasher Tests")
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHasher passwordHasher = new PasswordHasher(4, 1, 100, meterRegistry);
+
+    @Test
+    @DisplayName("Should hash password with the configured cost")
+    void shouldHashPasswordWithConfiguredCost() {
+        // Act
+        String hashed = passwordHasher.hash("password123");
+
+        // Assert
+        assertNotEquals("password123", hashed);
+        assertTrue(hashed.startsWith("$2a$04$"));
+        assertEquals(4, passwordHasher.getCost());
+    }
+
+    @Test
+    @DisplayName("Should match only the original password")
+    void shouldMatchOnlyOriginalPassword() {
+        // Arrange
+        String hashed = passwordHasher.hash("password123");
+
+        // Act & Assert
+        assertTrue(passwordHasher.matches("password123", hashed));
+        assertFalse(passwordHasher.matches("wrongpassword", hashed));
+    }
+
+    @Test
+    @DisplayName("Should hash and match off the calling thread for the reactive API")
+    void shouldHashAndMatchAsynchronously() {
+        // Act
+        String hashed = passwordHasher.hashAsync("password123").join();
+
+        // Assert
+        assertTrue(hashed.startsWith("$2a$04$"));
+        assertTrue(passwordHasher.matchesAsync("password123", hashed).join());
+        assertFalse(passwordHasher.matchesAsync("wrongpassword", hashed).join());
+    }
+
+    @Test
+    @DisplayName("Should default concurrency to the number of processors when not configured")
+    void shouldDefaultConcurrencyWhenNotConfigured() {
+        // Arrange
+        PasswordHasher defaultHasher = new PasswordHasher(4, 0, 100, meterRegistry);
+
+        // Act & Assert
+        try {
+            assertEquals(Runtime.getRuntime().availableProcessors(), defaultHasher.getMaxConcurrency());
+            assertEquals(1, passwordHasher.getMaxConcurrency());
+            assertTrue(defaultHasher.matches("secret", defaultHasher.hash("secret")));
+        } finally {
+            defaultHasher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give up waiting for a hashing thread once the request deadline passed")
+    void shouldStopWaitingAtRequestDeadline() throws Exception {
+        // Arrange
+        PasswordHasher slowHasher = new PasswordHasher(12, 1, 100, meterRegistry);
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> slowHasher.hash("password123"));
+        Thread.sleep(20);
+        RequestDeadline.start(Duration.ofMillis(1));
+
+        // Act & Assert
+        try {
+            assertThrows(DeadlineExceededException.class, () -> slowHasher.hash("other"));
+        } finally {
+            RequestDeadline.clear();
+        }
+        assertTrue(busy.join().startsWith("$2a$12$"));
+        slowHasher.close();
+    }
+
+    @Test
+    @DisplayName("Should refuse at once when the hashing queue is full")
+    void shouldRefuseWhenQueueIsFull() throws Exception {
+        // Arrange
+        PasswordHasher slowHasher = new PasswordHasher(12, 1, 1, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> slowHasher.hash("password123"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> slowHasher.hash("password456"));
+        Thread.sleep(50);
+
+        // Act & Assert
+        try {
+            ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class, () -> slowHasher.hash("other"));
+            assertEquals(ErrorMessages.PASSWORD_HASHING_SATURATED, ex.getError());
+            assertTrue(running.join().startsWith("$2a$12$"));
+            assertTrue(queued.join().startsWith("$2a$12$"));
+        } finally {
+            slowHasher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should record hashing, verification and wait durations")
+    void shouldRecordHashingMetrics() {
+        // Act
+        String hashed = passwordHasher.hash("password123");
+        passwordHasher.matches("password123", hashed);
+        passwordHasher.matches("wrongpassword", hashed);
+
+        // Assert
+        assertEquals(1, meterRegistry.get(PasswordHasher.METRIC_NAME)
+                .tags("operation", "hash", "cost", "4").timer().count());
+        assertEquals(2, meterRegistry.get(PasswordHasher.METRIC_NAME)
+                .tags("operation", "verify", "cost", "4").timer().count());
+        assertEquals(3, meterRegistry.get(PasswordHasher.WAIT_METRIC_NAME).timer().count());
+    }
+
+    @Test
+    @DisplayName("Should fail fast when interrupted while waiting for a hashing thread")
+    void shouldFailWhenInterruptedWhileWaiting() {
+        // Arrange
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> passwordHasher.hash("password123"));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit a flight recorder event per hash and verification")
+    void shouldEmitFlightRecorderEvents() {
+        // Arrange
+        String hashed = passwordHasher.hash("password123");
+
+        // Act
+        List<RecordedEvent> events = FlightRecorderCapture.record(PasswordHashEvent.NAME, () -> {
+            passwordHasher.matches("password123", hashed);
+            passwordHasher.matches("wrongpassword", hashed);
+        });
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals("verify", events.get(0).getString("operation"));
+        assertEquals(4, events.get(0).getInt("cost"));
+        assertEquals("matched", events.get(0).getString("outcome"));
+        assertEquals("mismatched", events.get(1).getString("outcome"));
+        assertTrue(events.get(0).getLong("slotWait") >= 0);
+    }
+}
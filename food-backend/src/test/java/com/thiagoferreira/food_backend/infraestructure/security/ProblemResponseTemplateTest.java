@@ -0,0 +1,97 @@
+package com.thiagoferreira.food_backend.infraestructure.security;
+
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProblemResponseTemplate Tests")
+class ProblemResponseTemplateTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final ProblemResponseTemplate template =
+            new ProblemResponseTemplate(jsonMapper, ProblemType.UNAUTHORIZED, "Authentication required.");
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                outputStream.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                // Not needed for testing
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should write the same document a ProblemDetail serialization would produce")
+    void shouldWriteProblemDetailDocument() throws Exception {
+        // Arrange
+        when(request.getRequestURL()).thenReturn(new StringBuffer("http://localhost:8080/v2/users"));
+        when(request.getRequestURI()).thenReturn("/v2/users");
+        when(request.getMethod()).thenReturn("GET");
+
+        // Act
+        template.write(request, response);
+
+        // Assert
+        verify(response).setStatus(401);
+        verify(response).setContentType("application/json");
+        assertEquals("{\"type\":\"https://api.food-backend.com/problems/unauthorized\",\"title\":\"Unauthorized\","
+                        + "\"status\":401,\"detail\":\"Authentication required.\","
+                        + "\"instance\":\"http://localhost:8080/v2/users\","
+                        + "\"properties\":{\"path\":\"/v2/users\",\"method\":\"GET\"}}",
+                outputStream.toString());
+        verify(response).setContentLength(outputStream.size());
+    }
+
+    @Test
+    @DisplayName("Should escape quotes, backslashes and non-ASCII characters in spliced values")
+    void shouldEscapeSplicedValues() throws Exception {
+        // Arrange
+        String path = "/v2/users/\"ação\"\\x";
+        when(request.getRequestURL()).thenReturn(new StringBuffer("http://localhost:8080" + path));
+        when(request.getRequestURI()).thenReturn(path);
+        when(request.getMethod()).thenReturn("GET");
+
+        // Act
+        template.write(request, response);
+
+        // Assert
+        JsonNode document = jsonMapper.readTree(outputStream.toByteArray());
+        assertEquals("http://localhost:8080" + path, document.get("instance").asString());
+        assertEquals(path, document.get("properties").get("path").asString());
+        assertEquals("GET", document.get("properties").get("method").asString());
+    }
+}
@@ -1,5 +1,8 @@
 package com.thiagoferreira.food_backend.infraestructure.security;
 
+import com.thiagoferreira.food_backend.exceptions.ProblemType;
+import com.thiagoferreira.food_backend.infraestructure.logging.ClientErrorLogPolicy;
+import com.thiagoferreira.food_backend.infraestructure.metrics.ProblemDetailMetrics;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,11 +11,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -30,7 +33,12 @@ class SecurityProblemDetailEntryPointTest {
     @Mock
     private HttpServletResponse response;
 
-    @InjectMocks
+    @Mock
+    private ProblemDetailMetrics problemDetailMetrics;
+
+    @Mock
+    private ClientErrorLogPolicy clientErrors;
+
     private SecurityProblemDetailEntryPoint entryPoint;
 
     private ByteArrayOutputStream outputStream;
@@ -38,6 +46,7 @@ class SecurityProblemDetailEntryPointTest {
 
     @BeforeEach
     void setUp() throws Exception {
+        entryPoint = new SecurityProblemDetailEntryPoint(JsonMapper.builder().build(), problemDetailMetrics, clientErrors);
         outputStream = new ByteArrayOutputStream();
         servletOutputStream = new ServletOutputStream() {
             @Override
@@ -80,6 +89,7 @@ class SecurityProblemDetailEntryPointTest {
         // Assert
         verify(response).setContentType("application/json");
         verify(response).setStatus(HttpStatus.UNAUTHORIZED.value());
+        verify(problemDetailMetrics).record(ProblemType.UNAUTHORIZED);
 
         String jsonResponse = outputStream.toString();
         assertNotNull(jsonResponse);
@@ -0,0 +1,100 @@
+package com.thiagoferreira.food_backend.infraestructure.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JitWarmUp Tests")
+class JitWarmUpTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private double latency(String step, String phase) {
+        return meterRegistry.get(JitWarmUp.LATENCY_METRIC).tags("step", step, "phase", phase)
+                .timeGauge().value(TimeUnit.NANOSECONDS);
+    }
+
+    @Test
+    @DisplayName("Should run every step for its iterations and report the warm-up as completed")
+    void shouldRunEveryStepAndReportCompleted() {
+        // Arrange
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        JitWarmUp warmUp = new JitWarmUp(List.of(
+                new JitWarmUp.Step("first", 20, first::incrementAndGet),
+                new JitWarmUp.Step("second", 3, second::incrementAndGet)
+        ), meterRegistry, Duration.ofSeconds(5));
+
+        // Act
+        warmUp.run(new DefaultApplicationArguments());
+
+        // Assert
+        assertEquals(20, first.get());
+        assertEquals(3, second.get());
+        assertNotNull(meterRegistry.find(JitWarmUp.DURATION_METRIC).tag("outcome", "completed").timeGauge());
+        assertTrue(latency("first", "cold") >= 0);
+        assertTrue(latency("second", "warm") >= 0);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting once the time budget expires")
+    void shouldStopWaitingWhenBudgetExpires() {
+        // Arrange
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicInteger other = new AtomicInteger();
+        JitWarmUp warmUp = new JitWarmUp(List.of(
+                new JitWarmUp.Step("other", 1, other::incrementAndGet),
+                new JitWarmUp.Step("stuck", 1, () -> {
+                    try {
+                        never.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                })
+        ), meterRegistry, Duration.ofMillis(100));
+
+        // Act
+        long start = System.nanoTime();
+        warmUp.run(new DefaultApplicationArguments());
+        long elapsed = System.nanoTime() - start;
+
+        // Assert
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "Waited " + elapsed + " ns");
+        assertEquals(1, other.get());
+        assertNotNull(meterRegistry.find(JitWarmUp.DURATION_METRIC).tag("outcome", "timed_out").timeGauge());
+    }
+
+    @Test
+    @DisplayName("Should skip a failing step and keep warming the others")
+    void shouldSkipFailingStep() {
+        // Arrange
+        AtomicInteger failing = new AtomicInteger();
+        AtomicInteger healthy = new AtomicInteger();
+        JitWarmUp warmUp = new JitWarmUp(List.of(
+                new JitWarmUp.Step("failing", 10, () -> {
+                    failing.incrementAndGet();
+                    throw new IllegalStateException("database down");
+                }),
+                new JitWarmUp.Step("healthy", 10, healthy::incrementAndGet)
+        ), meterRegistry, Duration.ofSeconds(5));
+
+        // Act
+        warmUp.run(new DefaultApplicationArguments());
+
+        // Assert
+        assertEquals(1, failing.get());
+        assertEquals(10, healthy.get());
+        assertNotNull(meterRegistry.find(JitWarmUp.DURATION_METRIC).tag("outcome", "completed").timeGauge());
+        assertTrue(Double.isNaN(latency("failing", "cold")));
+    }
+}
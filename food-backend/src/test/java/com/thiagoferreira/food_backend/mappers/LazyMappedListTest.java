@@ -0,0 +1,54 @@
+package com.thiagoferreira.food_backend.mappers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LazyMappedList Tests")
+class LazyMappedListTest {
+
+    @Test
+    @DisplayName("Should map each element only when it is read")
+    void shouldMapElementsOnRead() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        List<String> view = LazyMappedList.of(List.of(1, 2, 3), value -> {
+            calls.incrementAndGet();
+            return "user-" + value;
+        });
+
+        // Act
+        int size = view.size();
+        int callsBeforeRead = calls.get();
+        String second = view.get(1);
+
+        // Assert
+        assertEquals(3, size);
+        assertEquals(0, callsBeforeRead);
+        assertEquals("user-2", second);
+        assertEquals(1, calls.get());
+        assertEquals(List.of("user-1", "user-2", "user-3"), view);
+        assertInstanceOf(RandomAccess.class, view);
+    }
+
+    @Test
+    @DisplayName("Should reflect the source list and reject modifications")
+    void shouldReflectSourceAndRejectModifications() {
+        // Arrange
+        List<Integer> source = new ArrayList<>(List.of(1));
+        List<Integer> view = LazyMappedList.of(source, value -> value * 10);
+
+        // Act
+        source.add(2);
+
+        // Assert
+        assertEquals(List.of(10, 20), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(30));
+    }
+}
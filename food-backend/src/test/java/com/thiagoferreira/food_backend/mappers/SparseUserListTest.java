@@ -0,0 +1,43 @@
+package com.thiagoferreira.food_backend.mappers;
+
+import com.thiagoferreira.food_backend.domain.dto.UserResponse;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SparseUserList Tests")
+class SparseUserListTest {
+
+    private final List<UserResponse> users = List.of(
+            new UserResponse(1L, "User 1", null, null, null, null, null),
+            new UserResponse(2L, "User 2", null, null, null, null, null));
+
+    @Test
+    @DisplayName("Should keep the responses and carry the selected fields")
+    void shouldCarrySelectedFields() {
+        // Arrange
+        EnumSet<UserField> fields = EnumSet.of(UserField.ID);
+
+        // Act
+        List<UserResponse> view = SparseUserList.of(users, fields);
+        fields.add(UserField.NAME);
+
+        // Assert
+        SparseUserList sparse = assertInstanceOf(SparseUserList.class, view);
+        assertEquals(users, sparse);
+        assertEquals(Set.of(UserField.ID), sparse.fields());
+    }
+
+    @Test
+    @DisplayName("Should return the page itself when every field is selected")
+    void shouldReturnPageWhenEveryFieldIsSelected() {
+        // Act & Assert
+        assertSame(users, SparseUserList.of(users, UserField.ALL));
+    }
+}
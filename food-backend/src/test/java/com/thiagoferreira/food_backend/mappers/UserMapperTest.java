@@ -1,17 +1,20 @@
 package com.thiagoferreira.food_backend.mappers;
 
 import com.thiagoferreira.food_backend.domain.dto.AddressDTO;
+import com.thiagoferreira.food_backend.domain.dto.UserBatchItem;
 import com.thiagoferreira.food_backend.domain.dto.UserRequest;
 import com.thiagoferreira.food_backend.domain.dto.UserResponse;
 import com.thiagoferreira.food_backend.domain.dto.UserUpdateRequest;
 import com.thiagoferreira.food_backend.domain.entities.Address;
 import com.thiagoferreira.food_backend.domain.entities.User;
 import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserVersionView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,11 +33,7 @@ class UserMapperTest {
     void setUp() {
         userMapper = new UserMapper();
 
-        addressDTO = new AddressDTO();
-        addressDTO.setStreet("Rua Teste");
-        addressDTO.setNumber("123");
-        addressDTO.setCity("São Paulo");
-        addressDTO.setZipCode("01234-567");
+        addressDTO = new AddressDTO("Rua Teste", "123", "São Paulo", "01234-567");
 
         address = new Address();
         address.setStreet("Rua Teste");
@@ -80,10 +79,10 @@ class UserMapperTest {
         assertEquals(userRequest.getPassword(), result.getPassword());
         assertEquals(userRequest.getType(), result.getType());
         assertNotNull(result.getAddress());
-        assertEquals(userRequest.getAddress().getStreet(), result.getAddress().getStreet());
-        assertEquals(userRequest.getAddress().getNumber(), result.getAddress().getNumber());
-        assertEquals(userRequest.getAddress().getCity(), result.getAddress().getCity());
-        assertEquals(userRequest.getAddress().getZipCode(), result.getAddress().getZipCode());
+        assertEquals(userRequest.getAddress().street(), result.getAddress().getStreet());
+        assertEquals(userRequest.getAddress().number(), result.getAddress().getNumber());
+        assertEquals(userRequest.getAddress().city(), result.getAddress().getCity());
+        assertEquals(userRequest.getAddress().zipCode(), result.getAddress().getZipCode());
     }
 
     @Test
@@ -119,17 +118,17 @@ class UserMapperTest {
 
         // Assert
         assertNotNull(result);
-        assertEquals(user.getId(), result.getId());
-        assertEquals(user.getName(), result.getName());
-        assertEquals(user.getEmail(), result.getEmail());
-        assertEquals(user.getLogin(), result.getLogin());
-        assertEquals(user.getType(), result.getType());
-        assertEquals(user.getLastUpdated(), result.getLastUpdate());
-        assertNotNull(result.getAddress());
-        assertEquals(user.getAddress().getStreet(), result.getAddress().getStreet());
-        assertEquals(user.getAddress().getNumber(), result.getAddress().getNumber());
-        assertEquals(user.getAddress().getCity(), result.getAddress().getCity());
-        assertEquals(user.getAddress().getZipCode(), result.getAddress().getZipCode());
+        assertEquals(user.getId(), result.id());
+        assertEquals(user.getName(), result.name());
+        assertEquals(user.getEmail(), result.email());
+        assertEquals(user.getLogin(), result.login());
+        assertEquals(user.getType(), result.type());
+        assertEquals(user.getLastUpdated(), result.lastUpdate());
+        assertNotNull(result.address());
+        assertEquals(user.getAddress().getStreet(), result.address().street());
+        assertEquals(user.getAddress().getNumber(), result.address().number());
+        assertEquals(user.getAddress().getCity(), result.address().city());
+        assertEquals(user.getAddress().getZipCode(), result.address().zipCode());
     }
 
     @Test
@@ -153,8 +152,8 @@ class UserMapperTest {
 
         // Assert
         assertNotNull(result);
-        assertEquals(user.getId(), result.getId());
-        assertNull(result.getAddress());
+        assertEquals(user.getId(), result.id());
+        assertNull(result.address());
     }
 
     @Test
@@ -166,10 +165,10 @@ class UserMapperTest {
         // Assert
         assertEquals(userUpdateRequest.getName(), user.getName());
         assertNotNull(user.getAddress());
-        assertEquals(userUpdateRequest.getAddress().getStreet(), user.getAddress().getStreet());
-        assertEquals(userUpdateRequest.getAddress().getNumber(), user.getAddress().getNumber());
-        assertEquals(userUpdateRequest.getAddress().getCity(), user.getAddress().getCity());
-        assertEquals(userUpdateRequest.getAddress().getZipCode(), user.getAddress().getZipCode());
+        assertEquals(userUpdateRequest.getAddress().street(), user.getAddress().getStreet());
+        assertEquals(userUpdateRequest.getAddress().number(), user.getAddress().getNumber());
+        assertEquals(userUpdateRequest.getAddress().city(), user.getAddress().getCity());
+        assertEquals(userUpdateRequest.getAddress().zipCode(), user.getAddress().getZipCode());
     }
 
     @Test
@@ -232,10 +231,10 @@ class UserMapperTest {
 
         // Assert
         assertNotNull(result.getAddress());
-        assertEquals(addressDTO.getStreet(), result.getAddress().getStreet());
-        assertEquals(addressDTO.getNumber(), result.getAddress().getNumber());
-        assertEquals(addressDTO.getCity(), result.getAddress().getCity());
-        assertEquals(addressDTO.getZipCode(), result.getAddress().getZipCode());
+        assertEquals(addressDTO.street(), result.getAddress().getStreet());
+        assertEquals(addressDTO.number(), result.getAddress().getNumber());
+        assertEquals(addressDTO.city(), result.getAddress().getCity());
+        assertEquals(addressDTO.zipCode(), result.getAddress().getZipCode());
     }
 
     @Test
@@ -245,11 +244,98 @@ class UserMapperTest {
         UserResponse result = userMapper.toResponse(user);
 
         // Assert
-        assertNotNull(result.getAddress());
-        assertEquals(address.getStreet(), result.getAddress().getStreet());
-        assertEquals(address.getNumber(), result.getAddress().getNumber());
-        assertEquals(address.getCity(), result.getAddress().getCity());
-        assertEquals(address.getZipCode(), result.getAddress().getZipCode());
+        assertNotNull(result.address());
+        assertEquals(address.getStreet(), result.address().street());
+        assertEquals(address.getNumber(), result.address().number());
+        assertEquals(address.getCity(), result.address().city());
+        assertEquals(address.getZipCode(), result.address().zipCode());
+    }
+
+    @Test
+    @DisplayName("Should convert User entity to found batch item")
+    void shouldConvertUserEntityToFoundBatchItem() {
+        // Act
+        UserBatchItem result = userMapper.toBatchItem(1L, user);
+
+        // Assert
+        assertEquals("1", result.getKey());
+        assertTrue(result.isFound());
+        assertEquals(user.getLogin(), result.getUser().login());
+    }
+
+    @Test
+    @DisplayName("Should convert missing User to not-found batch item")
+    void shouldConvertMissingUserToNotFoundBatchItem() {
+        // Act
+        UserBatchItem result = userMapper.toBatchItem("nonexistent", null);
+
+        // Assert
+        assertEquals("nonexistent", result.getKey());
+        assertFalse(result.isFound());
+        assertNull(result.getUser());
     }
-}
 
+    @Test
+    @DisplayName("Should derive the same strong ETag from the entity and its version view")
+    void shouldDeriveSameETagFromEntityAndVersionView() {
+        // Arrange
+        user.setVersion(3L);
+        UserVersionView view = new UserVersionView() {
+            @Override
+            public Long getId() { return user.getId(); }
+            @Override
+            public Long getVersion() { return 3L; }
+            @Override
+            public LocalDateTime getLastUpdated() { return user.getLastUpdated(); }
+        };
+
+        // Act
+        String fromEntity = userMapper.toETag(user);
+        String fromView = userMapper.toETag(view);
+
+        // Assert
+        assertEquals(fromEntity, fromView);
+        assertTrue(fromEntity.startsWith("\"1-3-"));
+        assertTrue(fromEntity.endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Should change strong ETag when version changes")
+    void shouldChangeETagWhenVersionChanges() {
+        // Arrange
+        user.setVersion(1L);
+        String before = userMapper.toETag(user);
+
+        // Act
+        user.setVersion(2L);
+        String after = userMapper.toETag(user);
+
+        // Assert
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    @DisplayName("Should derive weak ETag that changes with the result page")
+    void shouldDeriveWeakETagThatChangesWithResultPage() {
+        // Arrange
+        User other = new User();
+        other.setId(2L);
+        other.setVersion(0L);
+
+        // Act
+        String single = userMapper.toWeakETag(List.of(user));
+        String both = userMapper.toWeakETag(List.of(user, other));
+
+        // Assert
+        assertTrue(single.startsWith("W/\""));
+        assertEquals(single, userMapper.toWeakETag(List.of(user)));
+        assertNotEquals(single, both);
+    }
+
+    @Test
+    @DisplayName("Should return -1 as last modified when lastUpdated is null")
+    void shouldReturnMinusOneAsLastModifiedWhenNull() {
+        // Act & Assert
+        assertEquals(-1, userMapper.toLastModified(null));
+    }
+}
@@ -0,0 +1,181 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.domain.enums.UserAuditAction;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
+import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.infraestructure.audit.UserAuditTrail;
+import com.thiagoferreira.food_backend.infraestructure.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveUserService Tests")
+class ReactiveUserServiceTest {
+
+    @Mock
+    private ReactiveUserRepository repository;
+
+    @Mock
+    private UserAuditTrail auditTrail;
+
+    private final PasswordHasher passwordHasher = new PasswordHasher(4, 2, 100, new SimpleMeterRegistry());
+
+    private ReactiveUserService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveUserService(repository, passwordHasher, auditTrail);
+
+        user = new User();
+        user.setId(1L);
+        user.setName("Reactive User");
+        user.setEmail("reactive@example.com");
+        user.setLogin("reactive");
+        user.setPassword("password123");
+        user.setType(UserType.CUSTOMER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.close();
+    }
+
+    @Test
+    @DisplayName("Should hash the password, insert the user and audit the creation")
+    void shouldCreateUser() {
+        // Arrange
+        when(repository.existsByEmail("reactive@example.com")).thenReturn(Mono.just(false));
+        when(repository.existsByLogin("reactive")).thenReturn(Mono.just(false));
+        when(repository.insert(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act
+        User created = service.createUser(user, null).block();
+
+        // Assert
+        assertNotNull(created);
+        assertTrue(created.getPassword().startsWith("$2a$04$"));
+        assertTrue(passwordHasher.matches("password123", created.getPassword()));
+        verify(auditTrail).record(UserAuditAction.CREATED, 1L, null);
+    }
+
+    @Test
+    @DisplayName("Should refuse a taken email without hashing or inserting")
+    void shouldRefuseTakenEmail() {
+        // Arrange
+        when(repository.existsByEmail("reactive@example.com")).thenReturn(Mono.just(true));
+
+        // Act
+        DomainValidationException exception = assertThrows(DomainValidationException.class,
+                () -> service.createUser(user, null).block());
+
+        // Assert
+        assertEquals(ErrorMessages.EMAIL_ALREADY_EXISTS.getMessage(), exception.getMessage());
+        assertEquals("password123", user.getPassword());
+        verify(repository, never()).existsByLogin(anyString());
+        verify(repository, never()).insert(any(User.class));
+        verifyNoInteractions(auditTrail);
+    }
+
+    @Test
+    @DisplayName("Should answer a missing id with ResourceNotFoundException")
+    void shouldFailWhenUserIsMissing() {
+        // Arrange
+        when(repository.findById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> service.findById(99L).block());
+        assertEquals("User not found with ID: 99", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should query each distinct batch key once and refuse oversized batches")
+    void shouldDeduplicateAndLimitBatches() {
+        // Arrange
+        when(repository.findByLoginIn(Set.of("reactive", "other"))).thenReturn(Flux.just(user));
+        List<Long> tooManyIds = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // Act
+        Map<String, User> found = service.findAllByLogins(List.of("reactive", "other", "reactive")).block();
+
+        // Assert
+        assertEquals(Map.of("reactive", user), found);
+        assertEquals(Collections.emptyMap(), service.findAllByIds(List.of()).block());
+        assertThrows(DomainValidationException.class, () -> service.findAllByIds(tooManyIds).block());
+        verify(repository, never()).findByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the stored password when the current one does not match")
+    void shouldRefuseWrongCurrentPassword() {
+        // Arrange
+        user.setPassword(passwordHasher.hash("password123"));
+        when(repository.findById(1L)).thenReturn(Mono.just(user));
+
+        // Act
+        DomainValidationException exception = assertThrows(DomainValidationException.class,
+                () -> service.changePassword(1L, "wrong-one", "newsecret", "reactive").block());
+
+        // Assert
+        assertEquals(ErrorMessages.PASSWORD_MISMATCH.getMessage(), exception.getMessage());
+        verify(repository, never()).updatePassword(any(User.class));
+        verifyNoInteractions(auditTrail);
+    }
+
+    @Test
+    @DisplayName("Should store the new hash and audit a password change")
+    void shouldChangePassword() {
+        // Arrange
+        user.setPassword(passwordHasher.hash("password123"));
+        when(repository.findById(1L)).thenReturn(Mono.just(user));
+        when(repository.updatePassword(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act
+        service.changePassword(1L, "password123", "newsecret", "reactive").block();
+
+        // Assert
+        assertTrue(passwordHasher.matches("newsecret", user.getPassword()));
+        verify(auditTrail).record(UserAuditAction.PASSWORD_CHANGED, 1L, "reactive");
+    }
+
+    @Test
+    @DisplayName("Should audit only the deletions that removed a row")
+    void shouldDeleteUser() {
+        // Arrange
+        when(repository.deleteById(1L)).thenReturn(Mono.just(true));
+        when(repository.deleteById(2L)).thenReturn(Mono.just(false));
+
+        // Act
+        service.deleteUser(1L, "reactive").block();
+        assertThrows(ResourceNotFoundException.class, () -> service.deleteUser(2L, "reactive").block());
+
+        // Assert
+        verify(auditTrail).record(UserAuditAction.DELETED, 1L, "reactive");
+        verify(auditTrail, never()).record(any(), eq(2L), anyString());
+        verify(auditTrail, times(1)).record(any(), anyLong(), anyString());
+    }
+}
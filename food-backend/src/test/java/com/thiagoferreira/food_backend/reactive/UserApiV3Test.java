@@ -0,0 +1,241 @@
+package com.thiagoferreira.food_backend.reactive;
+
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserRepository;
+import com.thiagoferreira.food_backend.infraestructure.security.JwtService;
+import com.thiagoferreira.food_backend.infraestructure.security.PasswordHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The /v3 API end to end: Reactor Netty on its own port, R2DBC and JPA on the same H2
+ * database, tokens issued as /v2/auth/login issues them.
+ */
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:v3-api;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+                "v3.r2dbc.url=r2dbc:h2:mem:///v3-api?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "v3.r2dbc.username=sa",
+                "v3.r2dbc.password=",
+                "v3.server.port=0",
+                "security.bcrypt.cost=4",
+                "spring.grpc.server.port=0",
+                "warmup.enabled=false"
+        }
+)
+@DisplayName("User API V3 Tests")
+class UserApiV3Test {
+
+    private static final String PASSWORD = "password123";
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    @Autowired
+    private ReactiveServerV3 server;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        // Hibernate gives the enum column H2's native ENUM type, which R2DBC H2 cannot bind a
+        // string to; on PostgreSQL it is a varchar, as here
+        jdbcTemplate.execute("ALTER TABLE tb_users ALTER COLUMN type VARCHAR(255)");
+        repository.deleteAll();
+
+        user = new User();
+        user.setName("Reactive User");
+        user.setEmail("reactive@example.com");
+        user.setLogin("reactive");
+        user.setPassword(passwordHasher.hash(PASSWORD));
+        user.setType(UserType.CUSTOMER);
+        user = repository.save(user);
+        bearer = "Bearer " + jwtService.generateToken(user.getLogin(), user.getId());
+    }
+
+    @Test
+    @DisplayName("POST /v3/users should create a user without authentication")
+    void shouldCreateUserWithoutAuthentication() throws Exception {
+        // Act
+        HttpResponse<String> response = send(request("/v3/users")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"name":"New User","email":"new@example.com","login":"newuser","password":"secret123",
+                         "type":"OWNER","address":{"street":"Rua A","number":"10","city":"Recife","zipCode":"50000-000"}}
+                        """)));
+
+        // Assert
+        assertEquals(201, response.statusCode(), response.body());
+        JsonNode body = JSON.readTree(response.body());
+        assertEquals("newuser", body.get("login").asString());
+        assertEquals("Recife", body.get("address").get("city").asString());
+        assertFalse(body.has("password"));
+        User stored = repository.findByLogin("newuser").orElseThrow();
+        assertTrue(passwordHasher.matches("secret123", stored.getPassword()));
+        assertEquals(0L, stored.getVersion());
+    }
+
+    @Test
+    @DisplayName("POST /v3/users should answer invalid bodies and taken logins with the V2 problems")
+    void shouldRejectInvalidAndDuplicateUsers() throws Exception {
+        // Act
+        HttpResponse<String> invalid = send(request("/v3/users")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"\",\"email\":\"not-an-email\",\"login\":\"x\",\"password\":\"secret123\",\"type\":\"OWNER\"}")));
+        HttpResponse<String> duplicate = send(request("/v3/users")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Other\",\"email\":\"reactive@example.com\",\"login\":\"other\",\"password\":\"secret123\",\"type\":\"OWNER\"}")));
+        HttpResponse<String> malformed = send(request("/v3/users")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":")));
+
+        // Assert
+        assertEquals(400, invalid.statusCode());
+        assertEquals("application/problem+json", invalid.headers().firstValue("Content-Type").orElseThrow());
+        JsonNode invalidBody = JSON.readTree(invalid.body());
+        assertTrue(invalidBody.get("type").asString().endsWith("/validation-error"), invalid.body());
+        assertEquals("Name is required", invalidBody.get("errors").get("name").asString());
+        assertEquals("Invalid email format", invalidBody.get("errors").get("email").asString());
+
+        assertEquals(400, duplicate.statusCode());
+        assertEquals("The email provided is already registered.", JSON.readTree(duplicate.body()).get("detail").asString());
+
+        assertEquals(400, malformed.statusCode());
+        assertTrue(JSON.readTree(malformed.body()).get("type").asString().endsWith("/malformed-request"), malformed.body());
+    }
+
+    @Test
+    @DisplayName("Protected /v3 routes should require a valid token")
+    void shouldRequireValidToken() throws Exception {
+        // Act
+        HttpResponse<String> missing = send(request("/v3/users/" + user.getId()).GET());
+        HttpResponse<String> forged = send(request("/v3/users/" + user.getId()).header("Authorization", "Bearer not-a-jwt").GET());
+
+        // Assert
+        assertEquals(401, missing.statusCode());
+        assertTrue(JSON.readTree(missing.body()).get("type").asString().endsWith("/unauthorized"), missing.body());
+        assertEquals(401, forged.statusCode());
+    }
+
+    @Test
+    @DisplayName("GET /v3/users lookups should answer as their V2 counterparts")
+    void shouldLookUpUsers() throws Exception {
+        // Act
+        HttpResponse<String> byId = send(authorized("/v3/users/" + user.getId()).GET());
+        HttpResponse<String> byLogin = send(authorized("/v3/users/search/login?login=reactive").GET());
+        HttpResponse<String> byName = send(authorized("/v3/users/search/name?name=reactive").GET());
+        HttpResponse<String> all = send(authorized("/v3/users").GET());
+        HttpResponse<String> batch = send(authorized("/v3/users/batch?ids=" + user.getId() + ",999").GET());
+        HttpResponse<String> unknown = send(authorized("/v3/users/999").GET());
+        HttpResponse<String> notANumber = send(authorized("/v3/users/abc").GET());
+        HttpResponse<String> missingLogin = send(authorized("/v3/users/search/login").GET());
+
+        // Assert
+        assertEquals(200, byId.statusCode());
+        assertEquals("Reactive User", JSON.readTree(byId.body()).get("name").asString());
+        assertEquals(200, byLogin.statusCode());
+        assertEquals(user.getId(), JSON.readTree(byLogin.body()).get("id").asLong());
+        assertEquals(1, JSON.readTree(byName.body()).size());
+        assertEquals(1, JSON.readTree(all.body()).size());
+
+        JsonNode items = JSON.readTree(batch.body());
+        assertEquals(2, items.size());
+        assertTrue(items.get(0).get("found").asBoolean());
+        assertFalse(items.get(1).get("found").asBoolean());
+
+        assertEquals(404, unknown.statusCode());
+        assertEquals("User not found with ID: 999", JSON.readTree(unknown.body()).get("detail").asString());
+        assertEquals(400, notANumber.statusCode());
+        assertTrue(JSON.readTree(notANumber.body()).get("type").asString().endsWith("/type-mismatch"));
+        assertEquals(400, missingLogin.statusCode());
+        assertEquals("login", JSON.readTree(missingLogin.body()).get("parameter").asString());
+    }
+
+    @Test
+    @DisplayName("PUT, PATCH and DELETE /v3/users/{id} should change the stored user")
+    void shouldChangeAndDeleteUser() throws Exception {
+        // Act
+        HttpResponse<String> updated = send(authorized("/v3/users/" + user.getId())
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"Renamed\"}")));
+        HttpResponse<String> wrongPassword = send(authorized("/v3/users/" + user.getId() + "/password")
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"currentPassword\":\"wrong-one\",\"newPassword\":\"newsecret\"}")));
+        HttpResponse<String> changedPassword = send(authorized("/v3/users/" + user.getId() + "/password")
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"currentPassword\":\"" + PASSWORD + "\",\"newPassword\":\"newsecret\"}")));
+        User afterChanges = repository.findById(user.getId()).orElseThrow();
+        HttpResponse<String> deleted = send(authorized("/v3/users/" + user.getId()).DELETE());
+
+        // Assert
+        assertEquals(200, updated.statusCode(), updated.body());
+        assertEquals("Renamed", JSON.readTree(updated.body()).get("name").asString());
+        assertEquals(400, wrongPassword.statusCode());
+        assertEquals("The current password provided is incorrect.", JSON.readTree(wrongPassword.body()).get("detail").asString());
+        assertEquals(204, changedPassword.statusCode(), changedPassword.body());
+
+        assertEquals("Renamed", afterChanges.getName());
+        assertEquals(2L, afterChanges.getVersion());
+        assertTrue(passwordHasher.matches("newsecret", afterChanges.getPassword()));
+
+        assertEquals(204, deleted.statusCode());
+        assertTrue(repository.findById(user.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Unknown /v3 routes should answer endpoint-not-found")
+    void shouldAnswerUnknownRoutes() throws Exception {
+        // Act
+        HttpResponse<String> response = send(authorized("/v3/orders").GET());
+
+        // Assert
+        assertEquals(404, response.statusCode());
+        assertTrue(JSON.readTree(response.body()).get("type").asString().endsWith("/endpoint-not-found"), response.body());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", bearer);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
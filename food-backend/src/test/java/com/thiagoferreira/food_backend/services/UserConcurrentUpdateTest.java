@@ -0,0 +1,102 @@
+package com.thiagoferreira.food_backend.services;
+
+import com.thiagoferreira.food_backend.domain.entities.User;
+import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.exceptions.GlobalExceptionHandler;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two updates of the same user against a real database: the second one read the user
+ * before the first committed, so its write hits a stale version and is refused with 409
+ * instead of silently overwriting the first.
+ */
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:concurrent-update;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+                "security.bcrypt.cost=4",
+                "spring.grpc.server.port=0",
+                "v3.server.port=0",
+                "warmup.enabled=false"
+        }
+)
+@DisplayName("User Concurrent Update Tests")
+class UserConcurrentUpdateTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+
+        user = new User();
+        user.setName("Original");
+        user.setEmail("concurrent@example.com");
+        user.setLogin("concurrent");
+        user.setPassword("hash");
+        user.setType(UserType.CUSTOMER);
+        user = repository.save(user);
+    }
+
+    private static User changes(String name) {
+        User changes = new User();
+        changes.setName(name);
+        return changes;
+    }
+
+    @Test
+    @DisplayName("Should refuse the second of two concurrent updates with 409 and keep the first")
+    void shouldRefuseSecondConcurrentUpdate() {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        ObjectOptimisticLockingFailureException exception = assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> transaction.executeWithoutResult(status -> {
+                    User stale = repository.findById(user.getId()).orElseThrow();
+                    // The first update runs in its own transaction on another thread and commits in between
+                    CompletableFuture.runAsync(() -> userService.updateUser(user.getId(), changes("First"))).join();
+                    stale.setName("Second");
+                    repository.saveAndFlush(stale);
+                }));
+        ResponseEntity<ProblemDetail> response = exceptionHandler.handleOptimisticLockingFailureException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        User stored = repository.findById(user.getId()).orElseThrow();
+        assertEquals("First", stored.getName());
+        assertEquals(user.getVersion() + 1, stored.getVersion());
+    }
+}
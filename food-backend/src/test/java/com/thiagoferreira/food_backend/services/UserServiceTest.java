@@ -3,25 +3,52 @@ package com.thiagoferreira.food_backend.services;
 import com.thiagoferreira.food_backend.domain.entities.Address;
 import com.thiagoferreira.food_backend.domain.entities.User;
 import com.thiagoferreira.food_backend.domain.enums.ErrorMessages;
+import com.thiagoferreira.food_backend.domain.enums.UserAuditAction;
+import com.thiagoferreira.food_backend.domain.enums.UserField;
 import com.thiagoferreira.food_backend.domain.enums.UserType;
+import com.thiagoferreira.food_backend.exceptions.DeadlineExceededException;
 import com.thiagoferreira.food_backend.exceptions.DomainValidationException;
 import com.thiagoferreira.food_backend.exceptions.ResourceNotFoundException;
+import com.thiagoferreira.food_backend.infraestructure.audit.UserAuditTrail;
+import com.thiagoferreira.food_backend.infraestructure.deadline.RequestDeadline;
 import com.thiagoferreira.food_backend.infraestructure.repositories.UserRepository;
+import com.thiagoferreira.food_backend.infraestructure.repositories.UserVersionView;
+import com.thiagoferreira.food_backend.infraestructure.security.PasswordHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +59,15 @@ class UserServiceTest {
     @Mock
     private UserRepository repository;
 
+    @Spy
+    private PasswordHasher passwordHasher = new PasswordHasher(4, 2, 100, new SimpleMeterRegistry());
+
+    @Mock
+    private UserAuditTrail auditTrail;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserService userService;
 
@@ -77,6 +113,7 @@ class UserServiceTest {
         verify(repository, times(1)).existsByEmail(user.getEmail());
         verify(repository, times(1)).existsByLogin(user.getLogin());
         verify(repository, times(1)).save(any(User.class));
+        verify(auditTrail, times(1)).record(UserAuditAction.CREATED, user.getId());
     }
 
     @Test
@@ -133,6 +170,35 @@ class UserServiceTest {
         verify(repository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Should read only the selected columns when fields are selected")
+    void shouldReadOnlySelectedColumns() {
+        // Arrange
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.NAME);
+        when(repository.findAllWithFields(fields)).thenReturn(List.of(user));
+
+        // Act
+        List<User> result = userService.findUsers(fields);
+
+        // Assert
+        assertEquals(List.of(user), result);
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should load full entities when every field is selected")
+    void shouldLoadFullEntitiesWhenEveryFieldIsSelected() {
+        // Arrange
+        when(repository.findAll()).thenReturn(List.of(user));
+
+        // Act
+        List<User> result = userService.findUsers(UserField.ALL);
+
+        // Assert
+        assertEquals(List.of(user), result);
+        verify(repository, never()).findAllWithFields(any());
+    }
+
     @Test
     @DisplayName("Should find user by id successfully")
     void shouldFindUserByIdSuccessfully() {
@@ -164,6 +230,96 @@ class UserServiceTest {
         verify(repository, times(1)).findById(999L);
     }
 
+    @Test
+    @DisplayName("Should share one query between concurrent lookups of the same id")
+    void shouldShareOneQueryBetweenConcurrentFindById() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Optional.of(user);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<User> first = executor.submit(() -> userService.findById(1L));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread[] caller = new Thread[1];
+            CountDownLatch submitted = new CountDownLatch(1);
+            Future<User> second = executor.submit(() -> {
+                caller[0] = Thread.currentThread();
+                submitted.countDown();
+                return userService.findById(1L);
+            });
+            assertTrue(submitted.await(5, TimeUnit.SECONDS));
+            while (caller[0].getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Assert
+            assertSame(user, first.get(5, TimeUnit.SECONDS));
+            assertSame(user, second.get(5, TimeUnit.SECONDS));
+            verify(repository, times(1)).findById(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not fail a concurrent lookup because the shared query ran out of the leader's deadline")
+    void shouldNotShareLeaderDeadlineFailure() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        when(repository.findById(1L)).thenAnswer(invocation -> {
+            if (queries.incrementAndGet() > 1) {
+                return Optional.of(user);
+            }
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            throw new QueryTimeoutException("Statement was canceled");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<User> leader = executor.submit(() -> {
+                RequestDeadline.start(Duration.ofSeconds(5));
+                try {
+                    return userService.findById(1L);
+                } finally {
+                    RequestDeadline.clear();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread[] caller = new Thread[1];
+            CountDownLatch submitted = new CountDownLatch(1);
+            Future<User> waiter = executor.submit(() -> {
+                caller[0] = Thread.currentThread();
+                submitted.countDown();
+                return userService.findById(1L);
+            });
+            assertTrue(submitted.await(5, TimeUnit.SECONDS));
+            while (caller[0].getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Assert
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(QueryTimeoutException.class, leaderFailure.getCause());
+            assertSame(user, waiter.get(5, TimeUnit.SECONDS));
+            verify(repository, times(2)).findById(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     @DisplayName("Should find user by login successfully")
     void shouldFindUserByLoginSuccessfully() {
@@ -271,6 +427,22 @@ class UserServiceTest {
         verify(repository, times(1)).findByLogin("testuser");
     }
 
+    @Test
+    @DisplayName("Should not spend BCrypt work on a login whose deadline passed")
+    void shouldNotHashAfterDeadlinePassed() {
+        // Arrange
+        when(repository.findByLogin("testuser")).thenReturn(Optional.of(user));
+        RequestDeadline.start(Duration.ofNanos(-1));
+
+        // Act & Assert
+        try {
+            assertThrows(DeadlineExceededException.class, () -> userService.authenticate("testuser", "password123"));
+        } finally {
+            RequestDeadline.clear();
+        }
+        verify(passwordHasher, never()).matches(anyString(), anyString());
+    }
+
     @Test
     @DisplayName("Should search users by name")
     void shouldSearchUsersByName() {
@@ -351,6 +523,50 @@ class UserServiceTest {
         verify(repository, never()).findByNameContainingIgnoreCaseOrderByNameAsc(anyString());
     }
 
+    @Test
+    @DisplayName("Should search by name reading only the selected columns")
+    void shouldSearchByNameReadingOnlySelectedColumns() {
+        // Arrange
+        Set<UserField> fields = EnumSet.of(UserField.NAME);
+        when(repository.findByNameWithFields("Test", fields)).thenReturn(List.of(user));
+
+        // Act
+        List<User> result = userService.searchByName("Test", fields);
+
+        // Assert
+        assertEquals(List.of(user), result);
+        verify(repository, never()).findByNameContainingIgnoreCaseOrderByNameAsc(anyString());
+    }
+
+    @Test
+    @DisplayName("Should list every user with the selected columns when the name is blank")
+    void shouldListSelectedColumnsWhenNameIsBlank() {
+        // Arrange
+        Set<UserField> fields = EnumSet.of(UserField.ID);
+        when(repository.findAllWithFields(fields)).thenReturn(List.of(user));
+
+        // Act
+        List<User> result = userService.searchByName("  ", fields);
+
+        // Assert
+        assertEquals(List.of(user), result);
+        verify(repository, never()).findByNameWithFields(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should search full entities when every field is selected")
+    void shouldSearchFullEntitiesWhenEveryFieldIsSelected() {
+        // Arrange
+        when(repository.findByNameContainingIgnoreCaseOrderByNameAsc("Test")).thenReturn(List.of(user));
+
+        // Act
+        List<User> result = userService.searchByName("Test", UserField.ALL);
+
+        // Assert
+        assertEquals(List.of(user), result);
+        verify(repository, never()).findByNameWithFields(anyString(), any());
+    }
+
     @Test
     @DisplayName("Should update user successfully")
     void shouldUpdateUserSuccessfully() {
@@ -370,6 +586,7 @@ class UserServiceTest {
         assertNotNull(result.getLastUpdated());
         verify(repository, times(1)).findById(1L);
         verify(repository, times(1)).save(any(User.class));
+        verify(auditTrail, times(1)).record(UserAuditAction.UPDATED, 1L);
     }
 
     @Test
@@ -409,6 +626,7 @@ class UserServiceTest {
         verify(repository, times(1)).save(any(User.class));
         // Verify that the password was hashed
         assertNotEquals(newPassword, user.getPassword());
+        verify(auditTrail, times(1)).record(UserAuditAction.PASSWORD_CHANGED, 1L);
     }
 
     @Test
@@ -429,6 +647,7 @@ class UserServiceTest {
         assertEquals(ErrorMessages.PASSWORD_MISMATCH.getMessage(), exception.getMessage());
         verify(repository, times(1)).findById(1L);
         verify(repository, never()).save(any(User.class));
+        verifyNoInteractions(auditTrail);
     }
 
     @Test
@@ -451,22 +670,25 @@ class UserServiceTest {
     @DisplayName("Should delete user successfully")
     void shouldDeleteUserSuccessfully() {
         // Arrange
-        when(repository.existsById(1L)).thenReturn(true);
-        doNothing().when(repository).deleteById(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(user));
+        doNothing().when(repository).delete(user);
 
         // Act
         assertDoesNotThrow(() -> userService.deleteUser(1L));
 
         // Assert
-        verify(repository, times(1)).existsById(1L);
-        verify(repository, times(1)).deleteById(1L);
+        verify(repository, times(1)).findById(1L);
+        verify(repository, times(1)).delete(user);
+        verify(repository, never()).existsById(anyLong());
+        verify(repository, never()).deleteById(anyLong());
+        verify(auditTrail, times(1)).record(UserAuditAction.DELETED, 1L);
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when deleting non-existent user")
     void shouldThrowExceptionWhenDeletingNonExistentUser() {
         // Arrange
-        when(repository.existsById(999L)).thenReturn(false);
+        when(repository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(
@@ -474,8 +696,115 @@ class UserServiceTest {
                 () -> userService.deleteUser(999L)
         );
         assertEquals(ErrorMessages.USER_NOT_FOUND.getMessage(), exception.getMessage());
-        verify(repository, times(1)).existsById(999L);
-        verify(repository, never()).deleteById(anyLong());
+        verify(repository, times(1)).findById(999L);
+        verify(repository, never()).delete(any(User.class));
     }
-}
 
+    @Test
+    @DisplayName("Should find users by ids with a single query and ignore duplicated keys")
+    void shouldFindUsersByIdsWithSingleQuery() {
+        // Arrange
+        User user2 = new User();
+        user2.setId(2L);
+        user2.setLogin("user2");
+        when(repository.findByIdIn(anyCollection())).thenReturn(Arrays.asList(user, user2));
+
+        // Act
+        Map<Long, User> result = userService.findAllByIds(Arrays.asList(2L, 1L, 2L, 999L));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(user, result.get(1L));
+        assertEquals(user2, result.get(2L));
+        assertNull(result.get(999L));
+        verify(repository, times(1)).findByIdIn(new LinkedHashSet<>(List.of(2L, 1L, 999L)));
+    }
+
+    @Test
+    @DisplayName("Should find users by logins and emails")
+    void shouldFindUsersByLoginsAndEmails() {
+        // Arrange
+        when(repository.findByLoginIn(anyCollection())).thenReturn(List.of(user));
+        when(repository.findByEmailIn(anyCollection())).thenReturn(List.of(user));
+
+        // Act
+        Map<String, User> byLogin = userService.findAllByLogins(List.of("testuser", "nonexistent"));
+        Map<String, User> byEmail = userService.findAllByEmails(List.of("test@example.com"));
+
+        // Assert
+        assertEquals(user, byLogin.get("testuser"));
+        assertFalse(byLogin.containsKey("nonexistent"));
+        assertEquals(user, byEmail.get("test@example.com"));
+        verify(repository, times(1)).findByLoginIn(anyCollection());
+        verify(repository, times(1)).findByEmailIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should not query the database when batch is empty")
+    void shouldNotQueryWhenBatchIsEmpty() {
+        // Act
+        Map<Long, User> result = userService.findAllByIds(Collections.emptyList());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(repository, never()).findByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should throw DomainValidationException when batch exceeds the maximum size")
+    void shouldThrowExceptionWhenBatchExceedsMaximumSize() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // Act & Assert
+        DomainValidationException exception = assertThrows(
+                DomainValidationException.class,
+                () -> userService.findAllByIds(ids)
+        );
+        assertEquals(ErrorMessages.BATCH_SIZE_EXCEEDED.params(100), exception.getMessage());
+        verify(repository, never()).findByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should find user version by id")
+    void shouldFindUserVersionById() {
+        // Arrange
+        UserVersionView version = mock(UserVersionView.class);
+        when(repository.findVersionById(1L)).thenReturn(Optional.of(version));
+
+        // Act
+        UserVersionView result = userService.findVersionById(1L);
+
+        // Assert
+        assertSame(version, result);
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when user version not found by id")
+    void shouldThrowExceptionWhenUserVersionNotFoundById() {
+        // Arrange
+        when(repository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(
+                ResourceNotFoundException.class,
+                () -> userService.findVersionById(999L)
+        );
+        assertTrue(exception.getMessage().contains("999"));
+    }
+
+    @Test
+    @DisplayName("Should find the users after a cursor with a bounded limit")
+    void shouldFindUsersAfterCursor() {
+        // Arrange
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(500))).thenReturn(List.of(user));
+
+        // Act
+        List<User> result = userService.findUsersAfter(0L, 500);
+
+        // Assert
+        assertEquals(List.of(user), result);
+        verify(repository, never()).findAll();
+    }
+}
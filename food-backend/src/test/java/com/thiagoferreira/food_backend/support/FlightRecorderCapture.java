@@ -0,0 +1,43 @@
+package com.thiagoferreira.food_backend.support;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs an action inside a flight recording that only enables the given event and
+ * returns the events it committed.
+ */
+public final class FlightRecorderCapture {
+
+    private FlightRecorderCapture() {
+    }
+
+    public static List<RecordedEvent> record(String eventName, Runnable action) {
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withoutStackTrace().withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+
+            Path file = Files.createTempFile("capture", ".jfr");
+            try {
+                recording.dump(file);
+                return RecordingFile.readAllEvents(file).stream()
+                        .filter(event -> event.getEventType().getName().equals(eventName))
+                        .toList();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
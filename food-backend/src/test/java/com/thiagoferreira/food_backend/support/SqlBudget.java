@@ -0,0 +1,28 @@
+package com.thiagoferreira.food_backend.support;
+
+/**
+ * Exact number of JDBC statements, per kind, that one request is allowed to execute.
+ */
+public record SqlBudget(int selects, int inserts, int updates, int deletes) {
+
+    public static SqlBudget selects(int selects) {
+        return new SqlBudget(selects, 0, 0, 0);
+    }
+
+    public SqlBudget withInserts(int inserts) {
+        return new SqlBudget(selects, inserts, updates, deletes);
+    }
+
+    public SqlBudget withUpdates(int updates) {
+        return new SqlBudget(selects, inserts, updates, deletes);
+    }
+
+    public SqlBudget withDeletes(int deletes) {
+        return new SqlBudget(selects, inserts, updates, deletes);
+    }
+
+    @Override
+    public String toString() {
+        return selects + " select, " + inserts + " insert, " + updates + " update, " + deletes + " delete";
+    }
+}
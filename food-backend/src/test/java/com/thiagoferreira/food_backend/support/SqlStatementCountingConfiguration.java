@@ -0,0 +1,37 @@
+package com.thiagoferreira.food_backend.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy that reports every executed
+ * statement to a shared {@link SqlStatementRecorder}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlStatementCountingConfiguration {
+
+    @Bean
+    static SqlStatementRecorder sqlStatementRecorder() {
+        return new SqlStatementRecorder();
+    }
+
+    @Bean
+    static BeanPostProcessor sqlStatementCountingPostProcessor(SqlStatementRecorder sqlStatementRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(sqlStatementRecorder)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
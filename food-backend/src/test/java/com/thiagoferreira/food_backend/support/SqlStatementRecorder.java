@@ -0,0 +1,66 @@
+package com.thiagoferreira.food_backend.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every statement executed through the proxied DataSource. Tests call
+ * {@link #reset()} before a request and {@link #assertBudget(String, SqlBudget)} after it.
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            statements.add(queryInfo.getQuery());
+        }
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    public List<String> getStatements() {
+        return List.copyOf(statements);
+    }
+
+    public void assertBudget(String endpoint, SqlBudget budget) {
+        List<String> executed = getStatements();
+        SqlBudget actual = new SqlBudget(
+                count(executed, QueryType.SELECT),
+                count(executed, QueryType.INSERT),
+                count(executed, QueryType.UPDATE),
+                count(executed, QueryType.DELETE)
+        );
+        int other = count(executed, QueryType.OTHER);
+
+        if (!actual.equals(budget) || other > 0) {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%s broke its SQL budget: expected %s but executed %s%s",
+                    endpoint, budget, actual, other > 0 ? ", " + other + " other" : ""));
+            for (int i = 0; i < executed.size(); i++) {
+                lines.add(String.format("  %d. %s", i + 1, QueryUtils.removeCommentAndWhiteSpace(executed.get(i))));
+            }
+            throw new AssertionError(String.join(System.lineSeparator(), lines));
+        }
+    }
+
+    private static int count(List<String> statements, QueryType type) {
+        return (int) statements.stream()
+                .filter(sql -> QueryUtils.getQueryType(sql) == type)
+                .count();
+    }
+}
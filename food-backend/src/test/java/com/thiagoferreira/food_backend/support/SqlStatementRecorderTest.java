@@ -0,0 +1,64 @@
+package com.thiagoferreira.food_backend.support;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlStatementRecorder Tests")
+class SqlStatementRecorderTest {
+
+    private final SqlStatementRecorder recorder = new SqlStatementRecorder();
+
+    @Test
+    @DisplayName("Should pass when executed statements match the budget exactly")
+    void shouldPassWhenStatementsMatchBudget() {
+        // Arrange
+        execute("select u.id from tb_users u where u.id=?", "delete from tb_users where id=? and version=?");
+
+        // Act & Assert
+        assertDoesNotThrow(() -> recorder.assertBudget("DELETE /v2/users/{id}", SqlBudget.selects(1).withDeletes(1)));
+    }
+
+    @Test
+    @DisplayName("Should report every executed statement when the budget is broken")
+    void shouldReportOffendingSqlWhenBudgetIsBroken() {
+        // Arrange
+        execute("select count(*) from tb_users u where u.id=?",
+                "select u.id from tb_users u where u.id=?",
+                "delete from tb_users where id=? and version=?");
+
+        // Act
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> recorder.assertBudget("DELETE /v2/users/{id}", SqlBudget.selects(1).withDeletes(1)));
+
+        // Assert
+        assertTrue(error.getMessage().contains("expected 1 select, 0 insert, 0 update, 1 delete"));
+        assertTrue(error.getMessage().contains("executed 2 select, 0 insert, 0 update, 1 delete"));
+        assertTrue(error.getMessage().contains("1. select count(*) from tb_users u where u.id=?"));
+        assertTrue(error.getMessage().contains("3. delete from tb_users where id=? and version=?"));
+    }
+
+    @Test
+    @DisplayName("Should forget recorded statements on reset")
+    void shouldForgetStatementsOnReset() {
+        // Arrange
+        execute("select u.id from tb_users u where u.id=?");
+
+        // Act
+        recorder.reset();
+
+        // Assert
+        assertTrue(recorder.getStatements().isEmpty());
+        assertDoesNotThrow(() -> recorder.assertBudget("noop", SqlBudget.selects(0)));
+    }
+
+    private void execute(String... statements) {
+        for (String sql : statements) {
+            recorder.afterQuery(null, List.of(new QueryInfo(sql)));
+        }
+    }
+}